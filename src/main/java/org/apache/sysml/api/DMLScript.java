@@ -70,6 +70,8 @@ import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.SpillFormat;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -77,6 +79,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.CleanupMR;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
@@ -439,6 +442,15 @@ public class DMLScript
 		CacheableData.CACHING_BUFFER_SIZE = dmlconf.getDoubleValue(DMLConfig.CACHING_BUFFER_SIZE);
 		if(CacheableData.CACHING_BUFFER_SIZE < 0 || CacheableData.CACHING_BUFFER_SIZE > 1) 
 			throw new RuntimeException("Incorrect value (" + CacheableData.CACHING_BUFFER_SIZE + ") for the configuration " + DMLConfig.CACHING_BUFFER_SIZE);
+		CacheableData.CACHING_EVICTION_THREADS = dmlconf.getIntValue(DMLConfig.CACHING_EVICTION_THREADS);
+		if(CacheableData.CACHING_EVICTION_THREADS < 0) 
+			throw new RuntimeException("Incorrect value (" + CacheableData.CACHING_EVICTION_THREADS + ") for the configuration " + DMLConfig.CACHING_EVICTION_THREADS);
+		CacheableData.CACHING_PREFETCH = dmlconf.getBooleanValue(DMLConfig.CACHING_PREFETCH);
+		CacheableData.CACHING_SPILL_FORMAT = SpillFormat.valueOf(
+			dmlconf.getTextValue(DMLConfig.CACHING_SPILL_FORMAT).toUpperCase());
+		CacheableData.CACHING_BUFFER_POLICY = RPolicy.valueOf(
+			dmlconf.getTextValue(DMLConfig.CACHING_EVICTION_POLICY).toUpperCase());
+		LineageCache.LINEAGE_REUSE = dmlconf.getBooleanValue(DMLConfig.LINEAGE_REUSE);
 				
 		NativeHelper.initialize(dmlconf.getTextValue(DMLConfig.NATIVE_BLAS_DIR), dmlconf.getTextValue(DMLConfig.NATIVE_BLAS).trim());
 		
@@ -598,7 +610,8 @@ public class DMLScript
 			}
 		}
 		
-		//3) cleanup systemml-internal working dirs
+		//3) cleanup systemml-internal working dirs (incl lineage cache)
+		LineageCache.resetCache();
 		CacheableData.cleanupCacheDir(); //might be local/hdfs
 		LocalFileUtils.cleanupWorkingDirectory();
 	}
@@ -45,6 +45,7 @@ import org.apache.sysml.conf.DMLOptions;
 import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.parser.LanguageException;
+import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
@@ -55,10 +56,12 @@ import org.apache.sysml.runtime.io.FrameReaderFactory;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.encode.RowEncoder;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -174,6 +177,7 @@ public class Connection implements Closeable
 		
 		//assign the given configuration
 		_dmlconf = dmlconfig;
+		LineageCache.LINEAGE_REUSE = dmlconfig.getBooleanValue(DMLConfig.LINEAGE_REUSE);
 		
 		setLocalConfigs();
 	}
@@ -325,6 +329,8 @@ public class Connection implements Closeable
 		ConfigurationManager.clearLocalConfigs();
 		if( ConfigurationManager.isCodegenEnabled() )
 			SpoofCompiler.cleanupCodeGenerator();
+		//release cached intermediates of reused lineage items
+		LineageCache.resetCache();
 	}
 	
 	/**
@@ -941,6 +947,24 @@ public class Connection implements Closeable
 		return TfMetaUtils.readTransformMetaDataFromPath(spec, metapath, colDelim);
 	}
 	
+	////////////////////////////////////////////
+	// Prepare transform apply
+	////////////////////////////////////////////
+	
+	/**
+	 * Compiles the given transform specification and meta data into a reusable
+	 * row encoder, which applies the transformations to individual records 
+	 * without frame construction and spec parsing per call.
+	 * 
+	 * @param spec  transform specification as json string
+	 * @param meta  transform meta data (e.g., read via readTransformMetaDataFromFile)
+	 * @return pre-compiled row encoder
+	 */
+	public RowEncoder prepareTransformApply(String spec, FrameBlock meta) {
+		return new RowEncoder(spec, meta.getColumnNames(),
+			UtilFunctions.nCopies(meta.getNumColumns(), ValueType.STRING), meta);
+	}
+	
 	private void setLocalConfigs() {
 		//set thread-local configurations for compilation and read
 		ConfigurationManager.setLocalConfig(_dmlconf);
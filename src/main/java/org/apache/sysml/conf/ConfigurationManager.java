@@ -238,6 +238,10 @@ public class ConfigurationManager
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
 	
+	public static boolean isOutOfCoreOperations() {
+		return getDMLConfig().getBooleanValue(DMLConfig.CP_OUT_OF_CORE);
+	}
+	
 	public static boolean isCodegenEnabled() {
 		return (getDMLConfig().getBooleanValue(DMLConfig.CODEGEN)
 			|| getCompilerConfigFlag(ConfigType.CODEGEN_ENABLED))
@@ -45,6 +45,8 @@ import org.apache.sysml.hops.codegen.SpoofCompiler.PlanSelector;
 import org.apache.sysml.lops.Compression;
 import org.apache.sysml.parser.ParseException;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.SpillFormat;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -73,7 +75,10 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "sysml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_OPS      = "sysml.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysml.cp.parallel.io";
+	public static final String CP_OUT_OF_CORE       = "sysml.cp.outofcore"; //boolean
 	public static final String COMPRESSED_LINALG    = "sysml.compressed.linalg"; //auto, true, false
+	public static final String PARALLEL_ENCODE_THREADS = "sysml.parallel.encode.threads"; //int: -1 for max local parallelism
+	public static final String COMPRESSED_PLANNING_BUDGET = "sysml.compressed.planning.budget"; //double: ms, -1 for unbounded
 	public static final String NATIVE_BLAS          = "sysml.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysml.native.blas.directory";
 	public static final String CODEGEN              = "sysml.codegen.enabled"; //boolean
@@ -82,6 +87,11 @@ public class DMLConfig
 	public static final String CODEGEN_PLANCACHE    = "sysml.codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "sysml.codegen.literals"; //1..heuristic, 2..always
 	public static final String CACHING_BUFFER_SIZE 	= "sysml.caching.bufferSize"; //double: default:0.15
+	public static final String CACHING_EVICTION_THREADS = "sysml.caching.eviction.threads"; //int: 0 for synchronous eviction
+	public static final String CACHING_PREFETCH     = "sysml.caching.prefetch"; //boolean
+	public static final String CACHING_SPILL_FORMAT = "sysml.caching.spill.format"; //binary, compressed, dense
+	public static final String CACHING_EVICTION_POLICY = "sysml.caching.eviction.policy"; //fifo, lru, cost
+	public static final String LINEAGE_REUSE        = "sysml.lineage.reuse"; //boolean
 	public static final String EXTRA_FINEGRAINED_STATS = "sysml.stats.finegrained"; //boolean
 	public static final String STATS_MAX_WRAP_LEN   = "sysml.stats.maxWrapLength"; //int
 	public static final String AVAILABLE_GPUS       = "sysml.gpu.availableGPUs"; // String to specify which GPUs to use (a range, all GPUs, comma separated list or a specific GPU)
@@ -128,7 +138,10 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_OUT_OF_CORE,         "false" );
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.AUTO.name() );
+		_defaultVals.put(PARALLEL_ENCODE_THREADS, "-1" );
+		_defaultVals.put(COMPRESSED_PLANNING_BUDGET, "-1" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_COMPILER,       CompilerType.AUTO.name() );
 		_defaultVals.put(CODEGEN_OPTIMIZER,      PlanSelector.FUSE_COST_BASED_V2.name() );
@@ -146,6 +159,11 @@ public class DMLConfig
 		_defaultVals.put(GPU_EVICTION_POLICY,    "min_evict");
 		_defaultVals.put(SYNCHRONIZE_GPU,        "false" );
 		_defaultVals.put(CACHING_BUFFER_SIZE,    "0.15" );
+		_defaultVals.put(CACHING_EVICTION_THREADS, "0" );
+		_defaultVals.put(CACHING_PREFETCH,       "false" );
+		_defaultVals.put(CACHING_SPILL_FORMAT,   SpillFormat.BINARY.name().toLowerCase() );
+		_defaultVals.put(CACHING_EVICTION_POLICY, RPolicy.FIFO.name().toLowerCase() );
+		_defaultVals.put(LINEAGE_REUSE,          "false" );
 		_defaultVals.put(EAGER_CUDA_FREE,        "false" );
 		_defaultVals.put(FLOATING_POINT_PRECISION,        	 "double" );
 	}
@@ -425,10 +443,12 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
-				COMPRESSED_LINALG, 
+				CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_OUT_OF_CORE, NATIVE_BLAS, NATIVE_BLAS_DIR,
+				COMPRESSED_LINALG, COMPRESSED_PLANNING_BUDGET, PARALLEL_ENCODE_THREADS,
 				CODEGEN, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
 				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE,
+				CACHING_EVICTION_THREADS, CACHING_PREFETCH, CACHING_SPILL_FORMAT, CACHING_EVICTION_POLICY,
+				LINEAGE_REUSE,
 				AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, EVICTION_SHADOW_BUFFERSIZE,
 				GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR
 		}; 
@@ -455,11 +455,15 @@ public class AggBinaryOp extends MultiThreadedHop
 			
 			//check for valid CP dimensions and matrix size
 			checkAndSetInvalidCPDimsAndSize();
+			
+			//out-of-core CP operation over chunked reads of a large persistent read
+			if( _etype != ExecType.CP && isOutOfCoreOperation() )
+				_etype = ExecType.CP;
 		}
 		
 		//spark-specific decision refinement (execute binary aggregate w/ left or right spark input and 
 		//single parent also in spark because it's likely cheap and reduces data transfer)
-		if( _etype == ExecType.CP && _etypeForced != ExecType.CP 
+		if( _etype == ExecType.CP && _etypeForced != ExecType.CP && !isOutOfCoreOperation()
 			&& (isApplicableForTransitiveSparkExecType(true) 
 			|| isApplicableForTransitiveSparkExecType(false)) )
 		{
@@ -473,6 +477,39 @@ public class AggBinaryOp extends MultiThreadedHop
 		return _etype;
 	}
 	
+	/**
+	 * Indicates if this matrix multiplication can be computed out-of-core in CP
+	 * over chunked reads of the given persistent read input X, i.e., for t(X)%*%X,
+	 * X%*%B, or A%*%X, where the other input fits in memory.
+	 * 
+	 * @param X persistent read input
+	 * @return true if out-of-core operation is applicable
+	 */
+	public boolean isOutOfCoreApplicable(Hop X) {
+		if( !isMatrixMultiply() || (_etypeForced != null && _etypeForced != ExecType.CP)
+			|| checkMapMultChain() != ChainType.NONE )
+			return false;
+		Hop in1 = getInput().get(0);
+		Hop in2 = getInput().get(1);
+		MMTSJType mmtsj = checkTransposeSelf();
+		double mem = getOutputMemEstimate();
+		if( mmtsj == MMTSJType.LEFT && in2 == X ) //t(X)%*%X
+			return OptimizerUtils.isValidOutOfCoreOperation(X, mem);
+		else if( mmtsj == MMTSJType.NONE && in1 != in2 && (in1 == X || in2 == X) ) //X%*%B, A%*%X
+			return OptimizerUtils.isValidOutOfCoreOperation(X,
+				mem + ((in1 == X) ? in2 : in1).getOutputMemEstimate());
+		return false;
+	}
+	
+	private boolean isOutOfCoreOperation() {
+		for( Hop in : getInput() ) {
+			Hop X = HopRewriteUtils.isTransposeOperation(in) ? in.getInput().get(0) : in;
+			if( X instanceof DataOp && isOutOfCoreApplicable(X) && ((DataOp)X).isOutOfCoreRead() )
+				return true;
+		}
+		return false;
+	}
+	
 	private boolean isApplicableForTransitiveSparkExecType(boolean left) 
 	{
 		int index = left ? 0 : 1;
@@ -420,6 +420,17 @@ public class AggUnaryOp extends MultiThreadedHop
 	}
 	
 
+	/**
+	 * Indicates if this unary aggregate can be computed out-of-core in CP
+	 * over chunked reads of its persistent read input (all but trace).
+	 * 
+	 * @return true if out-of-core operation is applicable
+	 */
+	public boolean isOutOfCoreApplicable() {
+		return (_etypeForced == null || _etypeForced == ExecType.CP) && _op != AggOp.TRACE
+			&& OptimizerUtils.isValidOutOfCoreOperation(getInput().get(0), getOutputMemEstimate());
+	}
+
 	@Override
 	protected ExecType optFindExecType() {
 		
@@ -450,6 +461,11 @@ public class AggUnaryOp extends MultiThreadedHop
 			
 			//check for valid CP dimensions and matrix size
 			checkAndSetInvalidCPDimsAndSize();
+			
+			//out-of-core CP operation over chunked reads of a large persistent read
+			if( _etype != ExecType.CP && isOutOfCoreApplicable()
+				&& ((DataOp)getInput().get(0)).isOutOfCoreRead() )
+				_etype = ExecType.CP;
 		}
 
 		//spark-specific decision refinement (execute unary aggregate w/ spark input and 
@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 
 import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Data;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.lops.LopProperties.ExecType;
@@ -47,6 +48,8 @@ public class DataOp extends Hop
 	private FileFormatTypes _inFormat = FileFormatTypes.TEXT;
 	private long _inRowsInBlock = -1;
 	private long _inColsInBlock = -1;
+	private long _inColLower = -1; //pushed-down column projection
+	private long _inColUpper = -1;
 	
 	private boolean _recompileRead = true;
 	
@@ -245,6 +248,28 @@ public class DataOp extends Hop
 		return false;
 	}
 	
+	/**
+	 * Indicates if this persistent read is only consumed by out-of-core CP
+	 * operations, which stream over chunks of the input file and hence
+	 * require neither a distributed reblock nor checkpoint.
+	 * 
+	 * @return true if all consumers are out-of-core CP operations
+	 */
+	public boolean isOutOfCoreRead() {
+		if( _dataop != DataOpTypes.PERSISTENTREAD || getParent().isEmpty()
+			|| !ConfigurationManager.isOutOfCoreOperations() )
+			return false;
+		for( Hop p : getParent() ) {
+			boolean ooc = (p instanceof AggUnaryOp && ((AggUnaryOp)p).isOutOfCoreApplicable())
+				|| (p instanceof AggBinaryOp && ((AggBinaryOp)p).isOutOfCoreApplicable(this))
+				|| (HopRewriteUtils.isTransposeOperation(p) && p.getParent().stream() //t(X)%*%X
+					.allMatch(pp -> pp instanceof AggBinaryOp && ((AggBinaryOp)pp).isOutOfCoreApplicable(this)));
+			if( !ooc )
+				return false;
+		}
+		return true;
+	}
+	
 	@Override
 	public Lop constructLops()
 	{
@@ -275,6 +300,8 @@ public class DataOp extends Hop
 				l = new Data(HopsData2Lops.get(_dataop), null, inputLops, getName(), null, 
 						getDataType(), getValueType(), false, getInputFormatType());
 				l.getOutputParameters().setDimensions(getDim1(), getDim2(), _inRowsInBlock, _inColsInBlock, getNnz(), getUpdateType());
+				if( hasInputColumnProjection() )
+					((Data)l).setColumnProjection(_inColLower, _inColUpper);
 				break;
 				
 			case PERSISTENTWRITE:
@@ -304,8 +331,10 @@ public class DataOp extends Hop
 		setLineNumbers(l);
 		setLops(l);
 		
-		//add reblock/checkpoint lops if necessary
-		constructAndSetLopsDataFlowProperties();
+		//add reblock/checkpoint lops if necessary (except for 
+		//persistent reads consumed by out-of-core CP operations)
+		if( !isOutOfCoreRead() )
+			constructAndSetLopsDataFlowProperties();
 	
 		return getLops();
 
@@ -340,6 +369,23 @@ public class DataOp extends Hop
 		return _inColsInBlock;
 	}
 	
+	public void setInputColumnProjection( long cl, long cu ) {
+		_inColLower = cl;
+		_inColUpper = cu;
+	}
+	
+	public boolean hasInputColumnProjection() {
+		return _inColLower > 0 && _inColUpper >= _inColLower;
+	}
+	
+	public long getInputColumnLower() {
+		return _inColLower;
+	}
+	
+	public long getInputColumnUpper() {
+		return _inColUpper;
+	}
+	
 	public boolean isRead()
 	{
 		return( _dataop == DataOpTypes.PERSISTENTREAD || _dataop == DataOpTypes.TRANSIENTREAD );
@@ -541,6 +587,8 @@ public class DataOp extends Hop
 		ret._inFormat = _inFormat;
 		ret._inRowsInBlock = _inRowsInBlock;
 		ret._inColsInBlock = _inColsInBlock;
+		ret._inColLower = _inColLower;
+		ret._inColUpper = _inColUpper;
 		ret._recompileRead = _recompileRead;
 		ret._paramIndexMap = (HashMap<String, Integer>) _paramIndexMap.clone();
 		//note: no deep cp of params since read-only 
@@ -567,6 +615,8 @@ public class DataOp extends Hop
 					  && _inFormat == that2._inFormat
 					  && _inRowsInBlock == that2._inRowsInBlock
 					  && _inColsInBlock == that2._inColsInBlock
+					  && _inColLower == that2._inColLower
+					  && _inColUpper == that2._inColUpper
 					  && _paramIndexMap!=null && that2._paramIndexMap!=null );
 		
 		//above conditions also ensure consistency with regard to 
@@ -51,6 +51,7 @@ import org.apache.sysml.runtime.functionobjects.IntegerDivide;
 import org.apache.sysml.runtime.functionobjects.Modulus;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.io.MatrixChunkIterator;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
@@ -450,6 +451,26 @@ public class OptimizerUtils
 		return InfrastructureAnalyzer.getLocalMaxMemoryFraction() >= 0.99;
 	}
 	
+	/**
+	 * Indicates if an out-of-core CP operation over chunked reads of the given
+	 * persistent read is applicable, i.e., if out-of-core operations are enabled
+	 * in hybrid execution mode, and the memory of the output and in-memory inputs
+	 * fits into the local memory budget after reserving the budget for in-memory
+	 * chunks of the streamed input.
+	 * 
+	 * @param input streamed input hop
+	 * @param mem memory estimate of output and in-memory inputs
+	 * @return true if out-of-core operation is applicable
+	 */
+	public static boolean isValidOutOfCoreOperation( Hop input, double mem ) {
+		return ConfigurationManager.isOutOfCoreOperations()
+			&& isHybridExecutionMode() && !ConfigurationManager.isGPU()
+			&& HopRewriteUtils.isData(input, DataOpTypes.PERSISTENTREAD)
+			&& input.getDataType().isMatrix() && input.dimsKnown()
+			&& isValidCPDimensions(input.getDim1(), input.getDim2())
+			&& mem < getLocalMemBudget() - MatrixChunkIterator.getChunkMemoryBudget();
+	}
+	
 	public static boolean checkSparkBroadcastMemoryBudget( double size )
 	{
 		double memBudgetExec = SparkExecutionContext.getBroadcastMemoryBudget();
@@ -783,7 +804,7 @@ public class OptimizerUtils
 		long bsize = MatrixBlock.estimateSizeOnDisk(rows, cols, nnz);
 		if( oinfo == OutputInfo.TextCellOutputInfo || oinfo == OutputInfo.MatrixMarketOutputInfo )
 			return bsize * 3;
-		else if( oinfo == OutputInfo.CSVOutputInfo )
+		else if( oinfo == OutputInfo.CSVOutputInfo || oinfo == OutputInfo.LIBSVMOutputInfo )
 			return bsize * 2;
 		
 		//unknown output info
@@ -91,7 +91,7 @@ public class RewriteBlockSizeAndReblock extends HopRewriteRule
 			if( canReblock && 
 				( (dop.getDataType() == DataType.MATRIX && (dop.getRowsInBlock() != blocksize || dop.getColsInBlock() != blocksize))
 				||(dop.getDataType() == DataType.FRAME && OptimizerUtils.isSparkExecutionMode() && (dop.getInputFormatType()==FileFormatTypes.TEXT
-						  || dop.getInputFormatType()==FileFormatTypes.CSV))) ) 
+						  || dop.getInputFormatType()==FileFormatTypes.CSV || dop.getInputFormatType()==FileFormatTypes.PARQUET))) ) 
 			{
 				if( dop.getDataOpType() == DataOp.DataOpTypes.PERSISTENTREAD) 
 				{
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.rewrite;
+
+import java.util.ArrayList;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.FileFormatTypes;
+import org.apache.sysml.hops.IndexingOp;
+import org.apache.sysml.hops.LiteralOp;
+
+/**
+ * Rule: Column projection pushdown into persistent reads of columnar 
+ * formats. If a parquet read is exclusively consumed by right indexing
+ * operations with literal column bounds, we push the union of the column 
+ * ranges into the read (which then only decodes the selected columns) and 
+ * shift the column bounds of the indexing operations accordingly, e.g., 
+ * X = read(f, format="parquet"); Y = X[,2:4] -> read only columns 2-4.
+ * 
+ */
+public class RewriteReadColumnProjection extends HopRewriteRule
+{
+	private static final Log LOG = LogFactory.getLog(RewriteReadColumnProjection.class.getName());
+	
+	@Override
+	public ArrayList<Hop> rewriteHopDAGs(ArrayList<Hop> roots, ProgramRewriteStatus state) {
+		if( roots == null )
+			return roots;
+		for( Hop h : roots )
+			rule_ReadColumnProjection( h );
+		return roots;
+	}
+
+	@Override
+	public Hop rewriteHopDAG(Hop root, ProgramRewriteStatus state) {
+		if( root == null )
+			return root;
+		rule_ReadColumnProjection( root );
+		return root;
+	}
+
+	private void rule_ReadColumnProjection( Hop hop ) {
+		if( hop.isVisited() )
+			return;
+		
+		//recursively process children
+		for( int i=0; i<hop.getInput().size(); i++ ) {
+			Hop hi = hop.getInput().get(i);
+			if( isApplicableRead(hi) )
+				pushdownColumnProjection((DataOp) hi);
+			rule_ReadColumnProjection( hi );
+		}
+		
+		hop.setVisited();
+	}
+	
+	private static boolean isApplicableRead( Hop hop ) {
+		if( !(hop instanceof DataOp 
+			&& ((DataOp)hop).getDataOpType() == DataOpTypes.PERSISTENTREAD
+			&& ((DataOp)hop).getInputFormatType() == FileFormatTypes.PARQUET
+			&& !((DataOp)hop).hasInputColumnProjection()
+			&& (hop.getDataType().isMatrix() || hop.getDataType().isFrame())
+			&& !hop.getParent().isEmpty()) )
+			return false;
+		
+		//check for exclusive consumers w/ literal column bounds
+		boolean ret = true;
+		for( Hop p : hop.getParent() )
+			ret &= p instanceof IndexingOp && p.getInput().get(0) == hop
+				&& p.getInput().get(3) instanceof LiteralOp
+				&& p.getInput().get(4) instanceof LiteralOp;
+		return ret;
+	}
+	
+	private static void pushdownColumnProjection( DataOp read ) {
+		//determine union of column ranges
+		long cl = Long.MAX_VALUE, cu = -1;
+		for( Hop p : read.getParent() ) {
+			cl = Math.min(cl, HopRewriteUtils.getIntValueSafe((LiteralOp)p.getInput().get(3)));
+			cu = Math.max(cu, HopRewriteUtils.getIntValueSafe((LiteralOp)p.getInput().get(4)));
+		}
+		
+		//skip invalid ranges or full column projections
+		if( cl < 1 || cu < cl || (cl == 1 && cu == read.getDim2()) )
+			return;
+		
+		//set column projection and shift column bounds of consumers
+		read.setInputColumnProjection(cl, cu);
+		read.setDim2(cu - cl + 1);
+		for( Hop p : new ArrayList<>(read.getParent()) ) {
+			shiftLiteralInput(p, 3, cl - 1);
+			shiftLiteralInput(p, 4, cl - 1);
+			p.refreshSizeInformation();
+		}
+		
+		LOG.debug("Applied pushdownColumnProjection (line "+read.getBeginLine()
+			+", columns "+cl+":"+cu+")");
+	}
+	
+	private static void shiftLiteralInput( Hop p, int pos, long offset ) {
+		//create new literal because literals might be shared across operators
+		LiteralOp lit = (LiteralOp) p.getInput().get(pos);
+		LiteralOp lit2 = new LiteralOp(HopRewriteUtils.getIntValueSafe(lit) - offset);
+		HopRewriteUtils.replaceChildReference(p, lit, lit2, pos);
+	}
+}
@@ -47,6 +47,10 @@ public class Data extends Lop
 	boolean literal_var = false;
 	boolean transient_var = false;
 	
+	//column projection of persistent parquet reads (1-based, inclusive)
+	private long _colLower = -1;
+	private long _colUpper = -1;
+	
 	private HashMap<String, Lop> _inputParams;
 
 	/**
@@ -190,6 +194,12 @@ public class Data extends Lop
 			this.outParams.setFormat(Format.MM);
 		else if (type == FileFormatTypes.CSV )
 			this.outParams.setFormat(Format.CSV);
+		else if (type == FileFormatTypes.LIBSVM )
+			this.outParams.setFormat(Format.LIBSVM);
+		else if (type == FileFormatTypes.PARQUET )
+			this.outParams.setFormat(Format.PARQUET);
+		else if (type == FileFormatTypes.LOCALBINARY )
+			this.outParams.setFormat(Format.LOCALBINARY);
 		else 
 			throw new LopsException("Unexpected format: " + type);
 		setLopProperties();
@@ -421,6 +431,12 @@ public class Data extends Lop
 					fmt = "textcell";
 				else if (oparams.getFormat() == Format.CSV)
 					fmt = "csv";
+				else if (oparams.getFormat() == Format.LIBSVM)
+					fmt = "libsvm";
+				else if (oparams.getFormat() == Format.PARQUET)
+					fmt = "parquet";
+				else if (oparams.getFormat() == Format.LOCALBINARY)
+					fmt = "localbinary";
 				else if ( oparams.getFormat() == Format.BINARY ){
 					if ( oparams.getRowsInBlock() > 0 || oparams.getColsInBlock() > 0 )
 						fmt = "binaryblock"; 
@@ -487,6 +503,11 @@ public class Data extends Lop
 		return sb.toString();
 	}
 	
+	public void setColumnProjection(long cl, long cu) {
+		_colLower = cl;
+		_colUpper = cu;
+	}
+	
 	/**
 	 * Method to generate createvar instruction that updates symbol table with metadata, hdfsfile name, etc.
 	 * 
@@ -515,6 +536,12 @@ public class Data extends Lop
 				fmt = "matrixmarket";
 			else if ( oparams.getFormat() == Format.CSV )
 				fmt = "csv";
+			else if ( oparams.getFormat() == Format.LIBSVM )
+				fmt = "libsvm";
+			else if ( oparams.getFormat() == Format.PARQUET )
+				fmt = "parquet";
+			else if ( oparams.getFormat() == Format.LOCALBINARY )
+				fmt = "localbinary";
 			else { //binary
 				fmt = ( getDataType() == DataType.FRAME || oparams.getRowsInBlock() > 0 
 					|| oparams.getColsInBlock() > 0 ) ? "binaryblock" : "binarycell";
@@ -552,6 +579,12 @@ public class Data extends Lop
 				sb.append( OPERAND_DELIMITOR );
 				sb.append( createVarCSVHelper() );
 			}
+			else if ( oparams.getFormat() == Format.PARQUET ) {
+				sb.append( OPERAND_DELIMITOR );
+				sb.append( _colLower );
+				sb.append( OPERAND_DELIMITOR );
+				sb.append( _colUpper );
+			}
 			
 			// Frame-specific properties
 			if( getDataType()==DataType.FRAME ) {
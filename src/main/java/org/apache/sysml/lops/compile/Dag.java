@@ -2242,6 +2242,15 @@ public class Dag<N extends Lop>
 			else if ( oparams.getFormat() == Format.CSV ) {
 				oinfo = OutputInfo.CSVOutputInfo;
 			}
+			else if ( oparams.getFormat() == Format.LIBSVM ) {
+				oinfo = OutputInfo.LIBSVMOutputInfo;
+			}
+			else if ( oparams.getFormat() == Format.PARQUET ) {
+				oinfo = OutputInfo.ParquetOutputInfo;
+			}
+			else if ( oparams.getFormat() == Format.LOCALBINARY ) {
+				oinfo = OutputInfo.LocalBinaryOutputInfo;
+			}
 			else {
 				oinfo = OutputInfo.BinaryCellOutputInfo;
 			}
@@ -1170,6 +1170,9 @@ public class DMLTranslator
 					case TEXT:
 					case MM:
 					case CSV:
+					case LIBSVM:
+					case PARQUET:
+					case LOCALBINARY:
 						// write output in textcell format
 						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1, -1);
 						break;
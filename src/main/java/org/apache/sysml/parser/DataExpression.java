@@ -73,6 +73,9 @@ public class DataExpression extends DataIdentifier
 	public static final String FORMAT_TYPE_VALUE_BINARY = "binary";
 	public static final String FORMAT_TYPE_VALUE_CSV = "csv";
 	public static final String FORMAT_TYPE_VALUE_MATRIXMARKET = "mm";
+	public static final String FORMAT_TYPE_VALUE_LIBSVM = "libsvm";
+	public static final String FORMAT_TYPE_VALUE_PARQUET = "parquet";
+	public static final String FORMAT_TYPE_VALUE_LOCALBINARY = "localbinary";
 	
 	public static final String ROWBLOCKCOUNTPARAM = "rows_in_block";
 	public static final String COLUMNBLOCKCOUNTPARAM = "cols_in_block";
@@ -720,7 +723,22 @@ public class DataExpression extends DataIdentifier
 		        else {
 		        	LOG.warn("Metadata file: " + new Path(mtdFileName) + " not provided");
 		        }
-			} 
+			}
+
+			// obtain unknown dimensions of parquet files from the file footers
+			if( getVarParam(FORMAT_TYPE) != null
+				&& getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_PARQUET)
+				&& (getVarParam(READROWPARAM) == null || getVarParam(READCOLPARAM) == null) ) {
+				try {
+					long[] size = IOUtilFunctions.readParquetSize(inputFileName);
+					addVarParam(READROWPARAM, new IntIdentifier(size[0], this));
+					addVarParam(READCOLPARAM, new IntIdentifier(size[1], this));
+				}
+				catch(Exception ex) {
+					//file not existing at compile time (e.g., written by the same script)
+					LOG.debug("Failed to read parquet footers of "+inputFileName+": "+ex.getMessage());
+				}
+			}
 	        
 			boolean isCSV = false;
 			isCSV = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV));
@@ -881,6 +899,21 @@ public class DataExpression extends DataIdentifier
 				{
 					getOutput().setFormatType(FormatType.MM);
 					format = 1;
+				}
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM) )
+				{
+					getOutput().setFormatType(FormatType.LIBSVM);
+					format = 1;
+				}
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_PARQUET) )
+				{
+					getOutput().setFormatType(FormatType.PARQUET);
+					format = 1;
+				}
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_LOCALBINARY) )
+				{
+					getOutput().setFormatType(FormatType.LOCALBINARY);
+					format = 1;
 				} else {
 					raiseValidateError("Invalid format '" + fmt+ "' in statement: " + this.toString(), conditional);
 				}
@@ -992,7 +1025,10 @@ public class DataExpression extends DataIdentifier
 				getOutput().setBlockDimensions(-1, -1);
 			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase("binary"))
 				getOutput().setBlockDimensions(ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
-			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV)))
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV))
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM)
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_PARQUET)
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_LOCALBINARY))
 				getOutput().setBlockDimensions(-1, -1);
 			
 			else{
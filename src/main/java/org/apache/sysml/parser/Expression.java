@@ -212,10 +212,10 @@ public abstract class Expression implements ParseInfo
 	}
 
 	/**
-	 * Format types (text, binary, matrix market, csv, unknown).
+	 * Format types (text, binary, matrix market, csv, libsvm, parquet, local binary, unknown).
 	 */
 	public enum FormatType {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM, PARQUET, LOCALBINARY
 	}
 	
 	protected static final Log LOG = LogFactory.getLog(Expression.class.getName());
@@ -345,10 +345,12 @@ public abstract class Expression implements ParseInfo
 	/**
 	 * Convert string format type to {@code Hop.FileFormatTypes}.
 	 * 
-	 * @param format String format type ("text", "binary", "mm", "csv")
+	 * @param format String format type ("text", "binary", "mm", "csv", "libsvm", "parquet", "localbinary")
 	 * @return Format as {@code Hop.FileFormatTypes}. Can be
 	 * {@code FileFormatTypes.TEXT}, {@code FileFormatTypes.BINARY}, 
-	 * {@code FileFormatTypes.MM}, or {@code FileFormatTypes.CSV}. Unrecognized
+	 * {@code FileFormatTypes.MM}, {@code FileFormatTypes.CSV},
+	 * {@code FileFormatTypes.LIBSVM}, {@code FileFormatTypes.PARQUET}, or 
+	 * {@code FileFormatTypes.LOCALBINARY}. Unrecognized
 	 * type is set to {@code FileFormatTypes.TEXT}.
 	 */
 	public static FileFormatTypes convertFormatType(String format) {
@@ -366,6 +368,15 @@ public abstract class Expression implements ParseInfo
 		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV))  {
 			return FileFormatTypes.CSV;
 		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM))  {
+			return FileFormatTypes.LIBSVM;
+		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_PARQUET))  {
+			return FileFormatTypes.PARQUET;
+		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY))  {
+			return FileFormatTypes.LOCALBINARY;
+		}
 		// ToDo : throw parse exception for invalid / unsupported format type
 		return FileFormatTypes.TEXT;
 	}
@@ -84,7 +84,11 @@ public abstract class Statement implements ParseInfo
 		public boolean isASP() {
 			return this == ASP;
 		}
+		public boolean isSSP() {
+			return this == SSP;
+		}
 	}
+	public static final String PS_STALENESS = "staleness";
 	public static final String PS_FREQUENCY = "freq";
 	public enum PSFrequency {
 		BATCH, EPOCH
@@ -101,6 +105,11 @@ public abstract class Statement implements ParseInfo
 	public enum PSCheckpointing {
 		NONE, EPOCH, EPOCH10
 	}
+	public static final String PS_GRAD_COMPRESSION = "compression";
+	public enum PSCompression {
+		NONE, TOPK, QUANT8
+	}
+	public static final String PS_COMPRESSION_RATIO = "compression_ratio";
 
 
 	public abstract boolean controlStatement();
@@ -1027,6 +1027,12 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				s.getIdentifier().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getIdentifier().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM)){
+				s.getIdentifier().setFormatType(FormatType.LIBSVM);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_PARQUET)){
+				s.getIdentifier().setFormatType(FormatType.PARQUET);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY)){
+				s.getIdentifier().setFormatType(FormatType.LOCALBINARY);
 			} else{
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
 						+ " can only be a string with one of following values: binary, text, mm, csv; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
@@ -1062,6 +1068,12 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				s.getTarget().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getTarget().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM)){
+				s.getTarget().setFormatType(FormatType.LIBSVM);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_PARQUET)){
+				s.getTarget().setFormatType(FormatType.PARQUET);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY)){
+				s.getTarget().setFormatType(FormatType.LOCALBINARY);
 			} else{
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
 						+ " can only be a string with one of following values: binary, text, mm, csv", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
@@ -1064,7 +1064,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		KahanObject kbuff2 = new KahanObject(0, 0);
 		
 		//special case: computation over value-tuples only
-		if( sparseSafe && b.length==0 && !a.hasUncompressedColGroup() && !containsSeq()) {
+		if( sparseSafe && b.length==0 && !a.hasNonValueColGroup() && !containsSeq()) {
 			//note: all remaining groups are guaranteed ColGroupValue
 			boolean entireGrp = (rl==0 && ru==a.getNumRows());
 			int maxNumVals = a.getColGroups().stream().mapToInt(
@@ -29,7 +29,9 @@ import java.util.List;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -45,7 +47,10 @@ public abstract class ColGroup implements Serializable
 		RLE_BITMAP,  //RLE bitmap
 		OLE_BITMAP,  //OLE bitmap
 		DDC1, //DDC 1 byte
-		DDC2; //DDC 2 byte
+		DDC2, //DDC 2 byte
+		CONST, //constant value tuple
+		FOR,   //frame-of-reference bit-packed
+		DELTA; //delta bit-packed
 	}
 	
 	/**
@@ -263,6 +268,28 @@ public abstract class ColGroup implements Serializable
 	 */
 	public abstract void leftMultByRowVector(MatrixBlock vector, MatrixBlock result);
 
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the right, and add the result to the given rows of the
+	 * dense output (of size numRows x numColumns of the matrix).
+	 *
+	 * @param matrix dense right-hand-side matrix (ncol x m)
+	 * @param result dense accumulator for holding the result (nrow x m)
+	 * @param rl row lower
+	 * @param ru row upper
+	 */
+	public abstract void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru);
+
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the left, and add the result to the columns of this
+	 * column group in the dense output.
+	 *
+	 * @param matrix dense left-hand-side matrix (m x nrow)
+	 * @param result dense accumulator for holding the result (m x ncol)
+	 */
+	public abstract void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result);
+
 	/**
 	 * Perform the specified scalar operation directly on the compressed column
 	 * group, without decompressing individual cells if possible.
@@ -273,6 +300,28 @@ public abstract class ColGroup implements Serializable
 	 */
 	public abstract ColGroup scalarOperation(ScalarOperator op);
 
+	/**
+	 * Perform the specified unary (cell-wise) operation directly on the
+	 * compressed column group, i.e., by transforming its distinct values.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op);
+
+	/**
+	 * Perform the specified binary operation with a row vector (e.g., for
+	 * column-wise scaling) directly on the compressed column group.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @param v
+	 *            dense row vector over all columns of the matrix block
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup binaryRowOperation(BinaryOperator op, double[] v);
+
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result);
 	
 	/**
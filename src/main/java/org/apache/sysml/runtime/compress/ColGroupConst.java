@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.functionobjects.KahanFunction;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Class to encapsulate information about a column group of constant (or
+ * all-zero) columns, i.e., a single value tuple that applies to all rows.
+ * This is a degenerated DDC encoding without any per-row data, which allows
+ * to reuse all value-based kernels of DDC column groups.
+ */
+public class ColGroupConst extends ColGroupDDC 
+{
+	private static final long serialVersionUID = -7387793538322386611L;
+
+	public ColGroupConst() {
+		super();
+	}
+	
+	/**
+	 * Main constructor for a bitmap with a single value tuple that covers
+	 * all rows, or an empty bitmap (all-zero columns).
+	 * 
+	 * @param colIndices indices of the columns in the matrix block
+	 * @param numRows total number of rows in the parent block
+	 * @param ubm uncompressed bitmap representation of the block
+	 */
+	public ColGroupConst(int[] colIndices, int numRows, UncompressedBitmap ubm) {
+		super(colIndices, numRows, ubm);
+		
+		//materialize zero value tuple for empty columns
+		if( ubm.getNumValues() == 0 )
+			_values = new double[colIndices.length];
+	}
+	
+	public ColGroupConst(int[] colIndices, int numRows, double[] values) {
+		super(colIndices, numRows, values);
+	}
+	
+	/**
+	 * Indicates if the given bitmap can be represented as a constant column
+	 * group, i.e., if it has a single value tuple that covers all rows or is
+	 * empty.
+	 * 
+	 * @param ubm uncompressed bitmap
+	 * @param numRows total number of rows
+	 * @return true if constant or empty
+	 */
+	public static boolean isConstant(UncompressedBitmap ubm, int numRows) {
+		return ubm.getNumValues() == 0 
+			|| (ubm.getNumValues() == 1 && ubm.getNumOffsets(0) == numRows);
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.CONST;
+	}
+	
+	@Override
+	protected double getData(int r) {
+		return _values[0];
+	}
+	
+	@Override
+	protected double getData(int r, int colIx) {
+		return _values[colIx];
+	}
+	
+	@Override
+	protected void setData(int r, int code) {
+		//do nothing: all rows map to the single value tuple
+	}
+	
+	@Override
+	protected int getCode(int r) {
+		return 0;
+	}
+	
+	@Override
+	public void write(DataOutput out) throws IOException {
+		int numCols = getNumCols();
+		out.writeInt(_numRows);
+		out.writeInt(numCols);
+		
+		//write col indices
+		for( int i=0; i<_colIndexes.length; i++ )
+			out.writeInt( _colIndexes[i] );
+		
+		//write value tuple
+		for( int i=0; i<_values.length; i++ )
+			out.writeDouble(_values[i]);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+		
+		//read col indices
+		_colIndexes = new int[ numCols ];
+		for( int i=0; i<numCols; i++ )
+			_colIndexes[i] = in.readInt();
+		
+		//read value tuple
+		_values = new double[numCols];
+		for( int i=0; i<numCols; i++ )
+			_values[i] = in.readDouble();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 8; //header
+		//col indices
+		ret += 4 * _colIndexes.length;
+		//value tuple
+		ret += 8 * _values.length;
+		return ret;
+	}
+	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		int ncol = getNumCols();
+		for( int i = rl; i < ru; i++ )
+			for( int j=0; j<ncol; j++ )
+				target.appendValue(i, _colIndexes[j], _values[j]);
+		//note: append ok because final sort per row 
+	}
+	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		int nrow = getNumRows();
+		double[] c = target.getDenseBlockValues();
+		Arrays.fill(c, 0, nrow, _values[colpos]);
+		target.setNonZeros((_values[colpos]!=0) ? nrow : 0);
+	}
+	
+	@Override 
+	public int[] getCounts(int[] counts) {
+		return getCounts(0, getNumRows(), counts);
+	}
+	
+	@Override 
+	public int[] getCounts(int rl, int ru, int[] counts) {
+		counts[0] = ru - rl;
+		return counts;
+	}
+	
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		int lnnz = 0;
+		for( int j=0; j<_values.length; j++ )
+			lnnz += (_values[j]!=0) ? 1 : 0;
+		for( int i = rl; i < ru; i++ )
+			rnnz[i-rl] += lnnz;
+	}
+	
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		double[] b = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		
+		//pre-aggregate the single value tuple
+		double val = 0;
+		for( int j = 0; j < _colIndexes.length; j++ )
+			val += _values[j] * b[_colIndexes[j]];
+		
+		//add to all output rows
+		if( val != 0 )
+			for( int i=rl; i<ru; i++ )
+				c[i] += val;
+	}
+	
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		
+		//pre-aggregate all inputs for the single value tuple
+		double[] vals = new double[1];
+		for( int i=0; i<nrow; i++ )
+			vals[0] += a[i];
+		
+		//post-scaling of pre-aggregate with value tuple
+		postScaling(vals, c);
+	}
+	
+	@Override
+	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) {
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		
+		//pre-aggregate all inputs for the single value tuple
+		double[] vals = new double[1];
+		for( int i=0; i<nrow; i++ )
+			vals[0] += a.getData(i);
+		
+		//post-scaling of pre-aggregate with value tuple
+		postScaling(vals, c);
+	}
+	
+	@Override
+	protected void computeSum(MatrixBlock result, KahanFunction kplus) {
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
+		for( int j=0; j<_values.length; j++ )
+			kplus.execute3(kbuff, _values[j], _numRows);
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
+	}
+	
+	@Override
+	protected void computeColSums(MatrixBlock result, KahanFunction kplus) {
+		KahanObject kbuff = new KahanObject(0, 0);
+		for( int j=0; j<_values.length; j++ ) {
+			kbuff.set(result.quickGetValue(0, _colIndexes[j]), 
+				result.quickGetValue(1, _colIndexes[j]));
+			kplus.execute3(kbuff, _values[j], _numRows);
+			result.quickSetValue(0, _colIndexes[j], kbuff._sum);
+			result.quickSetValue(1, _colIndexes[j], kbuff._correction);
+		}
+	}
+	
+	@Override
+	protected void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
+		//note: due to corrections the output might be a large dense block
+		DenseBlock c = result.getDenseBlock();
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
+		
+		//pre-aggregate the single value tuple
+		double val = sumValues(0, kplus, kbuff);
+		
+		//add to all output rows (use kahan plus not general KahanFunction
+		//for correctness in case of sqk+)
+		for( int i=rl; i<ru; i++ ) {
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			kbuff.set(cvals[cix], cvals[cix+1]);
+			kplus2.execute2(kbuff, val);
+			cvals[cix] = kbuff._sum;
+			cvals[cix+1] = kbuff._correction;
+		}
+	}
+	
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		//as zeros are represented, it is sufficient to apply the scalar op
+		return new ColGroupConst(_colIndexes, _numRows, applyScalarOp(op));
+	}
+	
+	@Override
+	protected ColGroup createWithValues(double[] values, double[] zeroTuple) {
+		//zeros are represented, so there are no implicit zero rows
+		return new ColGroupConst(_colIndexes, _numRows, values);
+	}
+}
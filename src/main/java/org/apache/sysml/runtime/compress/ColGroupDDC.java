@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.compress;
 import java.util.Arrays;
 import java.util.Iterator;
 
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
@@ -115,6 +116,32 @@ public abstract class ColGroupDDC extends ColGroupValue
 		}
 	}
 	
+	@Override
+	public void rightMultByMatrix(double[] vals, int bcols, MatrixBlock result, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		
+		//add the pre-aggregated tuple per row
+		for( int i = rl; i < ru; i++ )
+			LinearAlgebraUtils.vectAdd(vals, c, getCode(i)*bcols, i*bcols, bcols);
+	}
+	
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result) {
+		double[] a = matrix.getDenseBlockValues();
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		final int clen = result.getNumColumns();
+		
+		//pre-aggregate lhs rows per distinct tuple, then scale the dictionary
+		double[] vals = new double[getNumValues()];
+		for( int i = 0; i < matrix.getNumRows(); i++ ) {
+			Arrays.fill(vals, 0);
+			for( int r = 0, aix = i*nrow; r < nrow; r++, aix++ )
+				vals[getCode(r)] += a[aix];
+			postScaleValues(vals, 0, c, i*clen);
+		}
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result, int rl, int ru)
 	{
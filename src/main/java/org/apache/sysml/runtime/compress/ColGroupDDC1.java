@@ -83,6 +83,10 @@ public class ColGroupDDC1 extends ColGroupDDC
 		return CompressionType.DDC1;
 	}
 	
+	public byte[] getData() {
+		return _data;
+	}
+	
 	@Override
 	protected double getData(int r) {
 		return _values[(_data[r]&0xFF)];
@@ -418,4 +422,10 @@ public class ColGroupDDC1 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC1(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	protected ColGroup createWithValues(double[] values, double[] zeroTuple) {
+		//zeros are represented, so there are no implicit zero rows
+		return new ColGroupDDC1(_colIndexes, _numRows, values, _data);
+	}
 }
@@ -84,6 +84,10 @@ public class ColGroupDDC2 extends ColGroupDDC
 		return CompressionType.DDC2;
 	}
 	
+	public char[] getData() {
+		return _data;
+	}
+	
 	@Override
 	protected double getData(int r) {
 		return _values[_data[r]];
@@ -363,4 +367,10 @@ public class ColGroupDDC2 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC2(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	protected ColGroup createWithValues(double[] values, double[] zeroTuple) {
+		//zeros are represented, so there are no implicit zero rows
+		return new ColGroupDDC2(_colIndexes, _numRows, values, _data);
+	}
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator.IntegerEncodingFactors;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Class to encapsulate information about a single-column group of sorted
+ * (non-decreasing) integer values that is encoded with delta encoding, i.e.,
+ * as bit-packed differences to the previous row. For random access, we 
+ * additionally keep the absolute offset of the first row of each block.
+ */
+public class ColGroupDelta extends ColGroupPacked 
+{
+	private static final long serialVersionUID = -5468216475387312163L;
+	
+	/** Absolute raw values of the first row of each block. */
+	private long[] _anchors;
+
+	public ColGroupDelta() {
+		super();
+	}
+	
+	/**
+	 * Main constructor.
+	 * 
+	 * @param colIndices indices of the column in the matrix block (length 1)
+	 * @param numRows total number of rows in the parent block
+	 * @param rawblock the uncompressed block
+	 * @param fact integer encoding factors of the (sorted) column
+	 */
+	public ColGroupDelta(int[] colIndices, int numRows, MatrixBlock rawblock, IntegerEncodingFactors fact) {
+		super(colIndices, numRows, fact.min, 1, fact.max - fact.min,
+			getBitWidth(fact.maxDelta), null);
+		_packed = allocPacked(numRows, _width);
+		_anchors = new long[(numRows + BLOCK_SZ - 1) / BLOCK_SZ];
+		
+		//pack differences to previous row, and anchors per block
+		final int col = colIndices[0];
+		long prev = 0;
+		for( int i=0; i<numRows; i++ ) {
+			long raw = (long)getValue(rawblock, col, i) - fact.min;
+			if( i % BLOCK_SZ == 0 )
+				_anchors[i / BLOCK_SZ] = raw;
+			else
+				setPacked(_packed, _width, i, raw - prev);
+			prev = raw;
+		}
+	}
+	
+	protected ColGroupDelta(int[] colIndices, int numRows, double ref, double scale, long maxRaw, int width, long[] packed, long[] anchors) {
+		super(colIndices, numRows, ref, scale, maxRaw, width, packed);
+		_anchors = anchors;
+	}
+	
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.DELTA;
+	}
+	
+	@Override
+	protected long getRaw(int r) {
+		int bl = (r / BLOCK_SZ) * BLOCK_SZ;
+		long raw = _anchors[r / BLOCK_SZ];
+		for( int i=bl+1; i<=r; i++ )
+			raw += getPacked(_packed, _width, i);
+		return raw;
+	}
+	
+	@Override
+	protected void decode(int rl, int ru, double[] out) {
+		if( rl >= ru )
+			return;
+		long raw = getRaw(rl);
+		out[0] = _ref + _scale * raw;
+		for( int i=rl+1; i<ru; i++ ) {
+			raw = (i % BLOCK_SZ == 0) ? _anchors[i / BLOCK_SZ] :
+				raw + getPacked(_packed, _width, i);
+			out[i-rl] = _ref + _scale * raw;
+		}
+	}
+	
+	@Override
+	protected ColGroupPacked createWithAffine(double ref, double scale) {
+		//shallow copy of packed data and anchors
+		return new ColGroupDelta(_colIndexes, _numRows, ref, scale, _maxRaw, _width, _packed, _anchors);
+	}
+	
+	@Override
+	public long estimateInMemorySize() {
+		// array reference (8B) + array object overhead (32B) + 8B per anchor
+		return super.estimateInMemorySize() + 40 + 8 * _anchors.length;
+	}
+	
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		
+		//write anchors
+		out.writeInt(_anchors.length);
+		for( int i=0; i<_anchors.length; i++ )
+			out.writeLong(_anchors[i]);
+	}
+	
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		super.readFields(in);
+		
+		//read anchors
+		_anchors = new long[in.readInt()];
+		for( int i=0; i<_anchors.length; i++ )
+			_anchors[i] = in.readLong();
+	}
+	
+	@Override
+	public long getExactSizeOnDisk() {
+		return super.getExactSizeOnDisk() + 4 + 8 * _anchors.length;
+	}
+}
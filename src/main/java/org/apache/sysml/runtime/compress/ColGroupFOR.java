@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator.IntegerEncodingFactors;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Class to encapsulate information about a single-column group of integer
+ * values that is encoded with frame-of-reference (FOR) encoding, i.e., as
+ * bit-packed offsets to the minimum value of the column.
+ */
+public class ColGroupFOR extends ColGroupPacked 
+{
+	private static final long serialVersionUID = 3871582932480853720L;
+
+	public ColGroupFOR() {
+		super();
+	}
+	
+	/**
+	 * Main constructor.
+	 * 
+	 * @param colIndices indices of the column in the matrix block (length 1)
+	 * @param numRows total number of rows in the parent block
+	 * @param rawblock the uncompressed block
+	 * @param fact integer encoding factors of the column
+	 */
+	public ColGroupFOR(int[] colIndices, int numRows, MatrixBlock rawblock, IntegerEncodingFactors fact) {
+		super(colIndices, numRows, fact.min, 1, fact.max - fact.min,
+			getBitWidth(fact.max - fact.min), null);
+		_packed = allocPacked(numRows, _width);
+		
+		//pack offsets to the minimum value
+		final int col = colIndices[0];
+		for( int i=0; i<numRows; i++ )
+			setPacked(_packed, _width, i, (long)getValue(rawblock, col, i) - fact.min);
+	}
+	
+	protected ColGroupFOR(int[] colIndices, int numRows, double ref, double scale, long maxRaw, int width, long[] packed) {
+		super(colIndices, numRows, ref, scale, maxRaw, width, packed);
+	}
+	
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.FOR;
+	}
+	
+	@Override
+	protected long getRaw(int r) {
+		return getPacked(_packed, _width, r);
+	}
+	
+	@Override
+	protected void decode(int rl, int ru, double[] out) {
+		for( int i=rl; i<ru; i++ )
+			out[i-rl] = _ref + _scale * getPacked(_packed, _width, i);
+	}
+	
+	@Override
+	protected ColGroupPacked createWithAffine(double ref, double scale) {
+		//shallow copy of packed data
+		return new ColGroupFOR(_colIndexes, _numRows, ref, scale, _maxRaw, _width, _packed);
+	}
+}
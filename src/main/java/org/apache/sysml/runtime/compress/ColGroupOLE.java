@@ -263,25 +263,33 @@ public class ColGroupOLE extends ColGroupOffset
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op)
 	{
+		//implicit zeros only change for sparse-unsafe operations
 		double val0 = op.executeScalar(0);
-		
-		//fast path: sparse-safe operations
+		return createWithValues(applyScalarOp(op), (op.sparseSafe || val0==0) ?
+			null : createValueTuple(val0));
+	}
+	
+	@Override
+	protected ColGroup createWithValues(double[] values, double[] zeroTuple)
+	{
+		//fast path: implicit zeros remain zero
 		// Note that bitmaps don't change and are shallow-copied
-		if( op.sparseSafe || val0==0 ) {
-			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
-					applyScalarOp(op), _data, _ptr);
+		if( zeroTuple == null ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros,
+					values, _data, _ptr);
 		}
 		
-		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		//slow path: new values for implicit zeros (potentially create new bitmap)
 		//note: for efficiency, we currently don't drop values that become 0
 		boolean[] lind = computeZeroIndicatorVector();
 		int[] loff = computeOffsets(lind);
 		if( loff.length==0 ) { //empty offset list: go back to fast path
 			return new ColGroupOLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+					values, _data, _ptr);
 		}
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());
+		double[] rvalues = Arrays.copyOf(values, values.length+zeroTuple.length);
+		System.arraycopy(zeroTuple, 0, rvalues, values.length, zeroTuple.length);
 		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
@@ -807,17 +815,12 @@ public class ColGroupOLE extends ColGroupOffset
 			_bix = skipScanVal(k, lrl);
 			_start = lrl; 
 			
-			//move position to actual rl boundary
-			if( _bix < _blen ) {
-				_slen = _data[_boff + _bix];
-				_spos = 0;
-				_rpos = _data[_boff + _bix + 1];
-				while( _rpos < rl )
-					nextRowOffset();
-			}
-			else {
-				_rpos = _ru;
-			}
+			//move position to first offset and actual rl boundary
+			_slen = (_bix < _blen) ? _data[_boff + _bix] : 0;
+			_spos = -1;
+			nextRowOffset();
+			while( _rpos < rl )
+				nextRowOffset();
 		}
 
 		@Override
@@ -835,22 +838,16 @@ public class ColGroupOLE extends ColGroupOffset
 		}
 		
 		private void nextRowOffset() {
-			if( _spos+1 < _slen ) {
-				_spos++;
-				_rpos = _start + _data[_boff + _bix + _spos + 1];
-			}
-			else {
+			_spos++;
+			//skip exhausted and empty segments
+			while( _spos >= _slen && _bix < _blen ) {
 				_start += BitmapEncoder.BITMAP_BLOCK_SZ;
 				_bix += _slen+1;
-				if( _bix < _blen ) {
-					_slen = _data[_boff + _bix];
-					_spos = 0;
-					_rpos = _start + _data[_boff + _bix + 1];
-				}
-				else {
-					_rpos = _ru;
-				}
+				_slen = (_bix < _blen) ? _data[_boff + _bix] : 0;
+				_spos = 0;
 			}
+			_rpos = (_bix < _blen) ?
+				_start + _data[_boff + _bix + _spos + 1] : _ru;
 		}
 	}
 	
@@ -227,6 +227,52 @@ public abstract class ColGroupOffset extends ColGroupValue
 		return 0;
 	}
 
+	@Override
+	public void rightMultByMatrix(double[] vals, int bcols, MatrixBlock result, int rl, int ru) {
+		double[] c = result.getDenseBlockValues();
+		final int numVals = getNumValues();
+		
+		//add the pre-aggregated tuple per offset
+		for( int k = 0; k < numVals; k++ ) {
+			Iterator<Integer> iter = getIterator(k, rl, ru);
+			while( iter.hasNext() )
+				LinearAlgebraUtils.vectAdd(vals, c, k*bcols, iter.next()*bcols, bcols);
+		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result) {
+		double[] a = matrix.getDenseBlockValues();
+		double[] c = result.getDenseBlockValues();
+		final int numVals = getNumValues();
+		final int arows = matrix.getNumRows();
+		final int nrow = getNumRows();
+		final int clen = result.getNumColumns();
+		
+		//materialize offsets per distinct tuple (at most nrow in total)
+		int[] counts = getCounts();
+		int[][] offsets = new int[numVals][];
+		for( int k = 0; k < numVals; k++ ) {
+			offsets[k] = new int[counts[k]];
+			Iterator<Integer> iter = getIterator(k);
+			for( int pos = 0; iter.hasNext(); pos++ )
+				offsets[k][pos] = iter.next();
+		}
+		
+		//pre-aggregate lhs row per distinct tuple, then scale the dictionary
+		double[] vals = new double[numVals];
+		for( int i = 0, aix = 0; i < arows; i++, aix += nrow ) {
+			for( int k = 0; k < numVals; k++ ) {
+				double val = 0;
+				int[] off = offsets[k];
+				for( int j = 0; j < off.length; j++ )
+					val += a[aix + off[j]];
+				vals[k] = val;
+			}
+			postScaleValues(vals, 0, c, i*clen);
+		}
+	}
+	
 	protected final void sumAllValues(double[] b, double[] c)
 	{
 		final int numVals = getNumValues();
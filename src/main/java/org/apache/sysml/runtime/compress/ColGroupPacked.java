@@ -0,0 +1,555 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.Divide;
+import org.apache.sysml.runtime.functionobjects.KahanFunction;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ReduceAll;
+import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceRow;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Base class for single-column groups of integer values that are encoded 
+ * as bit-packed non-negative integers without value dictionary, which is
+ * beneficial for high-cardinality columns such as IDs, timestamps, or counts.
+ * 
+ * The value of row r is given by the affine mapping _ref + _scale * raw(r),
+ * where raw(r) is decoded by the subclasses (e.g., frame-of-reference or
+ * delta encoding). The affine mapping allows to execute common scalar and
+ * row-vector operations (e.g., shifting and scaling) by modifying metadata.
+ */
+public abstract class ColGroupPacked extends ColGroup 
+{
+	private static final long serialVersionUID = -2186417437431186425L;
+	
+	/** Block size for range decoding and delta anchors. */
+	public static final int BLOCK_SZ = 1024;
+	
+	/** Reference value and scale factor of the affine mapping. */
+	protected double _ref;
+	protected double _scale;
+	
+	/** Maximum raw value, attained by at least one row (minimum is 0). */
+	protected long _maxRaw;
+	
+	/** Bit-packed integers of _width bits each. */
+	protected int _width;
+	protected long[] _packed;
+	
+	protected ColGroupPacked() {
+		super((int[]) null, -1);
+	}
+	
+	protected ColGroupPacked(int[] colIndices, int numRows, double ref, double scale, long maxRaw, int width, long[] packed) {
+		super(colIndices, numRows);
+		_ref = ref;
+		_scale = scale;
+		_maxRaw = maxRaw;
+		_width = width;
+		_packed = packed;
+	}
+	
+	/**
+	 * Decode the raw (unscaled) integer of the given row.
+	 * 
+	 * @param r row index
+	 * @return raw integer
+	 */
+	protected abstract long getRaw(int r);
+	
+	/**
+	 * Decode the values of a row range into the given output buffer.
+	 * 
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param out output buffer of length at least ru-rl
+	 */
+	protected abstract void decode(int rl, int ru, double[] out);
+	
+	/**
+	 * Create a column group of the same encoding and data but a
+	 * different affine mapping.
+	 * 
+	 * @param ref new reference value
+	 * @param scale new scale factor
+	 * @return new column group
+	 */
+	protected abstract ColGroupPacked createWithAffine(double ref, double scale);
+	
+	/**
+	 * Creates a shallow copy of this column group with the given
+	 * column indices.
+	 * 
+	 * @param colIndices new column indices
+	 * @return new column group
+	 */
+	public ColGroupPacked copy(int[] colIndices) {
+		ColGroupPacked ret = createWithAffine(_ref, _scale);
+		ret._colIndexes = colIndices;
+		return ret;
+	}
+	
+	protected final double getData(int r) {
+		return _ref + _scale * getRaw(r);
+	}
+	
+	//bit-packing primitives
+	
+	public static int getBitWidth(long maxVal) {
+		return 64 - Long.numberOfLeadingZeros(maxVal);
+	}
+	
+	protected static long[] allocPacked(int len, int width) {
+		return new long[(int)(((long)len * width + 63) >>> 6)];
+	}
+	
+	protected static void setPacked(long[] packed, int width, int pos, long val) {
+		if( width == 0 )
+			return;
+		long bitpos = (long)pos * width;
+		int ix = (int)(bitpos >>> 6);
+		int off = (int)(bitpos & 63);
+		packed[ix] |= val << off;
+		if( off + width > 64 )
+			packed[ix+1] |= val >>> (64 - off);
+	}
+	
+	protected static long getPacked(long[] packed, int width, int pos) {
+		if( width == 0 )
+			return 0;
+		long bitpos = (long)pos * width;
+		int ix = (int)(bitpos >>> 6);
+		int off = (int)(bitpos & 63);
+		long val = packed[ix] >>> off;
+		if( off + width > 64 )
+			val |= packed[ix+1] << (64 - off);
+		return val & (-1L >>> (64 - width));
+	}
+	
+	protected static double getValue(MatrixBlock rawblock, int col, int r) {
+		return CompressedMatrixBlock.TRANSPOSE_INPUT ?
+			rawblock.quickGetValue(col, r) : rawblock.quickGetValue(r, col);
+	}
+	
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+		// ref, scale, maxRaw (24B), width (4B), array reference (8B)
+		// + array object overhead (32B) + 8B per packed long
+		size += 36;
+		size += 32 + 8 * _packed.length;
+		return size;
+	}
+	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		final int col = _colIndexes[0];
+		double[] tmp = new double[Math.min(ru-rl, BLOCK_SZ)];
+		for( int bi = rl; bi < ru; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, ru);
+			decode(bi, bu, tmp);
+			for( int i = bi; i < bu; i++ )
+				target.appendValue(i, col, tmp[i-bi]);
+		}
+		//note: append ok because final sort per row 
+	}
+	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int[] colIndexTargets) {
+		final int col = colIndexTargets[_colIndexes[0]];
+		double[] tmp = new double[Math.min(_numRows, BLOCK_SZ)];
+		for( int bi = 0; bi < _numRows; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, _numRows);
+			decode(bi, bu, tmp);
+			for( int i = bi; i < bu; i++ )
+				target.quickSetValue(i, col, tmp[i-bi]);
+		}
+	}
+	
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		double[] c = target.getDenseBlockValues();
+		decode(0, _numRows, c);
+		int nnz = 0;
+		for( int i = 0; i < _numRows; i++ )
+			nnz += (c[i] != 0) ? 1 : 0;
+		target.setNonZeros(nnz);
+	}
+	
+	@Override
+	public double get(int r, int c) {
+		if( c != _colIndexes[0] )
+			throw new RuntimeException("Column index "+c+" not in packed group.");
+		return getData(r);
+	}
+	
+	@Override
+	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) {
+		double b = ConverterUtils.getDenseVector(vector)[_colIndexes[0]];
+		if( b == 0 )
+			return;
+		double[] c = result.getDenseBlockValues();
+		double[] tmp = new double[Math.min(ru-rl, BLOCK_SZ)];
+		for( int bi = rl; bi < ru; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, ru);
+			decode(bi, bu, tmp);
+			for( int i = bi; i < bu; i++ )
+				c[i] += tmp[i-bi] * b;
+		}
+	}
+	
+	@Override
+	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) {
+		double[] a = ConverterUtils.getDenseVector(vector);
+		double[] c = result.getDenseBlockValues();
+		double[] tmp = new double[Math.min(_numRows, BLOCK_SZ)];
+		double val = 0;
+		for( int bi = 0; bi < _numRows; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, _numRows);
+			decode(bi, bu, tmp);
+			for( int i = bi; i < bu; i++ )
+				val += a[i] * tmp[i-bi];
+		}
+		c[_colIndexes[0]] += val;
+	}
+	
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		double[] b = matrix.getDenseBlockValues();
+		double[] c = result.getDenseBlockValues();
+		final int bcols = matrix.getNumColumns();
+		final int bix = _colIndexes[0] * bcols;
+		double[] tmp = new double[Math.min(ru-rl, BLOCK_SZ)];
+		for( int bi = rl; bi < ru; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, ru);
+			decode(bi, bu, tmp);
+			for( int i = bi; i < bu; i++ )
+				if( tmp[i-bi] != 0 )
+					LinearAlgebraUtils.vectMultiplyAdd(tmp[i-bi], b, c, bix, i*bcols, bcols);
+		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result) {
+		double[] a = matrix.getDenseBlockValues();
+		double[] c = result.getDenseBlockValues();
+		final int arows = matrix.getNumRows();
+		final int clen = result.getNumColumns();
+		final int col = _colIndexes[0];
+		double[] tmp = new double[Math.min(_numRows, BLOCK_SZ)];
+		for( int bi = 0; bi < _numRows; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, _numRows);
+			decode(bi, bu, tmp);
+			for( int i = 0; i < arows; i++ )
+				c[i*clen+col] += LinearAlgebraUtils
+					.dotProduct(a, tmp, i*_numRows+bi, 0, bu-bi);
+		}
+	}
+	
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		//fast path: affine operations only modify metadata
+		ColGroup ret = applyAffineOperation(op.fn,
+			op.getConstant(), op instanceof LeftScalarOperator);
+		return (ret != null) ? ret :
+			toUncompressed().scalarOperation(op);
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		//non-affine operations require uncompressed values
+		return toUncompressed().unaryOperation(op);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//fast path: affine operations only modify metadata
+		ColGroup ret = applyAffineOperation(op.fn, v[_colIndexes[0]], false);
+		return (ret != null) ? ret :
+			toUncompressed().binaryRowOperation(op, v);
+	}
+	
+	private ColGroup applyAffineOperation(ValueFunction fn, double c, boolean left) {
+		//non-finite constants or metadata (e.g., division by zero) require
+		//the generic fallback, because ref+scale*x is not element-wise exact
+		if( !Double.isFinite(c) )
+			return null;
+		double ref = _ref, scale = _scale;
+		if( fn instanceof Plus )
+			ref = _ref + c;
+		else if( fn instanceof Minus ) {
+			ref = left ? c - _ref : _ref - c;
+			scale = left ? -_scale : _scale;
+		}
+		else if( fn instanceof Multiply ) {
+			ref = _ref * c;
+			scale = _scale * c;
+		}
+		else if( fn instanceof Divide && !left ) {
+			ref = _ref / c;
+			scale = _scale / c;
+		}
+		else
+			return null;
+		return (Double.isFinite(ref) && Double.isFinite(scale)) ?
+			createWithAffine(ref, scale) : null;
+	}
+	
+	/**
+	 * Create an uncompressed column group of the same column, which
+	 * is used as fallback for operations without compressed equivalent.
+	 * 
+	 * @return uncompressed column group
+	 */
+	public ColGroupUncompressed toUncompressed() {
+		MatrixBlock data = new MatrixBlock(_numRows, 1, false);
+		data.allocateDenseBlock();
+		decompressToBlock(data, 0);
+		data.examSparsity();
+		return new ColGroupUncompressed(_colIndexes, _numRows, data);
+	}
+	
+	@Override
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) {
+		unaryAggregateOperations(op, result, 0, getNumRows());
+	}
+	
+	/**
+	 * 
+	 * @param op aggregation operator
+	 * @param result output matrix block
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 */
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result, int rl, int ru)
+	{
+		final int col = _colIndexes[0];
+		
+		//sum and sumsq (reduceall/reducerow over all rows, reducecol over row range)
+		if( op.aggOp.increOp.fn instanceof KahanPlus || op.aggOp.increOp.fn instanceof KahanPlusSq ) 
+		{
+			KahanFunction kplus = (op.aggOp.increOp.fn instanceof KahanPlus) ?
+				KahanPlus.getKahanPlusFnObject() : KahanPlusSq.getKahanPlusSqFnObject();
+			KahanObject kbuff = new KahanObject(0, 0);
+			double[] tmp = new double[Math.min(_numRows, BLOCK_SZ)];
+			
+			if( op.indexFn instanceof ReduceAll || op.indexFn instanceof ReduceRow ) {
+				int cix = (op.indexFn instanceof ReduceAll) ? 0 : col;
+				int cixc = (op.indexFn instanceof ReduceAll) ? 1 : col;
+				int rixc = (op.indexFn instanceof ReduceAll) ? 0 : 1;
+				kbuff.set(result.quickGetValue(0, cix), result.quickGetValue(rixc, cixc));
+				for( int bi = 0; bi < _numRows; bi += BLOCK_SZ ) {
+					int bu = Math.min(bi + BLOCK_SZ, _numRows);
+					decode(bi, bu, tmp);
+					for( int i = bi; i < bu; i++ )
+						kplus.execute2(kbuff, tmp[i-bi]);
+				}
+				result.quickSetValue(0, cix, kbuff._sum);
+				result.quickSetValue(rixc, cixc, kbuff._correction);
+			}
+			else if( op.indexFn instanceof ReduceCol ) {
+				for( int bi = rl; bi < ru; bi += BLOCK_SZ ) {
+					int bu = Math.min(bi + BLOCK_SZ, ru);
+					decode(bi, bu, tmp);
+					for( int i = bi; i < bu; i++ ) {
+						kbuff.set(result.quickGetValue(i, 0), result.quickGetValue(i, 1));
+						kplus.execute2(kbuff, tmp[i-bi]);
+						result.quickSetValue(i, 0, kbuff._sum);
+						result.quickSetValue(i, 1, kbuff._correction);
+					}
+				}
+			}
+		}
+		//min and max (reduceall/reducerow via extreme raw values)
+		else if(op.aggOp.increOp.fn instanceof Builtin 
+				&& (((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX 
+				|| ((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MIN)) 
+		{
+			Builtin builtin = (Builtin) op.aggOp.increOp.fn;
+			double mxx = builtin.execute(_ref, _ref + _scale * _maxRaw);
+			
+			if( op.indexFn instanceof ReduceAll )
+				result.quickSetValue(0, 0, builtin.execute(mxx, result.quickGetValue(0, 0)));
+			else if( op.indexFn instanceof ReduceRow )
+				result.quickSetValue(0, col, mxx);
+			else if( op.indexFn instanceof ReduceCol ) {
+				double[] c = result.getDenseBlockValues();
+				double[] tmp = new double[Math.min(ru-rl, BLOCK_SZ)];
+				for( int bi = rl; bi < ru; bi += BLOCK_SZ ) {
+					int bu = Math.min(bi + BLOCK_SZ, ru);
+					decode(bi, bu, tmp);
+					for( int i = bi; i < bu; i++ )
+						c[i] = builtin.execute(c[i], tmp[i-bi]);
+				}
+			}
+		}
+	}
+	
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_numRows);
+		out.writeInt(_colIndexes[0]);
+		out.writeDouble(_ref);
+		out.writeDouble(_scale);
+		out.writeLong(_maxRaw);
+		out.writeInt(_width);
+		
+		//write packed data
+		out.writeInt(_packed.length);
+		for( int i=0; i<_packed.length; i++ )
+			out.writeLong(_packed[i]);
+	}
+	
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		_colIndexes = new int[]{ in.readInt() };
+		_ref = in.readDouble();
+		_scale = in.readDouble();
+		_maxRaw = in.readLong();
+		_width = in.readInt();
+		
+		//read packed data
+		_packed = new long[in.readInt()];
+		for( int i=0; i<_packed.length; i++ )
+			_packed[i] = in.readLong();
+	}
+	
+	@Override
+	public long getExactSizeOnDisk() {
+		//header, affine mapping, width, and packed data
+		return 8 + 24 + 4 + 4 + 8 * _packed.length;
+	}
+	
+	@Override
+	protected void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		double[] tmp = new double[Math.min(ru-rl, BLOCK_SZ)];
+		for( int bi = rl; bi < ru; bi += BLOCK_SZ ) {
+			int bu = Math.min(bi + BLOCK_SZ, ru);
+			decode(bi, bu, tmp);
+			for( int i = bi; i < bu; i++ )
+				rnnz[i-rl] += (tmp[i-bi] != 0) ? 1 : 0;
+		}
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros, boolean rowMajor) {
+		//single column, so row-major and column-major order are equivalent
+		return new PackedIterator(rl, ru, inclZeros);
+	}
+	
+	@Override
+	public ColGroupRowIterator getRowIterator(int rl, int ru) {
+		return new PackedRowIterator(rl, ru);
+	}
+	
+	private class PackedIterator implements Iterator<IJV>
+	{
+		//iterator configuration
+		private final int _ru;
+		private final boolean _inclZeros;
+		
+		//iterator state
+		private final IJV _buff = new IJV();
+		private final double[] _tmp;
+		private int _bl = -1;
+		private int _rpos = -1;
+		private double _value = 0;
+		
+		public PackedIterator(int rl, int ru, boolean inclZeros) {
+			_ru = ru;
+			_inclZeros = inclZeros;
+			_tmp = new double[Math.max(Math.min(ru-rl, BLOCK_SZ), 1)];
+			_rpos = rl-1;
+			getNextValue();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return (_rpos < _ru);
+		}
+		
+		@Override
+		public IJV next() {
+			_buff.set(_rpos, _colIndexes[0], _value);
+			getNextValue();
+			return _buff;
+		}
+		
+		private void getNextValue() {
+			do {
+				_rpos++;
+				if( _rpos >= _ru )
+					return; //reached end
+				if( _bl < 0 || _rpos >= _bl + _tmp.length ) {
+					_bl = _rpos;
+					decode(_bl, Math.min(_bl + _tmp.length, _ru), _tmp);
+				}
+				_value = _tmp[_rpos - _bl];
+			}
+			while( !_inclZeros && _value==0 );
+		}
+	}
+	
+	private class PackedRowIterator extends ColGroupRowIterator
+	{
+		private final int _ru;
+		private final double[] _tmp;
+		private int _bl = -1;
+		
+		public PackedRowIterator(int rl, int ru) {
+			_ru = ru;
+			_tmp = new double[Math.max(Math.min(ru-rl, BLOCK_SZ), 1)];
+		}
+		
+		@Override
+		public void next(double[] buff, int rowIx, int segIx, boolean last) {
+			//decode next block of rows if necessary
+			if( _bl < 0 || rowIx < _bl || rowIx >= _bl + _tmp.length ) {
+				_bl = rowIx;
+				decode(_bl, Math.min(_bl + _tmp.length, _ru), _tmp);
+			}
+			buff[_colIndexes[0]] = _tmp[rowIx - _bl];
+		}
+	}
+}
@@ -197,11 +197,13 @@ public class ColGroupRLE extends ColGroupOffset
 		int[] astart = new int[numVals];
 		int[] apos = allocIVector(numVals, true);
 		
+		//reset output once (runs may cross block boundaries)
+		Arrays.fill(c, 0, n, 0);
+		
 		//cache conscious append via horizontal scans 
 		int nnz = 0;
 		for( int bi=0; bi<n; bi+=blksz ) {
 			int bimax = Math.min(bi+blksz, n);
-			Arrays.fill(c, bi, bimax, 0);
 			for (int k=0, off=0; k < numVals; k++, off+=numCols) {
 				int boff = _ptr[k];
 				int blen = len(k);
@@ -469,30 +471,38 @@ public class ColGroupRLE extends ColGroupOffset
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op)
 	{
+		//implicit zeros only change for sparse-unsafe operations
 		double val0 = op.executeScalar(0);
-		
-		//fast path: sparse-safe operations
+		return createWithValues(applyScalarOp(op), (op.sparseSafe || val0==0) ?
+			null : createValueTuple(val0));
+	}
+	
+	@Override
+	protected ColGroup createWithValues(double[] values, double[] zeroTuple)
+	{
+		//fast path: implicit zeros remain zero
 		// Note that bitmaps don't change and are shallow-copied
-		if( op.sparseSafe || val0==0 ) {
+		if( zeroTuple == null ) {
 			return new ColGroupRLE(_colIndexes, _numRows, _zeros,
-					applyScalarOp(op), _data, _ptr);
+					values, _data, _ptr);
 		}
 		
-		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		//slow path: new values for implicit zeros (potentially create new bitmap)
 		//note: for efficiency, we currently don't drop values that become 0
 		boolean[] lind = computeZeroIndicatorVector();
 		int[] loff = computeOffsets(lind);
 		if( loff.length==0 ) { //empty offset list: go back to fast path
 			return new ColGroupRLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+					values, _data, _ptr);
 		}
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());
+		double[] rvalues = Arrays.copyOf(values, values.length+zeroTuple.length);
+		System.arraycopy(zeroTuple, 0, rvalues, values.length, zeroTuple.length);
 		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
 		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
-		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length;
 		
 		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
 				rvalues, rbitmaps, rbitmapOffs);
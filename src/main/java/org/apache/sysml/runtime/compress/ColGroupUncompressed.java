@@ -35,7 +35,10 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -326,6 +329,47 @@ public class ColGroupUncompressed extends ColGroup
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		// Pull out the relevant rows of the matrix
+		int clen = _colIndexes.length;
+		int bcols = matrix.getNumColumns();
+		MatrixBlock shortMatrix = new MatrixBlock(clen, bcols, false);
+		shortMatrix.allocateDenseBlock();
+		double[] b = matrix.getDenseBlockValues();
+		double[] sb = shortMatrix.getDenseBlockValues();
+		for (int colIx = 0; colIx < clen; colIx++)
+			System.arraycopy(b, _colIndexes[colIx]*bcols, sb, colIx*bcols, bcols);
+		shortMatrix.recomputeNonZeros();
+		
+		// Multiply the selected rows and add to the result
+		MatrixBlock data = (rl==0 && ru==_data.getNumRows()) ? _data :
+			_data.slice(rl, ru-1, 0, clen-1, new MatrixBlock());
+		MatrixBlock pret = new MatrixBlock(ru-rl, bcols, false);
+		LibMatrixMult.matrixMult(data, shortMatrix, pret);
+		if( !pret.isEmptyBlock(false) ) {
+			double[] c = result.getDenseBlockValues();
+			for (int i = rl; i < ru; i++)
+				for (int j = 0; j < bcols; j++)
+					c[i*bcols+j] += pret.quickGetValue(i-rl, j);
+		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result) {
+		MatrixBlock pret = new MatrixBlock(matrix.getNumRows(), _colIndexes.length, false);
+		LibMatrixMult.matrixMult(matrix, _data, pret);
+		
+		// adding partialResult to the proper indices of the result
+		if( !pret.isEmptyBlock(false) ) {
+			double[] c = result.getDenseBlockValues();
+			int clen = result.getNumColumns();
+			for (int i = 0; i < pret.getNumRows(); i++)
+				for (int colIx = 0; colIx < _colIndexes.length; colIx++)
+					c[i*clen+_colIndexes[colIx]] += pret.quickGetValue(i, colIx);
+		}
+	}
+	
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op) {
 		//execute scalar operations
@@ -335,6 +379,35 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+			.unaryOperations(op, new MatrixBlock());
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		MatrixBlock retContent = null;
+		if( _colIndexes.length == 1 ) {
+			//execute as scalar operation (no vector broadcast over single column)
+			retContent = (MatrixBlock) _data.scalarOperations(
+				new RightScalarOperator(op.fn, v[_colIndexes[0]]), new MatrixBlock());
+		}
+		else {
+			//execute binary operations w/ row vector of the group's columns
+			MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+			vect.allocateDenseBlock();
+			for( int j = 0; j < _colIndexes.length; j++ )
+				vect.quickSetValue(0, j, v[_colIndexes[j]]);
+			retContent = (MatrixBlock) _data.binaryOperations(op, vect, new MatrixBlock());
+		}
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret) {
 		//execute unary aggregate operations
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.compress;
 
 import java.util.Arrays;
 
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
@@ -29,7 +30,9 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -265,6 +268,72 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	@Override
+	public void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		final int bcols = matrix.getNumColumns();
+		double[] vals = preaggValues(getNumValues(), matrix.getDenseBlockValues(), bcols);
+		rightMultByMatrix(vals, bcols, result, rl, ru);
+	}
+	
+	/**
+	 * Adds the pre-aggregated value tuples (see preaggValues) to the given
+	 * rows of the dense output, which allows sharing the pre-aggregation
+	 * across row partitions.
+	 * 
+	 * @param vals dense row-major numVals x bcols pre-aggregated values
+	 * @param bcols number of columns of the right-hand-side matrix
+	 * @param result dense accumulator for holding the result (nrow x bcols)
+	 * @param rl row lower
+	 * @param ru row upper
+	 */
+	public abstract void rightMultByMatrix(double[] vals, int bcols, MatrixBlock result, int rl, int ru);
+	
+	/**
+	 * Pre-aggregates the value dictionary with a dense right-hand-side
+	 * matrix, i.e., computes the numVals x bcols product of the distinct
+	 * value tuples and the rows of the matrix that belong to this group.
+	 * 
+	 * @param numVals number of distinct value tuples
+	 * @param b dense row-major right-hand-side matrix
+	 * @param bcols number of columns of the right-hand-side matrix
+	 * @return dense row-major numVals x bcols matrix
+	 */
+	protected final double[] preaggValues(int numVals, double[] b, int bcols) {
+		final int numCols = getNumCols();
+		double[] ret = new double[numVals * bcols];
+		for( int k = 0; k < numVals; k++ )
+			for( int j = 0; j < numCols; j++ ) {
+				double val = _values[k*numCols+j];
+				if( val != 0 )
+					LinearAlgebraUtils.vectMultiplyAdd(val, b, ret,
+						_colIndexes[j]*bcols, k*bcols, bcols);
+			}
+		return ret;
+	}
+	
+	/**
+	 * Multiplies a vector of pre-aggregated left-hand-side values per
+	 * distinct value tuple by the value dictionary, and adds the result
+	 * to the columns of this group in the given output row.
+	 * 
+	 * @param a pre-aggregated values (numVals)
+	 * @param ai offset of the pre-aggregated values
+	 * @param c dense row-major output
+	 * @param ci offset of the output row
+	 */
+	protected final void postScaleValues(double[] a, int ai, double[] c, int ci) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		for( int k = 0; k < numVals; k++ ) {
+			double aval = a[ai+k];
+			if( aval == 0 )
+				continue;
+			int valOff = k * numCols;
+			for( int j = 0; j < numCols; j++ )
+				c[ci+_colIndexes[j]] += aval * _values[valOff+j];
+		}
+	}
+	
 	/**
 	 * NOTE: Shared across OLE/RLE/DDC because value-only computation. 
 	 * 
@@ -344,19 +413,64 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 
-	protected double[] applyScalarOp(ScalarOperator op, double newVal, int numCols) {
+	/**
+	 * Method for use by subclasses. Creates a tuple of the given value
+	 * for all columns of this column group.
+	 * 
+	 * @param val value
+	 * @return value tuple
+	 */
+	protected double[] createValueTuple(double val) {
+		double[] ret = new double[getNumCols()];
+		Arrays.fill(ret, val);
+		return ret;
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
 		//scan over linearized values
-		double[] ret = new double[_values.length + numCols];
-		for( int i = 0; i < _values.length; i++ ) {
-			ret[i] = op.executeScalar(_values[i]);
-		}
+		double[] vals = new double[_values.length];
+		for( int i = 0; i < _values.length; i++ )
+			vals[i] = op.fn.execute(_values[i]);
 		
-		//add new value to the end
-		Arrays.fill(ret, _values.length, _values.length+numCols, newVal);
+		//implicit zeros only change for sparse-unsafe operations
+		double val0 = op.fn.execute(0);
+		return createWithValues(vals, (op.sparseSafe || val0==0) ?
+			null : createValueTuple(val0));
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
 		
-		return ret;
+		//scan over linearized values w/ per-column operand
+		double[] vals = new double[_values.length];
+		for( int k = 0, off = 0; k < numVals; k++, off += numCols )
+			for( int j = 0; j < numCols; j++ )
+				vals[off+j] = op.fn.execute(_values[off+j], v[_colIndexes[j]]);
+		
+		//implicit zeros only change if any column maps zero to non-zero
+		double[] zeroTuple = new double[numCols];
+		boolean zeros = true;
+		for( int j = 0; j < numCols; j++ ) {
+			zeroTuple[j] = op.fn.execute(0, v[_colIndexes[j]]);
+			zeros &= (zeroTuple[j] == 0);
+		}
+		return createWithValues(vals, zeros ? null : zeroTuple);
 	}
 	
+	/**
+	 * Create a column group of the same encoding with the given (transformed)
+	 * distinct values. Rows that are implicitly zero in this column group
+	 * are assigned the given tuple (if not null).
+	 * 
+	 * @param values linearized distinct values, aligned with the existing ones
+	 * @param zeroTuple new values of implicitly zero rows, or null if zero
+	 * @return new column group
+	 */
+	protected abstract ColGroup createWithValues(double[] values, double[] zeroTuple);
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) {
 		unaryAggregateOperations(op, result, 0, getNumRows());
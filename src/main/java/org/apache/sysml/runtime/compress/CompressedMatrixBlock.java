@@ -24,7 +24,9 @@ import java.io.DataOutput;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -41,6 +43,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.lops.MapMultChain.ChainType;
@@ -49,6 +52,7 @@ import org.apache.sysml.runtime.compress.ColGroup.ColGroupRowIterator;
 import org.apache.sysml.runtime.compress.ColGroup.CompressionType;
 import org.apache.sysml.runtime.compress.cocode.PlanningCoCoder;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator.IntegerEncodingFactors;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory;
 import org.apache.sysml.runtime.compress.utils.ConverterUtils;
@@ -69,9 +73,13 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell.BinaryAccessType;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.MatrixValue;
 import org.apache.sysml.runtime.matrix.data.RandomMatrixGenerator;
@@ -93,8 +101,12 @@ import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.SortUtils;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Experimental version of MatrixBlock that allows a compressed internal
@@ -108,8 +120,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public static final boolean TRANSPOSE_INPUT = true;
 	public static final boolean MATERIALIZE_ZEROS = false;
 	public static final long MIN_PAR_AGG_THRESHOLD = 16*1024*1024; //16MB
+	public static final long MAX_TSMM_LHS_CELLS = 2*1024*1024; //16MB per thread
 	public static final boolean INVESTIGATE_ESTIMATES = false;
 	public static boolean ALLOW_DDC_ENCODING = true;
+	public static boolean ALLOW_CONST_ENCODING = true;
+	public static boolean ALLOW_PACKED_ENCODING = true; //FOR and DELTA
 	public static final boolean ALLOW_SHARED_DDC1_DICTIONARY = true;
 	private static final boolean LDEBUG = true; //local debug flag
 	private static final Level LDEBUG_LEVEL = Level.INFO; //DEBUG/TRACE for details
@@ -198,6 +213,20 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		_colGroups = new ArrayList<>();
 	}
 	
+	/**
+	 * Populates this block with column groups that were constructed 
+	 * directly from encoded data (e.g., by transformencode), without
+	 * materializing the uncompressed block. The given column groups
+	 * are required to cover all columns of this block.
+	 * 
+	 * @param colGroups column groups
+	 * @param nnz number of non-zeros
+	 */
+	public void allocateColGroupList(List<ColGroup> colGroups, long nnz) {
+		_colGroups = new ArrayList<>(colGroups);
+		nonZeros = nnz;
+	}
+	
 	@Override
 	public boolean isEmptyBlock(boolean safe)  {
 		if( !isCompressed() )
@@ -227,6 +256,20 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	 * @return compressed matrix block or original block if incompressible
 	 */
 	public MatrixBlock compress(int k) {
+		return compress(k, -1);
+	}
+	
+	/**
+	 * Compress block with bounded planning time. Given a non-negative time 
+	 * budget, the column co-coding uses a cheap correlation-based heuristic 
+	 * and stops merging column groups once the budget (incl the time for 
+	 * the per-column size estimation) is exhausted.
+	 * 
+	 * @param k  number of threads
+	 * @param budget  time budget for compression planning in milliseconds, or -1 for unbounded
+	 * @return compressed matrix block or original block if incompressible
+	 */
+	public MatrixBlock compress(int k, double budget) {
 		//check for redundant compression
 		if( isCompressed() ){
 			throw new DMLRuntimeException("Redundant compression, block already compressed.");
@@ -304,8 +347,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				colsUC.stream().map(c -> compRatios.get(c)).toArray()));
 		}
 		
+		_stats.timePhase1 = time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase1 = time.stop();
 			LOG.debug("Compression statistics:");
 			LOG.debug("--compression phase 1: "+_stats.timePhase1);
 		}
@@ -313,18 +356,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( colsC.isEmpty() ) {
 			if( LOG.isDebugEnabled() )
 				LOG.debug("Abort block compression because all columns are incompressible.");
+			maintainCompressionStatistics(_stats);
 			return new MatrixBlock().copyShallow(this);
 		}
 		
 		// PHASE 2: Grouping columns
-		// Divide the bitmap columns into column groups.
+		// Divide the bitmap columns into column groups (w/ remaining time budget).
 		List<int[]> bitmapColGrps = PlanningCoCoder.findCocodesByPartitioning(
-				bitmapSizeEstimator, colsC, sizeInfos, numRows, k);
+				bitmapSizeEstimator, colsC, sizeInfos, numRows, k,
+				(budget < 0) ? -1 : Math.max(budget - _stats.timePhase1, 0));
 
-		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase2 = time.stop();
+		_stats.timePhase2 = time.stop();
+		if( LOG.isDebugEnabled() )
 			LOG.debug("--compression phase 2: "+_stats.timePhase2);
-		}
 			
 		if( INVESTIGATE_ESTIMATES ) {
 			double est = 0;
@@ -349,10 +393,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			}
 		}
 		
-		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase3 = time.stop();
+		_stats.timePhase3 = time.stop();
+		if( LOG.isDebugEnabled() )
 			LOG.debug("--compression phase 3: "+_stats.timePhase3);
-		}
 		
 		// PHASE 4: Best-effort dictionary sharing for DDC1 single-col groups
 		double[] dict = createSharedDDC1Dictionary(_colGroups);
@@ -361,10 +404,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			_sharedDDC1Dict = true;
 		}
 		
-		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase4 = time.stop();
+		_stats.timePhase4 = time.stop();
+		if( LOG.isDebugEnabled() )
 			LOG.debug("--compression phase 4: "+_stats.timePhase4);
-		}
 		
 		// Phase 5: Cleanup
 		// The remaining columns are stored uncompressed as one big column group
@@ -380,6 +422,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( _stats.ratio < 1 ) {
 			if( LOG.isDebugEnabled() )
 				LOG.debug("Abort block compression because compression ratio is less than 1.");
+			maintainCompressionStatistics(_stats);
 			return new MatrixBlock().copyShallow(this);
 		}
 		
@@ -387,15 +430,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		rawblock.cleanupBlock(true, true);
 		this.cleanupBlock(true, true);
 		
+		_stats.timePhase5 = time.stop();
+		maintainCompressionStatistics(_stats);
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase5 = time.stop();
 			int[] counts = getColGroupCounts(_colGroups);
 			LOG.debug("--compression phase 5: "+_stats.timePhase5);
 			LOG.debug("--num col groups: "+_colGroups.size());
-			LOG.debug("--col groups types (OLE,RLE,DDC1,DDC2,UC): "
-					+counts[2]+","+counts[1]+","+counts[3]+","+counts[4]+","+counts[0]);
-			LOG.debug("--col groups sizes (OLE,RLE,DDC1,DDC2,UC): "
-					+counts[7]+","+counts[6]+","+counts[8]+","+counts[9]+","+counts[5]);
+			int n = CompressionType.values().length;
+			LOG.debug("--col groups types (OLE,RLE,DDC1,DDC2,CONST,FOR,DELTA,UC): "
+					+counts[2]+","+counts[1]+","+counts[3]+","+counts[4]+","
+					+counts[5]+","+counts[6]+","+counts[7]+","+counts[0]);
+			LOG.debug("--col groups sizes (OLE,RLE,DDC1,DDC2,CONST,FOR,DELTA,UC): "
+					+counts[n+2]+","+counts[n+1]+","+counts[n+3]+","+counts[n+4]+","
+					+counts[n+5]+","+counts[n+6]+","+counts[n+7]+","+counts[n]);
 			LOG.debug("--compressed size: "+_stats.size);
 			LOG.debug("--compression ratio: "+_stats.ratio);
 		}
@@ -406,6 +453,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public CompressionStatistics getCompressionStatistics() {
 		return _stats;
 	}
+	
+	private static void maintainCompressionStatistics(CompressionStatistics stats) {
+		//note: phases of aborted compression are reported as zero
+		if( ConfigurationManager.isStatistics() )
+			Statistics.accCompressionTimes(Math.max(stats.timePhase1, 0),
+				Math.max(stats.timePhase2, 0), Math.max(stats.timePhase3, 0),
+				Math.max(stats.timePhase4, 0) + Math.max(stats.timePhase5, 0));
+	}
 
 	/**
 	 * Get array of counts regarding col group types. The position
@@ -415,10 +470,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	 * @return counts 
 	 */
 	private static int[] getColGroupCounts(ArrayList<ColGroup> colgroups) {
-		int[] ret = new int[10]; //5 x count, 5 x num_columns
+		int n = CompressionType.values().length;
+		int[] ret = new int[2*n]; //n x count, n x num_columns
 		for( ColGroup c : colgroups ) {
 			ret[c.getCompType().ordinal()] ++;
-			ret[5+c.getCompType().ordinal()] += c.getNumCols();
+			ret[n+c.getCompType().ordinal()] += c.getNumCols();
 		}
 		return ret;
 	}
@@ -478,6 +534,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	private static ColGroup compressColGroup(MatrixBlock in, CompressedSizeEstimator estim, HashMap<Integer, Double> compRatios, int rlen, int[] colIndexes, boolean denseEst) 
 	{
+		//exact size of bit-packed integer encodings for single columns
+		IntegerEncodingFactors ifact = null;
+		long packedSize = Long.MAX_VALUE;
+		if( ALLOW_PACKED_ENCODING && colIndexes.length == 1 ) {
+			ifact = CompressedSizeEstimator.computeIntegerEncodingFactors(in, colIndexes[0], null);
+			packedSize = Math.min(ifact.getFORSize(rlen), ifact.getDeltaSize(rlen));
+		}
+		
 		int[] allGroupIndices = null;
 		int allColsCount = colIndexes.length;
 		CompressedSizeInfo sizeInfo;
@@ -492,7 +556,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			ubm = BitmapEncoder.extractBitmap(colIndexes, in); 
 			sizeInfo = estim.estimateCompressedColGroupSize(ubm);
 			double sp2 = denseEst ? 1.0 : OptimizerUtils.getSparsity(rlen, 1, ubm.getNumOffsets());
-			double compRatio = getUncompressedSize(rlen, colIndexes.length, sp2) / sizeInfo.getMinSize();
+			double compRatio = getUncompressedSize(rlen, colIndexes.length, sp2)
+				/ Math.min(sizeInfo.getMinSize(), packedSize);
 		
 			if( compRatio > 1 ) {
 				break; // we have a good group
@@ -532,7 +597,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		long oleSize = sizeInfo.getOLESize();
 		long ddcSize = sizeInfo.getDDCSize();
 		
-		if( ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize ) {
+		if( packedSize < sizeInfo.getMinSize() ) {
+			if( ifact.getDeltaSize(rlen) < ifact.getFORSize(rlen) )
+				return new ColGroupDelta(colIndexes, rlen, in, ifact);
+			else
+				return new ColGroupFOR(colIndexes, rlen, in, ifact);
+		}
+		else if( sizeInfo.getConstSize() <= sizeInfo.getMinSize() )
+			return new ColGroupConst(colIndexes, rlen, ubm);
+		else if( ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize ) {
 			if( ubm.getNumValues()<=255 )
 				return new ColGroupDDC1(colIndexes, rlen, ubm);
 			else
@@ -776,6 +849,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	@Override
 	public long getExactSizeOnDisk() {
+		//uncompressed block (w/ compression flag)
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
 		//header information
 		long ret = 22;
 		for( ColGroup grp : _colGroups ) {
@@ -838,6 +915,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 					grp = new ColGroupDDC1(); break;
 				case DDC2:
 					grp = new ColGroupDDC2(); break;
+				case CONST:
+					grp = new ColGroupConst(); break;
+				case FOR:
+					grp = new ColGroupFOR(); break;
+				case DELTA:
+					grp = new ColGroupDelta(); break;
 			}
 			
 			//deserialize and add column group (flag for shared dictionary passed
@@ -898,7 +981,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public void readExternal(ObjectInput is) 
 		throws IOException
 	{
-		readFields(is);
+		if( is instanceof ObjectInputStream
+			&& !(is instanceof MatrixBlockDataInput) ) {
+			//fast deserialize of column groups
+			readFields(new FastBufferedDataInputStream((ObjectInputStream)is));
+		}
+		else {
+			//default deserialize (general case)
+			readFields(is);
+		}
 	}
 	
 	/**
@@ -912,7 +1003,18 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public void writeExternal(ObjectOutput os) 
 		throws IOException
 	{
-		write(os);
+		if( os instanceof ObjectOutputStream
+			&& !(os instanceof MatrixBlockDataOutput) ) {
+			//fast serialize of column groups (e.g., for shuffle and broadcast)
+			FastBufferedDataOutputStream fos = 
+				new FastBufferedDataOutputStream((ObjectOutputStream)os);
+			write(fos);
+			fos.flush();
+		}
+		else {
+			//default serialize (general case)
+			write(os);
+		}
 	}
 	
 	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros) {
@@ -970,6 +1072,119 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 
+	@Override
+	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
+	{
+		//call uncompressed unary if necessary
+		if( !isCompressed() ) {
+			return super.unaryOperations(op, result);
+		}
+		
+		//decompress for cumulative aggregates (e.g., cumsum), which are not cell-wise
+		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperations");
+			return decompress().unaryOperations(op, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the operation to the distinct values of each column group,
+		// which keeps the compressed representation (e.g., bitmaps) as is.
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		for (ColGroup grp : _colGroups) {
+			newColGroups.add(grp.unaryOperation(op));
+		}
+		ret._colGroups = newColGroups;
+		ret.setNonZeros(op.sparseSafe ? nonZeros : (long)rlen*clen);
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
+	{
+		//call uncompressed binary if necessary
+		if( !isCompressed() ) {
+			return super.binaryOperations(op, getUncompressed(thatValue), result);
+		}
+		
+		//decompress for all but matrix-row vector operations
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( !isRowVectorOperation(that) ) {
+			printDecompressWarning("binaryOperations", that);
+			return decompress().binaryOperations(op, getUncompressed(thatValue), result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the operation with the row vector (e.g., column-wise scaling)
+		// to the distinct values of each column group.
+		ret._colGroups = binaryRowOperations(op, that);
+		ret.setNonZeros((long)rlen*clen);
+		
+		return ret;
+	}
+	
+	@Override
+	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
+	{
+		//call uncompressed binary if necessary
+		if( !isCompressed() ) {
+			super.binaryOperationsInPlace(op, getUncompressed(thatValue));
+			return;
+		}
+		
+		//decompress for all but matrix-row vector operations
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( !isRowVectorOperation(that) ) {
+			printDecompressWarning("binaryOperationsInPlace", that);
+			MatrixBlock tmp = decompress();
+			tmp.binaryOperationsInPlace(op, getUncompressed(thatValue));
+			
+			//replace compressed representation with the uncompressed 
+			//result (shallow copy, the decompressed block is not shared)
+			_colGroups = null;
+			_sharedDDC1Dict = false;
+			sparse = tmp.isInSparseFormat();
+			sparseBlock = sparse ? tmp.getSparseBlock() : null;
+			denseBlock = sparse ? null : tmp.getDenseBlock();
+			nonZeros = tmp.getNonZeros();
+			return;
+		}
+		
+		//replace column groups, the old groups remain unmodified
+		_colGroups = binaryRowOperations(op, that);
+		setNonZeros((long)rlen*clen);
+	}
+	
+	private boolean isRowVectorOperation(MatrixBlock that) {
+		return LibMatrixBincell.getBinaryAccessType(this, that)
+			== BinaryAccessType.MATRIX_ROW_VECTOR;
+	}
+	
+	private ArrayList<ColGroup> binaryRowOperations(BinaryOperator op, MatrixBlock that) {
+		double[] v = DataConverter.convertToDoubleVector(getUncompressed(that), false);
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		for (ColGroup grp : _colGroups) {
+			newColGroups.add(grp.binaryRowOperation(op, v));
+		}
+		return newColGroups;
+	}
+
 	@Override
 	public MatrixBlock append(MatrixBlock that, MatrixBlock ret) 
 	{
@@ -1123,14 +1338,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			ret.reset(rl, cl, false, rl*cl);
 		
 		//compute matrix mult
-		if( m1.getNumRows()>1 && m2.getNumColumns()==1 ) { //MV right
-			CompressedMatrixBlock cmb = (CompressedMatrixBlock)m1;
+		boolean right = (m1 == this);
+		if( right && m1.getNumRows()>1 && m2.getNumColumns()==1 ) { //MV right
 			if( op.getNumThreads()>1 )
-				cmb.rightMultByVector(m2, ret, op.getNumThreads());
+				rightMultByVector(m2, ret, op.getNumThreads());
 			else
-				cmb.rightMultByVector(m2, ret);
+				rightMultByVector(m2, ret);
 		}
-		else if( m1.getNumRows()==1 && m2.getNumColumns()>1 ) { //MV left
+		else if( !right && m1.getNumRows()==1 && m2.getNumColumns()>1 ) { //MV left
 			if( op.getNumThreads()>1 )
 				leftMultByVectorTranspose(_colGroups, m1, ret, false, op.getNumThreads());
 			else
@@ -1138,42 +1353,57 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 		else { //MM
 			//prepare the other input (including decompression if necessary)
-			boolean right = (m1 == this);
 			MatrixBlock that = right ? m2 : m1;
 			if( that instanceof CompressedMatrixBlock ) {
 				that = ((CompressedMatrixBlock)that).isCompressed() ?
 					((CompressedMatrixBlock)that).decompress() : that;
 			}
 			
-			//transpose for sequential repeated column access 
-			if( right ) {
-				that = LibMatrixReorg.transpose(that, new MatrixBlock(that.getNumColumns(),
-					that.getNumRows(), that.isInSparseFormat()), op.getNumThreads());
-			}
-			
-			MatrixBlock tmpIn = new MatrixBlock(1, that.getNumColumns(), false).allocateBlock();
-			MatrixBlock tmpOut = new MatrixBlock(right?rl:1, right?1:cl, false).allocateBlock();
-			if( right ) { //MM right
-				for(int i=0; i<that.getNumRows(); i++) { //on transpose
-					tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
-					MatrixBlock tmpIn2 = LibMatrixReorg.transpose(tmpIn, //meta data op
-						new MatrixBlock(tmpIn.getNumColumns(), tmpIn.getNumRows(), false));
-					tmpOut.reset(tmpOut.getNumRows(), tmpOut.getNumColumns());
-					if( op.getNumThreads()>1 )
-						rightMultByVector(tmpIn2, tmpOut, op.getNumThreads());
+			//dictionary-based matrix kernels over dense inputs and outputs
+			if( isValidDenseMatrixMult(that, rl, cl) ) {
+				if( !that.isEmptyBlock(false) ) {
+					if( that.isInSparseFormat() ) {
+						that = new MatrixBlock(that);
+						that.sparseToDense();
+					}
+					if( right )
+						rightMultByMatrix(that, ret, op.getNumThreads());
 					else
-						rightMultByVector(tmpIn2, tmpOut);
-					ret.leftIndexingOperations(tmpOut, 0, ret.getNumRows()-1, i, i, ret, UpdateType.INPLACE);
+						leftMultByMatrix(_colGroups, that, ret, op.getNumThreads());
 				}
 			}
-			else { // MM left
-				for(int i=0; i<that.getNumRows(); i++) {
-					tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
-					if( op.getNumThreads()>1 )
-						leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, op.getNumThreads());
-					else
-						leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, true);
-					ret.leftIndexingOperations(tmpOut, i, i, 0, ret.getNumColumns()-1, ret, UpdateType.INPLACE);
+			else {
+				//fallback: repeated matrix-vector operations for large outputs
+				//transpose for sequential repeated column access 
+				if( right ) {
+					that = LibMatrixReorg.transpose(that, new MatrixBlock(that.getNumColumns(),
+						that.getNumRows(), that.isInSparseFormat()), op.getNumThreads());
+				}
+			
+				MatrixBlock tmpIn = new MatrixBlock(1, that.getNumColumns(), false).allocateBlock();
+				MatrixBlock tmpOut = new MatrixBlock(right?rl:1, right?1:cl, false).allocateBlock();
+				if( right ) { //MM right
+					for(int i=0; i<that.getNumRows(); i++) { //on transpose
+						tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
+						MatrixBlock tmpIn2 = LibMatrixReorg.transpose(tmpIn, //meta data op
+							new MatrixBlock(tmpIn.getNumColumns(), tmpIn.getNumRows(), false));
+						tmpOut.reset(tmpOut.getNumRows(), tmpOut.getNumColumns());
+						if( op.getNumThreads()>1 )
+							rightMultByVector(tmpIn2, tmpOut, op.getNumThreads());
+						else
+							rightMultByVector(tmpIn2, tmpOut);
+						ret.leftIndexingOperations(tmpOut, 0, ret.getNumRows()-1, i, i, ret, UpdateType.INPLACE);
+					}
+				}
+				else { // MM left
+					for(int i=0; i<that.getNumRows(); i++) {
+						tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
+						if( op.getNumThreads()>1 )
+							leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, op.getNumThreads());
+						else
+							leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, true);
+						ret.leftIndexingOperations(tmpOut, i, i, 0, ret.getNumColumns()-1, ret, UpdateType.INPLACE);
+					}
 				}
 			}
 		}
@@ -1348,10 +1578,13 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			
 		//process remaining groups (adds to output)
 		//note: UC group never passed into this function
-		for( ColGroup grp : groups )
-			if( !(grp instanceof ColGroupUncompressed) 
+		for( ColGroup grp : groups ) {
+			if( grp instanceof ColGroupPacked )
+				((ColGroupPacked)grp).unaryAggregateOperations(op, ret, rl, ru);
+			else if( !(grp instanceof ColGroupUncompressed) 
 				&& !(cacheDDC1 && grp instanceof ColGroupDDC1) )
 				((ColGroupValue)grp).unaryAggregateOperations(op, ret, rl, ru);
+		}
 	}
 	
 	@Override
@@ -1517,6 +1750,136 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	private static boolean isValidDenseMatrixMult(MatrixBlock that, int rl, int cl) {
+		return (long)rl * cl < Integer.MAX_VALUE
+			&& (long)that.getNumRows() * that.getNumColumns() < Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Multi-threaded matrix-matrix multiplication with a dense matrix on the
+	 * right, where each column group pre-aggregates its value dictionary with
+	 * the matrix once (shared across row partitions) and adds the resulting 
+	 * tuples to the output rows.
+	 * 
+	 * @param matrix dense matrix block
+	 * @param result matrix block result
+	 * @param k number of threads
+	 */
+	private void rightMultByMatrix(MatrixBlock matrix, MatrixBlock result, int k)
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		int rlen = getNumRows();
+		
+		//single-threaded execution of all groups
+		if( k <= 1 ) {
+			double[][] preagg = preaggValues(_colGroups, matrix);
+			rightMultByMatrix(_colGroups, preagg, matrix, result, 0, rlen);
+			result.recomputeNonZeros();
+			return;
+		}
+		
+		//multi-threaded execution over aligned row partitions
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			
+			//pre-aggregate dictionaries once per column group
+			double[][] preagg = new double[_colGroups.size()][];
+			ArrayList<Callable<double[]>> ptasks = new ArrayList<>();
+			for( ColGroup grp : _colGroups )
+				ptasks.add(() -> preaggValues(grp, matrix));
+			List<Future<double[]>> pret = pool.invokeAll(ptasks);
+			for( int i=0; i<preagg.length; i++ )
+				preagg[i] = pret.get(i).get();
+			
+			int blklen = BitmapEncoder.getAlignedBlocksize(
+				(int)(Math.ceil((double)rlen/k)));
+			ArrayList<RightMatrixMatrixMultTask> tasks = new ArrayList<>();
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new RightMatrixMatrixMultTask(_colGroups, preagg, matrix, result, i*blklen, Math.min((i+1)*blklen,rlen)));
+			List<Future<Long>> ret = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//error handling and nnz aggregation
+			long lnnz = 0;
+			for( Future<Long> tmp : ret )
+				lnnz += tmp.get();
+			result.setNonZeros(lnnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void rightMultByMatrix(ArrayList<ColGroup> groups, double[][] preagg, MatrixBlock matrix, MatrixBlock ret, int rl, int ru) {
+		for( int i=0; i<groups.size(); i++ ) {
+			ColGroup grp = groups.get(i);
+			if( preagg[i] != null )
+				((ColGroupValue)grp).rightMultByMatrix(preagg[i], matrix.getNumColumns(), ret, rl, ru);
+			else
+				grp.rightMultByMatrix(matrix, ret, rl, ru);
+		}
+	}
+	
+	private static double[][] preaggValues(ArrayList<ColGroup> groups, MatrixBlock matrix) {
+		double[][] ret = new double[groups.size()][];
+		for( int i=0; i<groups.size(); i++ )
+			ret[i] = preaggValues(groups.get(i), matrix);
+		return ret;
+	}
+	
+	private static double[] preaggValues(ColGroup grp, MatrixBlock matrix) {
+		if( !(grp instanceof ColGroupValue) )
+			return null;
+		ColGroupValue vgrp = (ColGroupValue) grp;
+		return vgrp.preaggValues(vgrp.getNumValues(),
+			matrix.getDenseBlockValues(), matrix.getNumColumns());
+	}
+	
+	/**
+	 * Multi-threaded matrix-matrix multiplication with a dense matrix on the
+	 * left, where each column group pre-aggregates the matrix rows per distinct
+	 * value tuple and scales its value dictionary by these partial sums.
+	 * 
+	 * @param groups list of column groups
+	 * @param matrix dense matrix block
+	 * @param result matrix block result
+	 * @param k number of threads
+	 */
+	private void leftMultByMatrix(ArrayList<ColGroup> groups, MatrixBlock matrix, MatrixBlock result, int k)
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		
+		//single-threaded execution of all groups
+		if( k <= 1 || groups.size() <= 1 ) {
+			for( ColGroup grp : groups )
+				grp.leftMultByMatrix(matrix, result);
+			result.recomputeNonZeros();
+			return;
+		}
+		
+		//multi-threaded execution over partitions of column groups,
+		//which write to disjoint columns of the output
+		try {
+			ExecutorService pool = CommonThreadPool.get(Math.min(groups.size(), k));
+			ArrayList<ColGroup>[] grpParts = createStaticTaskPartitioning(4*k, true);
+			ArrayList<LeftMatrixMatrixMultTask> tasks = new ArrayList<>();
+			for( ArrayList<ColGroup> grps : grpParts )
+				tasks.add(new LeftMatrixMatrixMultTask(grps, matrix, result));
+			List<Future<Object>> ret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> tmp : ret )
+				tmp.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		// post-processing
+		result.recomputeNonZeros();
+	}
+	
 	private static void rightMultByVector(ArrayList<ColGroup> groups, MatrixBlock vect, MatrixBlock ret, boolean inclUC, int rl, int ru) 
 	{
 		ColGroupValue.setupThreadLocalMemory(getMaxNumValues(groups));
@@ -1655,19 +2018,24 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	{
 		final int numRows = groups.get(0).getNumRows();
 		final int numGroups = groups.size();
-		final boolean containsUC = containsUncompressedColGroup(groups);
+		final int clen = result.getNumColumns();
+		final boolean containsNV = containsNonValueColGroup(groups);
+		final int blksz = (int) Math.max(1, MAX_TSMM_LHS_CELLS / numRows);
 		
 		//preallocated dense tmp matrix blocks
-		MatrixBlock lhs = new MatrixBlock(1, numRows, false);
-		MatrixBlock tmpret = new MatrixBlock(1, result.getNumColumns(), false);
-		lhs.allocateDenseBlock();
+		MatrixBlock vect = new MatrixBlock(1, numRows, false);
+		MatrixBlock tmpret = new MatrixBlock(1, clen, false);
+		vect.allocateDenseBlock();
 		tmpret.allocateDenseBlock();
+		MatrixBlock lhs = null;
+		MatrixBlock tmpret2 = null;
 		
 		// setup memory pool for reuse
 		ColGroupValue.setupThreadLocalMemory(getMaxNumValues(groups));
 		
-		//approach: for each colgroup, extract uncompressed columns one at-a-time
-		//vector-matrix multiplies against remaining col groups
+		//approach: for each colgroup, extract blocks of uncompressed columns and
+		//compute their transposed matrix-matrix multiplies with the remaining col
+		//groups via the dictionary-based left matrix multiply kernels
 		for( int i=gl; i<gu; i++ ) 
 		{
 			//get current group and relevant col groups
@@ -1676,7 +2044,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			List<ColGroup> tmpList = groups.subList(i, numGroups);
 			
 			if( group instanceof ColGroupDDC //single DDC group
-				&& ixgroup.length==1 && !containsUC && numRows<BitmapEncoder.BITMAP_BLOCK_SZ ) 
+				&& ixgroup.length==1 && !containsNV && numRows<BitmapEncoder.BITMAP_BLOCK_SZ ) 
 			{
 				//compute vector-matrix partial result
 				leftMultByVectorTranspose(tmpList, (ColGroupDDC)group, tmpret);
@@ -1685,18 +2053,41 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				LinearAlgebraUtils.copyNonZerosToUpperTriangle(result, tmpret, ixgroup[0]);	
 			}
 			else {
-				//for all uncompressed lhs columns vectors
-				for( int j=0; j<ixgroup.length; j++ ) {
-					group.decompressToBlock(lhs, j);
+				//for all blocks of uncompressed lhs columns
+				for( int bj=0; bj<ixgroup.length; bj+=blksz ) {
+					int bn = Math.min(blksz, ixgroup.length-bj);
+					if( lhs == null || lhs.getNumRows() != bn ) {
+						lhs = new MatrixBlock(bn, numRows, false).allocateBlock();
+						tmpret2 = new MatrixBlock(bn, clen, false).allocateBlock();
+					}
 					
-					if( !lhs.isEmptyBlock(false) ) {
-						//compute vector-matrix partial result
-						leftMultByVectorTranspose(tmpList, lhs, tmpret, false, false);
-						
-						//write partial results (disjoint non-zeros)
-						LinearAlgebraUtils.copyNonZerosToUpperTriangle(result, tmpret, ixgroup[j]);
+					//decompress columns into rows of transposed lhs block
+					MatrixBlock tlhs = lhs;
+					if( group instanceof ColGroupUncompressed ) {
+						MatrixBlock data = ((ColGroupUncompressed)group).getData();
+						tlhs = LibMatrixReorg.transpose(data.slice(0, numRows-1, bj, bj+bn-1,
+							new MatrixBlock()), new MatrixBlock(bn, numRows, false));
+					}
+					else {
+						double[] a = lhs.getDenseBlockValues();
+						for( int j=0; j<bn; j++ ) {
+							group.decompressToBlock(vect, bj+j);
+							System.arraycopy(vect.getDenseBlockValues(), 0, a, j*numRows, numRows);
+						}
+						lhs.recomputeNonZeros();
 					}
-				}	
+					if( tlhs.isEmptyBlock(false) )
+						continue;
+					
+					//compute matrix-matrix partial result
+					Arrays.fill(tmpret2.getDenseBlockValues(), 0);
+					for( ColGroup grp : tmpList )
+						grp.leftMultByMatrix(tlhs, tmpret2);
+					
+					//write partial results (disjoint non-zeros)
+					for( int j=0; j<bn; j++ )
+						LinearAlgebraUtils.copyNonZerosToUpperTriangle(result, tmpret2, j, ixgroup[bj+j]);
+				}
 			}
 		}
 		
@@ -1741,6 +2132,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public boolean hasUncompressedColGroup() {
 		return getUncompressedColGroup() != null;
 	}
+	
+	public boolean hasNonValueColGroup() {
+		return containsNonValueColGroup(_colGroups);
+	}
 
 	private ColGroupUncompressed getUncompressedColGroup() {
 		for( ColGroup grp : _colGroups )
@@ -1750,9 +2145,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return null;
 	}
 	
-	private static boolean containsUncompressedColGroup(ArrayList<ColGroup> groups) {
+	private static boolean containsNonValueColGroup(ArrayList<ColGroup> groups) {
 		for( ColGroup grp : groups )
-			if( grp instanceof ColGroupUncompressed ) 
+			if( !(grp instanceof ColGroupValue) ) 
 				return true;
 		return false;
 	}
@@ -1807,6 +2202,51 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	private static class RightMatrixMatrixMultTask implements Callable<Long> 
+	{
+		private final ArrayList<ColGroup> _groups;
+		private final double[][] _preagg;
+		private final MatrixBlock _matrix;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RightMatrixMatrixMultTask( ArrayList<ColGroup> groups, double[][] preagg, MatrixBlock matrix, MatrixBlock ret, int rl, int ru)  {
+			_groups = groups;
+			_preagg = preagg;
+			_matrix = matrix;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			rightMultByMatrix(_groups, _preagg, _matrix, _ret, _rl, _ru);
+			return _ret.recomputeNonZeros(_rl, _ru-1, 0, _ret.getNumColumns()-1);
+		}
+	}
+	
+	private static class LeftMatrixMatrixMultTask implements Callable<Object> 
+	{
+		private final ArrayList<ColGroup> _groups;
+		private final MatrixBlock _matrix;
+		private final MatrixBlock _ret;
+		
+		protected LeftMatrixMatrixMultTask( ArrayList<ColGroup> groups, MatrixBlock matrix, MatrixBlock ret)  {
+			_groups = groups;
+			_matrix = matrix;
+			_ret = ret;
+		}
+		
+		@Override
+		public Object call() {
+			for( ColGroup grp : _groups )
+				grp.leftMultByMatrix(_matrix, _ret);
+			return null;
+		}
+	}
+	
 	private static class MatrixMultTransposeTask implements Callable<Object> 
 	{
 		private final ArrayList<ColGroup> _groups;
@@ -1943,29 +2383,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	//////////////////////////////////////////
 	// Graceful fallback to uncompressed linear algebra
 	
-	@Override
-	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
-	}
-
-	@Override
-	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
-	}
-
-	@Override
-	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		left.binaryOperationsInPlace(op, right);
-	}
-
 	@Override
 	public void incrementalAggregate(AggregateOperator aggOp, MatrixValue correction, MatrixValue newWithCorrection, boolean deep) {
 		throw new DMLRuntimeException("CompressedMatrixBlock: incrementalAggregate not supported.");
@@ -2068,6 +2485,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		ColGroup grp = _colGroups.get(0);
 		if( grp instanceof ColGroupUncompressed )
 			return ((ColGroupUncompressed)grp).getData().cmOperations(op);
+		if( grp instanceof ColGroupPacked )
+			return decompress().cmOperations(op);
 		
 		ColGroupValue grpVal = (ColGroupValue)grp;
 		MatrixBlock vals = grpVal.getValuesAsBlock();
@@ -2114,7 +2533,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( grp instanceof ColGroupUncompressed )
 			return ((ColGroupUncompressed)grp).getData().sortOperations(right, result);
 		
-		if( right == null ) {
+		if( right == null && grp instanceof ColGroupValue ) {
 			ColGroupValue grpVal = (ColGroupValue)grp;
 			MatrixBlock vals = grpVal.getValuesAsBlock();
 			int[] counts = grpVal.getCounts(true);
@@ -2131,10 +2550,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock aggregateBinaryOperations(MatrixIndexes m1Index,
 			MatrixBlock m1Value, MatrixIndexes m2Index, MatrixBlock m2Value,
 			MatrixBlock result, AggregateBinaryOperator op) {
-		printDecompressWarning("aggregateBinaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(m2Value);
-		return left.aggregateBinaryOperations(m1Index, left, m2Index, right, result, op);
+		//compressed matrix mult if this block is the left or right input
+		if( this == m1Value || this == m2Value )
+			return aggregateBinaryOperations(m1Value, m2Value, result, op);
+		return m1Value.aggregateBinaryOperations(m1Index, m1Value, m2Index, m2Value, result, op);
 	}
 
 	@Override
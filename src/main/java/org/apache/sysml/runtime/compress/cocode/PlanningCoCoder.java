@@ -21,7 +21,9 @@ package org.apache.sysml.runtime.compress.cocode;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -38,6 +40,8 @@ public class PlanningCoCoder
 {
 	//internal configurations 
 	private final static PartitionerType COLUMN_PARTITIONER = PartitionerType.BIN_PACKING;
+	private final static int MAX_CORR_SAMPLE_ROWS = 1024; //max sample rows for correlations
+	public static double CORR_THRESHOLD = 0.9; //min abs correlation of merge candidates
 	
 	private static final Log LOG = LogFactory.getLog(PlanningCoCoder.class.getName());
 	
@@ -46,16 +50,51 @@ public class PlanningCoCoder
 		STATIC,
 	}
 	
+	public enum CoCodingStrategy {
+		BRUTE_FORCE, //greedy merge of best pairs over all pairs
+		CORRELATION, //greedy merge of highly correlated pairs
+	}
+	
 	public static List<int[]> findCocodesByPartitioning(CompressedSizeEstimator sizeEstimator, List<Integer> cols, 
 			CompressedSizeInfo[] colInfos, int numRows, int k) 
 	{
+		return findCocodesByPartitioning(sizeEstimator, cols, colInfos, numRows, k, -1);
+	}
+	
+	/**
+	 * Finds the column groups to co-code. With a non-negative time budget,
+	 * the planner uses the correlation-based heuristic and stops merging 
+	 * column groups once the budget is exhausted.
+	 * 
+	 * @param sizeEstimator compressed size estimator
+	 * @param cols compressible columns
+	 * @param colInfos size infos of all columns
+	 * @param numRows number of rows
+	 * @param k degree of parallelism
+	 * @param budget time budget in milliseconds, or -1 for unbounded planning
+	 * @return list of column groups
+	 */
+	public static List<int[]> findCocodesByPartitioning(CompressedSizeEstimator sizeEstimator, List<Integer> cols, 
+			CompressedSizeInfo[] colInfos, int numRows, int k, double budget) 
+	{
+		CoCodingStrategy strategy = (budget < 0) ? 
+			CoCodingStrategy.BRUTE_FORCE : CoCodingStrategy.CORRELATION;
+		long deadline = (budget < 0) ? Long.MAX_VALUE :
+			System.nanoTime() + (long)(budget * 1e6);
+		
 		// filtering out non-groupable columns as singleton groups
 		// weight is the ratio of its cardinality to the number of rows 
 		int numCols = cols.size();
 		List<Integer> groupCols = new ArrayList<>();
+		List<int[]> packedGroups = new ArrayList<>();
 		HashMap<Integer, GroupableColInfo> groupColsInfo = new HashMap<>();
 		for (int i = 0; i < numCols; i++) {
 			int colIx = cols.get(i);
+			// bit-packed integer columns are never co-coded
+			if( colInfos[colIx].getMinPackedSize() < colInfos[colIx].getMinBitmapSize() ) {
+				packedGroups.add(new int[]{colIx});
+				continue;
+			}
 			double cardinality = colInfos[colIx].getEstCard();
 			double weight = cardinality / numRows;
 			groupCols.add(colIx);
@@ -67,12 +106,19 @@ public class PlanningCoCoder
 				.partitionColumns(groupCols, groupColsInfo);
 
 		// brute force grouping within each partition
-		return (k > 1) ?
-				getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows, k) :
-				getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows);
+		List<int[]> ret = (k > 1) ?
+				getCocodingGroups(bins, groupColsInfo, sizeEstimator, numRows, strategy, deadline, k) :
+				getCocodingGroups(bins, groupColsInfo, sizeEstimator, numRows, strategy, deadline);
+		ret.addAll(packedGroups);
+		
+		if( LOG.isDebugEnabled() && !packedGroups.isEmpty() )
+			LOG.debug("Excluded "+packedGroups.size()+" bit-packed columns from co-coding.");
+		
+		return ret;
 	}
 
-	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen) 
+	private static List<int[]> getCocodingGroups(List<int[]> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, 
+		CompressedSizeEstimator estim, int rlen, CoCodingStrategy strategy, long deadline) 
 	{
 		List<int[]> retGroups = new ArrayList<>();
 		for( int[] bin : bins ) {
@@ -80,9 +126,9 @@ public class PlanningCoCoder
 			ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<>();
 			for( int col : bin )
 				sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
-			// brute force co-coding	
-			PlanningCoCodingGroup[] outputGroups = findCocodesBruteForce(
-					estim, rlen, sgroups.toArray(new PlanningCoCodingGroup[0]));
+			// brute force or correlation-based co-coding
+			PlanningCoCodingGroup[] outputGroups = findCocodes(estim, rlen,
+				sgroups.toArray(new PlanningCoCodingGroup[0]), strategy, deadline);
 			for (PlanningCoCodingGroup grp : outputGroups)
 				retGroups.add(grp.getColIndices());
 		}
@@ -90,7 +136,8 @@ public class PlanningCoCoder
 		return retGroups;
 	}
 
-	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen, int k) 
+	private static List<int[]> getCocodingGroups(List<int[]> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, 
+		CompressedSizeEstimator estim, int rlen, CoCodingStrategy strategy, long deadline, int k) 
 	{
 		List<int[]> retGroups = new ArrayList<>();
 		try {
@@ -101,7 +148,7 @@ public class PlanningCoCoder
 				ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<>();
 				for( int col : bin )
 					sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
-				tasks.add(new CocodeTask(estim, sgroups, rlen));
+				tasks.add(new CocodeTask(estim, sgroups, rlen, strategy, deadline));
 			}
 			List<Future<PlanningCoCodingGroup[]>> rtask = pool.invokeAll(tasks);
 			for( Future<PlanningCoCodingGroup[]> lrtask : rtask )
@@ -116,6 +163,20 @@ public class PlanningCoCoder
 		return retGroups;
 	}
 
+	private static PlanningCoCodingGroup[] findCocodes(CompressedSizeEstimator estim, int numRows,
+			PlanningCoCodingGroup[] singletonGroups, CoCodingStrategy strategy, long deadline) 
+	{
+		switch( strategy ) {
+			case BRUTE_FORCE:
+				return findCocodesBruteForce(estim, numRows, singletonGroups, deadline);
+			case CORRELATION:
+				return findCocodesByCorrelation(estim, numRows, singletonGroups, deadline);
+			default:
+				throw new RuntimeException(
+					"Unsupported co-coding strategy: "+strategy.toString());
+		}
+	}
+	
 	/**
 	 * Identify columns to code together. Uses a greedy approach that merges
 	 * pairs of column groups into larger groups. Each phase of the greedy
@@ -124,11 +185,12 @@ public class PlanningCoCoder
 	 * @param sizeEstimator compressed size estimator
 	 * @param numRowsWeight number of rows weight
 	 * @param singltonGroups planning co-coding groups
+	 * @param deadline deadline in nanoseconds for further merges
 	 * @return
 	 */
 	private static PlanningCoCodingGroup[] findCocodesBruteForce(
 			CompressedSizeEstimator estim, int numRows,
-			PlanningCoCodingGroup[] singletonGroups) 
+			PlanningCoCodingGroup[] singletonGroups, long deadline) 
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Cocoding: process "+singletonGroups.length);
@@ -140,7 +202,7 @@ public class PlanningCoCoder
 		
 		//process merging iterations until no more change
 		boolean changed = true;
-		while( changed && workset.size()>1 ) {
+		while( changed && workset.size()>1 && System.nanoTime() < deadline ) {
 			//find best merge, incl memoization
 			PlanningCoCodingGroup tmp = null;
 			for( int i=0; i<workset.size(); i++ ) {
@@ -186,6 +248,98 @@ public class PlanningCoCoder
 		
 		return workset.toArray(new PlanningCoCodingGroup[0]);
 	}
+	
+	/**
+	 * Identify columns to code together. Uses a cheap greedy approach that
+	 * only considers pairs of highly correlated columns (w.r.t. the absolute
+	 * Pearson correlation over a sample of rows) as merge candidates. The 
+	 * candidates are processed in order of decreasing correlation, and the 
+	 * groups of both columns are merged if this reduces the estimated size.
+	 * 
+	 * @param estim compressed size estimator
+	 * @param numRows number of rows
+	 * @param singletonGroups planning co-coding groups
+	 * @param deadline deadline in nanoseconds for further merges
+	 * @return
+	 */
+	private static PlanningCoCodingGroup[] findCocodesByCorrelation(
+			CompressedSizeEstimator estim, int numRows,
+			PlanningCoCodingGroup[] singletonGroups, long deadline) 
+	{
+		int n = singletonGroups.length;
+		
+		//extract standardized sample columns (null for constant columns)
+		double[][] vals = new double[n][];
+		for( int i=0; i<n; i++ )
+			vals[i] = standardize(estim.getSampleValues(
+				singletonGroups[i].getColIndices()[0], MAX_CORR_SAMPLE_ROWS));
+		
+		//collect candidate pairs of highly correlated columns
+		//(on timeout, remaining columns are kept as singletons)
+		ArrayList<CorrelatedPair> pairs = new ArrayList<>();
+		for( int i=0; i<n; i++ ) {
+			if( System.nanoTime() >= deadline )
+				break;
+			if( vals[i] == null ) continue;
+			for( int j=i+1; j<n; j++ ) {
+				if( vals[j] == null ) continue;
+				double corr = Math.abs(dotProduct(vals[i], vals[j])) / vals[i].length;
+				if( corr >= CORR_THRESHOLD )
+					pairs.add(new CorrelatedPair(i, j, corr));
+			}
+		}
+		Collections.sort(pairs);
+		
+		//greedy merge of the groups of correlated pairs
+		PlanningCoCodingGroup[] groups = singletonGroups.clone();
+		int merges = 0;
+		for( CorrelatedPair pair : pairs ) {
+			if( System.nanoTime() >= deadline )
+				break;
+			PlanningCoCodingGroup c1 = groups[pair.ix1];
+			PlanningCoCodingGroup c2 = groups[pair.ix2];
+			if( c1 == c2 ) continue;
+			PlanningCoCodingGroup c1c2 = new PlanningCoCodingGroup(c1, c2, estim, numRows);
+			if( c1c2.getChangeInSize() < 0 ) {
+				for( int i=0; i<n; i++ )
+					if( groups[i] == c1 || groups[i] == c2 )
+						groups[i] = c1c2;
+				merges++;
+			}
+		}
+		
+		if( LOG.isTraceEnabled() )
+			LOG.trace("--stats: "+n+" columns, "+pairs.size()+" candidates, "+merges+" merges");
+		
+		//collect distinct groups in order of first occurrence
+		return new LinkedHashSet<>(Arrays.asList(groups))
+			.toArray(new PlanningCoCodingGroup[0]);
+	}
+	
+	private static double[] standardize(double[] vals) {
+		int len = vals.length;
+		double mean = 0, var = 0;
+		for( int i=0; i<len; i++ )
+			mean += vals[i];
+		mean /= len;
+		for( int i=0; i<len; i++ ) {
+			vals[i] -= mean;
+			var += vals[i] * vals[i];
+		}
+		if( var <= 0 )
+			return null;
+		double sd = Math.sqrt(var / len);
+		for( int i=0; i<len; i++ )
+			vals[i] /= sd;
+		return vals;
+	}
+	
+	private static double dotProduct(double[] a, double[] b) {
+		double ret = 0;
+		for( int i=0; i<a.length; i++ )
+			ret += a[i] * b[i];
+		return ret;
+	}
 
 	private static ColumnGroupPartitioner createColumnGroupPartitioner(PartitionerType type) {
 		switch( type ) {
@@ -211,23 +365,47 @@ public class PlanningCoCoder
 		}
 	}
 
+	private static class CorrelatedPair implements Comparable<CorrelatedPair>
+	{
+		private final int ix1;
+		private final int ix2;
+		private final double corr;
+		
+		public CorrelatedPair(int ix1, int ix2, double corr) {
+			this.ix1 = ix1;
+			this.ix2 = ix2;
+			this.corr = corr;
+		}
+		
+		@Override
+		public int compareTo(CorrelatedPair that) {
+			//descending order of correlation
+			return Double.compare(that.corr, corr);
+		}
+	}
+
 	private static class CocodeTask implements Callable<PlanningCoCodingGroup[]> 
 	{
 		private CompressedSizeEstimator _estim = null;
 		private ArrayList<PlanningCoCodingGroup> _sgroups = null;
 		private int _rlen = -1;
+		private CoCodingStrategy _strategy = null;
+		private long _deadline = -1;
 		
-		protected CocodeTask( CompressedSizeEstimator estim, ArrayList<PlanningCoCodingGroup> sgroups, int rlen )  {
+		protected CocodeTask( CompressedSizeEstimator estim, ArrayList<PlanningCoCodingGroup> sgroups, 
+			int rlen, CoCodingStrategy strategy, long deadline )  {
 			_estim = estim;
 			_sgroups = sgroups;
 			_rlen = rlen;
+			_strategy = strategy;
+			_deadline = deadline;
 		}
 		
 		@Override
 		public PlanningCoCodingGroup[] call() {
-			// brute force co-coding	
-			return findCocodesBruteForce(_estim, _rlen, 
-					_sgroups.toArray(new PlanningCoCodingGroup[0]));
+			// brute force or correlation-based co-coding
+			return findCocodes(_estim, _rlen, 
+				_sgroups.toArray(new PlanningCoCodingGroup[0]), _strategy, _deadline);
 		}
 	}
 }
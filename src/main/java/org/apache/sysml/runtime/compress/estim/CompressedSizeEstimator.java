@@ -20,6 +20,7 @@
 package org.apache.sysml.runtime.compress.estim;
 
 import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.ColGroupPacked;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.compress.UncompressedBitmap;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -42,6 +43,40 @@ public abstract class CompressedSizeEstimator
 		return _numRows;
 	}
 
+	/**
+	 * Obtains the values of a single column for an evenly spaced subset
+	 * of the rows seen by this estimator (e.g., for correlation-based
+	 * co-coding decisions).
+	 * 
+	 * @param col column index
+	 * @param maxRows maximum number of returned values
+	 * @return array of sampled column values
+	 */
+	public double[] getSampleValues(int col, int maxRows) {
+		int[] rows = getSampleRows();
+		int n = (rows != null) ? rows.length : CompressedMatrixBlock.TRANSPOSE_INPUT ?
+			_data.getNumColumns() : _data.getNumRows();
+		int len = Math.min(n, maxRows);
+		double step = (double) n / len;
+		double[] ret = new double[len];
+		for( int i=0; i<len; i++ ) {
+			int ix = (int)(i * step);
+			int r = (rows != null) ? rows[ix] : ix;
+			ret[i] = CompressedMatrixBlock.TRANSPOSE_INPUT ?
+				_data.quickGetValue(col, r) : _data.quickGetValue(r, col);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Obtains the rows of the underlying data seen by this estimator.
+	 * 
+	 * @return sorted row indexes, or null for all rows
+	 */
+	protected int[] getSampleRows() {
+		return null;
+	}
+	
 	public abstract CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes);
 
 	public abstract CompressedSizeInfo estimateCompressedColGroupSize(UncompressedBitmap ubm);
@@ -141,6 +176,124 @@ public abstract class CompressedSizeEstimator
 		return ret;
 	}
 
+	/**
+	 * Estimates the number of bytes needed to encode this column group
+	 * as constant (or empty) column group.
+	 * 
+	 * @param numVals number of value tuples
+	 * @param numOffs number of offsets (non-zero rows)
+	 * @param numRows number of rows
+	 * @param numCols number of columns
+	 * @return number of bytes to encode column group in CONST format
+	 */
+	protected static long getConstSize(int numVals, long numOffs, int numRows, int numCols) {
+		if( numVals > 1 || (numVals == 1 && numOffs < numRows) )
+			return Long.MAX_VALUE;
+		//single value tuple [double per col]
+		return 8 * numCols;
+	}
+	
+	/**
+	 * Computes the factors for estimating the size of bit-packed integer
+	 * encodings (frame-of-reference and delta) of a single column.
+	 * 
+	 * @param data uncompressed block (transposed if configured)
+	 * @param col column index
+	 * @param rows selected rows in ascending order, or null for all rows
+	 * @return integer encoding factors
+	 */
+	public static IntegerEncodingFactors computeIntegerEncodingFactors(MatrixBlock data, int col, int[] rows) {
+		int len = (rows != null) ? rows.length : CompressedMatrixBlock.TRANSPOSE_INPUT ?
+			data.getNumColumns() : data.getNumRows();
+		long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+		long maxDelta = 0, prev = 0;
+		boolean sorted = true;
+		int nnz = 0;
+		
+		for( int i=0; i<len; i++ ) {
+			int r = (rows != null) ? rows[i] : i;
+			double val = CompressedMatrixBlock.TRANSPOSE_INPUT ?
+				data.quickGetValue(col, r) : data.quickGetValue(r, col);
+			//abort for non-integer values and values w/o exact representation
+			if( val != Math.rint(val) || Math.abs(val) > IntegerEncodingFactors.MAX_INTEGER )
+				return new IntegerEncodingFactors(false, 0, 0, false, 0, 0);
+			long lval = (long) val;
+			min = Math.min(min, lval);
+			max = Math.max(max, lval);
+			if( i > 0 ) {
+				sorted &= (lval >= prev);
+				maxDelta = Math.max(maxDelta, lval - prev);
+			}
+			nnz += (lval != 0) ? 1 : 0;
+			prev = lval;
+		}
+		
+		return (len > 0) ? new IntegerEncodingFactors(true, min, max, sorted, maxDelta, nnz) :
+			new IntegerEncodingFactors(false, 0, 0, false, 0, 0);
+	}
+
+	/**
+	 * Factors for estimating the size of bit-packed integer encodings
+	 * of a single column.
+	 */
+	public static class IntegerEncodingFactors {
+		//max magnitude for exact integer representation as doubles and 
+		//non-overflowing differences of 64bit integers
+		public static final long MAX_INTEGER = 1L << 52;
+		
+		public final boolean integer; //all values integers
+		public final long min;        //min value
+		public final long max;        //max value
+		public final boolean sorted;  //non-decreasing values
+		public final long maxDelta;   //max difference of consecutive values
+		public final int nnz;         //number of non-zeros
+		
+		public IntegerEncodingFactors(boolean integer, long min, long max, boolean sorted, long maxDelta, int nnz) {
+			this.integer = integer;
+			this.min = min;
+			this.max = max;
+			this.sorted = sorted;
+			this.maxDelta = maxDelta;
+			this.nnz = nnz;
+		}
+		
+		/**
+		 * Estimates the number of bytes needed to encode the column
+		 * in frame-of-reference format.
+		 * 
+		 * @param numRows number of rows
+		 * @return number of bytes to encode the column in FOR format
+		 */
+		public long getFORSize(int numRows) {
+			if( !integer )
+				return Long.MAX_VALUE;
+			//affine mapping and max [3xdouble]
+			long ret = 24;
+			//bit-packed offsets [width bits per row]
+			ret += 8 * (((long)numRows * ColGroupPacked.getBitWidth(max - min) + 63) / 64);
+			return ret;
+		}
+		
+		/**
+		 * Estimates the number of bytes needed to encode the column
+		 * in delta format.
+		 * 
+		 * @param numRows number of rows
+		 * @return number of bytes to encode the column in DELTA format
+		 */
+		public long getDeltaSize(int numRows) {
+			if( !integer || !sorted )
+				return Long.MAX_VALUE;
+			//affine mapping and max [3xdouble]
+			long ret = 24;
+			//anchors [long per block]
+			ret += 8 * ((numRows + ColGroupPacked.BLOCK_SZ - 1) / ColGroupPacked.BLOCK_SZ);
+			//bit-packed differences [width bits per row]
+			ret += 8 * (((long)numRows * ColGroupPacked.getBitWidth(maxDelta) + 63) / 64);
+			return ret;
+		}
+	}
+
 	protected static class SizeEstimationFactors {
  		protected int numVals;   //num value tuples
  		protected int numSegs;   //num OLE segments 
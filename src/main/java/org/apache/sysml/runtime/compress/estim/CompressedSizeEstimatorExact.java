@@ -35,8 +35,16 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator
 
 	@Override
 	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes) {
-		return estimateCompressedColGroupSize(
+		CompressedSizeInfo info = estimateCompressedColGroupSize(
 			BitmapEncoder.extractBitmap(colIndexes, _data));
+		if( colIndexes.length != 1 )
+			return info;
+		
+		//bit-packed integer encodings of single columns
+		IntegerEncodingFactors ifact = computeIntegerEncodingFactors(_data, colIndexes[0], null);
+		return new CompressedSizeInfo(info.getEstCard(), info.getEstNnz(),
+			info.getRLESize(), info.getOLESize(), info.getDDCSize(), info.getConstSize(),
+			ifact.getFORSize(_numRows), ifact.getDeltaSize(_numRows));
 	}
 
 	@Override
@@ -49,6 +57,8 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator
 		return new CompressedSizeInfo(fact.numVals, fact.numOffs,
 				getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
 				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
-				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()));
+				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()),
+				getConstSize(fact.numVals, fact.numOffs, _numRows, ubm.getNumColumns()),
+				Long.MAX_VALUE, Long.MAX_VALUE);
 	}
 }
@@ -68,6 +68,12 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		_solveCache = new HashMap<>();
 	}
 
+	@Override
+	protected int[] getSampleRows() {
+		//extracted sample already materialized in data
+		return SizeEstimatorFactory.EXTRACT_SAMPLE_ONCE ? null : _sampleRows;
+	}
+	
 	@Override
 	public CompressedSizeInfo estimateCompressedColGroupSize(int[] colIndexes) 
 	{
@@ -106,11 +112,23 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		int totalNumSeg = fact.numSegs + numUnseenSeg;
 		int totalNumRuns = getNumRuns(ubm, sampleSize, _numRows, sampleRows) + numUnseenSeg;
 
+		//estimate bit-packed integer encodings of single columns from sample 
+		//(sample rows are sorted, so sampled deltas are upper bounds)
+		long forSize = Long.MAX_VALUE, deltaSize = Long.MAX_VALUE;
+		if( numCols == 1 ) {
+			IntegerEncodingFactors ifact = computeIntegerEncodingFactors(_data, colIndexes[0],
+				SizeEstimatorFactory.EXTRACT_SAMPLE_ONCE ? null : sampleRows);
+			forSize = ifact.getFORSize(_numRows);
+			deltaSize = ifact.getDeltaSize(_numRows);
+		}
+		
 		//construct new size info summary
 		return new CompressedSizeInfo(totalCardinality, numNonZeros,
 				getRLESize(totalCardinality, totalNumRuns, numCols),
 				getOLESize(totalCardinality, numNonZeros, totalNumSeg, numCols),
-				getDDCSize(totalCardinality, _numRows, numCols));
+				getDDCSize(totalCardinality, _numRows, numCols),
+				getConstSize(totalCardinality, numNonZeros, _numRows, numCols),
+				forSize, deltaSize);
 	}
 
 	@Override
@@ -123,7 +141,9 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator
 		return new CompressedSizeInfo(fact.numVals, fact.numOffs,
 				getRLESize(fact.numVals, fact.numRuns, ubm.getNumColumns()),
 				getOLESize(fact.numVals, fact.numOffs, fact.numSegs, ubm.getNumColumns()),
-				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()));
+				getDDCSize(fact.numVals, _numRows, ubm.getNumColumns()),
+				getConstSize(fact.numVals, fact.numOffs, _numRows, ubm.getNumColumns()),
+				Long.MAX_VALUE, Long.MAX_VALUE);
 	}
 
 	private static int getNumDistinctValues(UncompressedBitmap ubm, int numRows, int[] sampleRows, 
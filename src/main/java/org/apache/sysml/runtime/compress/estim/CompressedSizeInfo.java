@@ -32,13 +32,25 @@ public class CompressedSizeInfo
 	private final long _rleSize; 
 	private final long _oleSize;
 	private final long _ddcSize;
+	private final long _constSize;
+	private final long _forSize;
+	private final long _deltaSize;
 
 	public CompressedSizeInfo(int estCard, int estNnz, long rleSize, long oleSize, long ddcSize) {
+		this(estCard, estNnz, rleSize, oleSize, ddcSize, 
+			Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+	}
+	
+	public CompressedSizeInfo(int estCard, int estNnz, long rleSize, long oleSize, long ddcSize,
+		long constSize, long forSize, long deltaSize) {
 		_estCard = estCard;
 		_estNnz = estNnz;
 		_rleSize = rleSize;
 		_oleSize = oleSize;
 		_ddcSize = ddcSize;
+		_constSize = constSize;
+		_forSize = forSize;
+		_deltaSize = deltaSize;
 	}
 
 	public long getRLESize() {
@@ -54,11 +66,49 @@ public class CompressedSizeInfo
 			_ddcSize : Long.MAX_VALUE; 
 	}
 
-	public long getMinSize() {
-		return Math.min(Math.min(
+	public long getConstSize() {
+		return CompressedMatrixBlock.ALLOW_CONST_ENCODING ?
+			_constSize : Long.MAX_VALUE;
+	}
+	
+	public long getFORSize() {
+		return CompressedMatrixBlock.ALLOW_PACKED_ENCODING ?
+			_forSize : Long.MAX_VALUE;
+	}
+	
+	public long getDeltaSize() {
+		return CompressedMatrixBlock.ALLOW_PACKED_ENCODING ?
+			_deltaSize : Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Obtain the minimum size of all encodings that are based on
+	 * the bitmap of distinct value tuples (RLE, OLE, DDC, CONST).
+	 * 
+	 * @return minimum size of bitmap-based encodings
+	 */
+	public long getMinBitmapSize() {
+		return Math.min(Math.min(Math.min(
 			getRLESize(), 
 			getOLESize()),
-			getDDCSize());
+			getDDCSize()),
+			getConstSize());
+	}
+	
+	/**
+	 * Obtain the minimum size of bit-packed integer encodings
+	 * of single columns (FOR, DELTA).
+	 * 
+	 * @return minimum size of bit-packed encodings
+	 */
+	public long getMinPackedSize() {
+		return Math.min(getFORSize(), getDeltaSize());
+	}
+
+	public long getMinSize() {
+		return Math.min(
+			getMinBitmapSize(),
+			getMinPackedSize());
 	}
 
 	public int getEstCard() {
@@ -22,9 +22,14 @@ package org.apache.sysml.runtime.compress.utils;
 import java.util.Arrays;
 
 import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupConst;
+import org.apache.sysml.runtime.compress.ColGroupDDC1;
+import org.apache.sysml.runtime.compress.ColGroupDDC2;
 import org.apache.sysml.runtime.compress.ColGroupOLE;
+import org.apache.sysml.runtime.compress.ColGroupPacked;
 import org.apache.sysml.runtime.compress.ColGroupRLE;
 import org.apache.sysml.runtime.compress.ColGroupUncompressed;
+import org.apache.sysml.runtime.compress.UncompressedBitmap;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.DataConverter;
 
@@ -59,10 +64,65 @@ public class ConverterUtils
 			ret = new ColGroupOLE(colIndices, in.getNumRows(), in.hasZeros(),
 					in.getValues(), in.getBitmaps(), in.getBitmapOffsets());
 		}
+		else if( group instanceof ColGroupConst ) {
+			ColGroupConst in = (ColGroupConst) group;
+			ret = new ColGroupConst(colIndices, in.getNumRows(), in.getValues());
+		}
+		else if( group instanceof ColGroupDDC1 ) {
+			ColGroupDDC1 in = (ColGroupDDC1) group;
+			ret = new ColGroupDDC1(colIndices, in.getNumRows(), in.getValues(), in.getData());
+		}
+		else if( group instanceof ColGroupDDC2 ) {
+			ColGroupDDC2 in = (ColGroupDDC2) group;
+			ret = new ColGroupDDC2(colIndices, in.getNumRows(), in.getValues(), in.getData());
+		}
+		else if( group instanceof ColGroupPacked ) {
+			ret = ((ColGroupPacked) group).copy(colIndices);
+		}
 		
 		return ret;
 	}
 
+	/**
+	 * Creates a DDC column group with 1 or 2 byte codes from the given
+	 * dictionary of value tuples and codes per row (e.g., for directly
+	 * encoded data), where the dictionary is limited to 65536 tuples.
+	 * 
+	 * @param colIndices column indices
+	 * @param values linearized value tuples
+	 * @param codes code per row
+	 * @return DDC column group
+	 */
+	public static ColGroup createDDCColGroup(int[] colIndices, double[] values, int[] codes) {
+		int numRows = codes.length;
+		if( values.length / colIndices.length <= 256 ) {
+			byte[] data = new byte[numRows];
+			for( int i=0; i<numRows; i++ )
+				data[i] = (byte)codes[i];
+			return new ColGroupDDC1(colIndices, numRows, values, data);
+		}
+		char[] data = new char[numRows];
+		for( int i=0; i<numRows; i++ )
+			data[i] = (char)codes[i];
+		return new ColGroupDDC2(colIndices, numRows, values, data);
+	}
+	
+	/**
+	 * Creates a single-column OLE column group with a single distinct 
+	 * non-zero value at the given sorted row offsets.
+	 * 
+	 * @param colIndex column index
+	 * @param numRows number of rows
+	 * @param value non-zero value
+	 * @param offsets sorted row offsets
+	 * @return OLE column group
+	 */
+	public static ColGroup createOLEColGroup(int colIndex, int numRows, double value, IntArrayList offsets) {
+		DoubleIntListHashMap map = new DoubleIntListHashMap();
+		map.appendValue(value, offsets);
+		return new ColGroupOLE(new int[]{colIndex}, numRows, new UncompressedBitmap(map));
+	}
+
 	public static double[] getDenseVector( MatrixBlock vector ) {
 		return DataConverter.convertToDoubleVector(vector, false);
 	}
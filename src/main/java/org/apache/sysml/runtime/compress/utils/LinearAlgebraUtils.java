@@ -146,11 +146,16 @@ public class LinearAlgebraUtils
 	}
 	
 	public static void copyNonZerosToUpperTriangle( MatrixBlock ret, MatrixBlock tmp, int ix ) {
+		copyNonZerosToUpperTriangle(ret, tmp, 0, ix);
+	}
+	
+	public static void copyNonZerosToUpperTriangle( MatrixBlock ret, MatrixBlock tmp, int row, int ix ) {
 		double[] a = tmp.getDenseBlockValues();
 		DenseBlock c = ret.getDenseBlock();
-		for(int i=0; i<tmp.getNumColumns(); i++)
-			if( a[i] != 0 )
-				c.set((ix<i)?ix:i, (ix<i)?i:ix, a[i]);
+		int clen = tmp.getNumColumns();
+		for(int i=0, aix=row*clen; i<clen; i++, aix++)
+			if( a[aix] != 0 )
+				c.set((ix<i)?ix:i, (ix<i)?i:ix, a[aix]);
 	}
 	
 	/**
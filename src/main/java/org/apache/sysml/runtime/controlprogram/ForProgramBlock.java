@@ -28,6 +28,7 @@ import org.apache.sysml.parser.ForStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -117,6 +118,7 @@ public class ForProgramBlock extends ProgramBlock
 		{
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			ArrayList<CacheableData<?>> invariants = prepareLoopInvariantVariables(ec);
 			
 			// run for loop body for each instance of predicate sequence 
 			SequenceIterator seqIter = new SequenceIterator(from, to, incr);
@@ -134,6 +136,7 @@ public class ForProgramBlock extends ProgramBlock
 			
 			// reset update-in-place variables
 			resetUpdateInPlaceVariableFlags(ec, flags);
+			resetLoopInvariantVariables(invariants);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
@@ -35,16 +35,21 @@ import org.apache.sysml.parser.ParseInfo;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
@@ -205,11 +210,25 @@ public class ProgramBlock implements ParseInfo
 		for (int i = 0; i < inst.size(); i++) {
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
+			//prefetch evicted inputs of next instruction
+			if( CacheableData.CACHING_PREFETCH && i+1 < inst.size() )
+				prefetchInputs(inst.get(i+1), ec);
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
 		}
 	}
+	
+	private static void prefetchInputs(Instruction inst, ExecutionContext ec) {
+		if( !(inst instanceof ComputationCPInstruction) )
+			return;
+		ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+		for( CPOperand in : new CPOperand[]{cinst.input1, cinst.input2, cinst.input3} ) {
+			Data dat = (in != null && !in.isLiteral()) ? ec.getVariable(in.getName()) : null;
+			if( dat instanceof CacheableData )
+				((CacheableData<?>) dat).prefetch();
+		}
+	}
 
 	protected ScalarObject executePredicateInstructions(ArrayList<Instruction> inst, ValueType retType, ExecutionContext ec) {
 		//execute all instructions (indexed access required due to debug mode)
@@ -248,8 +267,11 @@ public class ProgramBlock implements ParseInfo
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
 
-			// process actual instruction
-			tmp.processInstruction( ec );
+			// process actual instruction (w/ optional lineage-based reuse)
+			if( LineageCache.LINEAGE_REUSE )
+				LineageCache.processInstruction( tmp, ec );
+			else
+				tmp.processInstruction( ec );
 
 			// post-process instruction (debug)
 			tmp.postprocessInstruction( ec );
@@ -322,6 +344,32 @@ public class ProgramBlock implements ParseInfo
 		return flags;
 	}
 
+	protected ArrayList<CacheableData<?>> prepareLoopInvariantVariables(ExecutionContext ec) {
+		if( CacheableData.CACHING_BUFFER_POLICY != RPolicy.COST || _sb == null )
+			return null;
+		
+		//mark cacheable variables that are read but not updated in the loop
+		//body in order to steer cost-based eviction of the buffer pool
+		ArrayList<CacheableData<?>> ret = new ArrayList<>();
+		for( String varname : _sb.variablesRead().getVariableNames() ) {
+			Data dat = ec.getVariable(varname);
+			if( _sb.variablesUpdated().containsVariable(varname)
+				|| !(dat instanceof CacheableData) )
+				continue;
+			CacheableData<?> cd = (CacheableData<?>) dat;
+			cd.setReuseHint(true);
+			ret.add(cd);
+		}
+		return ret;
+	}
+	
+	protected void resetLoopInvariantVariables(ArrayList<CacheableData<?>> vars) {
+		if( vars == null )
+			return;
+		for( CacheableData<?> cd : vars )
+			cd.setReuseHint(false);
+	}
+
 	protected void resetUpdateInPlaceVariableFlags(ExecutionContext ec, UpdateType[] flags) {
 		if( flags == null )
 			return;
@@ -27,6 +27,7 @@ import org.apache.sysml.parser.WhileStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -105,6 +106,7 @@ public class WhileProgramBlock extends ProgramBlock
 		{
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			ArrayList<CacheableData<?>> invariants = prepareLoopInvariantVariables(ec);
 			
 			//run loop body until predicate becomes false
 			while( executePredicate(ec).getBooleanValue() ) {
@@ -117,6 +119,7 @@ public class WhileProgramBlock extends ProgramBlock
 			
 			// reset update-in-place variables
 			resetUpdateInPlaceVariableFlags(ec, flags);
+			resetLoopInvariantVariables(invariants);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
@@ -41,6 +41,10 @@ public class ByteBuffer
 	private volatile boolean _matrix;
 	private final long _size;
 	
+	//access statistics for cost-based eviction
+	private int _accesses = 0;
+	private long _lastAccess = 0;
+	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
@@ -107,7 +111,7 @@ public class ByteBuffer
 	{
 		if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LocalFileUtils.writeCacheByteArrayToLocal(fname, _bdata);
 		}
 		else {
 			//serialize cache block to output stream
@@ -124,6 +128,22 @@ public class ByteBuffer
 		return _size;
 	}
 
+	public int getAccessCount() {
+		return _accesses;
+	}
+	
+	public void incrementAccessCount() {
+		_accesses++;
+	}
+	
+	public long getLastAccess() {
+		return _lastAccess;
+	}
+	
+	public void setLastAccess(long tick) {
+		_lastAccess = tick;
+	}
+
 	public boolean isShallow() {
 		return _shallow;
 	}
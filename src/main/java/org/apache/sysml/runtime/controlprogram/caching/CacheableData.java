@@ -38,6 +38,7 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.SpillFormat;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.instructions.cp.Data;
@@ -47,6 +48,7 @@ import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.io.FileFormatProperties;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaDataNumItemsByEachReducer;
@@ -79,12 +81,15 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long    CACHING_THRESHOLD = (long)Math.max(4*1024, //obj not s.t. caching
 		1e-5 * InfrastructureAnalyzer.getLocalMaxMemory());       //if below threshold [in bytes]
 	public static double CACHING_BUFFER_SIZE = 0.15; 
-	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
+	public static RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
 	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static int CACHING_EVICTION_THREADS = 0; //0: synchronous eviction
+	public static boolean CACHING_PREFETCH = false;
+	public static SpillFormat CACHING_SPILL_FORMAT = SpillFormat.BINARY;
 	
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -189,6 +194,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	private LineageItem _lineage = null;   //lineage of the current data (lazily created)
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -245,6 +251,22 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _cleanupFlag;
 	}
 	
+	/**
+	 * Get the lineage of the current data, which is a unique lineage
+	 * item if the data was not produced by a traced instruction.
+	 * 
+	 * @return lineage item
+	 */
+	public synchronized LineageItem getLineage() {
+		if( _lineage == null )
+			_lineage = LineageItem.createObject();
+		return _lineage;
+	}
+	
+	public synchronized void setLineage(LineageItem li) {
+		_lineage = li;
+	}
+	
 	public CacheStatus getStatus() {
 		return _cacheStatus;
 	}
@@ -513,6 +535,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//clear old data
 		clearData();
+		_lineage = null;
 		
 		//cache status maintenance
 		acquire (true, false); //no need to load evicted matrix
@@ -871,6 +894,27 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("Freeing evicted matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");
 	}
 
+	/**
+	 * Asynchronously restores the evicted data blob (if enabled), in order
+	 * to hide the restore latency of a subsequent acquire. This call does
+	 * not modify the cache status.
+	 */
+	public synchronized void prefetch() {
+		if( _data == null && isCached(false) && (_cache == null || _cache.get() == null) )
+			LazyWriteBuffer.prefetchBlock(getCacheFilePathAndName(), this instanceof MatrixObject);
+	}
+
+	/**
+	 * Adds or removes a reuse hint for the evicted data blob, which
+	 * is exploited by cost-based buffer pool eviction.
+	 * 
+	 * @param add true to add, false to remove a hint
+	 */
+	public void setReuseHint(boolean add) {
+		if( isCachingActive() )
+			LazyWriteBuffer.setReuseHint(getCacheFilePathAndName(), add);
+	}
+
 	protected boolean isBelowCachingThreshold() {
 		return (_data.getInMemorySize() <= CACHING_THRESHOLD);
 	}
@@ -20,36 +20,80 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+	
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		COST, //cost-based eviction (size, restore cost, expected reuse)
+	}
+	
+	public enum SpillFormat {
+		BINARY,     //plain binary block serialization
+		COMPRESSED, //fast compression of binary blocks
+		DENSE,      //raw dense blocks w/ bulk restore
 	}
 	
+	//cost-based eviction: fixed restore cost per file in bytes, weight of
+	//expected reuse for loop-invariant variables, and number of least
+	//recently used entries considered as eviction candidates
+	private static final long RESTORE_LATENCY_BYTES = 1024 * 1024;
+	private static final double REUSE_HINT_WEIGHT = 16;
+	private static final int COST_EVICTION_SAMPLE = 32;
+	
 	//global size limit in bytes
 	private static final long _limit;
 	
-	//current size in bytes
+	//current size in bytes (incl pending evictions)
 	private static long _size;
 	
+	//current size of pending evictions in bytes
+	private static long _pendingSize;
+	
 	//eviction queue of <filename,buffer> pairs (implemented via linked hash map
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static EvictionQueue _mQueue;
 	
+	//pending evictions of <filename,task> pairs that have been removed from the
+	//eviction queue but not yet written to local FS (guarded by _mQueue)
+	private static HashMap<String, EvictionTask> _mPending;
+	
+	//pending or completed prefetches of evicted blocks (guarded by _mQueue)
+	private static HashMap<String, Future<CacheBlock>> _mPrefetch;
+	
+	//reuse hints of <filename,count> pairs for cost-based eviction (guarded by _mQueue)
+	private static HashMap<String, Integer> _mHints;
+	
+	//logical time of buffer pool accesses for cost-based eviction (guarded by _mQueue)
+	private static long _tick;
+	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//eviction service for synchronous or asynchronous eviction and prefetch
+	private static EvictionService _fEvict;
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -70,33 +114,57 @@ public class LazyWriteBuffer
 		{
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
+			List<EvictionTask> victims = null;
 			
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
+				//evict matrices to make room (by default FIFO), where pending
+				//evictions release their memory only once written to local FS
+				while( _size-_pendingSize+lSize > _limit && !_mQueue.isEmpty() )
 				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+					//remove next victim from eviction queue
+					Entry<String, ByteBuffer> entry = _mQueue.removeVictim();
 					String ftmp = entry.getKey();
 					ByteBuffer tmp = entry.getValue();
 					
 					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
+						//register pending eviction (written outside lock)
+						EvictionTask task = new EvictionTask(ftmp, tmp, _mPending.get(ftmp));
+						_mPending.put(ftmp, task);
+						if( victims == null )
+							victims = new ArrayList<>();
+						victims.add(task);
+						_pendingSize += tmp.getSize();
 						numEvicted++;
 					}
 				}
+			}
+			
+			//write evicted matrices (outside synchronized critical path)
+			if( victims != null ) {
+				_fEvict.evict(victims);
+				checkEvictionErrors(victims);
+			}
+			
+			synchronized( _mQueue )
+			{
+				//wait for pending evictions to free memory (backpressure)
+				while( _size+lSize > _limit && _pendingSize > 0 )
+					waitForPendingRelease();
+				if( victims != null )
+					checkEvictionErrors(victims);
+				
+				//invalidate outdated prefetches and failed evictions
+				removePrefetch(fname);
+				EvictionTask failed = _mPending.get(fname);
+				if( failed != null && failed.getError() != null )
+					failed.release();
 				
 				//put placeholder into buffer pool (reserve mem)
 				_mQueue.addLast(fname, bbuff);
 				_size += lSize;
+				bbuff.setLastAccess(++_tick);
 			}
 			
 			//serialize matrix (outside synchronized critical path)
@@ -110,6 +178,9 @@ public class LazyWriteBuffer
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
+			synchronized( _mQueue ) {
+				removePrefetch(fname);
+			}
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
 			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSWrites();
@@ -123,6 +194,7 @@ public class LazyWriteBuffer
 	public static void deleteBlock(String fname)
 	{
 		boolean requiresDelete = true;
+		EvictionTask pending = null;
 		
 		synchronized( _mQueue )
 		{
@@ -133,6 +205,20 @@ public class LazyWriteBuffer
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+			pending = _mPending.get(fname);
+			removePrefetch(fname);
+		}
+		
+		//wait for pending eviction to prevent orphaned files
+		if( pending != null ) {
+			pending.waitForCompletion();
+			if( pending.getError() != null ) {
+				//release retained buffer of failed eviction
+				synchronized( _mQueue ) {
+					pending.release();
+				}
+			}
+			requiresDelete = true;
 		}
 		
 		//delete from FS if required
@@ -145,6 +231,8 @@ public class LazyWriteBuffer
 	{
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
+		EvictionTask pending = null;
+		Future<CacheBlock> prefetch = null;
 		
 		//probe write buffer
 		synchronized( _mQueue )
@@ -152,17 +240,50 @@ public class LazyWriteBuffer
 			ldata = _mQueue.get(fname);
 			
 			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
+			if(    CacheableData.CACHING_BUFFER_POLICY != RPolicy.FIFO
 				&& ldata != null )
 			{
 				//reinsert entry at end of eviction queue
 				_mQueue.remove( fname );
 				_mQueue.addLast( fname, ldata );
 			}
+			if( CacheableData.CACHING_BUFFER_POLICY == RPolicy.COST
+				&& ldata != null )
+			{
+				//maintain access statistics for eviction costs
+				ldata.incrementAccessCount();
+				ldata.setLastAccess(++_tick);
+			}
+			
+			//probe pending evictions, whose buffers are pinned
+			//until deserialized (to prevent concurrent release)
+			pending = (ldata == null) ? _mPending.get(fname) : null;
+			if( pending != null && pending.getError() != null )
+				throw new IOException("Eviction to local path "+fname+" failed.", pending.getError());
+			if( pending != null )
+				pending.pin();
+			
+			//probe pending or completed prefetches
+			if( ldata == null && pending == null )
+				prefetch = _mPrefetch.remove(fname);
 		}
 		
 		//deserialize or read from FS if required
-		if( ldata != null )
+		if( pending != null )
+		{
+			try {
+				pending._bbuff.checkSerialized();
+				cb = pending._bbuff.deserializeBlock();
+			}
+			finally {
+				synchronized( _mQueue ) {
+					pending.unpin();
+				}
+			}
+			if( ConfigurationManager.isStatistics() )
+				CacheStatistics.incrementFSBuffHits();
+		}
+		else if( ldata != null )
 		{
 			cb = ldata.deserializeBlock();
 			if( ConfigurationManager.isStatistics() )
@@ -170,25 +291,118 @@ public class LazyWriteBuffer
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			cb = (prefetch != null) ? getPrefetch(fname, prefetch) : null;
+			if( cb == null )
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
 			if( ConfigurationManager.isStatistics() )
 				CacheStatistics.incrementFSHits();
 		}
 		
 		return cb;
 	}
+	
+	/**
+	 * Asynchronously restores an evicted block from local FS into memory,
+	 * if prefetching is enabled and the block is neither in the buffer pool,
+	 * nor pending eviction. A subsequent readBlock consumes the prefetched
+	 * block, while writeBlock or deleteBlock invalidate it.
+	 * 
+	 * @param fname file name of evicted block
+	 * @param matrix true if matrix block, false if frame block
+	 */
+	public static void prefetchBlock(String fname, boolean matrix) {
+		if( !CacheableData.CACHING_PREFETCH || !_fEvict.isPrefetchEnabled() )
+			return;
+		synchronized( _mQueue ) {
+			if( _mQueue.containsKey(fname) || _mPending.containsKey(fname)
+				|| _mPrefetch.containsKey(fname) )
+				return;
+			_mPrefetch.put(fname, _fEvict.prefetch(fname, matrix));
+		}
+	}
+	
+	/**
+	 * Adds or removes a reuse hint for the given file, which indicates
+	 * an expected future read (e.g., of a loop-invariant variable). Hints
+	 * are reference counted to support nested loops and only considered
+	 * by the cost-based eviction policy.
+	 * 
+	 * @param fname file name of cache block
+	 * @param add true to add, false to remove a hint
+	 */
+	public static void setReuseHint(String fname, boolean add) {
+		synchronized( _mQueue ) {
+			int cnt = _mHints.getOrDefault(fname, 0) + (add ? 1 : -1);
+			if( cnt > 0 )
+				_mHints.put(fname, cnt);
+			else
+				_mHints.remove(fname);
+		}
+	}
+	
+	/**
+	 * Computes the cost of evicting the given buffer pool entry (lower is
+	 * better) as the expected reuse, i.e., access frequency and reuse hints
+	 * over recency, times the restore cost per freed byte. The fixed restore
+	 * costs per file favor the eviction of large entries.
+	 * 
+	 * @param fname file name of cache block
+	 * @param bbuff buffer pool entry
+	 * @return eviction cost
+	 */
+	private static double getEvictionCost(String fname, ByteBuffer bbuff) {
+		Integer hint = _mHints.get(fname);
+		double reuse = (1 + bbuff.getAccessCount())
+			* ((hint != null) ? REUSE_HINT_WEIGHT * hint : 1)
+			/ (1 + _tick - bbuff.getLastAccess());
+		double size = Math.max(bbuff.getSize(), 1);
+		return reuse * (RESTORE_LATENCY_BYTES + size) / size;
+	}
+	
+	private static void removePrefetch(String fname) {
+		Future<CacheBlock> prefetch = _mPrefetch.remove(fname);
+		if( prefetch != null )
+			prefetch.cancel(false);
+	}
+	
+	private static CacheBlock getPrefetch(String fname, Future<CacheBlock> prefetch) {
+		try {
+			return prefetch.get();
+		}
+		catch(Exception ex) {
+			//robustness for failed prefetch (fallback to sync read)
+			LOG.warn("Failed to prefetch "+fname+", falling back to synchronous read.", ex);
+			return null;
+		}
+	}
 
 	public static void init() {
 		_mQueue = new EvictionQueue();
+		_mPending = new HashMap<>();
+		_mPrefetch = new HashMap<>();
+		_mHints = new HashMap<>();
+		_tick = 0;
 		_fClean = new FileCleaner();
+		_fEvict = new EvictionService();
 		_size = 0;
+		_pendingSize = 0;
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		if( _fEvict != null )
+			_fEvict.close();
+		if( _mPending != null )
+			waitForPendingEvictions();
+		if( _mQueue != null ) {
+			synchronized( _mQueue ) {
+				_mQueue.clear();
+				_mPending.clear();
+				_mPrefetch.clear();
+				_mHints.clear();
+			}
+		}
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -270,11 +484,46 @@ public class LazyWriteBuffer
 				tmp.freeMemory();
 			}
 		}
+		
+		//wait for pending asynchronous evictions
+		checkEvictionErrors(waitForPendingEvictions());
+	}
+	
+	/**
+	 * Waits until a pending eviction released its memory.
+	 * NOTE: requires the caller to hold the lock of _mQueue.
+	 */
+	private static void waitForPendingRelease() {
+		try {
+			_mQueue.wait();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static List<EvictionTask> waitForPendingEvictions() {
+		List<EvictionTask> pending = null;
+		synchronized( _mQueue ) {
+			pending = new ArrayList<>(_mPending.values());
+		}
+		for( EvictionTask task : pending )
+			task.waitForCompletion();
+		return pending;
+	}
+	
+	private static void checkEvictionErrors(List<EvictionTask> tasks)
+		throws IOException
+	{
+		for( EvictionTask task : tasks )
+			if( task.getError() != null )
+				throw new IOException("Eviction to local path "+task._fname+" failed.", task.getError());
 	}
 	
 	/**
 	 * Extended LinkedHashMap with convenience methods for adding and removing
-	 * last/first entries.
+	 * last/first entries, as well as removing the next eviction victim.
 	 * 
 	 */
 	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
@@ -297,6 +546,31 @@ public class LazyWriteBuffer
 			
 			return entry;
 		}
+		
+		public Entry<String, ByteBuffer> removeVictim()
+		{
+			//FIFO/LRU: queue order already reflects the policy
+			if( CacheableData.CACHING_BUFFER_POLICY != RPolicy.COST )
+				return removeFirst();
+			
+			//COST: min eviction cost over a bounded number of least recently
+			//used entries (queue order), which avoids a full scan under lock
+			Entry<String, ByteBuffer> victim = null;
+			double minCost = Double.MAX_VALUE;
+			int count = 0;
+			for( Entry<String, ByteBuffer> entry : entrySet() ) {
+				if( count++ >= COST_EVICTION_SAMPLE )
+					break;
+				double cost = (entry.getValue() != null) ?
+					getEvictionCost(entry.getKey(), entry.getValue()) : 0;
+				if( victim == null || cost < minCost ) {
+					victim = entry;
+					minCost = cost;
+				}
+			}
+			String fname = victim.getKey();
+			return new SimpleEntry<>(fname, remove(fname));
+		}
 	}
 	
 	/**
@@ -342,4 +616,139 @@ public class LazyWriteBuffer
 			}
 		}
 	}
+	
+	/**
+	 * Eviction task that writes a buffer removed from the eviction queue to
+	 * local FS, and subsequently releases the buffer and its pending entry.
+	 * Buffers pinned by concurrent reads are freed by the last reader. If the
+	 * write fails, the buffer and pending entry are retained, and the error
+	 * is rethrown to subsequent reads of the block.
+	 */
+	private static class EvictionTask implements Runnable
+	{
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		private final EvictionTask _prev; //pending eviction of same file
+		private final CountDownLatch _done;
+		private int _readers = 0; //guarded by _mQueue
+		private boolean _released = false; //guarded by _mQueue
+		private volatile IOException _error = null;
+		
+		public EvictionTask(String fname, ByteBuffer bbuff, EvictionTask prev) {
+			_fname = fname;
+			_bbuff = bbuff;
+			_prev = prev;
+			_done = new CountDownLatch(1);
+		}
+		
+		@Override
+		public void run() {
+			try {
+				//serialize writes of the same file (submitted in order)
+				if( _prev != null )
+					_prev.waitForCompletion();
+				
+				//wait for pending serialization
+				_bbuff.checkSerialized();
+				
+				//evict matrix
+				_bbuff.evictBuffer(_fname);
+			}
+			catch(IOException ex) {
+				LOG.error("Eviction to local path "+_fname+" failed.", ex);
+				_error = ex;
+			}
+			finally {
+				synchronized( _mQueue ) {
+					_pendingSize -= _bbuff.getSize();
+					if( _error == null )
+						release();
+					else //retain buffer of failed eviction
+						_mQueue.notifyAll();
+				}
+				_done.countDown();
+			}
+		}
+		
+		/**
+		 * Releases the buffer and its pending entry.
+		 * NOTE: requires the caller to hold the lock of _mQueue.
+		 */
+		public void release() {
+			if( _released )
+				return;
+			_mPending.remove(_fname, this);
+			_size -= _bbuff.getSize();
+			_released = true;
+			if( _readers == 0 )
+				_bbuff.freeMemory();
+			_mQueue.notifyAll();
+		}
+		
+		public IOException getError() {
+			return _error;
+		}
+		
+		public void pin() {
+			_readers++;
+		}
+		
+		public void unpin() {
+			if( --_readers == 0 && _released )
+				_bbuff.freeMemory();
+		}
+		
+		public void waitForCompletion() {
+			try {
+				_done.await();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Eviction service for abstraction of synchronous and asynchronous
+	 * eviction of buffer pool entries to local FS. The threadpool for
+	 * asynchronous eviction is bounded by the configured number of
+	 * eviction threads and shared with asynchronous prefetch requests.
+	 */
+	private static class EvictionService
+	{
+		private final int _k;
+		private ExecutorService _pool = null;
+		
+		public EvictionService() {
+			//create new threadpool for async eviction/prefetch
+			_k = CacheableData.CACHING_EVICTION_THREADS;
+			if( _k > 0 || CacheableData.CACHING_PREFETCH )
+				_pool = Executors.newFixedThreadPool(Math.max(_k, 1));
+		}
+		
+		public void evict(List<EvictionTask> tasks) {
+			//sync or async eviction
+			for( EvictionTask task : tasks ) {
+				if( _k > 0 )
+					_pool.submit(task);
+				else
+					task.run();
+			}
+		}
+		
+		public boolean isPrefetchEnabled() {
+			return _pool != null;
+		}
+		
+		public Future<CacheBlock> prefetch(String fname, boolean matrix) {
+			return _pool.submit(() ->
+				LocalFileUtils.readCacheBlockFromLocal(fname, matrix));
+		}
+		
+		public void close() {
+			//execute pending tasks and shutdown pool
+			if( _pool != null )
+				_pool.shutdown();
+		}
+	}
 }
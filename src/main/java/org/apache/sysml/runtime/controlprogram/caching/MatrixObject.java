@@ -34,10 +34,12 @@ import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartition
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.io.FileFormatProperties;
+import org.apache.sysml.runtime.io.MatrixChunkIterator;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaData;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
@@ -444,6 +446,51 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return newData;
 	}
 
+	/**
+	 * Indicates if this matrix is only available in its file and exceeds the
+	 * local memory budget, in which case out-of-core operations (if enabled)
+	 * stream over row chunks of the file instead of reading the entire matrix.
+	 * 
+	 * @return true if out-of-core operations should be used
+	 */
+	public synchronized boolean isOutOfCore() {
+		if( !ConfigurationManager.isOutOfCoreOperations() || _data != null || !isEmpty(false)
+			|| isDirty() || _hdfsFileName == null || getRDDHandle() != null 
+			|| (_gpuObjects != null && !_gpuObjects.isEmpty()) || !(_metaData instanceof MetaDataFormat) )
+			return false;
+		MatrixCharacteristics mc = _metaData.getMatrixCharacteristics();
+		return mc.dimsKnown() && OptimizerUtils.isValidCPDimensions(mc)
+			&& (LibMatrixStream.FORCE_OUT_OF_CORE 
+				|| OptimizerUtils.estimateSizeExactSparsity(mc) > OptimizerUtils.getLocalMemBudget())
+			&& MapReduceTool.existsFileOnHDFS(_hdfsFileName);
+	}
+	
+	/**
+	 * Opens a chunked read of the file of this matrix, which neither 
+	 * modifies the cache status nor pins the matrix in memory.
+	 * 
+	 * @return chunk iterator
+	 */
+	public MatrixChunkIterator readChunksFromHDFS() {
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Reading matrix chunks from HDFS...  " + hashCode() + "  Path: " + _hdfsFileName 
+				+ ", dimensions: [" + mc.getRows() + ", " + mc.getCols() + ", " + mc.getNonZeros() + "]");
+		
+		try {
+			MatrixChunkIterator ret = DataConverter.readMatrixChunksFromHDFS(_hdfsFileName, iimd.getInputInfo(),
+				mc.getRows(), mc.getCols(), mc.getRowsPerBlock(), mc.getColsPerBlock(), mc.getNonZeros(),
+				getFileFormatProperties(), LibMatrixStream.getChunkRows(mc));
+			if( ConfigurationManager.isStatistics() )
+				CacheStatistics.incrementHDFSHits();
+			return ret;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to open chunked read of matrix: "+_hdfsFileName, ex);
+		}
+	}
+	
 	@Override
 	protected MatrixBlock readBlobFromRDD(RDDObject rdd, MutableBoolean writeStatus) 
 		throws IOException
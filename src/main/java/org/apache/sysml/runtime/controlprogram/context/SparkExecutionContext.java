@@ -397,7 +397,8 @@ public class SparkExecutionContext extends ExecutionContext
 				//recordreader returns; the javadoc explicitly recommend to copy all key/value pairs
 				rdd = SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
 			}
-			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo || inputInfo == InputInfo.MatrixMarketInputInfo) {
+			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo 
+				|| inputInfo == InputInfo.MatrixMarketInputInfo || inputInfo == InputInfo.LIBSVMInputInfo) {
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
 				rdd = ((JavaPairRDD<LongWritable, Text>)rdd).mapToPair( new CopyTextInputFunction() ); //cp is workaround for read bug
 			}
@@ -579,6 +580,10 @@ public class SparkExecutionContext extends ExecutionContext
 			MatrixBlock mb = mo.acquireRead();
 			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<>(mb, brlen, bclen);
 			mo.release();
+			
+			//size of compressed broadcasts given by partitioned compressed blocks
+			long bsize = (mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed()) ?
+				pmb.getInMemorySize() : OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics());
 
 			//determine coarse-grained partitioning
 			int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), brlen, bclen);
@@ -599,8 +604,7 @@ public class SparkExecutionContext extends ExecutionContext
 			if (mo.getBroadcastHandle() == null) {
 				mo.setBroadcastHandle(new BroadcastObject<MatrixBlock>());
 			}
-			mo.getBroadcastHandle().setPartitionedBroadcast(bret,
-				OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics()));
+			mo.getBroadcastHandle().setPartitionedBroadcast(bret, bsize);
 			CacheableData.addBroadcastSize(mo.getBroadcastHandle().getPartitionedBroadcastSize());
 		}
 
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+
+/**
+ * Double-buffered producer of the mini-batches of a single worker, which
+ * prepares (i.e., slices) the next batch in a background thread while the
+ * current batch is processed. Since the workers iterate over their data
+ * partitions in a fixed order, the next batch is known upfront; requests
+ * of any other batch fall back to synchronous slicing.
+ */
+public class BatchPrefetcher implements AutoCloseable
+{
+	private final MatrixObject _features;
+	private final MatrixObject _labels;
+	private final long _batchSize;
+	private final long _dataSize;
+	private final ExecutorService _pool;
+
+	//prefetched batch (index and future of features/labels)
+	private int _nextIx = -1;
+	private Future<MatrixObject[]> _next = null;
+
+	public BatchPrefetcher(MatrixObject features, MatrixObject labels, long batchSize, String name) {
+		_features = features;
+		_labels = labels;
+		_batchSize = batchSize;
+		_dataSize = features.getNumRows();
+		_pool = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+			.namingPattern(name.replace(' ', '-') + "-prefetch-%d").daemon(true).build());
+	}
+
+	/**
+	 * Get the features and labels of the given batch, and trigger
+	 * the asynchronous preparation of the subsequent batch.
+	 *
+	 * @param j index of the requested batch (0-based)
+	 * @param nextJ index of the subsequent batch, or -1 if none
+	 * @return array of batch features and labels
+	 */
+	public MatrixObject[] getBatch(int j, int nextJ) {
+		MatrixObject[] ret;
+		if( _next != null && _nextIx == j ) {
+			try {
+				ret = _next.get();
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLRuntimeException("Failed to prefetch batch "+j+".", e);
+			}
+		}
+		else {
+			if( _next != null )
+				_next.cancel(true);
+			ret = sliceBatch(j);
+		}
+		_next = null;
+
+		//trigger prefetch of the subsequent batch
+		if( nextJ >= 0 ) {
+			_nextIx = nextJ;
+			_next = _pool.submit(() -> sliceBatch(nextJ));
+		}
+		return ret;
+	}
+
+	private MatrixObject[] sliceBatch(int j) {
+		long begin = j * _batchSize + 1;
+		long end = Math.min((j + 1) * _batchSize, _dataSize);
+		return new MatrixObject[] {
+			ParamservUtils.sliceMatrix(_features, begin, end),
+			ParamservUtils.sliceMatrix(_labels, begin, end)};
+	}
+
+	@Override
+	public void close() {
+		if( _next != null )
+			_next.cancel(true);
+		_next = null;
+		_pool.shutdownNow();
+	}
+}
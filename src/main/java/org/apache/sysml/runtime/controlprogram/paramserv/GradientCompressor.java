@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysml.parser.Statement.PSCompression;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Lossy compression of gradients, applied by the workers before pushing
+ * them to the parameter server. The values dropped by the compression
+ * (i.e., the compression error) are kept in a local residual per gradient
+ * and added to the gradients of the next push (error feedback), which
+ * ensures that all updates are eventually applied.
+ *
+ * <ul>
+ * <li>TOPK: keep only the k largest gradient values by magnitude,
+ *   which are represented and transferred as sparse blocks.</li>
+ * <li>QUANT8: linear 8-bit quantization with a per-matrix scale; the
+ *   quantized values are encoded as single bytes when sent over RPC
+ *   and decoded by the server before aggregation.</li>
+ * </ul>
+ */
+public class GradientCompressor implements Serializable
+{
+	private static final long serialVersionUID = 3287541239084567123L;
+
+	//max absolute value of 8-bit quantized values
+	private static final int QUANT_MAX = 127;
+
+	private final PSCompression _type;
+	private final double _ratio;
+
+	//error feedback residuals per gradient (lazily allocated on the worker)
+	private transient List<double[]> _residuals;
+
+	public GradientCompressor(PSCompression type, double ratio) {
+		_type = type;
+		_ratio = ratio;
+	}
+
+	public PSCompression getType() {
+		return _type;
+	}
+
+	/**
+	 * Compress the given list of gradients, and clean up the input list.
+	 *
+	 * @param gradients list object of gradient matrices
+	 * @return new list object of compressed gradients
+	 */
+	public ListObject compress(ListObject gradients) {
+		if( _residuals == null )
+			_residuals = new ArrayList<>();
+		List<Data> data = new ArrayList<>();
+		for( int i=0; i<gradients.getLength(); i++ ) {
+			MatrixBlock mb = ((MatrixObject)gradients.getData().get(i)).acquireReadAndRelease();
+			double[] acc = DataConverter.convertToDoubleVector(mb);
+			double[] res = getResidual(i, acc.length);
+			for( int j=0; j<acc.length; j++ )
+				acc[j] += res[j];
+			MatrixBlock cmb = (_type == PSCompression.TOPK) ?
+				sparsify(acc, res, mb.getNumRows(), mb.getNumColumns(), _ratio) :
+				quantize(acc, res, mb.getNumRows(), mb.getNumColumns());
+			data.add(ParamservUtils.newMatrixObject(cmb));
+		}
+		ParamservUtils.cleanupListObject(gradients);
+		return new ListObject(data, gradients.getNames());
+	}
+
+	private double[] getResidual(int pos, int len) {
+		while( _residuals.size() <= pos )
+			_residuals.add(null);
+		//(re)allocate on first push or changed gradient shape
+		if( _residuals.get(pos) == null || _residuals.get(pos).length != len )
+			_residuals.set(pos, new double[len]);
+		return _residuals.get(pos);
+	}
+
+	private static MatrixBlock sparsify(double[] acc, double[] res, int rows, int cols, double ratio) {
+		int k = (int) Math.min(Math.max(Math.ceil(ratio * acc.length), 1), acc.length);
+		double thresh = kthLargestAbs(acc, k);
+		MatrixBlock ret = new MatrixBlock(rows, cols, true, k);
+		int cnt = 0;
+		for( int j=0; j<acc.length; j++ ) {
+			if( cnt < k && acc[j] != 0 && Math.abs(acc[j]) >= thresh ) {
+				ret.appendValue(j / cols, j % cols, acc[j]);
+				res[j] = 0;
+				cnt++;
+			}
+			else
+				res[j] = acc[j];
+		}
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static MatrixBlock quantize(double[] acc, double[] res, int rows, int cols) {
+		double scale = getQuantScale(acc, 0, acc.length);
+		for( int j=0; j<acc.length; j++ ) {
+			double v = dequantize(quantize(acc[j], scale), scale);
+			res[j] = acc[j] - v;
+			acc[j] = v;
+		}
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		ret.init(acc, rows, cols);
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static double kthLargestAbs(double[] acc, int k) {
+		double[] tmp = new double[acc.length];
+		for( int j=0; j<acc.length; j++ )
+			tmp[j] = Math.abs(acc[j]);
+		//quickselect of the k-th largest value (position n-k in ascending order)
+		int lo = 0, hi = tmp.length - 1, pos = tmp.length - k;
+		while( lo < hi ) {
+			double pivot = tmp[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( tmp[i] < pivot ) i++;
+				while( tmp[j] > pivot ) j--;
+				if( i <= j ) {
+					double t = tmp[i]; tmp[i] = tmp[j]; tmp[j] = t;
+					i++; j--;
+				}
+			}
+			if( pos <= j )
+				hi = j;
+			else if( pos >= i )
+				lo = i;
+			else
+				break;
+		}
+		return tmp[pos];
+	}
+
+	// ----- 8-bit quantization and its binary encoding (used by the RPC layer) -----
+
+	private static double getQuantScale(double[] a, int off, int len) {
+		double max = 0;
+		for( int j=off; j<off+len; j++ )
+			max = Math.max(max, Math.abs(a[j]));
+		return (max > 0) ? max / QUANT_MAX : 1;
+	}
+
+	private static byte quantize(double v, double scale) {
+		long q = Math.round(v / scale);
+		return (byte) Math.max(Math.min(q, QUANT_MAX), -QUANT_MAX);
+	}
+
+	private static double dequantize(byte q, double scale) {
+		return q * scale;
+	}
+
+	/**
+	 * Indicates if the 8-bit encoding of the given matrix block is smaller
+	 * than its default serialized representation (e.g., not for ultra-sparse
+	 * gradients).
+	 *
+	 * @param mb matrix block
+	 * @return true if the quantized encoding should be used
+	 */
+	public static boolean isQuantizedSmaller(MatrixBlock mb) {
+		return getQuantizedSize(mb) < mb.getExactSizeOnDisk();
+	}
+
+	public static long getQuantizedSize(MatrixBlock mb) {
+		return 4 + 4 + 8 + (long)mb.getNumRows() * mb.getNumColumns();
+	}
+
+	/**
+	 * Write the given matrix block as 8-bit quantized values
+	 * (scheme: rows|cols|scale|values).
+	 *
+	 * @param mb matrix block
+	 * @param out data output
+	 * @throws IOException if write fails
+	 */
+	public static void writeQuantized(MatrixBlock mb, DataOutput out) throws IOException {
+		int rows = mb.getNumRows(), cols = mb.getNumColumns();
+		double[] a = DataConverter.convertToDoubleVector(mb, false);
+		double scale = getQuantScale(a, 0, a.length);
+		byte[] q = new byte[a.length];
+		for( int j=0; j<a.length; j++ )
+			q[j] = quantize(a[j], scale);
+		out.writeInt(rows);
+		out.writeInt(cols);
+		out.writeDouble(scale);
+		out.write(q);
+	}
+
+	/**
+	 * Read and decode a matrix block of 8-bit quantized values.
+	 *
+	 * @param in data input
+	 * @return decoded matrix block
+	 * @throws IOException if read fails
+	 */
+	public static MatrixBlock readQuantized(DataInput in) throws IOException {
+		int rows = in.readInt();
+		int cols = in.readInt();
+		double scale = in.readDouble();
+		long len = (long) rows * cols;
+		if( rows < 0 || cols < 0 || len > Integer.MAX_VALUE )
+			throw new IOException("Invalid size of quantized gradient: "+rows+"x"+cols+".");
+		byte[] q = new byte[(int) len];
+		in.readFully(q);
+		double[] a = new double[q.length];
+		for( int j=0; j<q.length; j++ )
+			a[j] = dequantize(q[j], scale);
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		ret.init(a, rows, cols);
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		return (_type == PSCompression.TOPK) ?
+			_type + "(" + _ratio + ")" : _type.toString();
+	}
+}
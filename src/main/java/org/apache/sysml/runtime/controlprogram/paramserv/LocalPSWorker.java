@@ -36,11 +36,18 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 
 	protected static final Log LOG = LogFactory.getLog(LocalPSWorker.class.getName());
 	private static final long serialVersionUID = 5195390748495357295L;
+	protected static final boolean PREFETCH_BATCHES = true;
+
+	private transient BatchPrefetcher _prefetcher; // async slicing of next batch
 
 	protected LocalPSWorker() {}
 
 	public LocalPSWorker(int workerID, String updFunc, Statement.PSFrequency freq, int epochs, long batchSize, ExecutionContext ec, ParamServer ps) {
-		super(workerID, updFunc, freq, epochs, batchSize, ec, ps);
+		this(workerID, updFunc, freq, epochs, batchSize, ec, ps, null);
+	}
+
+	public LocalPSWorker(int workerID, String updFunc, Statement.PSFrequency freq, int epochs, long batchSize, ExecutionContext ec, ParamServer ps, GradientCompressor compressor) {
+		super(workerID, updFunc, freq, epochs, batchSize, ec, ps, compressor);
 	}
 
 	@Override
@@ -54,6 +61,8 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 		try {
 			long dataSize = _features.getNumRows();
 			int batchIter = (int) Math.ceil((double) dataSize / _batchSize);
+			if (PREFETCH_BATCHES)
+				_prefetcher = new BatchPrefetcher(_features, _labels, _batchSize, getWorkerName());
 
 			switch (_freq) {
 				case BATCH:
@@ -71,6 +80,11 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			if (_prefetcher != null)
+				_prefetcher.close();
+			// Release workers waiting for this worker (SSP)
+			_ps.finish(_workerID);
 		}
 		return null;
 	}
@@ -153,6 +167,10 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 	}
 
 	private void pushGradients(ListObject gradients) {
+		// Compress the gradients (w/ error feedback of the compression error)
+		if (_compressor != null)
+			gradients = _compressor.compress(gradients);
+
 		// Push the gradients to ps
 		_ps.push(_workerID, gradients);
 		if (LOG.isDebugEnabled()) {
@@ -166,10 +184,19 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 		long begin = j * _batchSize + 1;
 		long end = Math.min((j + 1) * _batchSize, dataSize);
 
-		// Get batch features and labels
+		// Get batch features and labels (w/ prefetch of the next batch)
 		Timing tSlic = ConfigurationManager.isStatistics() ? new Timing(true) : null;
-		MatrixObject bFeatures = ParamservUtils.sliceMatrix(_features, begin, end);
-		MatrixObject bLabels = ParamservUtils.sliceMatrix(_labels, begin, end);
+		MatrixObject bFeatures, bLabels;
+		if (_prefetcher != null) {
+			boolean last = (i == _epochs - 1) && (j == batchIter - 1);
+			MatrixObject[] batch = _prefetcher.getBatch(j, last ? -1 : (j + 1) % batchIter);
+			bFeatures = batch[0];
+			bLabels = batch[1];
+		}
+		else {
+			bFeatures = ParamservUtils.sliceMatrix(_features, begin, end);
+			bLabels = ParamservUtils.sliceMatrix(_labels, begin, end);
+		}
 		accBatchIndexingTime(tSlic);
 
 		_ec.setVariable(Statement.PS_FEATURES, bFeatures);
@@ -30,12 +30,12 @@ public class LocalParamServer extends ParamServer {
 		super();
 	}
 
-	public static LocalParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
-		return new LocalParamServer(model, aggFunc, updateType, ec, workerNum);
+	public static LocalParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
+		return new LocalParamServer(model, aggFunc, updateType, staleness, ec, workerNum);
 	}
 
-	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
-		super(model, aggFunc, updateType, ec, workerNum);
+	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
+		super(model, aggFunc, updateType, staleness, ec, workerNum);
 	}
 
 	@Override
@@ -53,4 +53,9 @@ public class LocalParamServer extends ParamServer {
 		}
 		return model;
 	}
+
+	@Override
+	public void finish(int workerID) {
+		finishWorker(workerID);
+	}
 }
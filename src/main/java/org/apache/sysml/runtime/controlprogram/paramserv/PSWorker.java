@@ -52,11 +52,13 @@ public abstract class PSWorker implements Serializable
 	protected MatrixObject _labels;
 	protected String _updFunc;
 	protected Statement.PSFrequency _freq;
+	protected GradientCompressor _compressor;
 
 	protected PSWorker() {}
 
-	protected PSWorker(int workerID, String updFunc, Statement.PSFrequency freq, int epochs, long batchSize, ExecutionContext ec, ParamServer ps) {
+	protected PSWorker(int workerID, String updFunc, Statement.PSFrequency freq, int epochs, long batchSize, ExecutionContext ec, ParamServer ps, GradientCompressor compressor) {
 		_workerID = workerID;
+		_compressor = compressor;
 		_updFunc = updFunc;
 		_freq = freq;
 		_epochs = epochs;
@@ -24,6 +24,7 @@ import static org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils.P
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -39,21 +40,25 @@ import org.apache.sysml.parser.Expression;
 import org.apache.sysml.parser.Statement;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.FunctionProgramBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.utils.Statistics;
 
 public abstract class ParamServer 
 {
 	protected static final Log LOG = LogFactory.getLog(ParamServer.class.getName());
 	protected static final boolean ACCRUE_BSP_GRADIENTS = true;
+	protected static final boolean SHARDED_ASP_MODEL = true;
 	
 	// worker input queues and global model
 	protected Map<Integer, BlockingQueue<ListObject>> _modelMap;
 	private ListObject _model;
+	private ShardedModelStore _store;   // lock-free model for ASP, otherwise null
 
 	//aggregation service
 	protected ExecutionContext _ec;
@@ -62,10 +67,17 @@ public abstract class ParamServer
 	private String _outputName;
 	private boolean[] _finishedStates;  // Workers' finished states
 	private ListObject _accGradients = null;
+	private List<ExecutionContext> _aggECs; // per-worker agg contexts for sharded model
+
+	//stale-synchronous parallel (SSP) state
+	private int _staleness;
+	private int[] _clocks;              // Workers' clocks (number of pushes)
+	private boolean[] _blockedStates;   // Workers waiting for the model
+	private boolean[] _terminatedStates; // Workers without further pushes
 
 	protected ParamServer() {}
 
-	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
+	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
 		// init worker queues and global model
 		_modelMap = new HashMap<>(workerNum);
 		IntStream.range(0, workerNum).forEach(i -> {
@@ -78,7 +90,18 @@ public abstract class ParamServer
 		_ec = ec;
 		_updateType = updateType;
 		_finishedStates = new boolean[workerNum];
+		_staleness = staleness;
+		_clocks = new int[workerNum];
+		_blockedStates = new boolean[workerNum];
+		_terminatedStates = new boolean[workerNum];
 		setupAggFunc(_ec, aggFunc);
+
+		// init sharded model, which allows concurrent aggregation
+		// of ASP pushes w/o contention on a global lock
+		if (SHARDED_ASP_MODEL && updateType.isASP() && ShardedModelStore.isSupported(model)) {
+			_store = new ShardedModelStore(model);
+			_aggECs = ParamservUtils.copyExecutionContext(ec, workerNum);
+		}
 		
 		// broadcast initial model
 		broadcastModel(true);
@@ -116,13 +139,77 @@ public abstract class ParamServer
 
 	public abstract ListObject pull(int workerID);
 
+	/**
+	 * Signals that the given worker finished its last push, which
+	 * excludes the worker from the staleness bound of SSP.
+	 *
+	 * @param workerID worker id
+	 */
+	public abstract void finish(int workerID);
+
 	public ListObject getResult() {
 		// All the model updating work has terminated,
 		// so we could return directly the result model
-		return _model;
+		return (_store != null) ?
+			_store.toListObject(_store.getSnapshot(), true) : _model;
 	}
-	
-	protected synchronized void updateGlobalModel(int workerID, ListObject gradients) {
+
+	protected void updateGlobalModel(int workerID, ListObject gradients) {
+		if (_store == null)
+			updateSynchronizedModel(workerID, gradients);
+		else if (isStatelessUpdate(gradients))
+			updateShardedModel(workerID, gradients);
+		else {
+			//stateful update rules (e.g., momentum) cannot be merged
+			//via deltas, so we serialize the pushes on the sharded model
+			synchronized (this) {
+				updateShardedModel(workerID, gradients);
+			}
+		}
+	}
+
+	/**
+	 * Indicates if concurrent pushes can be merged via deltas, which is only
+	 * valid for stateless SGD-style update rules. We consider models with one
+	 * gradient per model entry as stateless, while additional model entries
+	 * (e.g., velocities or moments) indicate optimizer state.
+	 *
+	 * @param gradients list of gradients
+	 * @return true if the update rule is considered stateless
+	 */
+	private boolean isStatelessUpdate(ListObject gradients) {
+		return gradients.getLength() == _store.getNumShards();
+	}
+
+	/**
+	 * Update the sharded model without global lock, where the new model
+	 * is computed from a snapshot with a worker-local aggregation context
+	 * and then published shard by shard.
+	 *
+	 * @param workerID worker id
+	 * @param gradients list of gradients
+	 */
+	private void updateShardedModel(int workerID, ListObject gradients) {
+		try {
+			Timing tAgg = ConfigurationManager.isStatistics() ? new Timing(true) : null;
+			MatrixBlock[] snapshot = _store.getSnapshot();
+			ListObject newModel = updateLocalModel(_aggECs.get(workerID),
+				gradients, _store.toListObject(snapshot, false));
+			for (int i = 0; i < snapshot.length; i++) {
+				MatrixBlock mb = ((MatrixObject) newModel.getData().get(i)).acquireReadAndRelease();
+				if (mb != snapshot[i])
+					_store.update(i, snapshot[i], mb);
+			}
+			if (ConfigurationManager.isStatistics())
+				Statistics.accPSAggregationTime((long) tAgg.stop());
+			broadcastModel(workerID);
+		}
+		catch (Exception e) {
+			throw new DMLRuntimeException("Aggregation service failed: ", e);
+		}
+	}
+
+	private synchronized void updateSynchronizedModel(int workerID, ListObject gradients) {
 		try {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("Successfully pulled the gradients [size:%d kb] of worker_%d.",
@@ -159,6 +246,15 @@ public abstract class ParamServer
 					broadcastModel(workerID);
 					break;
 				}
+				case SSP: {
+					// Update the global model immediately, but only release
+					// the worker if it is within the staleness bound
+					updateGlobalModel(gradients);
+					_clocks[workerID]++;
+					_blockedStates[workerID] = true;
+					releaseWorkers();
+					break;
+				}
 				default:
 					throw new DMLRuntimeException("Unsupported update: " + _updateType.name());
 			}
@@ -168,6 +264,38 @@ public abstract class ParamServer
 		}
 	}
 
+	protected synchronized void finishWorker(int workerID) {
+		_terminatedStates[workerID] = true;
+		_blockedStates[workerID] = false;
+		if( _updateType.isSSP() ) {
+			try {
+				releaseWorkers();
+			}
+			catch (InterruptedException e) {
+				throw new DMLRuntimeException("Aggregation service failed: ", e);
+			}
+		}
+	}
+
+	/**
+	 * Broadcast the model to all blocked workers whose clock is at most
+	 * the staleness threshold ahead of the slowest active worker. Workers
+	 * outside the bound are blocked in pull until the slowest worker
+	 * pushes or finishes.
+	 */
+	private void releaseWorkers() throws InterruptedException {
+		int minClock = Integer.MAX_VALUE;
+		for (int i = 0; i < _clocks.length; i++)
+			if (!_terminatedStates[i])
+				minClock = Math.min(minClock, _clocks[i]);
+		for (int i = 0; i < _clocks.length; i++) {
+			if (_blockedStates[i] && (long) _clocks[i] - minClock <= _staleness) {
+				_blockedStates[i] = false;
+				broadcastModel(i);
+			}
+		}
+	}
+
 	private void updateGlobalModel(ListObject gradients) {
 		Timing tAgg = ConfigurationManager.isStatistics() ? new Timing(true) : null;
 		_model = updateLocalModel(_ec, gradients, _model);
@@ -230,7 +358,8 @@ public abstract class ParamServer
 		Timing tBroad = ConfigurationManager.isStatistics() ? new Timing(true) : null;
 
 		//broadcast copy of model to specific worker, cleaned up by worker
-		_modelMap.get(workerID).put(ParamservUtils.copyList(_model, false));
+		_modelMap.get(workerID).put((_store != null) ?
+			_store.toListObject(_store.getSnapshot(), false) : ParamservUtils.copyList(_model, false));
 
 		if (ConfigurationManager.isStatistics())
 			Statistics.accPSModelBroadcastTime((long) tBroad.stop());
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Lock-free model store of the parameter server, which partitions the model
+ * into shards of individual list entries (e.g., layer weights and biases).
+ * Each shard is an immutable, versioned matrix block that is replaced via
+ * compare-and-swap, which allows concurrent pulls (snapshots) without
+ * blocking pushes, and concurrent pushes that only conflict per shard.
+ *
+ * A push computes the new model from a snapshot of the shards. If a shard
+ * was not modified since this snapshot, the new block is simply published;
+ * otherwise the delta between the new and snapshot block is applied to the
+ * current shard, i.e., concurrent updates are merged instead of lost. This
+ * merge assumes an additive update rule (e.g., stateless SGD) and callers
+ * with stateful update rules need to serialize their updates.
+ */
+public class ShardedModelStore
+{
+	private static final BinaryOperator PLUS = new BinaryOperator(Plus.getPlusFnObject());
+	private static final BinaryOperator MINUS = new BinaryOperator(Minus.getMinusFnObject());
+
+	private final AtomicReferenceArray<Shard> _shards;
+	private final List<String> _names;
+
+	public ShardedModelStore(ListObject model) {
+		_shards = new AtomicReferenceArray<>(model.getLength());
+		for( int i=0; i<model.getLength(); i++ )
+			_shards.set(i, new Shard(((MatrixObject)model.getData().get(i)).acquireReadAndRelease(), 0));
+		_names = model.isNamedList() ? new ArrayList<>(model.getNames()) : null;
+	}
+
+	/**
+	 * Indicates if the given model can be sharded, which requires
+	 * a list of matrices.
+	 *
+	 * @param model model list object
+	 * @return true if supported
+	 */
+	public static boolean isSupported(ListObject model) {
+		return model.getData().stream().allMatch(d -> d instanceof MatrixObject);
+	}
+
+	public int getNumShards() {
+		return _shards.length();
+	}
+
+	/**
+	 * Get the current version (number of updates) of the given shard.
+	 *
+	 * @param pos shard position
+	 * @return version
+	 */
+	public long getVersion(int pos) {
+		return _shards.get(pos).version;
+	}
+
+	/**
+	 * Obtain a snapshot of all shards, without any locking. Each shard
+	 * block is consistent by itself, but the snapshot is not consistent
+	 * across shards, i.e., a concurrent push might be partially visible.
+	 *
+	 * @return array of shard blocks
+	 */
+	public MatrixBlock[] getSnapshot() {
+		MatrixBlock[] ret = new MatrixBlock[_shards.length()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = _shards.get(i).block;
+		return ret;
+	}
+
+	/**
+	 * Wrap the given shard blocks into a new list object.
+	 *
+	 * @param snapshot array of shard blocks
+	 * @param cleanup enable cleanup of the created matrix objects
+	 * @return model list object
+	 */
+	public ListObject toListObject(MatrixBlock[] snapshot, boolean cleanup) {
+		List<Data> data = new ArrayList<>(snapshot.length);
+		for( MatrixBlock mb : snapshot )
+			data.add(ParamservUtils.newMatrixObject(mb, cleanup));
+		return new ListObject(data, _names);
+	}
+
+	/**
+	 * Publish the new block of a shard that was computed from the given
+	 * snapshot block. Concurrent updates of the shard since the snapshot
+	 * are preserved by applying only the delta of this update, which is
+	 * only valid for additive update rules. Without concurrent updates
+	 * (e.g., serialized pushes), the new block is always published as is.
+	 *
+	 * @param pos shard position
+	 * @param snapshot snapshot block the update was computed from
+	 * @param update new block
+	 * @return true if the update was merged with concurrent updates
+	 */
+	public boolean update(int pos, MatrixBlock snapshot, MatrixBlock update) {
+		Shard cur = _shards.get(pos);
+		if( cur.block == snapshot && _shards.compareAndSet(pos, cur, new Shard(update, cur.version+1)) )
+			return false;
+		//concurrent modification: apply delta to the current block
+		MatrixBlock delta = (MatrixBlock) update.binaryOperations(MINUS, snapshot, new MatrixBlock());
+		while( true ) {
+			cur = _shards.get(pos);
+			MatrixBlock next = (MatrixBlock) cur.block.binaryOperations(PLUS, delta, new MatrixBlock());
+			if( _shards.compareAndSet(pos, cur, new Shard(next, cur.version+1)) )
+				return true;
+		}
+	}
+
+	private static class Shard {
+		private final MatrixBlock block;
+		private final long version;
+
+		private Shard(MatrixBlock block, long version) {
+			this.block = block;
+			this.version = version;
+		}
+	}
+}
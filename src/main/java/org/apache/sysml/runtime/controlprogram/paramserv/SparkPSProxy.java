@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.controlprogram.paramserv;
 
+import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.FINISH;
 import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.PULL;
 import static org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject.PUSH;
 
@@ -38,12 +39,14 @@ public class SparkPSProxy extends ParamServer {
 	private final TransportClient _client;
 	private final long _rpcTimeout;
 	private final LongAccumulator _aRPC;
+	private final boolean _quantize; // 8-bit encoding of pushed gradients
 
-	public SparkPSProxy(TransportClient client, long rpcTimeout, LongAccumulator aRPC) {
+	public SparkPSProxy(TransportClient client, long rpcTimeout, LongAccumulator aRPC, boolean quantize) {
 		super();
 		_client = client;
 		_rpcTimeout = rpcTimeout;
 		_aRPC = aRPC;
+		_quantize = quantize;
 	}
 
 	private void accRpcRequestTime(Timing tRpc) {
@@ -56,7 +59,7 @@ public class SparkPSProxy extends ParamServer {
 		Timing tRpc = ConfigurationManager.isStatistics() ? new Timing(true) : null;
 		PSRpcResponse response;
 		try {
-			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value).serialize(), _rpcTimeout));
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value, _quantize).serialize(), _rpcTimeout));
 		} catch (IOException e) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to push gradients.", workerID), e);
 		}
@@ -81,4 +84,19 @@ public class SparkPSProxy extends ParamServer {
 		}
 		return response.getResultModel();
 	}
+
+	@Override
+	public void finish(int workerID) {
+		Timing tRpc = ConfigurationManager.isStatistics() ? new Timing(true) : null;
+		PSRpcResponse response;
+		try {
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(FINISH, workerID, null).serialize(), _rpcTimeout));
+		} catch (IOException e) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to signal termination.", workerID), e);
+		}
+		accRpcRequestTime(tRpc);
+		if (!response.isSuccessful()) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to signal termination. \n%s", workerID, response.getErrorMessage()));
+		}
+	}
 }
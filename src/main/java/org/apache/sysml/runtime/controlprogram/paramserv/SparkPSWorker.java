@@ -54,8 +54,9 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 	private final LongAccumulator _nBatches; //number of executed batches
 	private final LongAccumulator _nEpochs; //number of executed epoches
 	
-	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs) {
+	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs, GradientCompressor compressor) {
 		_updFunc = updFunc;
+		_compressor = compressor;
 		_aggFunc = aggFunc;
 		_freq = freq;
 		_epochs = epochs;
@@ -104,7 +105,8 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		RemoteParForUtils.setupBufferPool(_workerID);
 
 		// Create the ps proxy
-		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		boolean quantize = _compressor != null && _compressor.getType() == Statement.PSCompression.QUANT8;
+		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC, quantize);
 
 		// Initialize the update function
 		setupUpdateFunction(_updFunc, _ec);
@@ -32,11 +32,17 @@ public class PSRpcCall extends PSRpcObject {
 	private int _method;
 	private int _workerID;
 	private ListObject _data;
+	private boolean _quantize;
 
 	public PSRpcCall(int method, int workerID, ListObject data) {
+		this(method, workerID, data, false);
+	}
+
+	public PSRpcCall(int method, int workerID, ListObject data, boolean quantize) {
 		_method = method;
 		_workerID = workerID;
 		_data = data;
+		_quantize = quantize;
 	}
 
 	public PSRpcCall(ByteBuffer buffer) throws IOException {
@@ -65,12 +71,12 @@ public class PSRpcCall extends PSRpcObject {
 	}
 
 	public ByteBuffer serialize() throws IOException {
-		int len = 8 + getExactSerializedSize(_data);
+		int len = 8 + getExactSerializedSize(_data, _quantize);
 		CacheDataOutput dos = new CacheDataOutput(len);
 		dos.writeInt(_method);
 		dos.writeInt(_workerID);
 		if (_data != null)
-			serializeAndWriteListObject(_data, dos);
+			serializeAndWriteListObject(_data, dos, _quantize);
 		return ByteBuffer.wrap(dos.getBytes());
 	}
 	
@@ -78,9 +84,10 @@ public class PSRpcCall extends PSRpcObject {
 		switch (method) {
 			case PUSH:
 			case PULL:
+			case FINISH:
 				break;
 			default:
-				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push' or 'pull'");
+				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push', 'pull' or 'finish'");
 		}
 	}
 }
@@ -50,12 +50,12 @@ public class PSRpcFactory {
 		return context.createServer(host, 0, Collections.emptyList());	// bind rpc to an ephemeral port
 	}
 
-	public static SparkPSProxy createSparkPSProxy(SparkConf conf, int port, LongAccumulator aRPC) throws IOException {
+	public static SparkPSProxy createSparkPSProxy(SparkConf conf, int port, LongAccumulator aRPC, boolean quantize) throws IOException {
 		long rpcTimeout = conf.contains("spark.rpc.askTimeout") ?
 			conf.getTimeAsMs("spark.rpc.askTimeout") :
 			conf.getTimeAsMs("spark.network.timeout", "120s");
 		String host = conf.get("spark.driver.host");
 		TransportContext context = createTransportContext(conf, new LocalParamServer());
-		return new SparkPSProxy(context.createClientFactory().createClient(host, port), rpcTimeout, aRPC);
+		return new SparkPSProxy(context.createClientFactory().createClient(host, port), rpcTimeout, aRPC, quantize);
 	}
 }
@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.ListObject;
@@ -38,6 +39,11 @@ public abstract class PSRpcObject {
 
 	public static final int PUSH = 1;
 	public static final int PULL = 2;
+	public static final int FINISH = 3;
+
+	//encodings of matrices in serialized list objects
+	private static final byte MATRIX_BLOCK = 0;
+	private static final byte MATRIX_QUANT8 = 1;
 
 	public abstract void deserialize(ByteBuffer buffer) throws IOException;
 
@@ -49,14 +55,32 @@ public abstract class PSRpcObject {
 	 * @param output output data to write to
 	 */
 	protected void serializeAndWriteListObject(ListObject lo, DataOutput output) throws IOException {
+		serializeAndWriteListObject(lo, output, false);
+	}
+
+	/**
+	 * Deep serialize and write of a list object, where matrices are optionally
+	 * encoded as 8-bit quantized values (if smaller than their binary block).
+	 * @param lo a list object containing only matrices
+	 * @param output output data to write to
+	 * @param quantize encode matrices as 8-bit quantized values
+	 */
+	protected void serializeAndWriteListObject(ListObject lo, DataOutput output, boolean quantize) throws IOException {
 		validateListObject(lo);
 		output.writeInt(lo.getLength()); //write list length
 		output.writeBoolean(lo.isNamedList()); //write list named
 		for (int i = 0; i < lo.getLength(); i++) {
 			if (lo.isNamedList())
 				output.writeUTF(lo.getName(i)); //write name
-			((MatrixObject) lo.getData().get(i))
-				.acquireReadAndRelease().write(output); //write matrix
+			MatrixBlock mb = ((MatrixObject) lo.getData().get(i)).acquireReadAndRelease();
+			if (quantize && GradientCompressor.isQuantizedSmaller(mb)) {
+				output.writeByte(MATRIX_QUANT8);
+				GradientCompressor.writeQuantized(mb, output); //write quantized matrix
+			}
+			else {
+				output.writeByte(MATRIX_BLOCK);
+				mb.write(output); //write matrix
+			}
 		}
 		// Cleanup the list object
 		// because it is transferred to remote worker in binary format
@@ -71,8 +95,13 @@ public abstract class PSRpcObject {
 		for(int i=0; i<listLen; i++) {
 			if( names != null )
 				names.add(input.readUTF());
-			MatrixBlock mb = new MatrixBlock();
-			mb.readFields(input);
+			MatrixBlock mb;
+			if (input.readByte() == MATRIX_QUANT8)
+				mb = GradientCompressor.readQuantized(input);
+			else {
+				mb = new MatrixBlock();
+				mb.readFields(input);
+			}
 			data.add(ParamservUtils.newMatrixObject(mb, false));
 		}
 		return new ListObject(data, names);
@@ -80,17 +109,24 @@ public abstract class PSRpcObject {
 
 	/**
 	 * Get serialization size of a list object
-	 * (scheme: size|name|size|matrix)
+	 * (scheme: size|name|size|encoding|matrix)
 	 * @param lo list object
 	 * @return serialization size
 	 */
 	protected int getExactSerializedSize(ListObject lo) {
+		return getExactSerializedSize(lo, false);
+	}
+
+	protected int getExactSerializedSize(ListObject lo, boolean quantize) {
 		if( lo == null ) return 0;
 		long result = 4 + 1; // list length and of named
 		if (lo.isNamedList()) //size for names incl length
 			result += lo.getNames().stream().mapToLong(s -> IOUtilFunctions.getUTFSize(s)).sum();
-		result += lo.getData().stream().mapToLong(d ->
-			((MatrixObject)d).acquireReadAndRelease().getExactSizeOnDisk()).sum();
+		result += lo.getData().stream().mapToLong(d -> {
+			MatrixBlock mb = ((MatrixObject)d).acquireReadAndRelease();
+			return 1 + ((quantize && GradientCompressor.isQuantizedSmaller(mb)) ?
+				GradientCompressor.getQuantizedSize(mb) : mb.getExactSizeOnDisk());
+		}).sum();
 		if( result > Integer.MAX_VALUE )
 			throw new DMLRuntimeException("Serialized size ("+result+") larger than Integer.MAX_VALUE.");
 		return (int) result;
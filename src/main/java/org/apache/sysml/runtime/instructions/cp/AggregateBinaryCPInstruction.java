@@ -27,6 +27,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.Multiply;
 import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
@@ -63,12 +64,32 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		AggregateBinaryOperator ab_op = (AggregateBinaryOperator) _optr;
+		
+		//out-of-core matrix multiplication over chunks of the left or right input file
+		//(the other input is pinned in memory, e.g., for X%*%v or t(y)%*%X)
+		if( ec.getMatrixObject(input1).isOutOfCore() ) {
+			MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName(), getExtendedOpcode());
+			MatrixBlock ret = LibMatrixStream.matrixMult(
+				ec.getMatrixObject(input1).readChunksFromHDFS(), matBlock2, ab_op);
+			ec.releaseMatrixInput(input2.getName(), getExtendedOpcode());
+			ec.setMatrixOutput(output.getName(), ret, getExtendedOpcode());
+			return;
+		}
+		else if( ec.getMatrixObject(input2).isOutOfCore() ) {
+			MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName(), getExtendedOpcode());
+			MatrixBlock ret = LibMatrixStream.matrixMult(matBlock1,
+				ec.getMatrixObject(input2).readChunksFromHDFS(), ab_op);
+			ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
+			ec.setMatrixOutput(output.getName(), ret, getExtendedOpcode());
+			return;
+		}
+		
 		//get inputs
 		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName(), getExtendedOpcode());
 		MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName(), getExtendedOpcode());
 		
 		//compute matrix multiplication
-		AggregateBinaryOperator ab_op = (AggregateBinaryOperator) _optr;
 		MatrixBlock main = (matBlock2 instanceof CompressedMatrixBlock) ? matBlock2 : matBlock1;
 		MatrixBlock ret = main.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op);
 		
@@ -29,6 +29,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
@@ -136,13 +137,22 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction
 			ec.setScalarOutput(output_name, new BooleanObject(rval));
 		}
 		else { //DEFAULT
-			MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
 			AggregateUnaryOperator au_op = (AggregateUnaryOperator) _optr;
+			MatrixBlock resultBlock = null;
 			
-			MatrixBlock resultBlock = (MatrixBlock) matBlock.aggregateUnaryOperations(au_op, new MatrixBlock(),
-				matBlock.getNumRows(), matBlock.getNumColumns(), new MatrixIndexes(1, 1), true);
+			if( input1.getDataType().isMatrix() && LibMatrixStream.isSupportedAggregate(au_op)
+				&& ec.getMatrixObject(input1).isOutOfCore() ) {
+				//out-of-core aggregate over chunks of the input file
+				resultBlock = LibMatrixStream.aggregateUnary(
+					ec.getMatrixObject(input1).readChunksFromHDFS(), au_op);
+			}
+			else {
+				MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
+				resultBlock = (MatrixBlock) matBlock.aggregateUnaryOperations(au_op, new MatrixBlock(),
+					matBlock.getNumRows(), matBlock.getNumColumns(), new MatrixIndexes(1, 1), true);
+				ec.releaseMatrixInput(input1.getName());
+			}
 			
-			ec.releaseMatrixInput(input1.getName());
 			if(output.getDataType() == DataType.SCALAR){
 				DoubleObject ret = new DoubleObject(resultBlock.getValue(0, 0));
 				ec.setScalarOutput(output_name, ret);
@@ -19,6 +19,8 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
@@ -45,9 +47,11 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 	public void processInstruction( ExecutionContext ec ) {
 		//get matrix block input
 		MatrixBlock in = ec.getMatrixInput(input1.getName(), getExtendedOpcode());
-		//compress the matrix block
+		//compress the matrix block (w/ optional planning budget)
+		double budget = ConfigurationManager.getDMLConfig()
+			.getDoubleValue(DMLConfig.COMPRESSED_PLANNING_BUDGET);
 		MatrixBlock out = new CompressedMatrixBlock(in)
-			.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+			.compress(OptimizerUtils.getConstrainedNumThreads(-1), budget);
 		//set output and release input
 		ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
 		ec.setMatrixOutput(output.getName(), out, getExtendedOpcode());
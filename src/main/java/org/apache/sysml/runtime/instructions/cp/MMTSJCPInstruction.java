@@ -23,6 +23,7 @@ import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -55,6 +56,14 @@ public class MMTSJCPInstruction extends UnaryCPInstruction {
 	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		//out-of-core tsmm over chunks of the input file
+		if( _type.isLeft() && ec.getMatrixObject(input1).isOutOfCore() ) {
+			MatrixBlock ret = LibMatrixStream.tsmm(
+				ec.getMatrixObject(input1).readChunksFromHDFS(), _numThreads);
+			ec.setMatrixOutput(output.getName(), ret, getExtendedOpcode());
+			return;
+		}
+		
 		//get inputs
 		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName(), getExtendedOpcode());
 
@@ -70,4 +79,8 @@ public class MMTSJCPInstruction extends UnaryCPInstruction {
 	{
 		return _type;
 	}
+	
+	public int getNumThreads() {
+		return _numThreads;
+	}
 }
@@ -21,6 +21,10 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import java.util.ArrayList;
 
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.Compression.CompressConfig;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -71,9 +75,13 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		String spec = ec.getScalarInput(input2).getStringValue();
 		String[] colnames = fin.getColumnNames(); 
 		
-		//execute block transform encode
+		//execute block transform encode (w/ direct compression if forced)
 		Encoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), null);
-		MatrixBlock data = encoder.encode(fin, new MatrixBlock(fin.getNumRows(), fin.getNumColumns(), false)); //build and apply
+		MatrixBlock data = new MatrixBlock(fin.getNumRows(), fin.getNumColumns(), false);
+		int k = OptimizerUtils.getConstrainedNumThreads(ConfigurationManager
+			.getDMLConfig().getIntValue(DMLConfig.PARALLEL_ENCODE_THREADS));
+		data = isCompressedOutput() ? encoder.encodeCompressed(fin, data, k) : 
+			encoder.encode(fin, data, k); //build and apply
 		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING));
 		meta.setColumnNames(colnames);
 		
@@ -82,4 +90,9 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		ec.setMatrixOutput(getOutput(0).getName(), data, getExtendedOpcode());
 		ec.setFrameOutput(getOutput(1).getName(), meta);
 	}
+	
+	private static boolean isCompressedOutput() {
+		return CompressConfig.TRUE == CompressConfig.valueOf(ConfigurationManager
+			.getDMLConfig().getTextValue(DMLConfig.COMPRESSED_LINALG).toUpperCase());
+	}
 }
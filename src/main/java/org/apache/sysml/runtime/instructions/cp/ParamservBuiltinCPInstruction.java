@@ -19,21 +19,25 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import static org.apache.sysml.parser.Statement.PSCompression;
 import static org.apache.sysml.parser.Statement.PSFrequency;
 import static org.apache.sysml.parser.Statement.PSModeType;
 import static org.apache.sysml.parser.Statement.PSScheme;
 import static org.apache.sysml.parser.Statement.PSUpdateType;
 import static org.apache.sysml.parser.Statement.PS_AGGREGATION_FUN;
 import static org.apache.sysml.parser.Statement.PS_BATCH_SIZE;
+import static org.apache.sysml.parser.Statement.PS_COMPRESSION_RATIO;
 import static org.apache.sysml.parser.Statement.PS_EPOCHS;
 import static org.apache.sysml.parser.Statement.PS_FEATURES;
 import static org.apache.sysml.parser.Statement.PS_FREQUENCY;
+import static org.apache.sysml.parser.Statement.PS_GRAD_COMPRESSION;
 import static org.apache.sysml.parser.Statement.PS_HYPER_PARAMS;
 import static org.apache.sysml.parser.Statement.PS_LABELS;
 import static org.apache.sysml.parser.Statement.PS_MODE;
 import static org.apache.sysml.parser.Statement.PS_MODEL;
 import static org.apache.sysml.parser.Statement.PS_PARALLELISM;
 import static org.apache.sysml.parser.Statement.PS_SCHEME;
+import static org.apache.sysml.parser.Statement.PS_STALENESS;
 import static org.apache.sysml.parser.Statement.PS_UPDATE_FUN;
 import static org.apache.sysml.parser.Statement.PS_UPDATE_TYPE;
 
@@ -63,6 +67,7 @@ import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalParamServer;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamServer;
@@ -85,6 +90,9 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static final PSScheme DEFAULT_SCHEME = PSScheme.DISJOINT_CONTIGUOUS;
 	private static final PSModeType DEFAULT_MODE = PSModeType.LOCAL;
 	private static final PSUpdateType DEFAULT_TYPE = PSUpdateType.ASP;
+	private static final int DEFAULT_STALENESS = 3;
+	private static final PSCompression DEFAULT_COMPRESSION = PSCompression.NONE;
+	private static final double DEFAULT_COMPRESSION_RATIO = 0.01;
 
 	//internal local debug level
 	private static final boolean LDEBUG = false;
@@ -135,7 +143,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 
 		// Create the parameter server
 		ListObject model = sec.getListObject(getParam(PS_MODEL));
-		ParamServer ps = createPS(mode, aggFunc, getUpdateType(), workerNum, model, aggServiceEC);
+		ParamServer ps = createPS(mode, aggFunc, getUpdateType(), getStaleness(), workerNum, model, aggServiceEC);
 
 		// Get driver host
 		String host = sec.getSparkContext().getConf().get("spark.driver.host");
@@ -165,7 +173,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		// Create remote workers
 		SparkPSWorker worker = new SparkPSWorker(getParam(PS_UPDATE_FUN), getParam(PS_AGGREGATION_FUN), 
 			getFrequency(), getEpochs(), getBatchSize(), program, clsMap, sec.getSparkContext().getConf(),
-			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch);
+			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch, createCompressor());
 
 		if (ConfigurationManager.isStatistics())
 			Statistics.accPSSetupTime((long) tSetup.stop());
@@ -219,11 +227,11 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 
 		// Create the parameter server
 		ListObject model = ec.getListObject(getParam(PS_MODEL));
-		ParamServer ps = createPS(mode, aggFunc, updateType, workerNum, model, aggServiceEC);
+		ParamServer ps = createPS(mode, aggFunc, updateType, getStaleness(), workerNum, model, aggServiceEC);
 
 		// Create the local workers
 		List<LocalPSWorker> workers = IntStream.range(0, workerNum)
-			.mapToObj(i -> new LocalPSWorker(i, updFunc, freq, getEpochs(), getBatchSize(), workerECs.get(i), ps))
+			.mapToObj(i -> new LocalPSWorker(i, updFunc, freq, getEpochs(), getBatchSize(), workerECs.get(i), ps, createCompressor()))
 			.collect(Collectors.toList());
 
 		// Do data partition
@@ -299,11 +307,46 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		} catch (IllegalArgumentException e) {
 			throw new DMLRuntimeException(String.format("Paramserv function: not support update type '%s'.", getParam(PS_UPDATE_TYPE)));
 		}
-		if (updType == PSUpdateType.SSP)
-			throw new DMLRuntimeException("Paramserv function: Not support update type SSP.");
 		return updType;
 	}
 
+	private int getStaleness() {
+		if (!getParameterMap().containsKey(PS_STALENESS)) {
+			return DEFAULT_STALENESS;
+		}
+		int staleness = Integer.valueOf(getParam(PS_STALENESS));
+		if (staleness < 0) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' could not be less than 0.", PS_STALENESS));
+		}
+		return staleness;
+	}
+
+	/**
+	 * Create a gradient compressor for a single worker (because
+	 * the compressor maintains the worker-local compression error).
+	 *
+	 * @return gradient compressor, or null if no compression
+	 */
+	private GradientCompressor createCompressor() {
+		PSCompression type = DEFAULT_COMPRESSION;
+		if (getParameterMap().containsKey(PS_GRAD_COMPRESSION)) {
+			try {
+				type = PSCompression.valueOf(getParam(PS_GRAD_COMPRESSION));
+			} catch (IllegalArgumentException e) {
+				throw new DMLRuntimeException(String.format("Paramserv function: "
+					+ "not support gradient compression '%s'.", getParam(PS_GRAD_COMPRESSION)));
+			}
+		}
+		double ratio = getParameterMap().containsKey(PS_COMPRESSION_RATIO) ?
+			Double.valueOf(getParam(PS_COMPRESSION_RATIO)) : DEFAULT_COMPRESSION_RATIO;
+		if (ratio <= 0 || ratio > 1) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' should be in range (0, 1].", PS_COMPRESSION_RATIO));
+		}
+		return (type != PSCompression.NONE) ? new GradientCompressor(type, ratio) : null;
+	}
+
 	private PSFrequency getFrequency() {
 		if (!getParameterMap().containsKey(PS_FREQUENCY)) {
 			return DEFAULT_UPDATE_FREQUENCY;
@@ -344,11 +387,11 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	 *
 	 * @return parameter server
 	 */
-	private ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType, int workerNum, ListObject model, ExecutionContext ec) {
+	private ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType, int staleness, int workerNum, ListObject model, ExecutionContext ec) {
 		switch (mode) {
 			case LOCAL:
 			case REMOTE_SPARK:
-				return LocalParamServer.create(model, aggFunc, updateType, ec, workerNum);
+				return LocalParamServer.create(model, aggFunc, updateType, staleness, ec, workerNum);
 			default:
 				throw new DMLRuntimeException("Unsupported parameter server: "+mode.name());
 		}
@@ -44,6 +44,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.FileFormatPropertiesParquet;
 import org.apache.sysml.runtime.io.FileFormatProperties;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.io.WriterMatrixMarket;
@@ -330,6 +331,11 @@ public class VariableCPInstruction extends CPInstruction {
 				if ( parts.length < 15+extSchema || parts.length > 17+extSchema )
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
 			}
+			else if ( fmt.equalsIgnoreCase("parquet") ) {
+				// Createvar instructions for parquet reads include the column projection (lower, upper)
+				if ( parts.length != 6 && parts.length != 12+extSchema && parts.length != 14+extSchema )
+					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
+			}
 			else {
 				if ( parts.length != 6 && parts.length != 12+extSchema )
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
@@ -381,6 +387,11 @@ public class VariableCPInstruction extends CPInstruction {
 				}
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
+			else if ( fmt.equalsIgnoreCase("parquet") && parts.length == 14+extSchema ) {
+				FileFormatProperties fmtProperties = new FileFormatPropertiesParquet(
+					Long.parseLong(parts[12]), Long.parseLong(parts[13]));
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+			}
 			else {
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
 			}
@@ -21,6 +21,8 @@ package org.apache.sysml.runtime.instructions.spark;
 
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
@@ -51,9 +53,11 @@ public class CompressionSPInstruction extends UnarySPInstruction {
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in =
 			sec.getBinaryBlockRDDHandleForVariable( input1.getName() );
 		
-		//execute compression
+		//execute compression (w/ optional planning budget)
+		double budget = ConfigurationManager.getDMLConfig()
+			.getDoubleValue(DMLConfig.COMPRESSED_PLANNING_BUDGET);
 		JavaPairRDD<MatrixIndexes,MatrixBlock> out =
-			in.mapValues(new CompressionFunction());
+			in.mapValues(new CompressionFunction(budget));
 		
 		//set outputs
 		sec.setRDDHandleForVariable(output.getName(), out);
@@ -62,9 +66,16 @@ public class CompressionSPInstruction extends UnarySPInstruction {
 
 	public static class CompressionFunction implements Function<MatrixBlock,MatrixBlock> {
 		private static final long serialVersionUID = -6528833083609423922L;
+		
+		private final double _budget;
+		
+		public CompressionFunction(double budget) {
+			_budget = budget;
+		}
+		
 		@Override
 		public MatrixBlock call(MatrixBlock arg0) throws Exception {
-			return new CompressedMatrixBlock(arg0).compress();
+			return new CompressedMatrixBlock(arg0).compress(1, _budget);
 		}
 	}
 }
@@ -117,23 +117,31 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			Encoder encoderBuild = EncoderFactory.createEncoder(spec, colnames,
 					fo.getSchema(), (int)fo.getNumColumns(), null);
 			
-			MaxLongAccumulator accMax = registerMaxLongAccumulator(sec.getSparkContext()); 
-			JavaRDD<String> rcMaps = in
-					.mapPartitionsToPair(new TransformEncodeBuildFunction(encoderBuild))
-					.distinct().groupByKey()
-					.flatMap(new TransformEncodeGroupFunction(accMax));
-			if( containsMVImputeEncoder(encoderBuild) ) {
-				EncoderMVImpute mva = getMVImputeEncoder(encoderBuild);
-				rcMaps = rcMaps.union(
-						in.mapPartitionsToPair(new TransformEncodeBuild2Function(mva))
-						  .groupByKey().flatMap(new TransformEncodeGroup2Function(mva)) );
+			FrameBlock meta = null;
+			if( containsRecodeEncoder(encoderBuild) || containsMVImputeEncoder(encoderBuild) ) {
+				MaxLongAccumulator accMax = registerMaxLongAccumulator(sec.getSparkContext()); 
+				JavaRDD<String> rcMaps = in
+						.mapPartitionsToPair(new TransformEncodeBuildFunction(encoderBuild))
+						.distinct().groupByKey()
+						.flatMap(new TransformEncodeGroupFunction(accMax));
+				if( containsMVImputeEncoder(encoderBuild) ) {
+					EncoderMVImpute mva = getMVImputeEncoder(encoderBuild);
+					rcMaps = rcMaps.union(
+							in.mapPartitionsToPair(new TransformEncodeBuild2Function(mva))
+							  .groupByKey().flatMap(new TransformEncodeGroup2Function(mva)) );
+				}
+				rcMaps.saveAsTextFile(fometa.getFileName()); //trigger eval
+				
+				//consolidate meta data frame (reuse multi-threaded reader, special handling missing values) 
+				FrameReader reader = FrameReaderFactory.createFrameReader(InputInfo.TextCellInputInfo);
+				meta = reader.readFrameFromHDFS(fometa.getFileName(), accMax.value(), fo.getNumColumns());
+				meta.recomputeColumnCardinality(); //recompute num distinct items per column
+			}
+			else {
+				//no distributed build required (e.g., feature hashing, pass-through)
+				meta = new FrameBlock((int)fo.getNumColumns(), ValueType.STRING);
+				meta.ensureAllocatedColumns(0);
 			}
-			rcMaps.saveAsTextFile(fometa.getFileName()); //trigger eval
-			
-			//consolidate meta data frame (reuse multi-threaded reader, special handling missing values) 
-			FrameReader reader = FrameReaderFactory.createFrameReader(InputInfo.TextCellInputInfo);
-			FrameBlock meta = reader.readFrameFromHDFS(fometa.getFileName(), accMax.value(), fo.getNumColumns());
-			meta.recomputeColumnCardinality(); //recompute num distinct items per column
 			meta.setColumnNames((colnames!=null)?colnames:meta.getColumnNames());
 			
 			//step 2: transform apply (similar to spark transformapply)
@@ -167,6 +175,14 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 		}
 	}
 
+	private static boolean containsRecodeEncoder(Encoder encoder) {
+		if( encoder instanceof EncoderComposite )
+			for( Encoder cencoder : ((EncoderComposite)encoder).getEncoders() )
+				if( cencoder instanceof EncoderRecode && cencoder.isApplicable() )
+					return true;
+		return false;
+	}
+	
 	private static boolean containsMVImputeEncoder(Encoder encoder) {
 		if( encoder instanceof EncoderComposite )
 			for( Encoder cencoder : ((EncoderComposite)encoder).getEncoders() )
@@ -254,13 +270,17 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 		public Iterator<Tuple2<Integer, Object>> call(Iterator<Tuple2<Long, FrameBlock>> iter)
 			throws Exception 
 		{
+			//no distributed build w/o recoded columns (e.g., feature hashing only)
+			ArrayList<Tuple2<Integer,Object>> ret = new ArrayList<>();
+			if( _raEncoder == null || !_raEncoder.isApplicable() )
+				return ret.iterator();
+			
 			//build meta data (e.g., recode maps)
 			while( iter.hasNext() ) {
 				_raEncoder.buildPartial(iter.next()._2());	
 			}
 			
 			//output recode maps as columnID - token pairs
-			ArrayList<Tuple2<Integer,Object>> ret = new ArrayList<>();
 			HashMap<Integer,HashSet<Object>> tmp = _raEncoder.getCPRecodeMapsPartial();
 			for( Entry<Integer,HashSet<Object>> e1 : tmp.entrySet() )
 				for( Object token : e1.getValue() )
@@ -38,6 +38,7 @@ import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDConverterUtils;
 import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysml.runtime.io.FileFormatPropertiesMM;
+import org.apache.sysml.runtime.io.FileFormatPropertiesParquet;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
@@ -156,6 +157,19 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 			csvInstruction.processInstruction(sec);
 			return;
 		}
+		else if(iinfo == InputInfo.LIBSVMInputInfo) {
+			//get the input libsvm rdd
+			JavaPairRDD<LongWritable, Text> lines = (JavaPairRDD<LongWritable, Text>)
+				sec.getRDDHandleForMatrixObject(mo, iinfo);
+			
+			//convert libsvm to binary block
+			JavaPairRDD<MatrixIndexes, MatrixBlock> out = RDDConverterUtils.libsvmToBinaryBlock(
+				sec.getSparkContext(), lines, mcOut);
+			
+			//put output RDD handle into symbol table
+			sec.setRDDHandleForVariable(output.getName(), out);
+			sec.addLineageRDD(output.getName(), input1.getName());
+		}
 		else if(iinfo == InputInfo.BinaryCellInputInfo) 
 		{
 			JavaPairRDD<MatrixIndexes, MatrixCell> binaryCells = (JavaPairRDD<MatrixIndexes, MatrixCell>) sec.getRDDHandleForMatrixObject(mo, iinfo);
@@ -183,6 +197,23 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 			sec.setRDDHandleForVariable(output.getName(), out);
 			sec.addLineageRDD(output.getName(), input1.getName());
 		}
+		else if(iinfo == InputInfo.ParquetInputInfo) {
+			//read parquet row groups in the executors (w/ column projection), 
+			//where the row offsets are obtained from the file footers because
+			//the row order over spark parquet partitions is not preserved
+			FileFormatPropertiesParquet props = (mo.getFileFormatProperties() instanceof FileFormatPropertiesParquet) ?
+				(FileFormatPropertiesParquet) mo.getFileFormatProperties() : null;
+			JavaPairRDD<MatrixIndexes, MatrixBlock> out = RDDConverterUtils.parquetToBinaryBlock(
+				sec.getSparkContext(), mo.getFileName(), mcOut, props, outputEmptyBlocks);
+			
+			//put output RDD handle into symbol table (no input lineage 
+			//because the input is read from its file, not an input rdd)
+			sec.setRDDHandleForVariable(output.getName(), out);
+		}
+		else if(iinfo == InputInfo.LocalBinaryInputInfo) {
+			//read the single local file via the memory-mapped reader and parallelize
+			Recompiler.executeInMemoryMatrixReblock(sec, input1.getName(), output.getName());
+		}
 		else {
 			throw new DMLRuntimeException("The given InputInfo is not implemented "
 					+ "for ReblockSPInstruction:" + InputInfo.inputInfoToString(iinfo));
@@ -229,6 +260,19 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 			csvInstruction = new CSVReblockSPInstruction(null, input1, output, mcOut.getRowsPerBlock(), mcOut.getColsPerBlock(), hasHeader, delim, fill, fillValue, "csvrblk", instString);
 			csvInstruction.processInstruction(sec);
 		}
+		else if(iinfo == InputInfo.ParquetInputInfo) {
+			//see matrix reblock, read row groups in the executors
+			FileFormatPropertiesParquet props = (fo.getFileFormatProperties() instanceof FileFormatPropertiesParquet) ?
+				(FileFormatPropertiesParquet) fo.getFileFormatProperties() : null;
+			JavaPairRDD<Long, FrameBlock> out = FrameRDDConverterUtils.parquetToBinaryBlock(
+				sec.getSparkContext(), fo.getFileName(), mcOut, props);
+			
+			//put output RDD handle into symbol table (no input lineage 
+			//because the input is read from its file, not an input rdd)
+			sec.setRDDHandleForVariable(output.getName(), out);
+			sec.getFrameObject(output.getName()).setSchema(
+				FrameRDDConverterUtils.getParquetSchema(fo.getFileName(), props));
+		}
 		else {
 			throw new DMLRuntimeException("The given InputInfo is not implemented "
 				+ "for ReblockSPInstruction: " + InputInfo.inputInfoToString(iinfo));
@@ -27,6 +27,9 @@ import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
@@ -40,6 +43,7 @@ import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysml.runtime.io.FileFormatProperties;
+import org.apache.sysml.runtime.io.WriterLocalBinary;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDConverterUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
@@ -205,6 +209,26 @@ public class WriteSPInstruction extends SPInstruction {
 			if( !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
 		}
+		else if( oi == OutputInfo.LIBSVMOutputInfo ) 
+		{
+			if( mc.getRows() == 0 || mc.getCols() == 0 ) {
+				throw new IOException("Write of matrices with zero rows or columns"
+					+ " not supported ("+mc.getRows()+"x"+mc.getCols()+").");
+			}
+			
+			//piggyback nnz computation on actual write
+			LongAccumulator aNnz = null;
+			if( !mc.nnzKnown() ) {
+				aNnz = sec.getSparkContext().sc().longAccumulator("nnz");
+				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
+			}
+			
+			JavaRDD<String> out = RDDConverterUtils.binaryBlockToLibsvm(in1, mc, true);
+			customSaveTextFile(out, fname, false);
+			
+			if( !mc.nnzKnown() )
+				mc.setNonZeros(aNnz.value().longValue());
+		}
 		else if( oi == OutputInfo.BinaryBlockOutputInfo ) {
 			//piggyback nnz computation on actual write
 			LongAccumulator aNnz = null;
@@ -219,6 +243,35 @@ public class WriteSPInstruction extends SPInstruction {
 			if( !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
 		}
+		else if( oi == OutputInfo.ParquetOutputInfo ) {
+			if( mc.getRows() == 0 || mc.getCols() == 0 ) {
+				throw new IOException("Write of matrices with zero rows or columns"
+					+ " not supported ("+mc.getRows()+"x"+mc.getCols()+").");
+			}
+			
+			//piggyback nnz computation on actual write
+			LongAccumulator aNnz = null;
+			if( !mc.nnzKnown() ) {
+				aNnz = sec.getSparkContext().sc().longAccumulator("nnz");
+				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
+			}
+			
+			//write data frame of rows in row order (part files ordered by row index)
+			Dataset<Row> df = RDDConverterUtils.binaryBlockToDataFrame(
+				getSparkSession(sec), in1, mc, false);
+			saveAsParquetFile(df, fname);
+			
+			if( !mc.nnzKnown() )
+				mc.setNonZeros(aNnz.value().longValue());
+		}
+		else if( oi == OutputInfo.LocalBinaryOutputInfo ) {
+			//collect and write the single local file via the local writer
+			MatrixBlock mb = SparkExecutionContext.toMatrixBlock(in1, (int)mc.getRows(), 
+				(int)mc.getCols(), mc.getRowsPerBlock(), mc.getColsPerBlock(), mc.getNonZeros());
+			new WriterLocalBinary().writeMatrixToHDFS(mb, fname, 
+				mc.getRows(), mc.getCols(), -1, -1, mb.getNonZeros());
+			mc.setNonZeros(mb.getNonZeros());
+		}
 		else {
 			//unsupported formats: binarycell (not externalized)
 			throw new DMLRuntimeException("Unexpected data format: " + OutputInfo.outputInfoToString(oi));
@@ -249,6 +302,11 @@ public class WriteSPInstruction extends SPInstruction {
 			JavaPairRDD<LongWritable,FrameBlock> out = in1.mapToPair(new LongFrameToLongWritableFrameFunction());
 			out.saveAsHadoopFile(fname, LongWritable.class, FrameBlock.class, SequenceFileOutputFormat.class);
 		}
+		else if( oi == OutputInfo.ParquetOutputInfo ) {
+			Dataset<Row> df = FrameRDDConverterUtils.binaryBlockToDataFrame(
+				getSparkSession(sec), in1, mc, schema);
+			saveAsParquetFile(df, fname);
+		}
 		else {
 			//unsupported formats: binarycell (not externalized)
 			throw new DMLRuntimeException("Unexpected data format: " + OutputInfo.outputInfoToString(oi));
@@ -258,6 +316,17 @@ public class WriteSPInstruction extends SPInstruction {
 		MapReduceTool.writeMetaDataFile(fname + ".mtd", input1.getValueType(), schema, DataType.FRAME, mc, oi, formatProperties);	
 	}
 
+	private static SparkSession getSparkSession(SparkExecutionContext sec) {
+		return SparkSession.builder().sparkContext(sec.getSparkContext().sc()).getOrCreate();
+	}
+	
+	private static void saveAsParquetFile(Dataset<Row> df, String fname) {
+		//sort by row index to obtain ordered part files, and drop the index
+		df.sort(RDDConverterUtils.DF_ID_COLUMN)
+			.drop(RDDConverterUtils.DF_ID_COLUMN)
+			.write().parquet(fname);
+	}
+	
 	private static void customSaveTextFile(JavaRDD<String> rdd, String fname, boolean inSingleFile) {
 		if(inSingleFile) {
 			Random rand = new Random();
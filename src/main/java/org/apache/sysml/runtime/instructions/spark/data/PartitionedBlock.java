@@ -30,8 +30,10 @@ import java.io.ObjectOutputStream;
 import java.util.Arrays;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlockFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
 import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
 
@@ -70,7 +72,13 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		_bclen = bclen;
 		int nrblks = getNumRowBlocks();
 		int ncblks = getNumColumnBlocks();
-		int code = CacheBlockFactory.getCode(block);
+		
+		//compressed inputs are decompressed once and the individual
+		//blocks are compressed again, which keeps the broadcast compressed
+		boolean compressed = (block instanceof CompressedMatrixBlock
+			&& ((CompressedMatrixBlock)block).isCompressed());
+		CacheBlock src = compressed ? ((CompressedMatrixBlock)block).decompress() : block;
+		int code = CacheBlockFactory.getCode(src);
 		
 		try {
 			_partBlocks = new CacheBlock[nrblks * ncblks];
@@ -78,8 +86,9 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 				int i = index / ncblks;
 				int j = index % ncblks;
 				T tmp = (T) CacheBlockFactory.newInstance(code);
-				return block.slice(i * _brlen, Math.min((i + 1) * _brlen, rlen) - 1,
+				tmp = (T) src.slice(i * _brlen, Math.min((i + 1) * _brlen, rlen) - 1,
 					j * _bclen, Math.min((j + 1) * _bclen, clen) - 1, tmp);
+				return compressed ? compressBlock((MatrixBlock)tmp) : tmp;
 			});
 		} catch(Exception ex) {
 			throw new RuntimeException("Failed partitioning of broadcast variable input.", ex);
@@ -88,6 +97,14 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		_offset = 0;
 	}
 
+	private static CompressedMatrixBlock compressBlock(MatrixBlock mb) {
+		//note: blocks without compression benefit are kept as uncompressed
+		//compressed blocks to ensure a homogeneous type of partitioned blocks
+		MatrixBlock ret = new CompressedMatrixBlock(mb).compress(1);
+		return (ret instanceof CompressedMatrixBlock) ?
+			(CompressedMatrixBlock) ret : new CompressedMatrixBlock(ret);
+	}
+
 	public PartitionedBlock(int rlen, int clen, int brlen, int bclen) 
 	{
 		//partitioning input broadcast
@@ -208,7 +225,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		DataInput dis = is;
 		
 		int code = readHeader(dis);
-		if( is instanceof ObjectInputStream && code == 0) {	// Apply only for MatrixBlock at this point as a temporary workaround
+		if( is instanceof ObjectInputStream && code != 1) {	// Apply only for (compressed) MatrixBlock at this point as a temporary workaround
 															// We will generalize this code by adding UTF functionality to support Frame
 			//fast deserialize of dense/sparse blocks
 			ObjectInputStream ois = (ObjectInputStream)is;
@@ -56,7 +56,10 @@ import org.apache.sysml.runtime.instructions.spark.data.SerText;
 import org.apache.sysml.runtime.instructions.spark.functions.ConvertFrameBlockToIJVLines;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDConverterUtils.DataFrameExtractIDFunction;
 import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.FileFormatPropertiesParquet;
+import org.apache.sysml.runtime.io.FrameReaderParquet;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderParquet.ParquetRowGroup;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -137,6 +140,29 @@ public class FrameRDDConverterUtils
 	}
 	
 	
+	//=====================================
+	// Parquet --> Binary block
+
+	public static JavaPairRDD<Long, FrameBlock> parquetToBinaryBlock(JavaSparkContext sc,
+			String fname, MatrixCharacteristics mc, FileFormatPropertiesParquet props) 
+	{
+		//obtain row groups w/ row offsets from the file footers
+		List<ParquetRowGroup> rgs = RDDConverterUtils.getParquetRowGroups(fname, mc, props);
+		
+		//read row groups into frame blocks (one partition per row group)
+		return sc.parallelize(rgs, Math.max(rgs.size(), 1))
+			.mapToPair(new ParquetToBinaryBlockFunction(props));
+	}
+	
+	public static ValueType[] getParquetSchema(String fname, FileFormatPropertiesParquet props) {
+		try {
+			return FrameReaderParquet.readParquetSchema(fname, props);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	//=====================================
 	// Text cell <--> Binary block
 
@@ -516,6 +542,26 @@ public class FrameRDDConverterUtils
 		}
 	}
 
+	private static class ParquetToBinaryBlockFunction implements PairFunction<ParquetRowGroup,Long,FrameBlock> 
+	{
+		private static final long serialVersionUID = -5146470339472419842L;
+		
+		private final FileFormatPropertiesParquet _props;
+		
+		public ParquetToBinaryBlockFunction(FileFormatPropertiesParquet props) {
+			_props = props;
+		}
+
+		@Override
+		public Tuple2<Long, FrameBlock> call(ParquetRowGroup rg) 
+			throws Exception 
+		{
+			//frame blocks are keyed by their 1-based start row
+			return new Tuple2<>(rg.getRowOffset()+1, 
+				FrameReaderParquet.readParquetRowGroup(rg, _props));
+		}
+	}
+	
 	private static class TextToStringFunction implements Function<Text,String> 
 	{
 		private static final long serialVersionUID = -2744814934501782747L;
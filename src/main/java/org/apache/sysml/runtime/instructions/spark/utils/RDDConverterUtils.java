@@ -60,7 +60,10 @@ import org.apache.sysml.runtime.instructions.spark.data.SerText;
 import org.apache.sysml.runtime.instructions.spark.functions.ConvertMatrixBlockToIJVLines;
 import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysml.runtime.io.FileFormatPropertiesMM;
+import org.apache.sysml.runtime.io.FileFormatPropertiesParquet;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderParquet;
+import org.apache.sysml.runtime.io.ReaderParquet.ParquetRowGroup;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
@@ -161,6 +164,120 @@ public class RDDConverterUtils
 		return out;
 	}
 
+	public static JavaRDD<String> binaryBlockToLibsvm(JavaPairRDD<MatrixIndexes,MatrixBlock> in, MatrixCharacteristics mcIn, boolean strict)
+	{
+		JavaPairRDD<MatrixIndexes,MatrixBlock> input = in;
+		
+		//fast path without, general case with shuffle
+		if( mcIn.getCols()>mcIn.getColsPerBlock() ) {
+			//create row partitioned matrix
+			input = input
+					.flatMapToPair(new SliceBinaryBlockToRowsFunction(mcIn.getRowsPerBlock()))
+					.groupByKey()
+					.mapToPair(new ConcatenateBlocksFunction(mcIn.getCols(), mcIn.getColsPerBlock()));	
+		}
+		
+		//sort if required (on blocks/rows)
+		if( strict ) {
+			input = input.sortByKey(true);
+		}
+		
+		//convert binary block to libsvm (from blocks/rows)
+		return input.flatMap(new BinaryBlockToLIBSVMFunction());
+	}
+
+	/**
+	 * Converts a libsvm text input into a binary block matrix, where the label
+	 * of each line is stored in the last column. In contrast to the path-based
+	 * libsvmToBinaryBlock, this conversion does not rely on mllib and produces
+	 * a single matrix that is consistent with the libsvm read in CP.
+	 * 
+	 * @param sc java spark context
+	 * @param input rdd of text lines
+	 * @param mc matrix characteristics (number of columns required)
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> libsvmToBinaryBlock(JavaSparkContext sc,
+			JavaPairRDD<LongWritable, Text> input, MatrixCharacteristics mc) 
+	{
+		if( !mc.colsKnown() )
+			throw new DMLRuntimeException("Number of columns required "
+				+ "to convert sparse libsvm input representation.");
+		
+		//determine unknown number of rows and sparsity if required
+		if( !mc.dimsKnown(true) ) {
+			LongAccumulator aNnz = sc.sc().longAccumulator("nnz");
+			long rlen = input.values()
+				.map(new LIBSVMAnalysisFunction(aNnz)).count();
+			mc.set(rlen, mc.getCols(), mc.getRowsPerBlock(), mc.getColsPerBlock(), aNnz.value());
+		}
+		
+		//prepare libsvm w/ row indexes (sorted by filenames)
+		JavaPairRDD<Text,Long> prepinput = input.values()
+				.zipWithIndex(); //zip row index
+		
+		//convert libsvm rdd to binary block rdd (w/ partial blocks)
+		boolean sparse = requiresSparseAllocation(prepinput, mc);
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = 
+				prepinput.mapPartitionsToPair(new LIBSVMToBinaryBlockFunction(mc, sparse));
+		
+		//aggregate partial matrix blocks (w/ preferred number of output 
+		//partitions as the data is likely smaller in binary block format)
+		int parts = SparkUtils.getNumPreferredPartitions(mc, out);
+		return RDDAggregateUtils.mergeByKey(out, parts, false); 
+	}
+
+	/**
+	 * Converts a parquet file or directory into a binary block matrix, where 
+	 * the row groups are read in the executors. The global row offsets of the
+	 * individual row groups are obtained from the file footers, which preserves
+	 * the row order consistent with the parquet read in CP.
+	 * 
+	 * @param sc java spark context
+	 * @param fname file name
+	 * @param mc matrix characteristics (dimensions are set if unknown)
+	 * @param props file format properties (optional column projection)
+	 * @param outputEmptyBlocks if true, output empty blocks
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> parquetToBinaryBlock(JavaSparkContext sc,
+			String fname, MatrixCharacteristics mc, FileFormatPropertiesParquet props, boolean outputEmptyBlocks) 
+	{
+		//obtain row groups w/ row offsets from the file footers
+		List<ParquetRowGroup> rgs = getParquetRowGroups(fname, mc, props);
+		
+		//read row groups into partial blocks (one partition per row group)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = sc
+			.parallelize(rgs, Math.max(rgs.size(), 1))
+			.flatMapToPair(new ParquetToBinaryBlockFunction(mc, props, outputEmptyBlocks));
+		
+		//aggregate partial matrix blocks of row groups not aligned with blocks
+		return RDDAggregateUtils.mergeByKey(out, false);
+	}
+	
+	public static List<ParquetRowGroup> getParquetRowGroups(String fname, 
+		MatrixCharacteristics mc, FileFormatPropertiesParquet props) 
+	{
+		try {
+			List<ParquetRowGroup> ret = ReaderParquet.getParquetRowGroups(fname);
+			
+			//determine unknown dimensions if required
+			if( !mc.dimsKnown() ) {
+				long rlen = 0;
+				for( ParquetRowGroup rg : ret )
+					rlen += rg.getNumRows();
+				long clen = (props != null && props.hasColumnProjection()) ?
+					props.getColumnUpper() - props.getColumnLower() + 1 :
+					IOUtilFunctions.readParquetSize(fname)[1];
+				mc.set(rlen, clen, mc.getRowsPerBlock(), mc.getColsPerBlock());
+			}
+			return ret;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	public static JavaPairRDD<MatrixIndexes, MatrixBlock> csvToBinaryBlock(JavaSparkContext sc,
 			JavaPairRDD<LongWritable, Text> input, MatrixCharacteristics mc, 
 			boolean hasHeader, String delim, boolean fill, double fillValue) {
@@ -784,6 +901,183 @@ public class RDDConverterUtils
 		}
 	}
 
+	/////////////////////////////////
+	// LIBSVM-SPECIFIC FUNCTIONS
+
+	private static class LIBSVMAnalysisFunction implements Function<Text,Text> 
+	{
+		private static final long serialVersionUID = 4151536617738440470L;
+
+		private final LongAccumulator _aNnz;
+		
+		public LIBSVMAnalysisFunction(LongAccumulator aNnz) {
+			_aNnz = aNnz;
+		}
+
+		@Override
+		public Text call(Text v1) throws Exception {
+			_aNnz.add(IOUtilFunctions.countNnzLIBSVM(v1.toString()));
+			return v1;
+		}
+	}
+
+	private static class LIBSVMToBinaryBlockFunction implements PairFlatMapFunction<Iterator<Tuple2<Text,Long>>,MatrixIndexes,MatrixBlock> 
+	{
+		private static final long serialVersionUID = -3562917433925638254L;
+		
+		private final long _rlen;
+		private final long _clen;
+		private final int _brlen;
+		private final int _bclen;
+		private final boolean _sparse;
+		
+		public LIBSVMToBinaryBlockFunction(MatrixCharacteristics mc, boolean sparse) {
+			_rlen = mc.getRows();
+			_clen = mc.getCols();
+			_brlen = mc.getRowsPerBlock();
+			_bclen = mc.getColsPerBlock();
+			_sparse = sparse;
+		}
+
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Iterator<Tuple2<Text,Long>> arg0) 
+			throws Exception 
+		{
+			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<>();
+			
+			int ncblks = (int)Math.ceil((double)_clen/_bclen);
+			MatrixIndexes[] ix = new MatrixIndexes[ncblks];
+			MatrixBlock[] mb = new MatrixBlock[ncblks];
+			int[] cix = new int[64];
+			double[] vals = new double[64];
+			
+			while( arg0.hasNext() )
+			{
+				Tuple2<Text,Long> tmp = arg0.next();
+				String row = tmp._1().toString();
+				long rowix = tmp._2() + 1;
+				
+				long rix = UtilFunctions.computeBlockIndex(rowix, _brlen);
+				int pos = UtilFunctions.computeCellInBlock(rowix, _brlen);
+				
+				//create new blocks for entire row
+				if( ix[0] == null || ix[0].getRowIndex() != rix ) {
+					if( ix[0] !=null )
+						flushBlocksToList(ix, mb, ret);
+					long len = UtilFunctions.computeBlockSize(_rlen, rix, _brlen);
+					createBlocks(rix, (int)len, ix, mb);
+				}
+				
+				//parse row (sorted by column) and append to column blocks
+				if( cix.length < row.length()/2+1 ) {
+					cix = new int[row.length()/2+1];
+					vals = new double[cix.length];
+				}
+				int lnnz = IOUtilFunctions.parseLIBSVMRow(row, cix, vals, 0, (int)_clen);
+				for( int k=0; k<lnnz; k++ )
+					mb[cix[k]/_bclen].appendValue(pos, cix[k]%_bclen, vals[k]);
+			}
+			
+			//flush last blocks
+			flushBlocksToList(ix, mb, ret);
+			
+			return ret.iterator();
+		}
+		
+		// Creates new state of empty column blocks for current row block index.
+		private void createBlocks(long rix, int lrlen, MatrixIndexes[] ix, MatrixBlock[] mb) {
+			for( int cix=1; cix<=ix.length; cix++ ) {
+				int lclen = UtilFunctions.computeBlockSize(_clen, cix, _bclen);
+				ix[cix-1] = new MatrixIndexes(rix, cix);
+				mb[cix-1] = new MatrixBlock(lrlen, lclen, _sparse);
+				mb[cix-1].allocateBlock();
+			}
+		}
+		
+		// Flushes current state of filled column blocks to output list.
+		private static void flushBlocksToList( MatrixIndexes[] ix, MatrixBlock[] mb, ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret ) {
+			for( int i=0; i<ix.length; i++ )
+				if( mb[i] != null ) {
+					ret.add(new Tuple2<>(ix[i],mb[i]));
+					mb[i].examSparsity(); //ensure right representation
+				}
+		}
+	}
+
+	private static class ParquetToBinaryBlockFunction implements PairFlatMapFunction<ParquetRowGroup,MatrixIndexes,MatrixBlock> 
+	{
+		private static final long serialVersionUID = 1793054871640367416L;
+		
+		private final FileFormatPropertiesParquet _props;
+		private final long _rlen;
+		private final long _clen;
+		private final int _brlen;
+		private final int _bclen;
+		private final boolean _outputEmptyBlocks;
+		
+		public ParquetToBinaryBlockFunction(MatrixCharacteristics mc, FileFormatPropertiesParquet props, boolean outputEmptyBlocks) {
+			_props = props;
+			_rlen = mc.getRows();
+			_clen = mc.getCols();
+			_brlen = mc.getRowsPerBlock();
+			_bclen = mc.getColsPerBlock();
+			_outputEmptyBlocks = outputEmptyBlocks;
+		}
+
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(ParquetRowGroup rg) 
+			throws Exception 
+		{
+			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<>();
+			MatrixBlock in = ReaderParquet.readParquetRowGroup(rg, _props);
+			long rl = rg.getRowOffset();
+			long ru = rl + rg.getNumRows(); //exclusive
+			
+			//slice row group into (partial) blocks of all overlapping row blocks
+			for( long brix = rl/_brlen; brix*_brlen < ru; brix++ ) {
+				long brl = brix * _brlen;
+				int lbrlen = UtilFunctions.computeBlockSize(_rlen, brix+1, _brlen);
+				int srl = (int)(Math.max(rl, brl) - rl);
+				int sru = (int)(Math.min(ru, brl+lbrlen) - rl - 1);
+				int trl = (int)(rl + srl - brl);
+				for( long bcix = 0; bcix*_bclen < _clen; bcix++ ) {
+					int cl = (int)(bcix * _bclen);
+					int lbclen = UtilFunctions.computeBlockSize(_clen, bcix+1, _bclen);
+					MatrixBlock tmp = in.slice(srl, sru, cl, cl+lbclen-1, new MatrixBlock());
+					if( tmp.isEmptyBlock(false) && !_outputEmptyBlocks )
+						continue;
+					MatrixBlock out = tmp;
+					if( sru-srl+1 < lbrlen ) { //partial block
+						out = new MatrixBlock(lbrlen, lbclen, tmp.isInSparseFormat());
+						out.copy(trl, trl+sru-srl, 0, lbclen-1, tmp, false);
+					}
+					ret.add(new Tuple2<>(new MatrixIndexes(brix+1, bcix+1), out));
+				}
+			}
+			return ret.iterator();
+		}
+	}
+
+	private static class BinaryBlockToLIBSVMFunction implements FlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>,String> 
+	{
+		private static final long serialVersionUID = 7413853727446379325L;
+
+		@Override
+		public Iterator<String> call(Tuple2<MatrixIndexes, MatrixBlock> arg0)
+			throws Exception 
+		{
+			MatrixBlock blk = arg0._2();
+			ArrayList<String> ret = new ArrayList<>();
+			StringBuilder sb = new StringBuilder();
+			for( int i=0; i<blk.getNumRows(); i++ ) {
+				IOUtilFunctions.appendLIBSVMRow(sb, blk, i);
+				ret.add(sb.toString());
+				sb.setLength(0); //reset
+			}
+			return ret.iterator();
+		}
+	}
+
 	private static class LabeledPointToBinaryBlockFunction implements PairFlatMapFunction<Iterator<Tuple2<org.apache.spark.mllib.regression.LabeledPoint,Long>>,MatrixIndexes,MatrixBlock> 
 	{	
 		private static final long serialVersionUID = 2290124693964816276L;
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Byte-level csv line parser, which scans the raw bytes of a line (e.g., of a
+ * reused hadoop text object) and parses numeric cells without intermediate 
+ * line, token, or trimmed strings. Double values are parsed via an exact fast
+ * path for decimal numbers of up to 15 significant digits and small exponents 
+ * (which covers most machine-generated csv files), with fallback to the 
+ * regular string parsing for all other cases to retain its exact semantics.
+ * 
+ * The tokenization is consistent with {@link IOUtilFunctions#split(String, String)} 
+ * on trimmed lines and tokens, i.e., it does not handle quotes. Readers with 
+ * quote handling should use the string-based parsing for lines with quotes
+ * (see {@link #isQuoteFree(byte[], int)}).
+ */
+public class FastCSVParser 
+{
+	private static final double[] POW10 = new double[23];
+	static {
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+	
+	private final byte[] _delim;
+	private final boolean _fill;
+	private final double _fillValue;
+	private boolean _emptyFound = false;
+	
+	public FastCSVParser(String delim, boolean fill, double fillValue) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+		_fill = fill;
+		_fillValue = fillValue;
+	}
+	
+	/**
+	 * Indicates if the last parsed line contained empty cells.
+	 * 
+	 * @return true if empty cells were found
+	 */
+	public boolean isEmptyFound() {
+		return _emptyFound;
+	}
+	
+	/**
+	 * Parses a line of numeric cells into the given row of a dense output
+	 * array, where empty cells are set to the fill value. Only the first 
+	 * clen cells are written, but all cells are counted in order to allow
+	 * the caller to raise errors on inconsistent number of columns.
+	 * 
+	 * @param buf line bytes
+	 * @param len number of valid bytes in the buffer
+	 * @param c output array
+	 * @param cix offset of the row in the output array
+	 * @param clen number of columns
+	 * @return number of cells in the line
+	 */
+	public int parseDoubleRow(byte[] buf, int len, double[] c, int cix, int clen) {
+		_emptyFound = false;
+		int from = trimLeft(buf, 0, len);
+		int to = trimRight(buf, from, len);
+		if( from >= to ) //empty line w/o tokens
+			return 0;
+		
+		int ncol = 0;
+		while( true ) {
+			int end = indexOfDelim(buf, from, to);
+			if( ncol < clen )
+				c[cix+ncol] = parseCell(buf, from, end);
+			else if( trimLeft(buf, from, end) >= end )
+				_emptyFound = true;
+			ncol++;
+			if( end >= to )
+				break;
+			from = end + _delim.length;
+		}
+		return ncol;
+	}
+	
+	/**
+	 * Parses a line into the given row of a frame block. Cells of numeric 
+	 * columns are directly written into the given primitive column arrays
+	 * (obtained via {@link FrameBlock#getColumnData(int)}) while string cells 
+	 * are materialized once per cell. Empty cells are handled consistently 
+	 * with the string-based frame csv reader.
+	 * 
+	 * @param buf line bytes
+	 * @param len number of valid bytes in the buffer
+	 * @param dest output frame block
+	 * @param schema frame schema
+	 * @param coldata primitive column arrays of non-string columns
+	 * @param row row index
+	 * @return number of cells in the line
+	 */
+	public int parseFrameRow(byte[] buf, int len, FrameBlock dest, ValueType[] schema, Object[] coldata, int row) {
+		_emptyFound = false;
+		int from = trimLeft(buf, 0, len);
+		int to = trimRight(buf, from, len);
+		if( from >= to ) //empty line w/o tokens
+			return 0;
+		
+		int clen = schema.length;
+		int ncol = 0;
+		while( true ) {
+			int end = indexOfDelim(buf, from, to);
+			if( ncol < clen ) {
+				int s = trimLeft(buf, from, end);
+				int e = trimRight(buf, s, end);
+				if( s >= e ) {
+					_emptyFound = true;
+					if( _fill && _fillValue != 0 )
+						dest.set(row, ncol, UtilFunctions.stringToObject(
+							schema[ncol], String.valueOf(_fillValue)));
+				}
+				else {
+					switch( schema[ncol] ) {
+						case DOUBLE:  ((double[])coldata[ncol])[row] = parseDouble(buf, s, e); break;
+						case INT:     ((long[])coldata[ncol])[row] = parseLong(buf, s, e); break;
+						case BOOLEAN: ((boolean[])coldata[ncol])[row] = parseBoolean(buf, s, e); break;
+						default:      dest.set(row, ncol, new String(buf, s, e-s, StandardCharsets.UTF_8));
+					}
+				}
+			}
+			else if( trimLeft(buf, from, end) >= end )
+				_emptyFound = true;
+			ncol++;
+			if( end >= to )
+				break;
+			from = end + _delim.length;
+		}
+		return ncol;
+	}
+	
+	/**
+	 * Indicates if the given line contains no quote characters, in
+	 * which case the tokenization is independent of quote handling.
+	 * 
+	 * @param buf line bytes
+	 * @param len number of valid bytes in the buffer
+	 * @return true if the line does not contain quotes
+	 */
+	public static boolean isQuoteFree(byte[] buf, int len) {
+		for( int i=0; i<len; i++ )
+			if( buf[i] == '"' )
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Parses a double from the given byte range, which is assumed to be trimmed.
+	 * 
+	 * @param buf bytes
+	 * @param from start position (inclusive)
+	 * @param to end position (exclusive)
+	 * @return parsed double value
+	 */
+	public static double parseDouble(byte[] buf, int from, int to) {
+		int i = from;
+		boolean neg = false;
+		if( i < to && (buf[i] == '-' || buf[i] == '+') )
+			neg = (buf[i++] == '-');
+		
+		//parse mantissa digits (w/o leading zeros) and decimal exponent
+		long mant = 0;
+		int ndigits = 0;
+		int exp10 = 0;
+		boolean digits = false;
+		for( ; i < to && isDigit(buf[i]); i++ ) {
+			mant = mant * 10 + (buf[i] - '0');
+			if( mant != 0 && ++ndigits > 15 )
+				return parseDoubleSlow(buf, from, to);
+			digits = true;
+		}
+		if( i < to && buf[i] == '.' ) {
+			for( i++; i < to && isDigit(buf[i]); i++ ) {
+				mant = mant * 10 + (buf[i] - '0');
+				if( mant != 0 && ++ndigits > 15 )
+					return parseDoubleSlow(buf, from, to);
+				exp10--;
+				digits = true;
+			}
+		}
+		if( !digits )
+			return parseDoubleSlow(buf, from, to);
+		
+		//parse optional exponent
+		if( i < to && (buf[i] == 'e' || buf[i] == 'E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < to && (buf[i] == '-' || buf[i] == '+') )
+				eneg = (buf[i++] == '-');
+			if( i >= to )
+				return parseDoubleSlow(buf, from, to);
+			int exp = 0;
+			for( ; i < to && isDigit(buf[i]); i++ )
+				exp = Math.min(exp * 10 + (buf[i] - '0'), 1000);
+			exp10 += eneg ? -exp : exp;
+		}
+		if( i != to ) //e.g., NaN, Infinity, hex, or type suffixes
+			return parseDoubleSlow(buf, from, to);
+		
+		//exact computation if mantissa and power of ten are exactly 
+		//representable as doubles (single correctly rounded operation)
+		if( mant == 0 )
+			return neg ? -0d : 0d;
+		if( exp10 < -22 || exp10 > 22 )
+			return parseDoubleSlow(buf, from, to);
+		double ret = (exp10 < 0) ? 
+			mant / POW10[-exp10] : mant * POW10[exp10];
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a long from the given byte range, which is assumed to be trimmed.
+	 * 
+	 * @param buf bytes
+	 * @param from start position (inclusive)
+	 * @param to end position (exclusive)
+	 * @return parsed long value
+	 */
+	public static long parseLong(byte[] buf, int from, int to) {
+		int i = from;
+		boolean neg = false;
+		if( i < to && (buf[i] == '-' || buf[i] == '+') )
+			neg = (buf[i++] == '-');
+		if( i >= to || to - i > 18 )
+			return Long.parseLong(toString(buf, from, to));
+		long ret = 0;
+		for( ; i < to; i++ ) {
+			if( !isDigit(buf[i]) ) //error handling via string parsing
+				return Long.parseLong(toString(buf, from, to));
+			ret = ret * 10 + (buf[i] - '0');
+		}
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a boolean from the given byte range, consistent with 
+	 * {@link Boolean#parseBoolean(String)}.
+	 * 
+	 * @param buf bytes
+	 * @param from start position (inclusive)
+	 * @param to end position (exclusive)
+	 * @return parsed boolean value
+	 */
+	public static boolean parseBoolean(byte[] buf, int from, int to) {
+		return to - from == 4
+			&& (buf[from]   | 0x20) == 't' && (buf[from+1] | 0x20) == 'r'
+			&& (buf[from+2] | 0x20) == 'u' && (buf[from+3] | 0x20) == 'e';
+	}
+	
+	private double parseCell(byte[] buf, int from, int to) {
+		int s = trimLeft(buf, from, to);
+		int e = trimRight(buf, s, to);
+		if( s >= e ) {
+			_emptyFound = true;
+			return _fillValue;
+		}
+		return parseDouble(buf, s, e);
+	}
+	
+	private int indexOfDelim(byte[] buf, int from, int to) {
+		byte d0 = _delim[0];
+		int dlen = _delim.length;
+		if( dlen == 1 ) { //common case: single-byte delimiter
+			for( int i=from; i<to; i++ )
+				if( buf[i] == d0 )
+					return i;
+			return to;
+		}
+		for( int i=from; i<=to-dlen; i++ ) {
+			if( buf[i] != d0 )
+				continue;
+			int j = 1;
+			while( j < dlen && buf[i+j] == _delim[j] )
+				j++;
+			if( j == dlen )
+				return i;
+		}
+		return to;
+	}
+	
+	private static int trimLeft(byte[] buf, int from, int to) {
+		//consistent with String.trim (chars <= ' ', excl. multi-byte chars)
+		while( from < to && buf[from] >= 0 && buf[from] <= ' ' )
+			from++;
+		return from;
+	}
+	
+	private static int trimRight(byte[] buf, int from, int to) {
+		while( to > from && buf[to-1] >= 0 && buf[to-1] <= ' ' )
+			to--;
+		return to;
+	}
+	
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+	
+	private static double parseDoubleSlow(byte[] buf, int from, int to) {
+		return Double.parseDouble(toString(buf, from, to));
+	}
+	
+	private static String toString(byte[] buf, int from, int to) {
+		return new String(buf, from, to - from, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Serializable;
+
+/**
+ * Parquet read properties, currently the optional column projection
+ * (1-based, inclusive column range) that is pushed down from the compiled
+ * HOP DAG into the reader, which then only decodes the selected columns.
+ */
+public class FileFormatPropertiesParquet extends FileFormatProperties implements Serializable
+{
+	private static final long serialVersionUID = 4305738547321386474L;
+	
+	private final long _colLower;
+	private final long _colUpper;
+	
+	public FileFormatPropertiesParquet() {
+		//no column projection
+		this(-1, -1);
+	}
+	
+	public FileFormatPropertiesParquet(long cl, long cu) {
+		_colLower = cl;
+		_colUpper = cu;
+	}
+	
+	public boolean hasColumnProjection() {
+		return _colLower > 0 && _colUpper >= _colLower;
+	}
+	
+	public long getColumnLower() {
+		return _colLower;
+	}
+	
+	public long getColumnUpper() {
+		return _colUpper;
+	}
+}
@@ -56,6 +56,14 @@ public class FrameReaderFactory
 			else
 				reader = new FrameReaderBinaryBlock();
 		}
+		else if( iinfo == InputInfo.ParquetInputInfo ) {
+			if( props!=null && !(props instanceof FileFormatPropertiesParquet) )
+				throw new DMLRuntimeException("Wrong type of file format properties for parquet reader.");
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) )
+				reader = new FrameReaderParquetParallel( (FileFormatPropertiesParquet)props );
+			else
+				reader = new FrameReaderParquet( (FileFormatPropertiesParquet)props );
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame reader for unknown input info: "
 				+ InputInfo.inputInfoToString(iinfo));
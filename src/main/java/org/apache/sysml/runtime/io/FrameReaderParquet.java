@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ReaderParquet.ParquetRowGroup;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+
+/**
+ * Reader for columnar parquet files into frames. The frame schema and column 
+ * names are obtained from the parquet file schema (of the selected columns),
+ * while a given schema or column names are ignored. Null values are read as 
+ * null frame cells.
+ */
+public class FrameReaderParquet extends FrameReader
+{
+	protected final FileFormatPropertiesParquet _props;
+	
+	public FrameReaderParquet(FileFormatPropertiesParquet props) {
+		_props = (props != null) ? props : new FileFormatPropertiesParquet();
+	}
+	
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names,
+			long rlen, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//read footers and obtain projected columns
+		Path[] files = IOUtilFunctions.getParquetFilePaths(fs, path);
+		ParquetMetadata[] footers = IOUtilFunctions.readParquetFooters(files, job);
+		ColumnDescriptor[] cols = IOUtilFunctions.getParquetColumns(
+			footers[0].getFileMetaData().getSchema(), _props);
+		long nrow = 0;
+		for( ParquetMetadata footer : footers )
+			nrow += IOUtilFunctions.getParquetNumRows(footer);
+		ReaderParquet.checkValidDimensions(path, nrow, cols.length, rlen, clen);
+		
+		//allocate output frame block w/ schema and names of parquet file
+		FrameBlock ret = createOutputFrameBlock(
+			getParquetSchema(cols), getParquetNames(cols), nrow);
+		
+		//core read (sequential/parallel)
+		readParquetFrameFromHDFS(files, footers, cols, job, ret);
+		
+		//dictionary encoding of low-cardinality string columns
+		ret.compactStringColumns();
+		
+		return ret;
+	}
+	
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names,
+			long rlen, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		//parquet requires random access to the file footer
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+	
+	protected void readParquetFrameFromHDFS(Path[] files, ParquetMetadata[] footers, 
+			ColumnDescriptor[] cols, JobConf job, FrameBlock dest)
+		throws IOException
+	{
+		for( int i=0, rpos=0; i<files.length; i++ ) {
+			FileMetaData fmeta = footers[i].getFileMetaData();
+			ParquetFileReader reader = new ParquetFileReader(job, fmeta, 
+				files[i], footers[i].getBlocks(), Arrays.asList(cols));
+			try {
+				for( BlockMetaData block : footers[i].getBlocks() ) {
+					readParquetRowGroup(reader.readNextRowGroup(),
+						fmeta.getSchema(), fmeta.getCreatedBy(), cols, dest, rpos);
+					rpos += block.getRowCount();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+	
+	/**
+	 * Reads a single row group of a parquet file into a new frame block
+	 * with the schema and column names of the parquet file.
+	 * 
+	 * @param rg row group
+	 * @param props file format properties (optional column projection)
+	 * @return frame block of the row group
+	 * @throws IOException if IOException occurs
+	 */
+	public static FrameBlock readParquetRowGroup(ParquetRowGroup rg, FileFormatPropertiesParquet props) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(rg.getFile());
+		ParquetMetadata footer = IOUtilFunctions.readParquetFooters(new Path[]{path}, job)[0];
+		FileMetaData fmeta = footer.getFileMetaData();
+		ColumnDescriptor[] cols = IOUtilFunctions.getParquetColumns(fmeta.getSchema(), props);
+		
+		FrameBlock ret = new FrameBlock(getParquetSchema(cols), getParquetNames(cols));
+		ret.ensureAllocatedColumns((int)rg.getNumRows());
+		ParquetFileReader reader = ReaderParquet.createRowGroupReader(job, path, 
+			footer, footer.getBlocks().get(rg.getIndex()), cols);
+		try {
+			readParquetRowGroup(reader.readNextRowGroup(),
+				fmeta.getSchema(), fmeta.getCreatedBy(), cols, ret, 0);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Reads the frame schema of the selected columns from the footer of
+	 * the first parquet file, without reading the data.
+	 * 
+	 * @param fname file name
+	 * @param props file format properties (optional column projection)
+	 * @return frame schema
+	 * @throws IOException if IOException occurs
+	 */
+	public static ValueType[] readParquetSchema(String fname, FileFormatPropertiesParquet props) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		Path[] files = IOUtilFunctions.getParquetFilePaths(fs, path);
+		ParquetMetadata footer = IOUtilFunctions.readParquetFooters(
+			new Path[]{files[0]}, job)[0];
+		return getParquetSchema(IOUtilFunctions.getParquetColumns(
+			footer.getFileMetaData().getSchema(), props));
+	}
+	
+	public static ValueType[] getParquetSchema(ColumnDescriptor[] cols) {
+		ValueType[] ret = new ValueType[cols.length];
+		for( int j=0; j<cols.length; j++ )
+			ret[j] = IOUtilFunctions.getParquetValueType(cols[j].getType());
+		return ret;
+	}
+	
+	public static String[] getParquetNames(ColumnDescriptor[] cols) {
+		String[] ret = new String[cols.length];
+		for( int j=0; j<cols.length; j++ )
+			ret[j] = cols[j].getPath()[cols[j].getPath().length-1];
+		return ret;
+	}
+	
+	/**
+	 * Reads a single row group into the given row range of the target frame,
+	 * column by column because frames are stored in columnar layout as well.
+	 * 
+	 * @param pages column chunks of the row group
+	 * @param schema file schema
+	 * @param createdBy file writer identifier
+	 * @param cols selected leaf columns
+	 * @param dest output frame block
+	 * @param rl row offset of the row group
+	 */
+	protected static void readParquetRowGroup(PageReadStore pages, MessageType schema, 
+			String createdBy, ColumnDescriptor[] cols, FrameBlock dest, int rl)
+	{
+		ColumnReadStoreImpl store = new ColumnReadStoreImpl(pages, 
+			new GroupRecordConverter(schema).getRootConverter(), schema, createdBy);
+		int nrow = (int)pages.getRowCount();
+		for( int j=0; j<cols.length; j++ ) {
+			ColumnReader cr = store.getColumnReader(cols[j]);
+			PrimitiveTypeName type = cols[j].getType();
+			int maxDef = cols[j].getMaxDefinitionLevel();
+			for( int i=rl; i<rl+nrow; i++ ) {
+				if( cr.getCurrentDefinitionLevel() == maxDef )
+					dest.set(i, j, IOUtilFunctions.getParquetObject(cr, type));
+				cr.consume();
+			}
+		}
+	}
+}
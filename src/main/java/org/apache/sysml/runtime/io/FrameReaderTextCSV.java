@@ -83,6 +83,9 @@ public class FrameReaderTextCSV extends FrameReader
 		//core read (sequential/parallel) 
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
+		//dictionary encoding of low-cardinality string columns
+		ret.compactStringColumns();
+		
 		return ret;
 	}
 	
@@ -100,6 +103,7 @@ public class FrameReaderTextCSV extends FrameReader
 		InputStreamInputFormat informat = new InputStreamInputFormat(is);
 		InputSplit split = informat.getSplits(null, 1)[0];
 		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
+		ret.compactStringColumns();
 		
 		return ret;
 	}
@@ -142,10 +146,31 @@ public class FrameReaderTextCSV extends FrameReader
 			
 		// Read the data
 		boolean emptyValuesFound = false;
+		FastCSVParser parser = new FastCSVParser(delim, isFill, dfillValue);
+		ValueType[] lschema = dest.getSchema();
+		Object[] coldata = new Object[lschema.length];
+		for( int j=0; j<lschema.length; j++ )
+			if( lschema[j] != ValueType.STRING )
+				coldata[j] = dest.getColumnData(j);
 		try
 		{
 			while( reader.next(key, value) ) //foreach line
 			{
+				//fast path for lines w/o quotes and meta data, parsed from bytes
+				byte[] buf = value.getBytes();
+				int len = value.getLength();
+				if( len > 0 && buf[0] != '#' && FastCSVParser.isQuoteFree(buf, len) ) {
+					col = 0;
+					int ncol = parser.parseFrameRow(buf, len, dest, lschema, coldata, row);
+					if( (!isFill && parser.isEmptyFound()) || ncol != clen ) {
+						String cellStr = value.toString().trim();
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, parser.isEmptyFound());
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, ncol, clen);
+					}
+					row++;
+					continue;
+				}
+				
 				String cellStr = value.toString().trim();
 				emptyValuesFound = false; col = 0;
 				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
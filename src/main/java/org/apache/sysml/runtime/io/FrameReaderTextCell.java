@@ -67,6 +67,9 @@ public class FrameReaderTextCell extends FrameReader
 		//core read (sequential/parallel)
 		readTextCellFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
+		//dictionary encoding of low-cardinality string columns
+		ret.compactStringColumns();
+		
 		return ret;
 	}
 
@@ -81,6 +84,7 @@ public class FrameReaderTextCell extends FrameReader
 	
 		//core read 
 		readRawTextCellFrameFromInputStream(is, ret, lschema, lnames, rlen, clen);
+		ret.compactStringColumns();
 		
 		return ret;
 	}
@@ -56,6 +56,9 @@ public class FrameWriterBinaryBlock extends FrameWriter
 					              "out of overall frame range [1:"+rlen+",1:"+clen+"].");
 		}
 		
+		//dictionary encoding of low-cardinality string columns
+		src.compactStringColumns();
+		
 		//write binary block to hdfs (sequential/parallel)
 		writeBinaryBlockFrameToHDFS( path, job, src, rlen, clen );
 	}
@@ -54,6 +54,12 @@ public class FrameWriterFactory
 			else
 				writer = new FrameWriterBinaryBlock();
 		}
+		else if( oinfo == OutputInfo.ParquetOutputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+				writer = new FrameWriterParquetParallel();
+			else
+				writer = new FrameWriterParquet();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
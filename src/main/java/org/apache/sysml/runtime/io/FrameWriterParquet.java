@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Single-threaded frame parquet writer, where every frame column is written
+ * as an optional typed parquet column (named by the frame column name) and 
+ * null values are represented as missing values.
+ */
+public class FrameWriterParquet extends FrameWriter
+{
+	@Override
+	public final void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//validity check frame dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Frame dimensions mismatch with metadata: " + 
+					src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		}
+		if( clen == 0 )
+			throw new IOException("Write of frames with zero columns not supported ("+rlen+"x"+clen+").");
+		
+		//core write (sequential/parallel)
+		writeParquetFrameToHDFS(path, job, src, rlen, clen);
+	}
+	
+	protected void writeParquetFrameToHDFS(Path path, JobConf job, FrameBlock src, long rlen, long clen) 
+		throws IOException
+	{
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//sequential write to single parquet file
+		writeParquetFrameToFile(path, job, src, 0, (int)rlen);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+	
+	protected static void writeParquetFrameToFile(Path path, JobConf job, FrameBlock src, int rl, int ru)
+		throws IOException
+	{
+		ParquetWriter<Integer> writer = WriterParquet.createParquetWriter(path, job,
+			new FrameRowWriteSupport(src));
+		try {
+			for( int i=rl; i<ru; i++ )
+				writer.write(i);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+	
+	protected static MessageType createParquetSchema(ValueType[] schema, String[] names) {
+		List<Type> fields = new ArrayList<>();
+		for( int j=0; j<schema.length; j++ ) {
+			switch( schema[j] ) {
+				case DOUBLE:
+					fields.add(new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.DOUBLE, names[j]));
+					break;
+				case INT:
+					fields.add(new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.INT64, names[j]));
+					break;
+				case BOOLEAN:
+					fields.add(new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.BOOLEAN, names[j]));
+					break;
+				default:
+					fields.add(new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.BINARY, names[j], OriginalType.UTF8));
+			}
+		}
+		return new MessageType("frame", fields);
+	}
+	
+	/**
+	 * Write support that passes the non-null cells of a frame row (given by 
+	 * its row index) directly to the parquet record consumer.
+	 */
+	private static class FrameRowWriteSupport extends WriteSupport<Integer>
+	{
+		private final FrameBlock _src;
+		private final ValueType[] _schema;
+		private final String[] _names;
+		private RecordConsumer _consumer = null;
+		
+		public FrameRowWriteSupport(FrameBlock src) {
+			_src = src;
+			_schema = src.getSchema();
+			_names = src.getColumnNames();
+		}
+		
+		@Override
+		public WriteContext init(Configuration conf) {
+			return new WriteContext(createParquetSchema(_schema, _names), new HashMap<String,String>());
+		}
+
+		@Override
+		public void prepareForWrite(RecordConsumer consumer) {
+			_consumer = consumer;
+		}
+
+		@Override
+		public void write(Integer row) {
+			_consumer.startMessage();
+			for( int j=0; j<_names.length; j++ ) {
+				Object val = _src.get(row, j);
+				if( val == null )
+					continue; //missing optional field
+				_consumer.startField(_names[j], j);
+				switch( _schema[j] ) {
+					case DOUBLE:  _consumer.addDouble((Double)val); break;
+					case INT:     _consumer.addLong((Long)val); break;
+					case BOOLEAN: _consumer.addBoolean((Boolean)val); break;
+					default:      _consumer.addBinary(Binary.fromString(val.toString()));
+				}
+				_consumer.endField(_names[j], j);
+			}
+			_consumer.endMessage();
+		}
+	}
+}
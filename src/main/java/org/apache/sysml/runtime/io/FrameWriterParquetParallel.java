@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Multi-threaded frame parquet writer.
+ * 
+ */
+public class FrameWriterParquetParallel extends FrameWriterParquet
+{
+	@Override
+	protected void writeParquetFrameToHDFS(Path path, JobConf job, FrameBlock src, long rlen, long clen) 
+		throws IOException
+	{
+		//estimate output size and number of output blocks (min 1)
+		int numPartFiles = Math.max((int)(src.getInMemorySize() 
+			/ InfrastructureAnalyzer.getHDFSBlockSize()), 1);
+		
+		//determine degree of parallelism
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		numThreads = Math.min(numThreads, numPartFiles);
+		
+		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
+		if( numThreads <= 1 ) {
+			super.writeParquetFrameToHDFS(path, job, src, rlen, clen);
+			return;
+		}
+		
+		//create directory for concurrent tasks
+		MapReduceTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//create and execute tasks
+		try 
+		{
+			ExecutorService pool = CommonThreadPool.get(numThreads);
+			ArrayList<WriteFileTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)rlen / numThreads);
+			for(int i=0; i<numThreads & i*blklen<rlen; i++) {
+				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
+				tasks.add(new WriteFileTask(newPath, job, src, i*blklen, (int)Math.min((i+1)*blklen, rlen)));
+			}
+			
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//check for exceptions 
+			for( Future<Object> task : rt )
+				task.get();
+			
+			// delete crc files if written to local file system
+			if (fs instanceof LocalFileSystem) {
+				for(int i=0; i<numThreads & i*blklen<rlen; i++) 
+					IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs,
+						new Path(path, IOUtilFunctions.getPartFileName(i)));
+			}
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel write of parquet output.", e);
+		}
+	}
+	
+	private static class WriteFileTask implements Callable<Object> 
+	{
+		private final Path _path;
+		private final JobConf _job;
+		private final FrameBlock _src;
+		private final int _rl, _ru;
+		
+		public WriteFileTask(Path path, JobConf job, FrameBlock src, int rl, int ru) {
+			_path = path;
+			_job = job;
+			_src = src;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			writeParquetFrameToFile(_path, _job, _src, _rl, _ru);
+			return null;
+		}
+	}
+}
@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.io;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -31,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang.StringUtils;
@@ -49,8 +51,20 @@ import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -149,8 +163,12 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
@@ -338,6 +356,154 @@ public class IOUtilFunctions
 		return new String[]{str.substring(0, pos),
 			str.substring(pos+1, str.length())};
 	}
+
+	/**
+	 * Returns the number of non-zero entries of a line in libsvm format
+	 * (label idx:val ...), including the label. In contrast to countNnz,
+	 * this count is exact because zero values are recognized by their
+	 * literal representation, which avoids the string to double parsing.
+	 *
+	 * @param line line in libsvm format
+	 * @return number of non-zeros
+	 */
+	public static int countNnzLIBSVM(String line) {
+		int len = line.length();
+		int from = skipWhitespaces(line, 0, len);
+		int to = nextWhitespace(line, from, len);
+		if( from >= len )
+			return 0; //empty line
+		int lnnz = isZeroLiteral(line, from, to) ? 0 : 1;
+		while( (from=skipWhitespaces(line, to, len)) < len && line.charAt(from) != '#' ) {
+			to = nextWhitespace(line, from, len);
+			int colon = line.indexOf(':', from);
+			lnnz += (colon > from && colon < to
+				&& isZeroLiteral(line, colon+1, to)) ? 0 : 1;
+		}
+		return lnnz;
+	}
+
+	/**
+	 * Parses a line in libsvm format (label idx:val ...) with 1-based and
+	 * ascending feature indexes into the given arrays of column indexes and
+	 * values, starting at the given position. The label is appended as the
+	 * last column (clen-1) and zero values are skipped, which keeps the
+	 * parsed row sorted by column index.
+	 *
+	 * @param line line in libsvm format
+	 * @param ix output array of column indexes
+	 * @param vals output array of values
+	 * @param pos starting position in the output arrays
+	 * @param clen number of columns, including the label column
+	 * @return number of non-zeros written to the output arrays
+	 * @throws IOException if the line is malformed or indexes are out of bounds
+	 */
+	public static int parseLIBSVMRow(String line, int[] ix, double[] vals, int pos, int clen)
+		throws IOException
+	{
+		int len = line.length();
+		int from = skipWhitespaces(line, 0, len);
+		int to = nextWhitespace(line, from, len);
+		if( from >= len )
+			return 0; //empty line
+		double label = UtilFunctions.parseToDouble(line.substring(from, to));
+
+		//parse idx:val pairs until end of line or comment
+		int lpos = pos;
+		int prev = 0;
+		while( (from=skipWhitespaces(line, to, len)) < len && line.charAt(from) != '#' ) {
+			to = nextWhitespace(line, from, len);
+			int colon = line.indexOf(':', from);
+			if( colon <= from || colon >= to )
+				throw new IOException("Invalid libsvm feature '"+line.substring(from, to)+"' in line: "+line);
+			int col = 0;
+			for( int k=from; k<colon; k++ ) {
+				char c = line.charAt(k);
+				if( c < '0' || c > '9' )
+					throw new IOException("Invalid libsvm feature index '"+line.substring(from, colon)+"' in line: "+line);
+				col = col * 10 + (c - '0');
+			}
+			if( col <= prev || col >= clen )
+				throw new IOException("Libsvm feature index "+col+" not ascending or out of "
+					+ "range [1:"+(clen-1)+"] in line: "+line);
+			double val = UtilFunctions.parseToDouble(line.substring(colon+1, to));
+			if( val != 0 ) {
+				ix[lpos] = col - 1;
+				vals[lpos++] = val;
+			}
+			prev = col;
+		}
+
+		//append label as last column
+		if( label != 0 ) {
+			ix[lpos] = clen - 1;
+			vals[lpos++] = label;
+		}
+		return lpos - pos;
+	}
+
+	/**
+	 * Appends the given row of a matrix block in libsvm format to the string
+	 * builder, where the last column is written as label and all other non-zeros
+	 * as idx:val pairs with 1-based column indexes.
+	 *
+	 * @param sb string builder
+	 * @param blk matrix block
+	 * @param i row index
+	 */
+	public static void appendLIBSVMRow(StringBuilder sb, MatrixBlock blk, int i) {
+		int clen = blk.getNumColumns();
+		sb.append(blk.quickGetValue(i, clen-1));
+		if( blk.isInSparseFormat() ) {
+			SparseBlock sblock = blk.getSparseBlock();
+			if( sblock == null || sblock.isEmpty(i) )
+				return;
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			int[] aix = sblock.indexes(i);
+			double[] avals = sblock.values(i);
+			for( int j=apos; j<apos+alen && aix[j]<clen-1; j++ )
+				appendLIBSVMFeature(sb, aix[j], avals[j]);
+		}
+		else if( !blk.isEmptyBlock(false) ) {
+			DenseBlock a = blk.getDenseBlock();
+			double[] avals = a.values(i);
+			int apos = a.pos(i);
+			for( int j=0; j<clen-1; j++ )
+				if( avals[apos+j] != 0 )
+					appendLIBSVMFeature(sb, j, avals[apos+j]);
+		}
+	}
+
+	private static void appendLIBSVMFeature(StringBuilder sb, int j, double val) {
+		sb.append(' ');
+		sb.append(j+1);
+		sb.append(':');
+		sb.append(val);
+	}
+
+	private static int skipWhitespaces(String str, int from, int len) {
+		while( from < len && Character.isWhitespace(str.charAt(from)) )
+			from++;
+		return from;
+	}
+
+	private static int nextWhitespace(String str, int from, int len) {
+		while( from < len && !Character.isWhitespace(str.charAt(from)) )
+			from++;
+		return from;
+	}
+
+	private static boolean isZeroLiteral(String str, int from, int to) {
+		//a decimal literal is zero iff all mantissa digits are zero
+		for( int k=from; k<to; k++ ) {
+			char c = str.charAt(k);
+			if( c == 'e' || c == 'E' )
+				break;
+			if( c != '0' && c != '.' && c != '+' && c != '-' )
+				return false;
+		}
+		return from < to;
+	}
 	
 	public static FileFormatPropertiesMM readAndParseMatrixMarketHeader(String filename) throws DMLRuntimeException {
 		String[] header = readMatrixMarketHeader(filename);
@@ -544,6 +710,136 @@ public class IOUtilFunctions
 		return ret;
 	}
 	
+	/**
+	 * Returns the parquet files of the given file or directory, sorted by
+	 * name in order to obtain a deterministic row order over part files.
+	 * Hidden files (e.g., checksum files of spark writes) are ignored.
+	 * 
+	 * @param fs file system
+	 * @param file file or directory path
+	 * @return sorted array of parquet file paths
+	 * @throws IOException if IOException occurs
+	 */
+	public static Path[] getParquetFilePaths(FileSystem fs, Path file) 
+		throws IOException
+	{
+		ArrayList<Path> tmp = new ArrayList<>();
+		for( Path p : getSequenceFilePaths(fs, file) )
+			if( !p.getName().startsWith(".") )
+				tmp.add(p);
+		Path[] ret = tmp.toArray(new Path[0]);
+		Arrays.sort(ret);
+		return ret;
+	}
+	
+	public static ParquetMetadata[] readParquetFooters(Path[] files, Configuration conf) 
+		throws IOException
+	{
+		ParquetMetadata[] ret = new ParquetMetadata[files.length];
+		for( int i=0; i<files.length; i++ )
+			ret[i] = ParquetFileReader.readFooter(conf, files[i], ParquetMetadataConverter.NO_FILTER);
+		return ret;
+	}
+	
+	public static long getParquetNumRows(ParquetMetadata footer) {
+		long ret = 0;
+		for( BlockMetaData block : footer.getBlocks() )
+			ret += block.getRowCount();
+		return ret;
+	}
+	
+	/**
+	 * Reads the number of rows and columns of a parquet file or directory 
+	 * from the file footers, i.e., without scanning the data.
+	 * 
+	 * @param fname file name
+	 * @return array of number of rows and columns
+	 * @throws IOException if IOException occurs
+	 */
+	public static long[] readParquetSize(String fname) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = getFileSystem(path, job);
+		ParquetMetadata[] footers = readParquetFooters(getParquetFilePaths(fs, path), job);
+		long rlen = 0;
+		for( ParquetMetadata footer : footers )
+			rlen += getParquetNumRows(footer);
+		long clen = (footers.length > 0) ? 
+			footers[0].getFileMetaData().getSchema().getColumns().size() : 0;
+		return new long[]{rlen, clen};
+	}
+	
+	/**
+	 * Obtains the descriptors of all leaf columns to read, which is either
+	 * all columns or the column range of a pushed-down column projection.
+	 * 
+	 * @param schema parquet file schema
+	 * @param props file format properties (optional)
+	 * @return array of column descriptors
+	 * @throws IOException if the projection is invalid or a column is repeated
+	 */
+	public static ColumnDescriptor[] getParquetColumns(MessageType schema, FileFormatProperties props) 
+		throws IOException
+	{
+		List<ColumnDescriptor> cols = schema.getColumns();
+		int cl = 0, cu = cols.size()-1;
+		if( props instanceof FileFormatPropertiesParquet
+			&& ((FileFormatPropertiesParquet)props).hasColumnProjection() ) {
+			FileFormatPropertiesParquet pprops = (FileFormatPropertiesParquet) props;
+			cl = (int)pprops.getColumnLower()-1;
+			cu = (int)pprops.getColumnUpper()-1;
+			if( cu >= cols.size() )
+				throw new IOException("Parquet column projection ["+(cl+1)+","+(cu+1)
+					+"] out of bounds for "+cols.size()+" columns.");
+		}
+		ColumnDescriptor[] ret = new ColumnDescriptor[cu-cl+1];
+		for( int j=0; j<ret.length; j++ ) {
+			ret[j] = cols.get(cl+j);
+			if( ret[j].getMaxRepetitionLevel() > 0 )
+				throw new IOException("Unsupported repeated parquet column: "
+					+ Arrays.toString(ret[j].getPath()));
+		}
+		return ret;
+	}
+	
+	public static double getParquetDouble(ColumnReader reader, PrimitiveTypeName type) 
+		throws IOException
+	{
+		switch( type ) {
+			case DOUBLE:  return reader.getDouble();
+			case FLOAT:   return reader.getFloat();
+			case INT32:   return reader.getInteger();
+			case INT64:   return reader.getLong();
+			case BOOLEAN: return reader.getBoolean() ? 1 : 0;
+			default:
+				throw new IOException("Unsupported non-numeric parquet column type: "+type);
+		}
+	}
+	
+	public static Object getParquetObject(ColumnReader reader, PrimitiveTypeName type) {
+		switch( type ) {
+			case DOUBLE:  return reader.getDouble();
+			case FLOAT:   return (double) reader.getFloat();
+			case INT32:   return (long) reader.getInteger();
+			case INT64:   return reader.getLong();
+			case BOOLEAN: return reader.getBoolean();
+			default:      return reader.getBinary().toStringUsingUTF8();
+		}
+	}
+	
+	public static ValueType getParquetValueType(PrimitiveTypeName type) {
+		switch( type ) {
+			case DOUBLE: 
+			case FLOAT:   return ValueType.DOUBLE;
+			case INT32:
+			case INT64:   return ValueType.INT;
+			case BOOLEAN: return ValueType.BOOLEAN;
+			default:      return ValueType.STRING;
+		}
+	}
+	
 	/**
 	 * Delete the CRC files from the local file system associated with a
 	 * particular file and its metadata file.
@@ -563,7 +859,24 @@ public class IOUtilFunctions
 			fs.delete(fnameMtdCrc, false);
 		}
 	}
-	
+
+	/**
+	 * Returns the local file of the given path, which is required for direct
+	 * file channel access (e.g., memory-mapped reads) bypassing the hadoop
+	 * file system streams.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @return local file
+	 * @throws IOException if the path does not refer to the local file system
+	 */
+	public static File getLocalFile(FileSystem fs, Path path) throws IOException {
+		if( !(fs instanceof LocalFileSystem) )
+			throw new IOException("File "+path.toString()+" is not on the local file system ("
+				+ fs.getUri()+"), which is required by the local binary format.");
+		return ((LocalFileSystem)fs).pathToFile(path);
+	}
+
 	public static int baToShort( byte[] ba, final int off ) {
 		//shift and add 2 bytes into single int
 		return ((ba[off+0] & 0xFF) << 8)
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.util.LineReader;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Base class for chunked matrix reads, which iterate over consecutive row 
+ * ranges (chunks) of a matrix in a file, where each chunk is returned as
+ * a separate matrix block with the full number of columns. This allows
+ * out-of-core operations over matrices that exceed the local memory budget,
+ * as only one chunk (or two with prefetching) are in memory at a time.
+ * 
+ * Chunks are returned in row order, and {@link #getRowIndex()} returns the 
+ * 0-based row offset of the last returned chunk. The number of rows per chunk
+ * is bounded by the requested chunk size, except for formats with natural
+ * row partitions (e.g., parquet row groups), which are returned as is.
+ */
+public abstract class MatrixChunkIterator implements Iterator<MatrixBlock>, Closeable
+{
+	//fraction of the local memory budget used for in-memory chunks
+	private static final double CHUNK_MEM_FRACTION = 0.1;
+	
+	protected final long _rlen;
+	protected final long _clen;
+	protected final long _estnnz;
+	protected final int _chunkRows;
+	
+	private long _rowPos = 0;    //start row of next chunk
+	private long _chunkPos = -1; //start row of last returned chunk
+	private ExecutorService _pool = null;
+	private Future<MatrixBlock> _next = null;
+	
+	protected MatrixChunkIterator(long rlen, long clen, long estnnz, int chunkRows) {
+		if( rlen < 0 || clen < 0 )
+			throw new DMLRuntimeException("Matrix dimensions are required for chunked reads: ["+rlen+"x"+clen+"].");
+		_rlen = rlen;
+		_clen = clen;
+		_estnnz = (estnnz >= 0) ? estnnz : rlen * clen;
+		_chunkRows = Math.max(chunkRows, 1);
+	}
+	
+	public long getNumRows() {
+		return _rlen;
+	}
+	
+	public long getNumColumns() {
+		return _clen;
+	}
+	
+	/**
+	 * Gets the row offset of the last chunk returned by {@link #next()}.
+	 * 
+	 * @return 0-based row offset, or -1 if no chunk has been returned yet
+	 */
+	public long getRowIndex() {
+		return _chunkPos;
+	}
+	
+	/**
+	 * Enables the asynchronous read of the next chunk, while the last 
+	 * returned chunk is processed by the caller. 
+	 * 
+	 * @return this iterator
+	 */
+	public MatrixChunkIterator enablePrefetch() {
+		if( _pool == null )
+			_pool = CommonThreadPool.get(1);
+		return this;
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return _rowPos < _rlen;
+	}
+	
+	@Override
+	public MatrixBlock next() {
+		if( !hasNext() )
+			throw new NoSuchElementException();
+		try {
+			MatrixBlock ret = (_next != null) ? _next.get() :
+				readChunk(_rowPos, getMaxRows(_rowPos));
+			_next = null;
+			_chunkPos = _rowPos;
+			_rowPos += ret.getNumRows();
+			
+			//asynchronous read of next chunk (reads are sequential per iterator)
+			if( _pool != null && hasNext() ) {
+				final long rl = _rowPos;
+				_next = _pool.submit(() -> readChunk(rl, getMaxRows(rl)));
+			}
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to read matrix chunk at row "+(_rowPos+1)+".", ex);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if( _pool != null ) {
+			if( _next != null ) //wait for pending reads
+				try { _next.get(); } catch(Exception ex) {}
+			_pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Reads the chunk starting at the given row, which is only invoked for
+	 * consecutive chunks and at most once for a given row offset.
+	 * 
+	 * @param rl 0-based start row of the chunk
+	 * @param maxRows maximum number of rows of the chunk
+	 * @return matrix block of the chunk
+	 * @throws IOException if IOException occurs
+	 */
+	protected abstract MatrixBlock readChunk(long rl, int maxRows) 
+		throws IOException;
+	
+	/**
+	 * Allocates a chunk output block, where the sparse/dense representation 
+	 * is determined based on the estimated number of non-zeros of the matrix.
+	 * 
+	 * @param rows number of rows of the chunk
+	 * @param mallocSparse if true and sparse, allocate sparse rows block
+	 * @return allocated matrix block
+	 */
+	protected MatrixBlock createChunkBlock(int rows, boolean mallocSparse) {
+		long lnnz = (long) Math.ceil((double)_estnnz / Math.max(_rlen, 1) * rows);
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rows, _clen, lnnz);
+		MatrixBlock ret = new MatrixBlock(rows, (int)_clen, sparse, lnnz);
+		if( !sparse )
+			ret.allocateDenseBlock();
+		else if( mallocSparse )
+			ret.allocateSparseRowsBlock();
+		return ret;
+	}
+	
+	private int getMaxRows(long rl) {
+		return (int) Math.min(_chunkRows, _rlen - rl);
+	}
+	
+	/**
+	 * Obtains the memory budget of in-memory chunks, i.e., the current
+	 * and a prefetched chunk of default size.
+	 * 
+	 * @return memory budget in bytes
+	 */
+	public static double getChunkMemoryBudget() {
+		return 2 * CHUNK_MEM_FRACTION * OptimizerUtils.getLocalMemBudget();
+	}
+	
+	/**
+	 * Obtains a default number of rows per chunk, such that a chunk 
+	 * fits into a small fraction of the local memory budget.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param nnz number of non-zeros (or -1 if unknown)
+	 * @param brlen number of rows per block (chunks are aligned to multiples)
+	 * @return number of rows per chunk
+	 */
+	public static int getDefaultChunkRows(long rlen, long clen, long nnz, int brlen) {
+		double sp = OptimizerUtils.getSparsity(rlen, clen, nnz);
+		double rowSize = Math.max(OptimizerUtils.estimateSizeExactSparsity(1, clen, sp), 1);
+		long rows = (long)(CHUNK_MEM_FRACTION * OptimizerUtils.getLocalMemBudget() / rowSize);
+		if( brlen > 0 && rows > brlen )
+			rows = rows / brlen * brlen;
+		return (int) Math.max(Math.min(rows, Math.min(rlen, Integer.MAX_VALUE)), 1);
+	}
+	
+	/**
+	 * Obtains the files of a potentially multi-part text file 
+	 * in alphanumeric order, excluding hidden and meta data files.
+	 * 
+	 * @param fs file system
+	 * @param path file or directory path
+	 * @return list of file paths
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("unchecked")
+	protected static List<Path> getSortedFiles(FileSystem fs, Path path) 
+		throws IOException
+	{
+		ArrayList<Path> files = new ArrayList<>();
+		if( fs.isDirectory(path) ) {
+			for( FileStatus stat : fs.listStatus(path, CSVReblockMR.hiddenFileFilter) )
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+	
+	/**
+	 * Sequential line input over all files of a multi-part text file.
+	 */
+	protected static class TextLineInput implements Closeable
+	{
+		private final FileSystem _fs;
+		private final List<Path> _files;
+		private int _pos = 0;
+		private LineReader _reader = null;
+		private boolean _first = false;
+		
+		public TextLineInput(FileSystem fs, List<Path> files) {
+			_fs = fs;
+			_files = files;
+		}
+		
+		/**
+		 * Indicates if the last line is the first line of a file.
+		 * 
+		 * @return true if the current file was just opened
+		 */
+		public boolean isFirstLineOfFile() {
+			return _first;
+		}
+		
+		public int getFileIndex() {
+			return _pos - 1;
+		}
+		
+		public boolean next(Text value) 
+			throws IOException 
+		{
+			_first = false;
+			while( true ) {
+				if( _reader == null ) {
+					if( _pos >= _files.size() )
+						return false;
+					_reader = new LineReader(_fs.open(_files.get(_pos++)));
+					_first = true;
+				}
+				if( _reader.readLine(value) > 0 )
+					return true;
+				IOUtilFunctions.closeSilently(_reader);
+				_reader = null;
+			}
+		}
+		
+		@Override
+		public void close() {
+			IOUtilFunctions.closeSilently(_reader);
+			_reader = null;
+		}
+	}
+}
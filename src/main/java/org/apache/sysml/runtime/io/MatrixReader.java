@@ -61,6 +61,27 @@ public abstract class MatrixReader
 	public abstract MatrixBlock readMatrixFromInputStream( InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz )
 			throws IOException, DMLRuntimeException;
 	
+	/**
+	 * Creates an iterator over consecutive row chunks of the matrix in the 
+	 * given file, which allows out-of-core processing of matrices larger than 
+	 * the local memory budget. Chunked reads require known dimensions.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param brlen number of rows in a block
+	 * @param bclen number of columns in a block
+	 * @param estnnz estimated number of non-zeros
+	 * @param chunkRows maximum number of rows per chunk
+	 * @return chunk iterator, to be closed by the caller
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixChunkIterator readMatrixChunksFromHDFS( String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows )
+		throws IOException 
+	{
+		throw new DMLRuntimeException("Chunked read not supported by "+getClass().getSimpleName()+".");
+	}
+	
 	/**
 	 * NOTE: mallocDense controls if the output matrix blocks is fully allocated, this can be redundant
 	 * if binary block read and single block. 
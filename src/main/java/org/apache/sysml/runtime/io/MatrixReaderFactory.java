@@ -47,6 +47,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV(new FileFormatPropertiesCSV());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
@@ -55,6 +61,18 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( false );
 		}
+		else if( iinfo == InputInfo.ParquetInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+				reader = new ReaderParquetParallel(new FileFormatPropertiesParquet());
+			else
+				reader = new ReaderParquet(new FileFormatPropertiesParquet());
+		}
+		else if( iinfo == InputInfo.LocalBinaryInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) )
+				reader = new ReaderLocalBinaryParallel();
+			else
+				reader = new ReaderLocalBinary();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -84,6 +102,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV( props.formatProperties!=null ? (FileFormatPropertiesCSV)props.formatProperties : new FileFormatPropertiesCSV());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
@@ -92,6 +116,18 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( props.localFS );
 		}
+		else if( iinfo == InputInfo.ParquetInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+				reader = new ReaderParquetParallel( props.formatProperties!=null ? (FileFormatPropertiesParquet)props.formatProperties : new FileFormatPropertiesParquet());
+			else
+				reader = new ReaderParquet( props.formatProperties!=null ? (FileFormatPropertiesParquet)props.formatProperties : new FileFormatPropertiesParquet());
+		}
+		else if( iinfo == InputInfo.LocalBinaryInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) )
+				reader = new ReaderLocalBinaryParallel();
+			else
+				reader = new ReaderLocalBinary();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
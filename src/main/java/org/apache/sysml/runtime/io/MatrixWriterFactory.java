@@ -58,6 +58,12 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterTextCSV((FileFormatPropertiesCSV)props);
 		}
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_TEXTFORMATS) )
+				writer = new WriterTextLIBSVMParallel();
+			else
+				writer = new WriterTextLIBSVM();
+		}
 		else if( oinfo == OutputInfo.BinaryCellOutputInfo ) {
 			writer = new WriterBinaryCell();
 		}
@@ -67,6 +73,16 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterBinaryBlock(replication);
 		}
+		else if( oinfo == OutputInfo.ParquetOutputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+				writer = new WriterParquetParallel();
+			else
+				writer = new WriterParquet();
+		}
+		else if( oinfo == OutputInfo.LocalBinaryOutputInfo ) {
+			//note: single-file format, written sequentially via a file channel
+			writer = new WriterLocalBinary();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
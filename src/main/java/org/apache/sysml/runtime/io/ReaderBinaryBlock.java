@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -87,6 +88,26 @@ public class ReaderBinaryBlock extends MatrixReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		return new BinaryBlockChunkIterator(job, IOUtilFunctions.getSequenceFilePaths(fs, path), 
+			rlen, clen, brlen, bclen, estnnz, chunkRows);
+	}
+	
 	public ArrayList<IndexedMatrixValue> readIndexedMatrixBlocksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
 		throws IOException, DMLRuntimeException 
 	{
@@ -253,4 +274,161 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 		}
 	}
+
+	/**
+	 * Chunk iterator for unordered binary blocks. An initial pass over the keys
+	 * of all sequence files builds an index of row block indexes and record 
+	 * positions per file, which allows reading the blocks of a chunk via seeks
+	 * instead of passes over all files per chunk. Block-compressed files are not
+	 * seekable by record, and hence scanned if they contain blocks of the chunk.
+	 * Chunks are aligned to multiples of the row block size.
+	 */
+	private static class BinaryBlockChunkIterator extends MatrixChunkIterator
+	{
+		private final JobConf _job;
+		private final Path[] _files;
+		private final int _brlen;
+		private final int _bclen;
+		private final SequenceFile.Reader[] _readers;
+		private long[][] _rix = null; //row block indexes per file
+		private long[][] _pos = null; //record positions per file (null if not seekable)
+		
+		public BinaryBlockChunkIterator(JobConf job, Path[] files, long rlen, long clen, 
+			int brlen, int bclen, long estnnz, int chunkRows) 
+		{
+			super(rlen, clen, estnnz, Math.max(chunkRows / brlen, 1) * brlen);
+			_job = job;
+			_files = files;
+			_brlen = brlen;
+			_bclen = bclen;
+			_readers = new SequenceFile.Reader[files.length];
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			if( _rix == null )
+				buildIndex();
+			
+			MatrixBlock ret = createChunkBlock(maxRows, false);
+			boolean sparse = ret.isInSparseFormat();
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = getReuseBlock(_brlen, _bclen, sparse);
+			long bl = rl / _brlen + 1;
+			long bu = (rl + maxRows - 1) / _brlen + 1;
+			long lnnz = 0;
+			
+			for( int k=0; k<_files.length; k++ ) {
+				if( !containsBlocks(_rix[k], bl, bu) )
+					continue;
+				if( _pos[k] != null ) {
+					//seek to the blocks of the chunk (in file order)
+					SequenceFile.Reader reader = getReader(k);
+					for( int i=0; i<_rix[k].length; i++ ) {
+						if( _rix[k][i] < bl || _rix[k][i] > bu )
+							continue;
+						reader.seek(_pos[k][i]);
+						reader.next(key, value);
+						lnnz += copyBlock(ret, key, value, rl, maxRows, sparse);
+					}
+				}
+				else {
+					//scan entire file, retaining blocks of the chunk
+					SequenceFile.Reader reader = new SequenceFile
+						.Reader(_job, SequenceFile.Reader.file(_files[k]));
+					try {
+						while( reader.next(key, value) )
+							if( key.getRowIndex() >= bl && key.getRowIndex() <= bu )
+								lnnz += copyBlock(ret, key, value, rl, maxRows, sparse);
+					}
+					finally {
+						IOUtilFunctions.closeSilently(reader);
+					}
+				}
+			}
+			
+			ret.setNonZeros(lnnz);
+			if( sparse && _clen > _bclen )
+				ret.sortSparseRows();
+			ret.examSparsity();
+			return ret;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			super.close();
+			for( int k=0; k<_readers.length; k++ ) {
+				IOUtilFunctions.closeSilently(_readers[k]);
+				_readers[k] = null;
+			}
+		}
+		
+		private void buildIndex() throws IOException {
+			_rix = new long[_files.length][];
+			_pos = new long[_files.length][];
+			MatrixIndexes key = new MatrixIndexes();
+			for( int k=0; k<_files.length; k++ ) {
+				SequenceFile.Reader reader = new SequenceFile
+					.Reader(_job, SequenceFile.Reader.file(_files[k]));
+				try {
+					//read keys only (values are skipped)
+					long[] rix = new long[16];
+					long[] pos = new long[16];
+					int len = 0;
+					for( long p = reader.getPosition(); reader.next(key); p = reader.getPosition() ) {
+						if( len == rix.length ) {
+							rix = Arrays.copyOf(rix, 2*len);
+							pos = Arrays.copyOf(pos, 2*len);
+						}
+						rix[len] = key.getRowIndex();
+						pos[len++] = p;
+					}
+					_rix[k] = Arrays.copyOf(rix, len);
+					_pos[k] = reader.isBlockCompressed() ? null : Arrays.copyOf(pos, len);
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+				}
+			}
+		}
+		
+		private SequenceFile.Reader getReader(int k) throws IOException {
+			if( _readers[k] == null )
+				_readers[k] = new SequenceFile.Reader(_job, SequenceFile.Reader.file(_files[k]));
+			return _readers[k];
+		}
+		
+		private static boolean containsBlocks(long[] rix, long bl, long bu) {
+			for( long ix : rix )
+				if( ix >= bl && ix <= bu )
+					return true;
+			return false;
+		}
+		
+		private long copyBlock(MatrixBlock ret, MatrixIndexes key, MatrixBlock value, long rl, int maxRows, boolean sparse) 
+			throws IOException
+		{
+			//filter empty blocks
+			if( value.isEmptyBlock(false) )
+				return 0;
+			int row_offset = (int)((key.getRowIndex()-1)*_brlen - rl);
+			int col_offset = (int)(key.getColumnIndex()-1)*_bclen;
+			int rows = value.getNumRows();
+			int cols = value.getNumColumns();
+			
+			//bound check per block
+			if( row_offset + rows > maxRows || col_offset + cols > _clen )
+				throw new IOException("Matrix block ["+(rl+row_offset+1)+":"+(rl+row_offset+rows)+","
+					+(col_offset+1)+":"+(col_offset+cols)+"] out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+			
+			//copy block to result
+			if( sparse )
+				ret.appendToSparse(value, row_offset, col_offset);
+			else
+				ret.copy(row_offset, row_offset+rows-1, 
+					col_offset, col_offset+cols-1, value, false);
+			return value.getNonZeros();
+		}
+	}
 }
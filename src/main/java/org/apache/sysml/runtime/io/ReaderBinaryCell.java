@@ -67,6 +67,22 @@ public class ReaderBinaryCell extends MatrixReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 	
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		return new BinaryCellChunkIterator(job, IOUtilFunctions.getSequenceFilePaths(fs, path), 
+			rlen, clen, estnnz, chunkRows);
+	}
+	
 	@SuppressWarnings("deprecation")
 	private static void readBinaryCellMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen )
 		throws IOException
@@ -130,4 +146,73 @@ public class ReaderBinaryCell extends MatrixReader
 			}
 		}
 	}
+
+	/**
+	 * Chunk iterator for unordered binary cells, which requires a pass over 
+	 * the sequence files per chunk, where we only retain cells of the chunk 
+	 * row range. The row ranges per file are collected during the first pass,
+	 * which allows skipping files without cells in subsequent chunks.
+	 */
+	private static class BinaryCellChunkIterator extends MatrixChunkIterator
+	{
+		private final JobConf _job;
+		private final Path[] _files;
+		private long[] _minRows = null; //min row per file (after first pass)
+		private long[] _maxRows = null; //max row per file (after first pass)
+		
+		public BinaryCellChunkIterator(JobConf job, Path[] files, long rlen, long clen, long estnnz, int chunkRows) {
+			super(rlen, clen, estnnz, chunkRows);
+			_job = job;
+			_files = files;
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			MatrixBlock ret = createChunkBlock(maxRows, false);
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixCell value = new MatrixCell();
+			long ru = rl + maxRows;
+			boolean first = (_minRows == null);
+			if( first ) {
+				_minRows = new long[_files.length];
+				_maxRows = new long[_files.length];
+			}
+			
+			for( int k=0; k<_files.length; k++ ) {
+				//skip files without cells in the chunk row range
+				if( !first && (_maxRows[k] < rl || _minRows[k] >= ru) )
+					continue;
+				long minRow = Long.MAX_VALUE, maxRow = -1;
+				SequenceFile.Reader reader = new SequenceFile
+					.Reader(_job, SequenceFile.Reader.file(_files[k]));
+				try {
+					while( reader.next(key, value) ) {
+						long row = key.getRowIndex()-1;
+						long col = key.getColumnIndex()-1;
+						if( row < 0 || row >= _rlen || col < 0 || col >= _clen )
+							throw new IOException("Matrix cell ["+(row+1)+","+(col+1)+"] " 
+								+ "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+						if( row >= rl && row < ru )
+							ret.appendValue((int)(row-rl), (int)col, value.getValue());
+						minRow = Math.min(minRow, row);
+						maxRow = Math.max(maxRow, row);
+					}
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+				}
+				if( first ) {
+					_minRows[k] = minRow;
+					_maxRows[k] = maxRow;
+				}
+			}
+			
+			if( ret.isInSparseFormat() )
+				ret.sortSparseRows();
+			ret.examSparsity();
+			return ret;
+		}
+	}
 }
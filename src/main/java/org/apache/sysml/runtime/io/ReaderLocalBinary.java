@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+
+/**
+ * Reader for the local binary format (see {@link WriterLocalBinary}), which
+ * maps the row blocks of a local file into memory and bulk-copies dense rows, 
+ * CSR row pointers, column indexes, and values directly into the arrays of 
+ * the output matrix block. In contrast to the binary block reader, this avoids
+ * the hadoop stream and writable deserialization path as well as any per-block
+ * object allocation. Sparse matrices are read into a single CSR sparse block,
+ * allocated with the exact number of non-zeros from the file header.
+ */
+public class ReaderLocalBinary extends MatrixReader
+{
+	@Override
+	public final MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		File file = IOUtilFunctions.getLocalFile(fs, path);
+		
+		try( RandomAccessFile raf = new RandomAccessFile(file, "r") ) {
+			FileChannel ch = raf.getChannel();
+			
+			//read header and index footer
+			ByteBuffer header = map(ch, 0, WriterLocalBinary.HEADER_SIZE);
+			if( header.getInt(0) != WriterLocalBinary.MAGIC || header.getInt(4) != WriterLocalBinary.VERSION )
+				throw new IOException("File "+path.toString()+" is not a valid local binary file.");
+			long nrow = header.getLong(8);
+			long ncol = header.getLong(16);
+			long nnz = header.getLong(24);
+			boolean sparse = header.getInt(32) != 0;
+			long[][] index = readIndex(ch, header.getLong(40), header.getInt(36));
+			
+			//sanity check of compiled dimensions (if known) against header
+			if( (rlen > 0 && rlen != nrow) || (clen > 0 && clen != ncol) )
+				throw new IOException("Local binary file "+path.toString()+" has dimensions "
+					+nrow+"x"+ncol+" but expected "+rlen+"x"+clen+".");
+			if( !OptimizerUtils.isValidCPDimensions(nrow, ncol) || (sparse && nnz > Integer.MAX_VALUE) )
+				throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow+" x "+ncol);
+			
+			//allocate output matrix block in the representation of the file
+			MatrixBlock ret = null;
+			if( sparse ) {
+				ret = new MatrixBlock((int)nrow, (int)ncol, nnz, new SparseBlockCSR(
+					new int[(int)nrow+1], new int[(int)nnz], new double[(int)nnz], (int)nnz));
+			}
+			else {
+				ret = new MatrixBlock((int)nrow, (int)ncol, false, nnz);
+				ret.allocateDenseBlock();
+			}
+			
+			//core read (sequential/parallel)
+			readLocalBinaryMatrixFromFile(ch, index, ret);
+			ret.setNonZeros(nnz);
+			
+			return ret;
+		}
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//the local binary format requires random access via file channels
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+	
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		File file = IOUtilFunctions.getLocalFile(fs, path);
+		
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel ch = raf.getChannel();
+			ByteBuffer header = map(ch, 0, WriterLocalBinary.HEADER_SIZE);
+			if( header.getInt(0) != WriterLocalBinary.MAGIC || header.getInt(4) != WriterLocalBinary.VERSION )
+				throw new IOException("File "+path.toString()+" is not a valid local binary file.");
+			long nrow = header.getLong(8);
+			long ncol = header.getLong(16);
+			if( (rlen > 0 && rlen != nrow) || (clen > 0 && clen != ncol) )
+				throw new IOException("Local binary file "+path.toString()+" has dimensions "
+					+nrow+"x"+ncol+" but expected "+rlen+"x"+clen+".");
+			long[][] index = readIndex(ch, header.getLong(40), header.getInt(36));
+			return new LocalBinaryChunkIterator(raf, index, nrow, ncol, 
+				header.getLong(24), header.getInt(32) != 0, chunkRows);
+		}
+		catch(IOException ex) {
+			IOUtilFunctions.closeSilently(raf);
+			throw ex;
+		}
+	}
+	
+	protected void readLocalBinaryMatrixFromFile(FileChannel ch, long[][] index, MatrixBlock dest)
+		throws IOException
+	{
+		long[] nnzOffsets = computeNnzOffsets(index);
+		for( int i=0; i<index.length; i++ )
+			readRowBlock(ch, index[i], nnzOffsets[i], dest);
+	}
+	
+	/**
+	 * Reads a single row block into its row range of the target block. Dense
+	 * rows and CSR arrays are bulk-copied from the mapped region, where the 
+	 * block-local row pointers of sparse blocks are shifted by the number of 
+	 * non-zeros of all preceding row blocks.
+	 * 
+	 * @param ch file channel
+	 * @param blk index entry of the row block (rl, nrows, nnz, offset, length)
+	 * @param nnzOffset number of non-zeros in preceding row blocks 
+	 * @param dest output matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void readRowBlock(FileChannel ch, long[] blk, long nnzOffset, MatrixBlock dest) 
+		throws IOException
+	{
+		int rl = (int)blk[0], nrows = (int)blk[1], nnz = (int)blk[2];
+		int clen = dest.getNumColumns();
+		if( blk[4] == 0 || (dest.isInSparseFormat() && nnz == 0) ) {
+			//empty row block, but fill row pointers of sparse blocks
+			if( dest.isInSparseFormat() )
+				fillRowPointers((SparseBlockCSR)dest.getSparseBlock(), rl, nrows, (int)nnzOffset);
+			return;
+		}
+		ByteBuffer buff = map(ch, blk[3], blk[4]);
+		
+		if( dest.isInSparseFormat() ) { //SPARSE
+			SparseBlockCSR a = (SparseBlockCSR) dest.getSparseBlock();
+			int off = (int)nnzOffset;
+			//row pointers (w/o leading zero) shifted to global positions
+			IntBuffer ibuff = buff.asIntBuffer();
+			int[] rptr = a.rowPointers();
+			ibuff.position(1);
+			ibuff.get(rptr, rl+1, nrows);
+			if( off > 0 )
+				for( int i=rl+1; i<=rl+nrows; i++ )
+					rptr[i] += off;
+			//column indexes and values
+			ibuff.get(a.indexes(), off, nnz);
+			buff.position(WriterLocalBinary.getSparseValuesOffset(nrows, nnz));
+			buff.asDoubleBuffer().get(a.values(), off, nnz);
+		}
+		else { //DENSE
+			DoubleBuffer dbuff = buff.asDoubleBuffer();
+			DenseBlock a = dest.getDenseBlock();
+			if( a.isContiguous(rl, rl+nrows-1) )
+				dbuff.get(a.values(rl), a.pos(rl), nrows*clen);
+			else
+				for( int i=rl; i<rl+nrows; i++ )
+					dbuff.get(a.values(i), a.pos(i), clen);
+		}
+	}
+	
+	protected static long[] computeNnzOffsets(long[][] index) {
+		long[] ret = new long[index.length];
+		for( int i=1; i<index.length; i++ )
+			ret[i] = ret[i-1] + index[i-1][2];
+		return ret;
+	}
+	
+	private static void fillRowPointers(SparseBlockCSR a, int rl, int nrows, int off) {
+		int[] rptr = a.rowPointers();
+		for( int i=rl+1; i<=rl+nrows; i++ )
+			rptr[i] = off;
+	}
+	
+	private static long[][] readIndex(FileChannel ch, long off, int nblocks) 
+		throws IOException
+	{
+		long[][] ret = new long[nblocks][5];
+		if( nblocks > 0 ) {
+			ByteBuffer buff = map(ch, off, (long)nblocks*WriterLocalBinary.INDEX_ENTRY_SIZE);
+			for( int i=0; i<nblocks; i++ )
+				for( int j=0; j<5; j++ )
+					ret[i][j] = buff.getLong();
+		}
+		return ret;
+	}
+	
+	private static ByteBuffer map(FileChannel ch, long off, long len) 
+		throws IOException
+	{
+		//note: mapped regions are released on garbage collection of the buffer
+		return ch.map(MapMode.READ_ONLY, off, len)
+			.order(WriterLocalBinary.BYTE_ORDER);
+	}
+
+	/**
+	 * Chunk iterator over groups of consecutive row blocks, where each
+	 * chunk comprises at least one row block of the file.
+	 */
+	private static class LocalBinaryChunkIterator extends MatrixChunkIterator
+	{
+		private final RandomAccessFile _raf;
+		private final long[][] _index;
+		private final boolean _sparse;
+		private int _blkPos = 0;
+		
+		public LocalBinaryChunkIterator(RandomAccessFile raf, long[][] index, 
+			long rlen, long clen, long nnz, boolean sparse, int chunkRows) 
+		{
+			super(rlen, clen, nnz, chunkRows);
+			_raf = raf;
+			_index = index;
+			_sparse = sparse;
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			//determine consecutive row blocks of the chunk
+			int bl = _blkPos, bu = _blkPos;
+			int nrows = 0;
+			long nnz = 0;
+			do {
+				nrows += (int)_index[bu][1];
+				nnz += _index[bu][2];
+				bu++;
+			} while( bu < _index.length && nrows + _index[bu][1] <= maxRows );
+			_blkPos = bu;
+			
+			//allocate output chunk in the representation of the file
+			MatrixBlock ret = null;
+			if( _sparse ) {
+				ret = new MatrixBlock(nrows, (int)_clen, nnz, new SparseBlockCSR(
+					new int[nrows+1], new int[(int)nnz], new double[(int)nnz], (int)nnz));
+			}
+			else {
+				ret = new MatrixBlock(nrows, (int)_clen, false, nnz);
+				ret.allocateDenseBlock();
+			}
+			
+			//read row blocks w/ chunk-local row and nnz offsets
+			FileChannel ch = _raf.getChannel();
+			long nnzOffset = 0;
+			for( int i=bl; i<bu; i++ ) {
+				long[] blk = _index[i].clone();
+				blk[0] -= rl;
+				readRowBlock(ch, blk, nnzOffset, ret);
+				nnzOffset += blk[2];
+			}
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+		
+		@Override
+		public void close() 
+			throws IOException 
+		{
+			super.close();
+			_raf.close();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded local binary reader, which reads row blocks in parallel. 
+ * Since the row and non-zero offsets of all row blocks are known from the 
+ * index footer, every task directly copies into its disjoint row range of 
+ * the dense block or CSR arrays, using a shared file channel.
+ */
+public class ReaderLocalBinaryParallel extends ReaderLocalBinary
+{
+	private int _numThreads = 1;
+	
+	public ReaderLocalBinaryParallel() {
+		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+	}
+	
+	@Override
+	protected void readLocalBinaryMatrixFromFile(FileChannel ch, long[][] index, MatrixBlock dest)
+		throws IOException
+	{
+		//fall back to sequential read if single row block
+		if( _numThreads <= 1 || index.length <= 1 ) {
+			super.readLocalBinaryMatrixFromFile(ch, index, dest);
+			return;
+		}
+		
+		//create read tasks for all row blocks
+		long[] nnzOffsets = computeNnzOffsets(index);
+		ArrayList<ReadRowBlockTask> tasks = new ArrayList<>();
+		for( int i=0; i<index.length; i++ )
+			tasks.add(new ReadRowBlockTask(ch, index[i], nnzOffsets[i], dest));
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(Math.min(_numThreads, tasks.size()));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//check for exceptions
+			for( Future<Object> task : rt )
+				task.get();
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of local binary input.", e);
+		}
+	}
+	
+	private static class ReadRowBlockTask implements Callable<Object> 
+	{
+		private final FileChannel _ch;
+		private final long[] _blk;
+		private final long _nnzOffset;
+		private final MatrixBlock _dest;
+		
+		public ReadRowBlockTask(FileChannel ch, long[] blk, long nnzOffset, MatrixBlock dest) {
+			_ch = ch;
+			_blk = blk;
+			_nnzOffset = nnzOffset;
+			_dest = dest;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			readRowBlock(_ch, _blk, _nnzOffset, _dest);
+			return null;
+		}
+	}
+}
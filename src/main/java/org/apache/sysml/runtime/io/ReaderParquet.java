@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Reader for columnar parquet files, where each (numeric) leaf column of 
+ * the parquet schema is read into a matrix column. The reader only decodes 
+ * the column chunks of the selected columns (all columns or a column range 
+ * pushed down from the compiled program), and null values are read as zeros.
+ */
+public class ReaderParquet extends MatrixReader
+{
+	protected final FileFormatPropertiesParquet _props;
+	
+	public ReaderParquet(FileFormatPropertiesParquet props) {
+		_props = (props != null) ? props : new FileFormatPropertiesParquet();
+	}
+	
+	@Override
+	public final MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//read footers and obtain projected columns
+		Path[] files = IOUtilFunctions.getParquetFilePaths(fs, path);
+		ParquetMetadata[] footers = IOUtilFunctions.readParquetFooters(files, job);
+		ColumnDescriptor[] cols = IOUtilFunctions.getParquetColumns(
+			footers[0].getFileMetaData().getSchema(), _props);
+		long nrow = 0;
+		for( ParquetMetadata footer : footers )
+			nrow += IOUtilFunctions.getParquetNumRows(footer);
+		checkValidDimensions(path, nrow, cols.length, rlen, clen);
+		
+		//allocate output matrix block (w/o nnz info, we assume a dense 
+		//output similar to csv because parquet does not maintain zero counts)
+		MatrixBlock ret = createOutputMatrixBlock(nrow, cols.length, (int)nrow,
+			cols.length, (estnnz >= 0) ? estnnz : nrow*cols.length, true, true);
+		
+		//core read (sequential/parallel)
+		long lnnz = readParquetMatrixFromHDFS(files, footers, cols, job, ret);
+		
+		//finally check if change of sparse/dense block representation required
+		ret.setNonZeros(lnnz);
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//parquet requires random access to the file footer
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+	
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//read footers and obtain projected columns
+		Path[] files = IOUtilFunctions.getParquetFilePaths(fs, path);
+		ParquetMetadata[] footers = IOUtilFunctions.readParquetFooters(files, job);
+		ColumnDescriptor[] cols = IOUtilFunctions.getParquetColumns(
+			footers[0].getFileMetaData().getSchema(), _props);
+		long nrow = 0;
+		for( ParquetMetadata footer : footers )
+			nrow += IOUtilFunctions.getParquetNumRows(footer);
+		checkValidDimensions(path, nrow, cols.length, rlen, clen);
+		
+		return new ParquetChunkIterator(job, files, footers, cols, nrow, 
+			(estnnz >= 0) ? estnnz : nrow*cols.length, chunkRows);
+	}
+	
+	protected long readParquetMatrixFromHDFS(Path[] files, ParquetMetadata[] footers, 
+			ColumnDescriptor[] cols, JobConf job, MatrixBlock dest)
+		throws IOException
+	{
+		long lnnz = 0;
+		for( int i=0, rpos=0; i<files.length; i++ ) {
+			FileMetaData fmeta = footers[i].getFileMetaData();
+			ParquetFileReader reader = new ParquetFileReader(job, fmeta, 
+				files[i], footers[i].getBlocks(), Arrays.asList(cols));
+			try {
+				for( BlockMetaData block : footers[i].getBlocks() ) {
+					lnnz += readParquetRowGroup(reader.readNextRowGroup(),
+						fmeta.getSchema(), fmeta.getCreatedBy(), cols, dest, rpos);
+					rpos += block.getRowCount();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		return lnnz;
+	}
+	
+	/**
+	 * Obtains all non-empty row groups of a parquet file or directory with 
+	 * their global row offsets from the file footers, which allows reading 
+	 * individual row groups independently (e.g., in spark executors).
+	 * 
+	 * @param fname file name
+	 * @return list of row groups in row order
+	 * @throws IOException if IOException occurs
+	 */
+	public static List<ParquetRowGroup> getParquetRowGroups(String fname) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		Path[] files = IOUtilFunctions.getParquetFilePaths(fs, path);
+		ParquetMetadata[] footers = IOUtilFunctions.readParquetFooters(files, job);
+		
+		ArrayList<ParquetRowGroup> ret = new ArrayList<>();
+		long rpos = 0;
+		for( int i=0; i<files.length; i++ ) {
+			List<BlockMetaData> blocks = footers[i].getBlocks();
+			for( int j=0; j<blocks.size(); j++ ) {
+				long nrow = blocks.get(j).getRowCount();
+				if( nrow > 0 )
+					ret.add(new ParquetRowGroup(files[i].toString(), j, rpos, nrow));
+				rpos += nrow;
+			}
+		}
+		return ret;
+	}
+	
+	/**
+	 * Reads a single row group of a parquet file into a new matrix block.
+	 * 
+	 * @param rg row group
+	 * @param props file format properties (optional column projection)
+	 * @return matrix block of the row group
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readParquetRowGroup(ParquetRowGroup rg, FileFormatPropertiesParquet props) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(rg.getFile());
+		ParquetMetadata footer = IOUtilFunctions.readParquetFooters(new Path[]{path}, job)[0];
+		FileMetaData fmeta = footer.getFileMetaData();
+		ColumnDescriptor[] cols = IOUtilFunctions.getParquetColumns(fmeta.getSchema(), props);
+		
+		//read row group into dense block and convert if necessary
+		MatrixBlock ret = new MatrixBlock((int)rg.getNumRows(), cols.length, false);
+		ret.allocateDenseBlock();
+		ParquetFileReader reader = createRowGroupReader(job, path, 
+			footer, footer.getBlocks().get(rg.getIndex()), cols);
+		try {
+			ret.setNonZeros(readParquetRowGroup(reader.readNextRowGroup(),
+				fmeta.getSchema(), fmeta.getCreatedBy(), cols, ret, 0));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		ret.examSparsity();
+		return ret;
+	}
+	
+	protected static ParquetFileReader createRowGroupReader(JobConf job, Path file, 
+			ParquetMetadata footer, BlockMetaData block, ColumnDescriptor[] cols) 
+		throws IOException 
+	{
+		return new ParquetFileReader(job, footer.getFileMetaData(), 
+			file, Collections.singletonList(block), Arrays.asList(cols));
+	}
+	
+	/**
+	 * Reads a single row group into the given row range of the target block. 
+	 * We interleave the column readers of all selected columns in order to
+	 * write the output in row-major order (contiguous dense rows and ordered 
+	 * sparse row appends), while the individual columns are decoded 
+	 * independently of other non-selected columns.
+	 * 
+	 * @param pages column chunks of the row group
+	 * @param schema file schema
+	 * @param createdBy file writer identifier
+	 * @param cols selected leaf columns
+	 * @param dest output matrix block
+	 * @param rl row offset of the row group
+	 * @return number of non-zeros read
+	 * @throws IOException if IOException occurs
+	 */
+	protected static long readParquetRowGroup(PageReadStore pages, MessageType schema, 
+			String createdBy, ColumnDescriptor[] cols, MatrixBlock dest, int rl)
+		throws IOException
+	{
+		ColumnReadStoreImpl store = new ColumnReadStoreImpl(pages, 
+			new GroupRecordConverter(schema).getRootConverter(), schema, createdBy);
+		int nrow = (int)pages.getRowCount();
+		int ncol = cols.length;
+		
+		//prepare column readers
+		ColumnReader[] readers = new ColumnReader[ncol];
+		PrimitiveTypeName[] types = new PrimitiveTypeName[ncol];
+		int[] maxDefs = new int[ncol];
+		for( int j=0; j<ncol; j++ ) {
+			readers[j] = store.getColumnReader(cols[j]);
+			types[j] = cols[j].getType();
+			maxDefs[j] = cols[j].getMaxDefinitionLevel();
+			if( types[j] == PrimitiveTypeName.BINARY || types[j] == PrimitiveTypeName.INT96
+				|| types[j] == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY )
+				throw new IOException("Unsupported non-numeric parquet column "
+					+ Arrays.toString(cols[j].getPath())+" of type "+types[j]+".");
+		}
+		
+		long lnnz = 0;
+		if( dest.isInSparseFormat() ) { //SPARSE
+			SparseBlock a = dest.getSparseBlock();
+			for( int i=rl; i<rl+nrow; i++ )
+				for( int j=0; j<ncol; j++ ) {
+					ColumnReader cr = readers[j];
+					if( cr.getCurrentDefinitionLevel() == maxDefs[j] ) {
+						double v = IOUtilFunctions.getParquetDouble(cr, types[j]);
+						if( v != 0 ) {
+							a.append(i, j, v);
+							lnnz++;
+						}
+					}
+					cr.consume();
+				}
+		}
+		else { //DENSE
+			DenseBlock a = dest.getDenseBlock();
+			for( int i=rl; i<rl+nrow; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<ncol; j++ ) {
+					ColumnReader cr = readers[j];
+					if( cr.getCurrentDefinitionLevel() == maxDefs[j] ) {
+						double v = IOUtilFunctions.getParquetDouble(cr, types[j]);
+						avals[aix+j] = v;
+						lnnz += (v != 0) ? 1 : 0;
+					}
+					cr.consume();
+				}
+			}
+		}
+		return lnnz;
+	}
+	
+	protected static void checkValidDimensions(Path path, long nrow, long ncol, long rlen, long clen) 
+		throws IOException 
+	{
+		//sanity check of compiled dimensions (if known) against parquet footers
+		if( (rlen > 0 && rlen != nrow) || (clen > 0 && clen != ncol) )
+			throw new IOException("Parquet file "+path.toString()+" has dimensions "
+				+nrow+"x"+ncol+" but expected "+rlen+"x"+clen+".");
+	}
+
+	/**
+	 * Row group of a parquet file (index within the file) with its global 
+	 * 0-based row offset and number of rows.
+	 */
+	public static class ParquetRowGroup implements Serializable
+	{
+		private static final long serialVersionUID = -2911254896325541937L;
+		
+		private final String _file;
+		private final int _index;
+		private final long _rl;
+		private final long _nrow;
+		
+		public ParquetRowGroup(String file, int index, long rl, long nrow) {
+			_file = file;
+			_index = index;
+			_rl = rl;
+			_nrow = nrow;
+		}
+		
+		public String getFile() {
+			return _file;
+		}
+		
+		public int getIndex() {
+			return _index;
+		}
+		
+		public long getRowOffset() {
+			return _rl;
+		}
+		
+		public long getNumRows() {
+			return _nrow;
+		}
+	}
+	
+	/**
+	 * Chunk iterator over groups of consecutive row groups, where each
+	 * chunk comprises at least one row group.
+	 */
+	private static class ParquetChunkIterator extends MatrixChunkIterator
+	{
+		private final JobConf _job;
+		private final Path[] _files;
+		private final ParquetMetadata[] _footers;
+		private final ColumnDescriptor[] _cols;
+		private int _filePos = 0;
+		private int _blkPos = 0;
+		private ParquetFileReader _reader = null;
+		
+		public ParquetChunkIterator(JobConf job, Path[] files, ParquetMetadata[] footers, 
+			ColumnDescriptor[] cols, long rlen, long estnnz, int chunkRows) 
+		{
+			super(rlen, cols.length, estnnz, chunkRows);
+			_job = job;
+			_files = files;
+			_footers = footers;
+			_cols = cols;
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			//determine consecutive row groups of the chunk
+			int nrows = 0;
+			_filePos = skipEmptyFiles(_filePos);
+			int fpos = _filePos, bpos = _blkPos;
+			do {
+				nrows += (int)_footers[fpos].getBlocks().get(bpos).getRowCount();
+				if( ++bpos >= _footers[fpos].getBlocks().size() ) {
+					fpos = skipEmptyFiles(fpos+1); bpos = 0;
+				}
+			} while( fpos < _files.length && nrows 
+				+ _footers[fpos].getBlocks().get(bpos).getRowCount() <= maxRows );
+			
+			//read row groups into the output chunk
+			MatrixBlock ret = createChunkBlock(nrows, true);
+			long lnnz = 0;
+			for( int rpos=0; rpos<nrows; ) {
+				if( _reader == null ) {
+					_reader = new ParquetFileReader(_job, _footers[_filePos].getFileMetaData(),
+						_files[_filePos], _footers[_filePos].getBlocks(), Arrays.asList(_cols));
+				}
+				FileMetaData fmeta = _footers[_filePos].getFileMetaData();
+				lnnz += readParquetRowGroup(_reader.readNextRowGroup(),
+					fmeta.getSchema(), fmeta.getCreatedBy(), _cols, ret, rpos);
+				rpos += _footers[_filePos].getBlocks().get(_blkPos).getRowCount();
+				if( ++_blkPos >= _footers[_filePos].getBlocks().size() ) {
+					IOUtilFunctions.closeSilently(_reader);
+					_reader = null;
+					_filePos = skipEmptyFiles(_filePos+1); _blkPos = 0;
+				}
+			}
+			
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			return ret;
+		}
+		
+		private int skipEmptyFiles(int fpos) {
+			while( fpos < _files.length && _footers[fpos].getBlocks().isEmpty() )
+				fpos++;
+			return fpos;
+		}
+		
+		@Override
+		public void close() 
+			throws IOException 
+		{
+			super.close();
+			IOUtilFunctions.closeSilently(_reader);
+		}
+	}
+}
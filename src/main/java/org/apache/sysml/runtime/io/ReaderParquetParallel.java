@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded parquet reader, which reads row groups in parallel. Since the 
+ * row offsets of all row groups are known from the file footers, every task
+ * directly writes into its disjoint row range of the output block.
+ */
+public class ReaderParquetParallel extends ReaderParquet
+{
+	private int _numThreads = 1;
+	
+	public ReaderParquetParallel(FileFormatPropertiesParquet props) {
+		super(props);
+		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+	}
+	
+	@Override
+	protected long readParquetMatrixFromHDFS(Path[] files, ParquetMetadata[] footers, 
+			ColumnDescriptor[] cols, JobConf job, MatrixBlock dest)
+		throws IOException
+	{
+		//create read tasks for all row groups
+		ArrayList<ReadRowGroupTask> tasks = new ArrayList<>();
+		for( int i=0, rpos=0; i<files.length; i++ )
+			for( BlockMetaData block : footers[i].getBlocks() ) {
+				tasks.add(new ReadRowGroupTask(files[i], job, footers[i], block, cols, dest, rpos));
+				rpos += block.getRowCount();
+			}
+		
+		//fall back to sequential read if single row group
+		if( _numThreads <= 1 || tasks.size() <= 1 )
+			return super.readParquetMatrixFromHDFS(files, footers, cols, job, dest);
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(Math.min(_numThreads, tasks.size()));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for( Future<Long> task : rt )
+				lnnz += task.get();
+			return lnnz;
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of parquet input.", e);
+		}
+	}
+	
+	private static class ReadRowGroupTask implements Callable<Long> 
+	{
+		private final Path _path;
+		private final JobConf _job;
+		private final ParquetMetadata _footer;
+		private final BlockMetaData _block;
+		private final ColumnDescriptor[] _cols;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		
+		public ReadRowGroupTask(Path path, JobConf job, ParquetMetadata footer, 
+				BlockMetaData block, ColumnDescriptor[] cols, MatrixBlock dest, int rl) {
+			_path = path;
+			_job = job;
+			_footer = footer;
+			_block = block;
+			_cols = cols;
+			_dest = dest;
+			_rl = rl;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			FileMetaData fmeta = _footer.getFileMetaData();
+			ParquetFileReader reader = createRowGroupReader(_job, _path, _footer, _block, _cols);
+			try {
+				return readParquetRowGroup(reader.readNextRowGroup(),
+					fmeta.getSchema(), fmeta.getCreatedBy(), _cols, _dest, _rl);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+}
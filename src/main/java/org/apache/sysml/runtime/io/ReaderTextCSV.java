@@ -32,13 +32,16 @@ import org.apache.commons.lang.mutable.MutableInt;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class ReaderTextCSV extends MatrixReader
@@ -95,6 +98,21 @@ public class ReaderTextCSV extends MatrixReader
 		return ret;
 	}
 	
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		return new CSVChunkIterator(fs, path, rlen, clen, estnnz, chunkRows, _props);
+	}
+	
 	@SuppressWarnings("unchecked")
 	private static MatrixBlock readCSVMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, 
 			long rlen, long clen, int brlen, int bclen, boolean hasHeader, String delim, boolean fill, double fillValue )
@@ -135,78 +153,47 @@ public class ReaderTextCSV extends MatrixReader
 		throws IOException
 	{
 		boolean sparse = dest.isInSparseFormat();
-		String value = null;
 		int row = rowPos.intValue();
-		double cellValue = 0;
+		int ncol = (int)clen;
 		long lnnz = 0;
 		
-		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		LineReader br = new LineReader(is);
+		Text value = new Text();
 		if(first && hasHeader ) 
-			br.readLine(); //ignore header
+			br.readLine(value); //ignore header
 		
 		// Read the data
-		boolean emptyValuesFound = false;
+		FastCSVParser parser = new FastCSVParser(delim, fill, fillValue);
 		try
 		{
 			if( sparse ) //SPARSE<-value
 			{
-				while( (value=br.readLine())!=null ) //foreach line
+				double[] rowbuff = new double[ncol];
+				while( br.readLine(value) > 0 ) //foreach line
 				{
-					String cellStr = value.toString().trim();
-					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
-					int col = 0;
+					int lncol = parser.parseDoubleRow(value.getBytes(), value.getLength(), rowbuff, 0, ncol);
 					
-					for(String part : parts) //foreach cell
-					{
-						part = part.trim();
-						if ( part.isEmpty() ) {
-							emptyValuesFound = true;
-							cellValue = fillValue;
-						}
-						else {
-							cellValue = UtilFunctions.parseToDouble(part);
-						}
-						if ( cellValue != 0 ) {
-							dest.appendValue(row, col, cellValue);
+					//sanity checks for empty values and number of columns
+					checkParsedLine(srcInfo, value, lncol, clen, fill, parser.isEmptyFound());
+					for( int col=0; col<ncol; col++ )
+						if( rowbuff[col] != 0 ) {
+							dest.appendValue(row, col, rowbuff[col]);
 							lnnz++;
 						}
-						col++;
-					}
-					
-					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
 					row++;
 				}
 			} 
 			else //DENSE<-value
 			{
 				DenseBlock a = dest.getDenseBlock();
-				while( (value=br.readLine())!=null ) { //foreach line
-					String cellStr = value.toString().trim();
-					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
-					int col = 0;
-					for( String part : parts ) { //foreach cell
-						part = part.trim();
-						if ( part.isEmpty() ) {
-							emptyValuesFound = true;
-							cellValue = fillValue;
-						}
-						else {
-							cellValue = UtilFunctions.parseToDouble(part);
-						}
-						if ( cellValue != 0 ) {
-							a.set(row, col, cellValue);
-							lnnz++;
-						}
-						col++;
-					}
+				while( br.readLine(value) > 0 ) { //foreach line
+					double[] avals = a.values(row);
+					int apos = a.pos(row);
+					int lncol = parser.parseDoubleRow(value.getBytes(), value.getLength(), avals, apos, ncol);
 					
 					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
+					checkParsedLine(srcInfo, value, lncol, clen, fill, parser.isEmptyFound());
+					lnnz += UtilFunctions.computeNnz(avals, apos, ncol);
 					row++;
 				}
 			}
@@ -219,6 +206,16 @@ public class ReaderTextCSV extends MatrixReader
 		return lnnz;
 	}
 
+	private static void checkParsedLine(String srcInfo, Text value, int ncol, long clen, boolean fill, boolean emptyFound) 
+		throws IOException
+	{
+		//materialize the line string only on errors
+		if( !fill && emptyFound )
+			IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value.toString().trim(), fill, emptyFound);
+		if( ncol != clen )
+			IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, value.toString().trim(), ncol, clen);
+	}
+
 	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		throws IOException, DMLRuntimeException 
 	{		
@@ -257,4 +254,85 @@ public class ReaderTextCSV extends MatrixReader
 		return createOutputMatrixBlock(nrow, ncol, 
 			nrow, ncol, (long)nrow*ncol, true, false);
 	}
+
+	/**
+	 * Chunk iterator for a single sequential pass over all csv files.
+	 */
+	private static class CSVChunkIterator extends MatrixChunkIterator
+	{
+		private final String _fname;
+		private final TextLineInput _input;
+		private final FastCSVParser _parser;
+		private final boolean _hasHeader;
+		private final boolean _fill;
+		private final Text _value = new Text();
+		private final double[] _rowbuff;
+		
+		public CSVChunkIterator(FileSystem fs, Path path, long rlen, long clen, long estnnz, int chunkRows, FileFormatPropertiesCSV props) 
+			throws IOException
+		{
+			super(rlen, clen, estnnz, chunkRows);
+			_fname = path.toString();
+			_input = new TextLineInput(fs, getSortedFiles(fs, path));
+			_parser = new FastCSVParser(props.getDelim(), props.isFill(), props.getFillValue());
+			_hasHeader = props.hasHeader();
+			_fill = props.isFill();
+			_rowbuff = new double[(int)clen];
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			MatrixBlock ret = createChunkBlock(maxRows, true);
+			boolean sparse = ret.isInSparseFormat();
+			int ncol = (int)_clen;
+			long lnnz = 0;
+			
+			for( int i=0; i<maxRows; i++ ) {
+				if( !nextLine() )
+					throw new IOException("Read matrix inconsistent with given meta data: "
+						+ "expected nrow="+ _rlen + ", real nrow=" + (rl+i));
+				double[] vals = sparse ? _rowbuff : ret.getDenseBlock().values(i);
+				int pos = sparse ? 0 : ret.getDenseBlock().pos(i);
+				int lncol = _parser.parseDoubleRow(_value.getBytes(), _value.getLength(), vals, pos, ncol);
+				
+				//sanity checks for empty values and number of columns
+				checkParsedLine(_fname, _value, lncol, _clen, _fill, _parser.isEmptyFound());
+				int rnnz = UtilFunctions.computeNnz(vals, pos, ncol);
+				if( sparse && rnnz > 0 ) {
+					SparseBlock sblock = ret.getSparseBlock();
+					sblock.allocate(i, rnnz);
+					for( int j=0; j<ncol; j++ )
+						if( vals[j] != 0 )
+							sblock.append(i, j, vals[j]);
+				}
+				lnnz += rnnz;
+			}
+			
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			return ret;
+		}
+		
+		private boolean nextLine() 
+			throws IOException 
+		{
+			while( _input.next(_value) ) {
+				//skip the header line of the first file
+				if( _hasHeader && _input.getFileIndex()==0 && _input.isFirstLineOfFile() )
+					continue;
+				return true;
+			}
+			return false;
+		}
+		
+		@Override
+		public void close() 
+			throws IOException 
+		{
+			super.close();
+			_input.close();
+		}
+	}
 }
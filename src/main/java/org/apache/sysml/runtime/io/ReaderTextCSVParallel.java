@@ -42,7 +42,9 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
@@ -121,6 +123,15 @@ public class ReaderTextCSVParallel extends MatrixReader
 			.readMatrixFromInputStream(is, rlen, clen, brlen, bclen, estnnz);
 	}
 	
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//sequential chunk reads, parallelism is exploited by the chunk consumers
+		return new ReaderTextCSV(_props)
+			.readMatrixChunksFromHDFS(fname, rlen, clen, brlen, bclen, estnnz, chunkRows);
+	}
+	
 	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, JobConf job, 
 			MatrixBlock dest, long rlen, long clen, int brlen, int bclen, 
 			boolean hasHeader, String delim, boolean fill, double fillValue) 
@@ -383,7 +394,6 @@ public class ReaderTextCSVParallel extends MatrixReader
 		{
 			int row = 0;
 			int col = 0;
-			double cellValue = 0;
 			long lnnz = 0;
 			
 			try 
@@ -401,36 +411,28 @@ public class ReaderTextCSVParallel extends MatrixReader
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
 
 				try {
+					FastCSVParser parser = new FastCSVParser(_delim, _fill, _fillValue);
+					int clen = (int)_clen;
 					if (_sparse) // SPARSE<-value
 					{
+						SparseBlock sb = _dest.getSparseBlock();
+						double[] rowbuff = new double[clen];
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
+							int ncol = parser.parseDoubleRow(value.getBytes(), value.getLength(), rowbuff, 0, clen);
+							noFillEmpty |= !_fill && parser.isEmptyFound();
+							
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							checkParsedLine(value, ncol, noFillEmpty);
 							
+							int rnnz = UtilFunctions.computeNnz(rowbuff, 0, clen);
+							if( rnnz > 0 ) {
+								sb.allocate(row, rnnz);
+								for( col=0; col<clen; col++ )
+									if( rowbuff[col] != 0 )
+										sb.append(row, col, rowbuff[col]);
+								lnnz += rnnz;
+							}
 							row++;
 						}
 					} 
@@ -438,29 +440,15 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						DenseBlock a = _dest.getDenseBlock();
 						while (reader.next(key, value)) { // foreach line
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-							for (String part : parts) { // foreach cell
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									a.set(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
+							double[] avals = a.values(row);
+							int apos = a.pos(row);
+							int ncol = parser.parseDoubleRow(value.getBytes(), value.getLength(), avals, apos, clen);
+							noFillEmpty |= !_fill && parser.isEmptyFound();
+							
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							checkParsedLine(value, ncol, noFillEmpty);
 							
+							lnnz += UtilFunctions.computeNnz(avals, apos, clen);
 							row++;
 						}
 					}
@@ -499,5 +487,15 @@ public class ReaderTextCSVParallel extends MatrixReader
 			
 			return null;
 		}
+		
+		private void checkParsedLine(Text value, int ncol, boolean noFillEmpty) 
+			throws IOException
+		{
+			//materialize the line string only on errors
+			if( noFillEmpty )
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value.toString().trim(), _fill, noFillEmpty);
+			if( ncol != _clen )
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), value.toString().trim(), ncol, _clen);
+		}
 	}
 }
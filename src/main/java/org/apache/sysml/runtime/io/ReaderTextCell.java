@@ -23,6 +23,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.List;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -112,6 +113,26 @@ public class ReaderTextCell extends MatrixReader
 		return ret;
 	}
 
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		FileFormatPropertiesMM mmProps = _isMMFile ?
+			IOUtilFunctions.readAndParseMatrixMarketHeader(fname) : null;
+		if( estnnz < 0 )
+			estnnz = MapReduceTool.estimateNnzBasedOnFileSize(path, rlen, clen, brlen, bclen, 3);
+		
+		return new TextCellChunkIterator(fs, path, rlen, clen, estnnz, chunkRows, mmProps);
+	}
+	
 	protected void readTextCellMatrixFromHDFS( Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int brlen, int bclen )
 		throws IOException
 	{
@@ -271,4 +292,93 @@ public class ReaderTextCell extends MatrixReader
 			IOUtilFunctions.closeSilently(br);
 		}
 	}
+
+	/**
+	 * Chunk iterator for unordered text cells, which requires a pass over 
+	 * the files per chunk, where we only retain cells of the chunk row range.
+	 * The row ranges per file are collected during the first pass, which 
+	 * allows skipping files without cells in subsequent chunks.
+	 */
+	private static class TextCellChunkIterator extends MatrixChunkIterator
+	{
+		private final FileSystem _fs;
+		private final List<Path> _files;
+		private final FileFormatPropertiesMM _mmProps;
+		private final Text _value = new Text();
+		private final FastStringTokenizer _st = new FastStringTokenizer(' ');
+		private IJV _cell = new IJV();
+		private long[] _minRows = null; //min row per file (after first pass)
+		private long[] _maxRows = null; //max row per file (after first pass)
+		
+		public TextCellChunkIterator(FileSystem fs, Path path, long rlen, long clen, long estnnz, int chunkRows, FileFormatPropertiesMM mmProps) 
+			throws IOException
+		{
+			super(rlen, clen, estnnz, chunkRows);
+			_fs = fs;
+			_files = getSortedFiles(fs, path);
+			_mmProps = mmProps;
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			MatrixBlock ret = createChunkBlock(maxRows, false);
+			long ru = rl + maxRows;
+			boolean first = (_minRows == null);
+			if( first ) {
+				_minRows = new long[_files.size()];
+				_maxRows = new long[_files.size()];
+			}
+			
+			for( int k=0; k<_files.size(); k++ ) {
+				//skip files without cells in the chunk row range
+				if( !first && (_maxRows[k] < rl || _minRows[k] >= ru) )
+					continue;
+				long minRow = Long.MAX_VALUE, maxRow = -1;
+				try( TextLineInput input = new TextLineInput(_fs, _files.subList(k, k+1)) ) {
+					//matrix market header only in first file
+					boolean header = (_mmProps != null && k == 0);
+					while( input.next(_value) ) {
+						//skip matrix market header, comments, and dimensions
+						if( header ) {
+							header = (_value.getLength() == 0 || _value.getBytes()[0] == '%');
+							continue;
+						}
+						_cell = parseCell(_value.toString(), _st, _cell, _mmProps);
+						appendChunkCell(ret, _cell.getI(), _cell.getJ(), _cell.getV(), rl, ru);
+						minRow = Math.min(minRow, _cell.getI());
+						maxRow = Math.max(maxRow, _cell.getI());
+						if( _mmProps != null && _mmProps.isSymmetric() && !_cell.onDiag() ) {
+							appendChunkCell(ret, _cell.getJ(), _cell.getI(), _cell.getV(), rl, ru);
+							minRow = Math.min(minRow, _cell.getJ());
+							maxRow = Math.max(maxRow, _cell.getJ());
+						}
+					}
+				}
+				catch(NumberFormatException ex) {
+					throw new IOException("Unable to read matrix chunk in text cell format.", ex);
+				}
+				if( first ) {
+					_minRows[k] = minRow;
+					_maxRows[k] = maxRow;
+				}
+			}
+			
+			if( ret.isInSparseFormat() )
+				ret.sortSparseRows();
+			ret.examSparsity();
+			return ret;
+		}
+		
+		private void appendChunkCell(MatrixBlock ret, long i, long j, double v, long rl, long ru) 
+			throws IOException
+		{
+			if( i < 0 || i >= _rlen || j < 0 || j >= _clen )
+				throw new IOException("Matrix cell ["+(i+1)+","+(j+1)+"] "
+					+ "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+			if( i >= rl && i < ru )
+				ret.appendValue((int)(i-rl), (int)j, v);
+		}
+	}
 }
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.apache.commons.lang.mutable.MutableInt;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Reader for sparse text files in libsvm format, where each line is given
+ * as 'label idx:val ...' with 1-based feature indexes. The label is read
+ * into the last column of the output matrix, i.e., a libsvm file with n
+ * features is read into a matrix with n+1 columns.
+ */
+public class ReaderTextLIBSVM extends MatrixReader
+{
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		checkValidDimensions(rlen, clen);
+		
+		//allocate output matrix block
+		if( estnnz < 0 )
+			estnnz = MapReduceTool.estimateNnzBasedOnFileSize(path, rlen, clen, brlen, bclen, 2);
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, true);
+		
+		//core read 
+		readLIBSVMMatrixFromHDFS(path, job, fs, ret, rlen, clen);
+		
+		//finally check if change of sparse/dense block representation required
+		//(nnz explicitly maintained during read)
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//allocate output matrix block
+		checkValidDimensions(rlen, clen);
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, true);
+		
+		//core read 
+		long lnnz = readLIBSVMMatrixFromInputStream(is, "external inputstream", ret, new MutableInt(0), rlen, clen);
+		
+		//finally check if change of sparse/dense block representation required
+		ret.setNonZeros( lnnz );
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixChunkIterator readMatrixChunksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, int chunkRows) 
+		throws IOException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		checkValidDimensions(rlen, clen);
+		if( estnnz < 0 )
+			estnnz = MapReduceTool.estimateNnzBasedOnFileSize(path, rlen, clen, brlen, bclen, 2);
+		
+		return new LIBSVMChunkIterator(fs, path, rlen, clen, estnnz, chunkRows);
+	}
+	
+	protected static void checkValidDimensions(long rlen, long clen) 
+		throws IOException 
+	{
+		//the number of features is not inferred from the sparse input
+		if( rlen < 0 || clen < 1 )
+			throw new IOException("Matrix dimensions are required for libsvm read: ["+rlen+"x"+clen+"].");
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void readLIBSVMMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen )
+		throws IOException
+	{
+		//prepare file paths in alphanumeric order
+		ArrayList<Path> files=new ArrayList<>();
+		if(fs.isDirectory(path)) {
+			for(FileStatus stat: fs.listStatus(path, CSVReblockMR.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		
+		//actual read of individual files
+		long lnnz = 0;
+		MutableInt row = new MutableInt(0);
+		for( Path file : files )
+			lnnz += readLIBSVMMatrixFromInputStream(fs.open(file), path.toString(), dest, row, rlen, clen);
+		
+		//sanity check number of rows
+		if( row.intValue() != rlen )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + row.intValue());
+		
+		//post processing
+		dest.setNonZeros( lnnz );
+	}
+	
+	private static long readLIBSVMMatrixFromInputStream( InputStream is, String srcInfo, MatrixBlock dest, MutableInt rowPos, long rlen, long clen )
+		throws IOException
+	{
+		boolean sparse = dest.isInSparseFormat();
+		SparseBlock sblock = dest.getSparseBlock();
+		DenseBlock a = dest.getDenseBlock();
+		int row = rowPos.intValue();
+		long lnnz = 0;
+		
+		//reused buffers for parsed rows, upper bound of nnz per line is len/2+1
+		int[] ix = new int[64];
+		double[] vals = new double[64];
+		
+		String value = null;
+		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		try {
+			while( (value=br.readLine())!=null ) { //foreach line
+				if( row >= rlen )
+					throw new IOException("Libsvm input ("+srcInfo+") exceeds the expected number of rows "+rlen+".");
+				if( ix.length < value.length()/2+1 ) {
+					ix = new int[value.length()/2+1];
+					vals = new double[ix.length];
+				}
+				int rnnz = IOUtilFunctions.parseLIBSVMRow(value, ix, vals, 0, (int)clen);
+				if( sparse && rnnz > 0 ) { //SPARSE<-value
+					sblock.allocate(row, rnnz);
+					for( int k=0; k<rnnz; k++ )
+						sblock.append(row, ix[k], vals[k]);
+				}
+				else if( !sparse ) { //DENSE<-value
+					for( int k=0; k<rnnz; k++ )
+						a.set(row, ix[k], vals[k]);
+				}
+				lnnz += rnnz;
+				row++;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		
+		rowPos.setValue(row);
+		return lnnz;
+	}
+
+	/**
+	 * Chunk iterator for a single sequential pass over all libsvm files.
+	 */
+	private static class LIBSVMChunkIterator extends MatrixChunkIterator
+	{
+		private final String _fname;
+		private final TextLineInput _input;
+		private final Text _value = new Text();
+		private int[] _ix = new int[64];
+		private double[] _vals = new double[64];
+		
+		public LIBSVMChunkIterator(FileSystem fs, Path path, long rlen, long clen, long estnnz, int chunkRows) 
+			throws IOException
+		{
+			super(rlen, clen, estnnz, chunkRows);
+			_fname = path.toString();
+			_input = new TextLineInput(fs, getSortedFiles(fs, path));
+		}
+		
+		@Override
+		protected MatrixBlock readChunk(long rl, int maxRows) 
+			throws IOException 
+		{
+			MatrixBlock ret = createChunkBlock(maxRows, true);
+			long lnnz = 0;
+			
+			for( int i=0; i<maxRows; i++ ) {
+				if( !_input.next(_value) )
+					throw new IOException("Libsvm input ("+_fname+") has fewer rows "
+						+ "than the expected number of rows "+_rlen+".");
+				String line = _value.toString();
+				if( _ix.length < line.length()/2+1 ) {
+					_ix = new int[line.length()/2+1];
+					_vals = new double[_ix.length];
+				}
+				int rnnz = IOUtilFunctions.parseLIBSVMRow(line, _ix, _vals, 0, (int)_clen);
+				if( ret.isInSparseFormat() && rnnz > 0 ) { //SPARSE<-value
+					SparseBlock sblock = ret.getSparseBlock();
+					sblock.allocate(i, rnnz);
+					for( int k=0; k<rnnz; k++ )
+						sblock.append(i, _ix[k], _vals[k]);
+				}
+				else if( !ret.isInSparseFormat() ) { //DENSE<-value
+					DenseBlock a = ret.getDenseBlock();
+					for( int k=0; k<rnnz; k++ )
+						a.set(i, _ix[k], _vals[k]);
+				}
+				lnnz += rnnz;
+			}
+			
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			return ret;
+		}
+		
+		@Override
+		public void close() 
+			throws IOException 
+		{
+			super.close();
+			_input.close();
+		}
+	}
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Parallel version of ReaderTextLIBSVM.java. Similar to the parallel csv
+ * reader, we do two passes over the row-partitioned input splits. The first
+ * pass counts the exact number of non-zeros per row (without parsing values),
+ * which determines the row offsets per split, the sparse/dense representation
+ * and the allocation of the output. For CSR, we directly allocate the row
+ * pointers, column indexes and values of the final sparse block, and for MCSR
+ * each row is allocated with its exact size. The second pass then parses the
+ * lines and inserts lock-free into disjoint row ranges. Since libsvm requires
+ * ascending feature indexes and the label is appended as last column, there
+ * is no sorting of sparse rows required.
+ */
+public class ReaderTextLIBSVMParallel extends ReaderTextLIBSVM
+{
+	private int _numThreads = 1;
+	
+	public ReaderTextLIBSVMParallel() {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		if( clen < 1 )
+			throw new IOException("Number of columns required for libsvm read: ["+rlen+"x"+clen+"].");
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			//first read pass (count nnz per row, allocate output)
+			ArrayList<CountNnzTask> ctasks = new ArrayList<>();
+			for( InputSplit split : splits )
+				ctasks.add(new CountNnzTask(split, informat, job));
+			for( Future<Object> task : pool.invokeAll(ctasks) )
+				task.get();
+			
+			int[] offsets = new int[splits.length];
+			int[] rnnz = aggregateRowCounts(ctasks, offsets, rlen);
+			long nnz = 0;
+			for( int i=0; i<rnnz.length; i++ )
+				nnz += rnnz[i];
+			MatrixBlock ret = createOutputMatrixBlock(rnnz, (int)clen, nnz);
+			
+			//second read pass (parse and insert into disjoint rows)
+			ArrayList<ReadTask> rtasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				rtasks.add(new ReadTask(splits[i], informat, job, ret, rnnz, offsets[i], (int)clen));
+			for( Future<Object> task : pool.invokeAll(rtasks) )
+				task.get();
+			
+			//post-processing (nnz exact from first pass)
+			ret.setNonZeros(nnz);
+			ret.examSparsity();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of libsvm input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//not implemented yet, fallback to sequential reader
+		return super.readMatrixFromInputStream(is, rlen, clen, brlen, bclen, estnnz);
+	}
+	
+	private static int[] aggregateRowCounts(List<CountNnzTask> tasks, int[] offsets, long rlen) 
+		throws IOException
+	{
+		//compute row offsets per split
+		int nrow = 0;
+		for( int i=0; i<tasks.size(); i++ ) {
+			offsets[i] = nrow;
+			nrow += tasks.get(i).getRowCount();
+		}
+		
+		//robustness for wrong dimensions which are already compiled into the plan
+		if( rlen >= 0 && nrow != rlen ) {
+			String msg = "Read matrix dimensions differ from meta data: nrow="+nrow+" vs "+rlen+".";
+			if( rlen < nrow )
+				throw new DMLRuntimeException(msg);
+			LOG.warn(msg); //padding w/ empty rows
+			nrow = (int) rlen;
+		}
+		
+		//concatenate the nnz per row of all splits
+		int[] rnnz = new int[nrow];
+		for( int i=0; i<tasks.size(); i++ )
+			System.arraycopy(tasks.get(i).getRowNnz(), 0,
+				rnnz, offsets[i], tasks.get(i).getRowCount());
+		return rnnz;
+	}
+	
+	private static MatrixBlock createOutputMatrixBlock(int[] rnnz, int clen, long nnz) 
+		throws IOException
+	{
+		int nrow = rnnz.length;
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(nrow, clen, nnz);
+		
+		//allocate CSR w/ exact row pointers (if default and valid size)
+		if( sparse && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.CSR && nnz < Integer.MAX_VALUE ) {
+			if( !OptimizerUtils.isValidCPDimensions(nrow, clen) )
+				throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow+" x "+clen);
+			int[] rowptr = new int[nrow+1];
+			for( int i=0; i<nrow; i++ )
+				rowptr[i+1] = rowptr[i] + rnnz[i];
+			return new MatrixBlock(nrow, clen, nnz, new SparseBlockCSR(
+				rowptr, new int[(int)nnz], new double[(int)nnz], (int)nnz));
+		}
+		
+		//allocate MCSR w/ exact row sizes or dense block
+		MatrixBlock ret = createOutputMatrixBlock(nrow, clen, nrow, clen, nnz, true, true);
+		if( ret.isInSparseFormat() && !(ret.getSparseBlock() instanceof SparseBlockCSR) ) {
+			SparseBlock sblock = ret.getSparseBlock();
+			for( int i=0; i<nrow; i++ )
+				if( rnnz[i] > 0 )
+					sblock.allocate(i, rnnz[i]);
+		}
+		return ret;
+	}
+	
+	private static class CountNnzTask implements Callable<Object> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		
+		private int[] _rnnz = new int[1024];
+		private int _nrows = 0;
+		
+		public CountNnzTask(InputSplit split, TextInputFormat informat, JobConf job) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+		}
+		
+		public int getRowCount() {
+			return _nrows;
+		}
+		
+		public int[] getRowNnz() {
+			return _rnnz;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			try {
+				while( reader.next(key, value) ) {
+					if( _nrows == _rnnz.length ) //grow row counts
+						_rnnz = Arrays.copyOf(_rnnz, 2*_nrows);
+					_rnnz[_nrows++] = IOUtilFunctions.countNnzLIBSVM(value.toString());
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+	}
+	
+	private static class ReadTask implements Callable<Object> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final MatrixBlock _dest;
+		private final int[] _rnnz;
+		private final int _rl;
+		private final int _clen;
+		
+		public ReadTask(InputSplit split, TextInputFormat informat, JobConf job, 
+			MatrixBlock dest, int[] rnnz, int rl, int clen) 
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_rnnz = rnnz;
+			_rl = rl;
+			_clen = clen;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			
+			SparseBlock sblock = _dest.getSparseBlock();
+			DenseBlock a = _dest.getDenseBlock();
+			boolean csr = sblock instanceof SparseBlockCSR;
+			int[] ix = csr ? ((SparseBlockCSR)sblock).indexes() : null;
+			double[] vals = csr ? ((SparseBlockCSR)sblock).values() : null;
+			
+			int row = _rl;
+			try {
+				while( reader.next(key, value) ) {
+					String line = value.toString();
+					if( csr ) { //CSR<-value (direct parse into final arrays)
+						checkRowNnz(row, IOUtilFunctions.parseLIBSVMRow(
+							line, ix, vals, sblock.pos(row), _clen), line);
+					}
+					else {
+						//parse into reused buffers of exact row size
+						if( ix == null || ix.length < _rnnz[row] ) {
+							ix = new int[Math.max(_rnnz[row], 64)];
+							vals = new double[ix.length];
+						}
+						int rnnz = IOUtilFunctions.parseLIBSVMRow(line, ix, vals, 0, _clen);
+						checkRowNnz(row, rnnz, line);
+						if( sblock != null ) { //MCSR<-value
+							for( int k=0; k<rnnz; k++ )
+								sblock.append(row, ix[k], vals[k]);
+						}
+						else { //DENSE<-value
+							for( int k=0; k<rnnz; k++ )
+								a.set(row, ix[k], vals[k]);
+						}
+					}
+					row++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+		
+		private void checkRowNnz(int row, int rnnz, String line) throws IOException {
+			if( rnnz != _rnnz[row] )
+				throw new IOException("Inconsistent number of non-zeros in row "+(row+1)
+					+ " ("+rnnz+" vs "+_rnnz[row]+") of libsvm line: "+line);
+		}
+	}
+}
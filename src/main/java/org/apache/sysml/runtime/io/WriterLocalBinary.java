@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the local binary format, i.e., a single local file of row blocks 
+ * in the in-memory representation of matrix blocks, which allows memory-mapped 
+ * reads without deserialization of individual blocks. The file layout (little 
+ * endian, all sections 8-byte aligned) is as follows:
+ * <ul>
+ * <li>Header: magic, version, rows, cols, nnz, sparse flag, number of row 
+ *   blocks, and the offset of the index footer.</li>
+ * <li>Row blocks: dense blocks are written as row-major doubles, sparse
+ *   blocks in CSR format with block-local row pointers, column indexes, 
+ *   (padding), and values.</li>
+ * <li>Index footer: row offset, number of rows, nnz, file offset, and length
+ *   per row block.</li>
+ * </ul>
+ * The sparse/dense representation is decided once for the entire matrix in
+ * order to allow readers to allocate the final output upfront.
+ */
+public class WriterLocalBinary extends MatrixWriter
+{
+	public static final int MAGIC = 0x42424C53; //SLBB
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 48;
+	public static final int INDEX_ENTRY_SIZE = 40;
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	//target size of row blocks, which bounds the size of mapped regions
+	//and write buffers, and determines the granularity of parallel reads
+	public static final long ROW_BLOCK_SIZE = 8L * 1024 * 1024; //8MB
+	
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz, boolean diag) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		File file = IOUtilFunctions.getLocalFile(fs, path);
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write
+		writeLocalBinaryMatrixToFile(file, src);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		File file = IOUtilFunctions.getLocalFile(fs, path);
+		
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		writeLocalBinaryMatrixToFile(file, new MatrixBlock((int)rlen, (int)clen, true));
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+	
+	protected static void writeLocalBinaryMatrixToFile(File file, MatrixBlock src) 
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, src.getNonZeros());
+		
+		//determine row blocks (and exact block sizes) 
+		ArrayList<long[]> index = sparse ? 
+			createSparseRowBlocks(src) : createDenseRowBlocks(src);
+		long maxLen = 0;
+		for( long[] blk : index )
+			maxLen = Math.max(maxLen, blk[4]);
+		if( maxLen > Integer.MAX_VALUE )
+			throw new IOException("Row block of "+maxLen+" bytes exceeds the maximum "
+				+ "size of the local binary format ("+clen+" columns).");
+		
+		//create parent directories if necessary (similar to hadoop file creation)
+		if( file.getParentFile() != null )
+			file.getParentFile().mkdirs();
+		
+		try( RandomAccessFile raf = new RandomAccessFile(file, "rw") ) {
+			FileChannel ch = raf.getChannel();
+			ByteBuffer buff = ByteBuffer.allocateDirect((int)Math.max(maxLen, 
+				Math.max(HEADER_SIZE, INDEX_ENTRY_SIZE*Math.min(index.size(), 1024))));
+			buff.order(BYTE_ORDER);
+			
+			//write row blocks
+			long lnnz = 0;
+			for( long[] blk : index ) {
+				buff.clear();
+				if( sparse )
+					writeSparseRowBlock(src, blk, buff);
+				else
+					writeDenseRowBlock(src, blk, buff);
+				buff.position(0).limit((int)blk[4]);
+				writeFully(ch, buff, blk[3]);
+				lnnz += blk[2];
+			}
+			
+			//write index footer (in chunks of up to 1024 entries)
+			long[] last = index.isEmpty() ? null : index.get(index.size()-1);
+			long foff = (last != null) ? last[3] + last[4] : HEADER_SIZE;
+			for( int i=0; i<index.size(); i+=1024 ) {
+				buff.clear();
+				for( int j=i; j<Math.min(i+1024, index.size()); j++ )
+					for( long v : index.get(j) )
+						buff.putLong(v);
+				buff.flip();
+				writeFully(ch, buff, foff + (long)i*INDEX_ENTRY_SIZE);
+			}
+			
+			//write header (after all blocks to include the exact nnz)
+			buff.clear();
+			buff.putInt(MAGIC).putInt(VERSION).putLong(rlen).putLong(clen)
+				.putLong(lnnz).putInt(sparse ? 1 : 0).putInt(index.size()).putLong(foff);
+			buff.flip();
+			writeFully(ch, buff, 0);
+		}
+	}
+	
+	private static ArrayList<long[]> createDenseRowBlocks(MatrixBlock src) {
+		int rlen = src.getNumRows();
+		long clen = src.getNumColumns();
+		int blen = (int)Math.max(Math.min(ROW_BLOCK_SIZE/Math.max(8*clen,1), rlen), 1);
+		ArrayList<long[]> ret = new ArrayList<>();
+		long off = HEADER_SIZE;
+		for( int i=0; i<rlen; i+=blen ) {
+			int nrows = Math.min(blen, rlen-i);
+			long nnz = 0;
+			for( int r=i; r<i+nrows; r++ )
+				nnz += getRowNonZeros(src, r);
+			ret.add(new long[]{i, nrows, nnz, off, 8*nrows*clen});
+			off += 8*nrows*clen;
+		}
+		return ret;
+	}
+	
+	private static ArrayList<long[]> createSparseRowBlocks(MatrixBlock src) {
+		int rlen = src.getNumRows();
+		ArrayList<long[]> ret = new ArrayList<>();
+		long off = HEADER_SIZE;
+		int rl = 0;
+		long nnz = 0;
+		for( int i=0; i<rlen; i++ ) {
+			long rnnz = getRowNonZeros(src, i);
+			//close current block if the row does not fit anymore
+			if( i > rl && getSparseBlockSize(i-rl+1, nnz+rnnz) > ROW_BLOCK_SIZE ) {
+				long len = getSparseBlockSize(i-rl, nnz);
+				ret.add(new long[]{rl, i-rl, nnz, off, len});
+				off += len;
+				rl = i; nnz = 0;
+			}
+			nnz += rnnz;
+		}
+		if( rlen > rl )
+			ret.add(new long[]{rl, rlen-rl, nnz, off, getSparseBlockSize(rlen-rl, nnz)});
+		return ret;
+	}
+	
+	private static void writeDenseRowBlock(MatrixBlock src, long[] blk, ByteBuffer buff) {
+		DoubleBuffer dbuff = buff.asDoubleBuffer();
+		int rl = (int)blk[0], ru = (int)(blk[0]+blk[1]);
+		int clen = src.getNumColumns();
+		if( src.isInSparseFormat() || src.isEmptyBlock(false) ) {
+			SparseBlock a = src.getSparseBlock();
+			double[] row = new double[clen];
+			for( int i=rl; i<ru; i++ ) {
+				Arrays.fill(row, 0);
+				if( a != null && !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int k=apos; k<apos+alen; k++ )
+						row[aix[k]] = avals[k];
+				}
+				dbuff.put(row);
+			}
+		}
+		else {
+			DenseBlock a = src.getDenseBlock();
+			if( a.isContiguous(rl, ru-1) )
+				dbuff.put(a.values(rl), a.pos(rl), (ru-rl)*clen);
+			else
+				for( int i=rl; i<ru; i++ )
+					dbuff.put(a.values(i), a.pos(i), clen);
+		}
+	}
+	
+	private static void writeSparseRowBlock(MatrixBlock src, long[] blk, ByteBuffer buff) {
+		int rl = (int)blk[0], nrows = (int)blk[1], nnz = (int)blk[2];
+		int clen = src.getNumColumns();
+		IntBuffer pbuff = buff.asIntBuffer();
+		buff.position(4*(nrows+1));
+		IntBuffer ibuff = buff.asIntBuffer();
+		buff.position(getSparseValuesOffset(nrows, nnz));
+		DoubleBuffer vbuff = buff.asDoubleBuffer();
+		
+		pbuff.put(0);
+		if( src.isInSparseFormat() ) {
+			SparseBlock a = src.getSparseBlock();
+			for( int i=rl, pos=0; i<rl+nrows; i++ ) {
+				if( a != null && !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					ibuff.put(a.indexes(i), apos, alen);
+					vbuff.put(a.values(i), apos, alen);
+					pos += alen;
+				}
+				pbuff.put(pos);
+			}
+		}
+		else if( !src.isEmptyBlock(false) ) {
+			DenseBlock a = src.getDenseBlock();
+			for( int i=rl, pos=0; i<rl+nrows; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<clen; j++ )
+					if( avals[aix+j] != 0 ) {
+						ibuff.put(j);
+						vbuff.put(avals[aix+j]);
+						pos++;
+					}
+				pbuff.put(pos);
+			}
+		}
+		else {
+			for( int i=0; i<nrows; i++ )
+				pbuff.put(0);
+		}
+	}
+	
+	private static long getRowNonZeros(MatrixBlock src, int r) {
+		if( src.isEmptyBlock(false) )
+			return 0;
+		if( src.isInSparseFormat() )
+			return src.getSparseBlock().size(r);
+		return src.getDenseBlock().countNonZeros(r);
+	}
+	
+	private static void writeFully(FileChannel ch, ByteBuffer buff, long off) 
+		throws IOException
+	{
+		while( buff.hasRemaining() )
+			off += ch.write(buff, off);
+	}
+	
+	/**
+	 * Returns the offset of the values within a sparse row block, i.e., 
+	 * after row pointers and column indexes, aligned to 8 bytes.
+	 * 
+	 * @param nrows number of rows in the row block
+	 * @param nnz number of non-zeros in the row block
+	 * @return byte offset of the values
+	 */
+	public static int getSparseValuesOffset(int nrows, long nnz) {
+		long ilen = 4L * (nrows + 1 + nnz);
+		return (int)((ilen + 7) / 8 * 8);
+	}
+	
+	private static long getSparseBlockSize(int nrows, long nnz) {
+		long ilen = 4L * (nrows + 1 + nnz);
+		return (ilen + 7) / 8 * 8 + 8 * nnz;
+	}
+}
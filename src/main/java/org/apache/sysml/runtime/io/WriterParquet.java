@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for columnar parquet files, where every matrix column is written
+ * as a required double column named C1, ..., Cn (consistent with the default 
+ * column names of frames and data frame conversions).
+ */
+public class WriterParquet extends MatrixWriter
+{
+	public static final CompressionCodecName CODEC = CompressionCodecName.SNAPPY;
+	
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz, boolean diag) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		if( clen == 0 )
+			throw new IOException("Write of matrices with zero columns not supported ("+rlen+"x"+clen+").");
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write (sequential/parallel)
+		writeParquetMatrixToHDFS(path, job, fs, src);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		MatrixBlock src = new MatrixBlock((int)rlen, (int)Math.max(clen, 1), true);
+		writeParquetMatrixToFile(path, job, src, 0, (int)rlen);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+	
+	protected void writeParquetMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src) 
+		throws IOException 
+	{
+		//sequential write parquet file
+		writeParquetMatrixToFile(path, job, src, 0, src.getNumRows());
+	}
+	
+	protected static void writeParquetMatrixToFile(Path path, JobConf job, MatrixBlock src, int rl, int ru) 
+		throws IOException
+	{
+		ParquetWriter<Integer> writer = createParquetWriter(path, job,
+			new MatrixRowWriteSupport(src));
+		try {
+			for( int i=rl; i<ru; i++ )
+				writer.write(i);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+	
+	protected static <T> ParquetWriter<T> createParquetWriter(Path path, Configuration conf, WriteSupport<T> wsupport)
+		throws IOException
+	{
+		return new ParquetWriter<>(path, ParquetFileWriter.Mode.OVERWRITE, wsupport, CODEC,
+			ParquetWriter.DEFAULT_BLOCK_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE,
+			ParquetWriter.DEFAULT_IS_DICTIONARY_ENABLED, false, ParquetWriter.DEFAULT_WRITER_VERSION, conf);
+	}
+	
+	protected static MessageType createParquetSchema(int clen) {
+		List<Type> fields = new ArrayList<>();
+		for( String name : FrameBlock.createColNames(clen) )
+			fields.add(new PrimitiveType(Repetition.REQUIRED, PrimitiveTypeName.DOUBLE, name));
+		return new MessageType("matrix", fields);
+	}
+	
+	/**
+	 * Write support that passes the cells of a row (given by its row 
+	 * index) directly to the parquet record consumer, i.e., without 
+	 * intermediate record objects.
+	 */
+	private static class MatrixRowWriteSupport extends WriteSupport<Integer>
+	{
+		private final MatrixBlock _src;
+		private final MessageType _schema;
+		private final String[] _names;
+		private final double[] _buff;
+		private RecordConsumer _consumer = null;
+		
+		public MatrixRowWriteSupport(MatrixBlock src) {
+			_src = src;
+			_schema = createParquetSchema(src.getNumColumns());
+			_names = FrameBlock.createColNames(src.getNumColumns());
+			_buff = src.isInSparseFormat() ? new double[src.getNumColumns()] : null;
+		}
+		
+		@Override
+		public WriteContext init(Configuration conf) {
+			return new WriteContext(_schema, new HashMap<String,String>());
+		}
+
+		@Override
+		public void prepareForWrite(RecordConsumer consumer) {
+			_consumer = consumer;
+		}
+
+		@Override
+		public void write(Integer row) {
+			//obtain dense row values (w/ reused buffer for sparse rows)
+			int i = row;
+			double[] vals = null;
+			int pos = 0;
+			if( _src.isInSparseFormat() ) {
+				SparseBlock a = _src.getSparseBlock();
+				Arrays.fill(_buff, 0);
+				if( a != null && !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int k=apos; k<apos+alen; k++ )
+						_buff[aix[k]] = avals[k];
+				}
+				vals = _buff;
+			}
+			else if( !_src.isEmptyBlock(false) ) {
+				DenseBlock a = _src.getDenseBlock();
+				vals = a.values(i);
+				pos = a.pos(i);
+			}
+			
+			//write parquet record
+			_consumer.startMessage();
+			for( int j=0; j<_names.length; j++ ) {
+				_consumer.startField(_names[j], j);
+				_consumer.addDouble((vals != null) ? vals[pos+j] : 0);
+				_consumer.endField(_names[j], j);
+			}
+			_consumer.endMessage();
+		}
+	}
+}
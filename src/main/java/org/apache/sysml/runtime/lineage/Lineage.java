@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+
+/**
+ * Lineage tracing of CP instructions. The lineage of matrices and frames
+ * is attached to their cacheable data objects (and hence, automatically
+ * follows variable copies, moves, and function calls), while the lineage
+ * of scalars is simply given by their values.
+ */
+public class Lineage
+{
+	//max depth of traced lineage DAGs; deeper intermediates are treated as
+	//opaque data objects, which bounds the size of lineage in iterative algorithms
+	public static final int MAX_DEPTH = 64;
+
+	//non-deterministic operations, whose outputs are never traced
+	private static final HashSet<String> NONDETERMINISTIC_OPCODES =
+		new HashSet<>(Arrays.asList("rand", "sample"));
+
+	//operations with a trailing degree of parallelism, which does not affect the output
+	private static final HashSet<String> MULTITHREADED_OPCODES =
+		new HashSet<>(Arrays.asList("tsmm", "ba+*", "mmchain"));
+
+	private Lineage() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Obtains the lineage of the given data object, which is a literal for
+	 * scalars and the traced (or a unique) lineage item for cacheable data.
+	 *
+	 * @param dat data object
+	 * @return lineage item, or null for unsupported data objects
+	 */
+	public static LineageItem getLineage(Data dat) {
+		if( dat instanceof CacheableData )
+			return ((CacheableData<?>)dat).getLineage();
+		if( dat instanceof ScalarObject ) {
+			ScalarObject so = (ScalarObject) dat;
+			return LineageItem.createLiteral(so.getValueType()+":"+so.getStringValue());
+		}
+		return null;
+	}
+
+	/**
+	 * Derives the lineage of the output of the given instruction from the
+	 * lineage of its current inputs. Since this only requires the inputs,
+	 * it can be called before the instruction is actually executed.
+	 *
+	 * @param inst instruction
+	 * @param ec execution context
+	 * @return lineage item of the output, or null if not traceable
+	 */
+	public static LineageItem trace(Instruction inst, ExecutionContext ec) {
+		if( !(inst instanceof ComputationCPInstruction) )
+			return null;
+		ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+		if( cinst.output == null || cinst.output.isScalar()
+			|| NONDETERMINISTIC_OPCODES.contains(cinst.getOpcode()) )
+			return null;
+
+		//drop exec type and degree of parallelism (if applicable)
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(inst.toString());
+		int len = parts.length - (MULTITHREADED_OPCODES.contains(parts[0]) ? 1 : 0);
+
+		//find output operand (last occurrence of the output name)
+		String oprefix = cinst.output.getName() + Lop.VALUETYPE_PREFIX;
+		int oix = -1;
+		for( int i=1; i<len; i++ )
+			if( parts[i].startsWith(oprefix) )
+				oix = i;
+
+		//construct lineage item from input lineage and literal parameters
+		LineageItem[] inputs = new LineageItem[len - (oix > 0 ? 2 : 1)];
+		for( int i=1, pos=0; i<len; i++ ) {
+			if( i == oix )
+				continue;
+			LineageItem in = traceOperand(parts[i], ec);
+			if( in == null )
+				return null;
+			inputs[pos++] = in;
+		}
+		LineageItem ret = new LineageItem(parts[0], inputs);
+		return (ret.getDepth() <= MAX_DEPTH) ? ret : null;
+	}
+
+	private static LineageItem traceOperand(String part, ExecutionContext ec) {
+		int ix = part.indexOf(Lop.VALUETYPE_PREFIX);
+		if( ix < 0 || part.endsWith(Lop.LITERAL_PREFIX + "true") )
+			return LineageItem.createLiteral(part);
+		return getLineage(ec.getVariable(part.substring(0, ix)));
+	}
+}
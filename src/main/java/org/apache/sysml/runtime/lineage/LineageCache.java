@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.MMTSJCPInstruction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * JVM-wide cache of intermediates keyed by their lineage, which allows to
+ * reuse the results of expensive operations that are recomputed with
+ * identical inputs, e.g., across loop iterations, parfor workers, function
+ * calls, or repeated executions of JMLC prepared scripts (for inputs that
+ * are bound with reuse).
+ *
+ * The cache is bounded to a fraction of the max heap and evicts entries in
+ * LRU order. Evicted entries that are more expensive to recompute than to
+ * write and read back are spilled to the local cache directory of the
+ * buffer pool (using its spill format) instead of being dropped.
+ *
+ * Since cached blocks are shared across variables and threads, they are
+ * copied on insert and on reuse to guard against update-in-place.
+ */
+public class LineageCache
+{
+	private static final Log LOG = LogFactory.getLog(LineageCache.class.getName());
+
+	//enable lineage tracing and reuse of intermediates (see sysml.lineage.reuse)
+	public static boolean LINEAGE_REUSE = false;
+
+	//fraction of the max heap used for cached intermediates
+	public static final double CACHE_SIZE = 0.05;
+
+	//recompute time per byte (at ~200MB/s local write and read)
+	//above which evicted entries are spilled instead of dropped
+	private static final double SPILL_NANOS_PER_BYTE = 2 * 1e9 / (200 * 1024 * 1024);
+
+	//expensive operations whose outputs are cached for reuse
+	private static final HashSet<String> REUSE_OPCODES =
+		new HashSet<>(Arrays.asList("tsmm", "ba+*", "mmchain", "solve", "inverse"));
+
+	private static final LinkedHashMap<LineageItem, Entry> _cache = new LinkedHashMap<>(16, 0.75f, true);
+	private static final IDSequence _seq = new IDSequence();
+	private static long _size = 0;
+	private static long _limit = -1;
+
+	private LineageCache() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Executes the given instruction with lineage tracing and reuse, i.e.,
+	 * the output is obtained from the lineage cache if available, and
+	 * otherwise computed and (for reusable operations) put into the cache.
+	 *
+	 * @param inst instruction
+	 * @param ec execution context
+	 */
+	public static void processInstruction(Instruction inst, ExecutionContext ec) {
+		//derive output lineage (before execution, from current inputs)
+		LineageItem li = Lineage.trace(inst, ec);
+		if( li == null ) {
+			inst.processInstruction(ec);
+			return;
+		}
+
+		ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+		String oname = cinst.output.getName();
+		boolean reuse = REUSE_OPCODES.contains(li.getOpcode())
+			&& cinst.output.isMatrix();
+
+		//probe for full and partial reuse, otherwise execute
+		MatrixBlock mb = reuse ? get(li) : null;
+		if( mb != null ) {
+			ec.setMatrixOutput(oname, mb);
+			LineageCacheStatistics.incrementFullHits();
+		}
+		else if( reuse && (mb = getPartial(li, cinst, ec)) != null ) {
+			ec.setMatrixOutput(oname, mb);
+			put(li, mb, getComputeTime(li));
+			LineageCacheStatistics.incrementPartialHits();
+		}
+		else {
+			long t0 = System.nanoTime();
+			inst.processInstruction(ec);
+			if( reuse ) {
+				MatrixObject mo = ec.getMatrixObject(oname);
+				long t1 = System.nanoTime();
+				put(li, mo.acquireRead(), t1-t0);
+				mo.release();
+			}
+		}
+
+		//attach lineage to output data object
+		Data dat = ec.getVariable(oname);
+		if( dat instanceof CacheableData )
+			((CacheableData<?>)dat).setLineage(li);
+	}
+
+	/**
+	 * Obtains a copy of the cached intermediate of the given lineage item.
+	 *
+	 * @param li lineage item
+	 * @return matrix block, or null if not cached
+	 */
+	public static MatrixBlock get(LineageItem li) {
+		Entry e;
+		synchronized( _cache ) {
+			e = _cache.get(li);
+		}
+		if( e == null )
+			return null;
+		MatrixBlock mb = e.getBlock();
+		if( mb == null ) {
+			//restore spilled entry
+			try {
+				mb = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(e._fname, true);
+				LineageCacheStatistics.incrementFSHits();
+			}
+			catch(IOException ex) {
+				LOG.warn("Failed to restore lineage cache entry: "+e._fname, ex);
+				synchronized( _cache ) {
+					_cache.remove(li);
+				}
+				return null;
+			}
+			synchronized( _cache ) {
+				if( e.getBlock() == null && _cache.get(li) == e ) {
+					makeSpace(e._bytes);
+					e.setBlock(mb);
+				}
+			}
+		}
+		return new MatrixBlock(mb);
+	}
+
+	/**
+	 * Puts a copy of the given intermediate into the cache, if it fits.
+	 *
+	 * @param li lineage item
+	 * @param mb matrix block
+	 * @param computeTime compute time in nano seconds
+	 */
+	public static void put(LineageItem li, MatrixBlock mb, long computeTime) {
+		long size = mb.getInMemorySize();
+		if( size > getLimit() )
+			return;
+		MatrixBlock copy = new MatrixBlock(mb);
+		synchronized( _cache ) {
+			if( _cache.containsKey(li) )
+				return;
+			makeSpace(size);
+			Entry e = new Entry(size, computeTime);
+			e.setBlock(copy);
+			_cache.put(li, e);
+		}
+		LineageCacheStatistics.incrementMemWrites();
+	}
+
+	public static void resetCache() {
+		synchronized( _cache ) {
+			for( Entry e : _cache.values() )
+				if( e._fname != null )
+					LocalFileUtils.deleteFileIfExists(e._fname, true);
+			_cache.clear();
+			_size = 0;
+		}
+	}
+
+	/**
+	 * Partial reuse of tsmm(cbind(X,Y)) from a cached tsmm(X), which only
+	 * requires to compute t(X)%*%Y and t(Y)%*%Y over the slices of the
+	 * current input, i.e., [t(X)%*%X, t(X)%*%Y; t(Y)%*%X, t(Y)%*%Y].
+	 */
+	private static MatrixBlock getPartial(LineageItem li, ComputationCPInstruction inst, ExecutionContext ec) {
+		if( !(inst instanceof MMTSJCPInstruction)
+			|| ((MMTSJCPInstruction)inst).getMMTSJType() != MMTSJType.LEFT )
+			return null;
+		LineageItem in = li.getInputs()[0];
+		LineageItem[] cin = in.getInputs();
+		boolean cbind = (in.getOpcode().equals("append") && cin.length == 4
+			&& cin[3].isLiteral() && cin[3].getData().equals("true"))
+			|| (in.getOpcode().equals("cbind") && cin.length == 2);
+		if( !cbind )
+			return null;
+		MatrixBlock C = get(new LineageItem(li.getOpcode(),
+			new LineageItem[]{cin[0], li.getInputs()[1]}));
+		if( C == null )
+			return null;
+
+		int k = ((MMTSJCPInstruction)inst).getNumThreads();
+		MatrixBlock Z = ec.getMatrixInput(inst.input1.getName());
+		int m = Z.getNumRows();
+		int n = C.getNumColumns();
+		int p = Z.getNumColumns() - n;
+		MatrixBlock ret = null;
+		if( p > 0 ) {
+			MatrixBlock X = Z.slice(0, m-1, 0, n-1, new MatrixBlock());
+			MatrixBlock Y = Z.slice(0, m-1, n, n+p-1, new MatrixBlock());
+			MatrixBlock XtY = new MatrixBlock(n, p, false);
+			LibMatrixMult.matrixMult(LibMatrixReorg.transpose(X,
+				new MatrixBlock(n, m, X.isInSparseFormat()), k), Y, XtY, k);
+			MatrixBlock YtX = LibMatrixReorg.transpose(XtY,
+				new MatrixBlock(p, n, XtY.isInSparseFormat()), k);
+			MatrixBlock YtY = Y.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, k);
+
+			//assemble output from cached and computed blocks
+			ret = new MatrixBlock(n+p, n+p, false);
+			ret.allocateDenseBlock();
+			ret.copy(0, n-1, 0, n-1, C, false);
+			ret.copy(0, n-1, n, n+p-1, XtY, false);
+			ret.copy(n, n+p-1, 0, n-1, YtX, false);
+			ret.copy(n, n+p-1, n, n+p-1, YtY, false);
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+		}
+		ec.releaseMatrixInput(inst.input1.getName());
+		return ret;
+	}
+
+	private static long getComputeTime(LineageItem li) {
+		//compute time of a partially reused entry (recomputed in case of eviction)
+		LineageItem in = li.getInputs()[0].getInputs()[0];
+		synchronized( _cache ) {
+			Entry e = _cache.get(new LineageItem(li.getOpcode(),
+				new LineageItem[]{in, li.getInputs()[1]}));
+			return (e != null) ? e._computeTime : 0;
+		}
+	}
+
+	private static void makeSpace(long size) {
+		//evict entries in LRU order (caller holds the cache lock)
+		Iterator<Map.Entry<LineageItem, Entry>> iter = _cache.entrySet().iterator();
+		while( _size + size > getLimit() && iter.hasNext() ) {
+			Entry e = iter.next().getValue();
+			if( e.getBlock() == null )
+				continue;
+			if( !spill(e) )
+				iter.remove();
+			e.setBlock(null);
+		}
+	}
+
+	private static boolean spill(Entry e) {
+		if( e._fname != null )
+			return true; //still on disk
+		if( !CacheableData.isCachingActive() || CacheableData.cacheEvictionLocalFilePath == null
+			|| e._computeTime < e._bytes * SPILL_NANOS_PER_BYTE )
+			return false;
+		String fname = CacheableData.cacheEvictionLocalFilePath
+			+ "lineage_" + _seq.getNextID() + CacheableData.CACHING_EVICTION_FILEEXTENSION;
+		try {
+			LocalFileUtils.writeCacheBlockToLocal(fname, e.getBlock());
+			e._fname = fname;
+			LineageCacheStatistics.incrementFSWrites();
+			return true;
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to spill lineage cache entry: "+fname, ex);
+			return false;
+		}
+	}
+
+	private static long getLimit() {
+		if( _limit < 0 )
+			_limit = (long)(CACHE_SIZE * InfrastructureAnalyzer.getLocalMaxMemory());
+		return _limit;
+	}
+
+	private static class Entry
+	{
+		private final long _bytes;
+		private final long _computeTime;
+		private MatrixBlock _block = null;
+		private String _fname = null;
+
+		public Entry(long bytes, long computeTime) {
+			_bytes = bytes;
+			_computeTime = computeTime;
+		}
+
+		public MatrixBlock getBlock() {
+			return _block;
+		}
+
+		public void setBlock(MatrixBlock mb) {
+			//maintain in-memory size (caller holds the cache lock)
+			_size += ((mb != null) ? _bytes : 0) - ((_block != null) ? _bytes : 0);
+			_block = mb;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This singleton provides basic lineage cache statistics in CP,
+ * analogous to the buffer pool statistics in CacheStatistics.
+ */
+public class LineageCacheStatistics
+{
+	//hit statistics (full and partial reuse, restored from fs)
+	private static final LongAdder _numHitsFull    = new LongAdder();
+	private static final LongAdder _numHitsPartial = new LongAdder();
+	private static final LongAdder _numHitsFS      = new LongAdder();
+
+	//write statistics (put into cache, spilled to fs)
+	private static final LongAdder _numWritesMem   = new LongAdder();
+	private static final LongAdder _numWritesFS    = new LongAdder();
+
+	public static void reset() {
+		_numHitsFull.reset();
+		_numHitsPartial.reset();
+		_numHitsFS.reset();
+		_numWritesMem.reset();
+		_numWritesFS.reset();
+	}
+
+	public static void incrementFullHits() {
+		_numHitsFull.increment();
+	}
+
+	public static long getFullHits() {
+		return _numHitsFull.longValue();
+	}
+
+	public static void incrementPartialHits() {
+		_numHitsPartial.increment();
+	}
+
+	public static long getPartialHits() {
+		return _numHitsPartial.longValue();
+	}
+
+	public static void incrementFSHits() {
+		_numHitsFS.increment();
+	}
+
+	public static void incrementMemWrites() {
+		_numWritesMem.increment();
+	}
+
+	public static void incrementFSWrites() {
+		_numWritesFS.increment();
+	}
+
+	public static String displayHits() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsFull.longValue());
+		sb.append("/");
+		sb.append(_numHitsPartial.longValue());
+		sb.append("/");
+		sb.append(_numHitsFS.longValue());
+		return sb.toString();
+	}
+
+	public static String displayWrites() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numWritesMem.longValue());
+		sb.append("/");
+		sb.append(_numWritesFS.longValue());
+		return sb.toString();
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+
+/**
+ * Immutable node of a lineage DAG, describing how an intermediate was
+ * computed: an opcode over the lineage of its inputs. Leaf nodes are
+ * either literals (scalar values, instruction parameters) or opaque data
+ * objects of unknown origin, identified by a JVM-wide unique ID.
+ *
+ * Lineage items are compared by value, i.e., two items are equal if
+ * they describe the same computation over the same leaves, which allows
+ * to use them as keys of the lineage cache.
+ */
+public class LineageItem
+{
+	public static final String LITERAL_OPCODE = "lit";
+	public static final String OBJECT_OPCODE = "obj";
+
+	private static final IDSequence _seq = new IDSequence();
+	private static final LineageItem[] EMPTY = new LineageItem[0];
+
+	private final String _opcode;
+	private final String _data;
+	private final LineageItem[] _inputs;
+	private final int _depth;
+	private final int _hash;
+
+	public LineageItem(String opcode, LineageItem[] inputs) {
+		this(opcode, null, inputs);
+	}
+
+	private LineageItem(String opcode, String data, LineageItem[] inputs) {
+		_opcode = opcode;
+		_data = data;
+		_inputs = inputs;
+		int depth = 0;
+		for( LineageItem in : inputs )
+			depth = Math.max(depth, in._depth);
+		_depth = depth + 1;
+		_hash = 31 * Objects.hash(opcode, data) + Arrays.hashCode(inputs);
+	}
+
+	public static LineageItem createLiteral(String value) {
+		return new LineageItem(LITERAL_OPCODE, value, EMPTY);
+	}
+
+	public static LineageItem createObject() {
+		return new LineageItem(OBJECT_OPCODE, String.valueOf(_seq.getNextID()), EMPTY);
+	}
+
+	public String getOpcode() {
+		return _opcode;
+	}
+
+	public String getData() {
+		return _data;
+	}
+
+	public LineageItem[] getInputs() {
+		return _inputs;
+	}
+
+	public boolean isLeaf() {
+		return _inputs.length == 0;
+	}
+
+	public boolean isLiteral() {
+		return LITERAL_OPCODE.equals(_opcode);
+	}
+
+	public int getDepth() {
+		return _depth;
+	}
+
+	@Override
+	public int hashCode() {
+		return _hash;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if( this == o )
+			return true;
+		if( !(o instanceof LineageItem) )
+			return false;
+		LineageItem that = (LineageItem) o;
+		return _hash == that._hash
+			&& _opcode.equals(that._opcode)
+			&& Objects.equals(_data, that._data)
+			&& Arrays.equals(_inputs, that._inputs);
+	}
+
+	@Override
+	public String toString() {
+		if( isLeaf() )
+			return _opcode + "(" + _data + ")";
+		StringBuilder sb = new StringBuilder(_opcode);
+		sb.append("(");
+		for( int i=0; i<_inputs.length; i++ ) {
+			if( i > 0 )
+				sb.append(",");
+			sb.append(_inputs[i]);
+		}
+		sb.append(")");
+		return sb.toString();
+	}
+}
@@ -54,6 +54,14 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
 	
+	//dictionary encoding of low-cardinality string columns, applied if 
+	//the number of distinct values is below the given ratio of rows
+	public static boolean ALLOW_DICT_ENCODING = true;
+	public static double DICT_ENCODING_RATIO = 0.1;
+	
+	//marker for dictionary-encoded columns in the serialized value type
+	private static final int DICT_ENCODED = 0x80;
+	
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
 	
@@ -480,7 +488,8 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 
 	public Object getColumnData(int c) {
 		switch(_schema[c]) {
-			case STRING:  return ((StringArray)_coldata[c])._data; 
+			case STRING:  return (_coldata[c] instanceof DictionaryArray) ?
+				((DictionaryArray)_coldata[c]).decode() : ((StringArray)_coldata[c])._data; 
 			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
 			case INT:     return ((LongArray)_coldata[c])._data;
 			case DOUBLE:  return ((DoubleArray)_coldata[c])._data;
@@ -488,6 +497,38 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 	}
 	}
 	
+	/**
+	 * Indicates if the given column is stored in dictionary-encoded form.
+	 * 
+	 * @param c column index
+	 * @return true if dictionary-encoded string column
+	 */
+	public boolean isDictionaryEncoded(int c) {
+		return _coldata[c] instanceof DictionaryArray;
+	}
+	
+	/**
+	 * Converts all low-cardinality string columns into dictionary-encoded 
+	 * columns of codes and a shared dictionary of distinct values, which 
+	 * avoids a string object per cell for categorical data. This conversion
+	 * is applied automatically after frame reads and before binary block writes.
+	 */
+	public void compactStringColumns() {
+		if( !ALLOW_DICT_ENCODING || _coldata == null )
+			return;
+		int maxDistinct = (int)(DICT_ENCODING_RATIO * _numRows);
+		for( int j=0; j<_coldata.length; j++ ) {
+			if( !(_coldata[j] instanceof StringArray) )
+				continue;
+			DictionaryArray tmp = DictionaryArray.create(
+				(StringArray)_coldata[j], _numRows, maxDistinct);
+			if( tmp != null ) {
+				tmp._rcdMapCache = _coldata[j]._rcdMapCache;
+				_coldata[j] = tmp;
+			}
+		}
+	}
+	
 	public Array getColumn(int c) {
 		return _coldata[c]; 
 	}
@@ -617,7 +658,8 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		out.writeBoolean(isDefaultMeta);
 		//write columns (value type, data)
 		for( int j=0; j<getNumColumns(); j++ ) {
-			out.writeByte(_schema[j].ordinal());
+			out.writeByte(_schema[j].ordinal() | 
+				((_coldata[j] instanceof DictionaryArray) ? DICT_ENCODED : 0));
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
 				out.writeLong(_colmeta[j].getNumDistinct());
@@ -645,13 +687,16 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_coldata : new Array[numCols];
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
-			ValueType vt = ValueType.values()[in.readByte()];
+			int tmp = in.readByte() & 0xFF;
+			ValueType vt = ValueType.values()[tmp & ~DICT_ENCODED];
+			boolean dict = (tmp & DICT_ENCODED) != 0;
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
 			String mvvalue = isDefaultMeta ? null : in.readUTF();
 			Array arr = null;
 			switch( vt ) {
-				case STRING:  arr = new StringArray(new String[_numRows]); break;
+				case STRING:  arr = dict ? new DictionaryArray(new int[_numRows]) :
+					new StringArray(new String[_numRows]); break;
 				case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
 				case INT:     arr = new LongArray(new long[_numRows]); break;
 				case DOUBLE:  arr = new DoubleArray(new double[_numRows]); break;
@@ -710,6 +755,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case INT:
 				case DOUBLE: size += 8*_numRows; break;
 				case STRING: 
+					if( _coldata[j] instanceof DictionaryArray ) {
+						size += ((DictionaryArray)_coldata[j]).getInMemorySize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += getInMemoryStringSize(arr.get(i));
@@ -741,6 +790,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case INT:
 				case DOUBLE: size += 8*_numRows; break;
 				case STRING: 
+					if( _coldata[j] instanceof DictionaryArray ) {
+						size += ((DictionaryArray)_coldata[j]).getExactSerializedSize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += IOUtilFunctions.getUTFSize(arr.get(i));
@@ -1058,9 +1111,11 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		
 		//construct recode map
+		//(for dictionary-encoded columns, over the distinct values only)
 		HashMap<String,Long> map = new HashMap<>();
-		Array ldata = _coldata[col]; 
-		for( int i=0; i<getNumRows(); i++ ) {
+		Array ldata = (_coldata[col] instanceof DictionaryArray) ?
+			((DictionaryArray)_coldata[col]).getDictionary() : _coldata[col];
+		for( int i=0; i<ldata._size; i++ ) {
 			Object val = ldata.get(i);
 			if( val != null ) {
 				String[] tmp = EncoderRecode.splitRecodeMapEntry(val.toString());
@@ -1312,14 +1367,19 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof StringArray )
+				System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else //dictionary-encoded
+				for( int i=rl; i<ru+1; i++ )
+					_data[i] = (String)value.get(rlSrc+i-rl);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			String[] data2 = ((StringArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i]!=null )
-					_data[i] = data2[i];
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = (String)value.get(i);
+				if( tmp!=null )
+					_data[i] = tmp;
+			}
 		}
 		@Override
 		public void append(String value) {
@@ -1354,6 +1414,179 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 	}
 
+	/**
+	 * Dictionary-encoded array of strings, which stores the distinct values 
+	 * once and a code per row, where code 0 is reserved for null. Codes are 
+	 * serialized with 1, 2, or 4 bytes depending on the dictionary size.
+	 */
+	private static class DictionaryArray extends Array<String> {
+		private String[] _dict = null;
+		private int _dsize = 0;
+		private int[] _codes = null;
+		//reverse dictionary for updates, created on demand
+		private HashMap<String,Integer> _map = null;
+		
+		public DictionaryArray(int[] codes) {
+			this(new String[4], 1, codes);
+		}
+		public DictionaryArray(String[] dict, int dsize, int[] codes) {
+			_dict = dict;
+			_dsize = dsize;
+			_codes = codes;
+			_size = _codes.length;
+		}
+		
+		/**
+		 * Creates a dictionary-encoded array for the given string array,
+		 * if the number of distinct values does not exceed the given maximum.
+		 * 
+		 * @param arr string array
+		 * @param size number of rows
+		 * @param maxDistinct maximum number of distinct values
+		 * @return dictionary-encoded array, or null if too many distinct values
+		 */
+		public static DictionaryArray create(StringArray arr, int size, int maxDistinct) {
+			DictionaryArray ret = new DictionaryArray(new int[size]);
+			for( int i=0; i<size; i++ ) {
+				ret._codes[i] = ret.getCode(arr._data[i]);
+				if( ret._dsize-1 > maxDistinct )
+					return null;
+			}
+			ret._dict = Arrays.copyOf(ret._dict, ret._dsize);
+			return ret;
+		}
+		@Override
+		public String get(int index) {
+			return _dict[_codes[index]];
+		}
+		@Override
+		public void set(int index, String value) {
+			_codes[index] = getCode(value);
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			//drop stale dictionary entries on full overwrite (e.g., block reuse)
+			if( rl == 0 && ru == _size-1 )
+				resetDictionary();
+			for( int i=rl; i<ru+1; i++ )
+				_codes[i] = getCode((String)value.get(rlSrc+i-rl));
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = (String)value.get(i);
+				if( tmp!=null )
+					_codes[i] = getCode(tmp);
+			}
+		}
+		@Override
+		public void append(String value) {
+			if( _codes.length <= _size )
+				_codes = Arrays.copyOf(_codes, newSize());
+			_codes[_size++] = getCode(value);
+		}
+		public StringArray getDictionary() {
+			return new StringArray(Arrays.copyOf(_dict, _dsize));
+		}
+		public String[] decode() {
+			String[] ret = new String[_size];
+			for( int i=0; i<_size; i++ )
+				ret[i] = _dict[_codes[i]];
+			return ret;
+		}
+		private synchronized int getCode(String value) {
+			if( value == null )
+				return 0;
+			if( _map == null ) {
+				_map = new HashMap<>();
+				for( int k=1; k<_dsize; k++ )
+					_map.put(_dict[k], k);
+			}
+			Integer code = _map.get(value);
+			if( code == null ) {
+				if( _dict.length <= _dsize )
+					_dict = Arrays.copyOf(_dict, Math.max(_dsize*2, 4));
+				code = _dsize++;
+				_dict[code] = value;
+				_map.put(value, code);
+			}
+			return code;
+		}
+		private void resetDictionary() {
+			_dict = new String[4];
+			_dsize = 1;
+			_map = null;
+		}
+		private int getCodeSize() {
+			return (_dsize <= 256) ? 1 : (_dsize <= 65536) ? 2 : 4;
+		}
+		public long getInMemorySize() {
+			long size = 32 + 4L * _codes.length + 32 + 8L * _dict.length;
+			for( int k=1; k<_dsize; k++ )
+				size += getInMemoryStringSize(_dict[k]);
+			return size;
+		}
+		public long getExactSerializedSize() {
+			long size = 4 + (long)getCodeSize() * _size;
+			for( int k=1; k<_dsize; k++ )
+				size += IOUtilFunctions.getUTFSize(_dict[k]);
+			return size;
+		}
+		public void write(DataOutput out) throws IOException {
+			out.writeInt(_dsize);
+			for( int k=1; k<_dsize; k++ )
+				out.writeUTF((_dict[k]!=null)?_dict[k]:"");
+			switch( getCodeSize() ) {
+				case 1: for( int i=0; i<_size; i++ ) out.writeByte(_codes[i]); break;
+				case 2: for( int i=0; i<_size; i++ ) out.writeShort(_codes[i]); break;
+				default: for( int i=0; i<_size; i++ ) out.writeInt(_codes[i]);
+			}
+		}
+		public void readFields(DataInput in) throws IOException {
+			_size = _codes.length;
+			_dsize = in.readInt();
+			_dict = new String[_dsize];
+			_map = null;
+			for( int k=1; k<_dsize; k++ ) {
+				String tmp = in.readUTF();
+				_dict[k] = (!tmp.isEmpty()) ? tmp : null;
+			}
+			switch( getCodeSize() ) {
+				case 1: for( int i=0; i<_size; i++ ) _codes[i] = in.readByte() & 0xFF; break;
+				case 2: for( int i=0; i<_size; i++ ) _codes[i] = in.readShort() & 0xFFFF; break;
+				default: for( int i=0; i<_size; i++ ) _codes[i] = in.readInt();
+			}
+		}
+		@Override
+		public Array clone() {
+			return new DictionaryArray(Arrays.copyOf(_dict, _dsize), 
+				_dsize, Arrays.copyOf(_codes, _size));
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			//compact dictionary to the values used in the row range
+			DictionaryArray ret = new DictionaryArray(new int[ru-rl+1]);
+			int[] remap = new int[_dsize];
+			for( int i=rl; i<ru+1; i++ ) {
+				int code = _codes[i];
+				if( code != 0 && remap[code] == 0 )
+					remap[code] = ret.getCode(_dict[code]);
+				ret._codes[i-rl] = remap[code];
+			}
+			return ret;
+		}
+		@Override
+		public void reset(int size) {
+			if( _codes.length < size )
+				_codes = new int[size];
+			_size = size;
+		}
+	}
+
 	private static class BooleanArray extends Array<Boolean> {
 		private boolean[] _data = null;
 		
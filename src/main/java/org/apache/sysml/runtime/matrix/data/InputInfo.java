@@ -26,11 +26,14 @@ import java.io.Serializable;
 import org.apache.hadoop.io.DoubleWritable;
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.SequenceFileInputFormat;
 import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.parquet.hadoop.mapred.DeprecatedParquetInputFormat;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.MetaData;
@@ -88,6 +91,17 @@ public class InputInfo implements Serializable
 	public static final InputInfo CSVInputInfo=new InputInfo(TextInputFormat.class, 
 			 LongWritable.class, Text.class);
 	
+	public static final InputInfo LIBSVMInputInfo=new InputInfo(TextInputFormat.class, 
+			 LongWritable.class, Text.class);
+	
+	//note: parquet files are read via dedicated readers (not key/value pairs)
+	public static final InputInfo ParquetInputInfo=new InputInfo(DeprecatedParquetInputFormat.class, 
+			 NullWritable.class, NullWritable.class);
+	
+	//note: local binary files are read via dedicated memory-mapped readers
+	public static final InputInfo LocalBinaryInputInfo=new InputInfo(FileInputFormat.class, 
+			 NullWritable.class, NullWritable.class);
+	
 	public static OutputInfo getMatchingOutputInfo(InputInfo ii) {
 		if ( ii == InputInfo.BinaryBlockInputInfo )
 			return OutputInfo.BinaryBlockOutputInfo;
@@ -105,6 +119,12 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.LIBSVMInputInfo)
+			return OutputInfo.LIBSVMOutputInfo;
+		else if ( ii == InputInfo.ParquetInputInfo)
+			return OutputInfo.ParquetOutputInfo;
+		else if ( ii == InputInfo.LocalBinaryInputInfo)
+			return OutputInfo.LocalBinaryOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -130,6 +150,12 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("libsvm"))
+			return LIBSVMInputInfo;
+		else if ( str.equalsIgnoreCase("parquet"))
+			return ParquetInputInfo;
+		else if ( str.equalsIgnoreCase("localbinary"))
+			return LocalBinaryInputInfo;
 		return null;
 	}
 
@@ -140,6 +166,12 @@ public class InputInfo implements Serializable
 			return InputInfo.MatrixMarketInputInfo;
 		else if( DataExpression.FORMAT_TYPE_VALUE_CSV.equals(str) )
 			return InputInfo.CSVInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(str) )
+			return InputInfo.LIBSVMInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_PARQUET.equals(str) )
+			return InputInfo.ParquetInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY.equals(str) )
+			return InputInfo.LocalBinaryInputInfo; 
 		else if( DataExpression.FORMAT_TYPE_VALUE_BINARY.equals(str) )
 			return InputInfo.BinaryBlockInputInfo; 		
 		return null;
@@ -162,6 +194,12 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == LIBSVMInputInfo )
+			return "libsvm";
+		else if ( ii == ParquetInputInfo )
+			return "parquet";
+		else if ( ii == LocalBinaryInputInfo )
+			return "localbinary";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.IOException;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.Mean;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceDiag;
+import org.apache.sysml.runtime.io.MatrixChunkIterator;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Library for out-of-core operations over matrices that exceed the local 
+ * memory budget. All operations consume a {@link MatrixChunkIterator}, which
+ * reads consecutive row chunks of the matrix from its file, and only hold 
+ * the current (and prefetched) chunk as well as the output in memory. The 
+ * per-chunk operations are multi-threaded as their in-memory counterparts.
+ * 
+ * Current list of supported operations:
+ *  - unary aggregates (full, row, column; except trace), 
+ *  - tsmm (t(X)%*%X), 
+ *  - matrix multiply with in-memory left or right input (e.g., X%*%v, t(y)%*%X)
+ */
+public class LibMatrixStream 
+{
+	//internal configuration (exposed for testing purposes only)
+	public static boolean FORCE_OUT_OF_CORE = false;
+	public static int FORCE_CHUNK_ROWS = -1;
+	
+	private LibMatrixStream() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Obtains the number of rows per chunk for out-of-core operations.
+	 * 
+	 * @param mc matrix characteristics of the streamed input
+	 * @return number of rows per chunk
+	 */
+	public static int getChunkRows(MatrixCharacteristics mc) {
+		return (FORCE_CHUNK_ROWS > 0) ? FORCE_CHUNK_ROWS : 
+			MatrixChunkIterator.getDefaultChunkRows(mc.getRows(), 
+				mc.getCols(), mc.getNonZeros(), mc.getRowsPerBlock());
+	}
+	
+	public static boolean isSupportedAggregate(AggregateUnaryOperator op) {
+		return !(op.indexFn instanceof ReduceDiag);
+	}
+	
+	/**
+	 * Out-of-core unary aggregate, where row aggregates are computed and 
+	 * copied per chunk, while full and column aggregates are incrementally 
+	 * aggregated (with corrections) over all chunks.
+	 * 
+	 * @param in chunk iterator of the input matrix
+	 * @param op aggregate unary operator
+	 * @return output matrix block
+	 */
+	public static MatrixBlock aggregateUnary(MatrixChunkIterator in, AggregateUnaryOperator op) {
+		if( !isSupportedAggregate(op) )
+			throw new DMLRuntimeException("Unsupported out-of-core aggregate: "+op.indexFn.getClass().getSimpleName());
+		
+		boolean rowAgg = (op.indexFn instanceof ReduceCol);
+		AggregateOperator aop = getCombineOperator(op.aggOp);
+		MatrixBlock ret = null;
+		MatrixBlock corr = null;
+		
+		try( MatrixChunkIterator iter = in.enablePrefetch() ) {
+			while( iter.hasNext() ) {
+				MatrixBlock chunk = iter.next();
+				int clen = chunk.getNumColumns();
+				if( rowAgg ) {
+					//row aggregates w/o correction, copied into output rows
+					MatrixBlock tmp = (MatrixBlock) chunk.aggregateUnaryOperations(op,
+						new MatrixBlock(), chunk.getNumRows(), clen, new MatrixIndexes(1,1), true);
+					if( ret == null )
+						ret = new MatrixBlock((int)iter.getNumRows(), tmp.getNumColumns(), false).allocateDenseBlock();
+					int rl = (int) iter.getRowIndex();
+					ret.copy(rl, rl+tmp.getNumRows()-1, 0, tmp.getNumColumns()-1, tmp, false);
+				}
+				else {
+					//full and column aggregates w/ correction, aggregated in-place
+					MatrixBlock tmp = (MatrixBlock) chunk.aggregateUnaryOperations(op,
+						new MatrixBlock(), chunk.getNumRows(), clen, new MatrixIndexes(1,1), false);
+					if( ret == null )
+						ret = tmp;
+					else {
+						if( aop.correctionExists && corr == null )
+							corr = new MatrixBlock(ret.getNumRows(), ret.getNumColumns(), false);
+						OperationsOnMatrixValues.incrementalAggregation(ret, corr, tmp, aop, true);
+					}
+				}
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//drop correction after aggregation
+		if( !rowAgg )
+			ret.dropLastRowsOrColumns(aop.correctionLocation);
+		else
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Obtains the operator for combining partial aggregates, which differs from
+	 * the aggregate operator for mean, whose partial means are combined via 
+	 * count-weighted kahan plus (see amean in the distributed backends).
+	 * 
+	 * @param aop aggregate operator
+	 * @return combine operator
+	 */
+	private static AggregateOperator getCombineOperator(AggregateOperator aop) {
+		return (aop.increOp.fn instanceof Mean) ?
+			new AggregateOperator(0, KahanPlus.getKahanPlusFnObject(), true, aop.correctionLocation) : aop;
+	}
+	
+	/**
+	 * Out-of-core left transpose-self matrix multiplication t(X)%*%X, 
+	 * computed as the sum of t(Xi)%*%Xi over all row chunks Xi.
+	 * 
+	 * @param in chunk iterator of the input matrix
+	 * @param k degree of parallelism per chunk
+	 * @return output matrix block
+	 */
+	public static MatrixBlock tsmm(MatrixChunkIterator in, int k) {
+		BinaryOperator plus = new BinaryOperator(Plus.getPlusFnObject());
+		MatrixBlock ret = null;
+		
+		try( MatrixChunkIterator iter = in.enablePrefetch() ) {
+			while( iter.hasNext() ) {
+				MatrixBlock tmp = iter.next().transposeSelfMatrixMultOperations(
+					new MatrixBlock(), MMTSJType.LEFT, k);
+				if( ret == null )
+					ret = tmp;
+				else
+					ret.binaryOperationsInPlace(plus, tmp);
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Out-of-core matrix multiplication X%*%B with streamed left input X and
+	 * in-memory right input B, where the output rows are computed and copied 
+	 * per row chunk.
+	 * 
+	 * @param in chunk iterator of the left input matrix
+	 * @param m2 right input matrix
+	 * @param op aggregate binary operator
+	 * @return output matrix block
+	 */
+	public static MatrixBlock matrixMult(MatrixChunkIterator in, MatrixBlock m2, AggregateBinaryOperator op) {
+		MatrixBlock ret = new MatrixBlock((int)in.getNumRows(), m2.getNumColumns(), false).allocateDenseBlock();
+		
+		try( MatrixChunkIterator iter = in.enablePrefetch() ) {
+			while( iter.hasNext() ) {
+				MatrixBlock chunk = iter.next();
+				MatrixBlock main = (m2 instanceof CompressedMatrixBlock) ? m2 : chunk;
+				MatrixBlock tmp = main.aggregateBinaryOperations(chunk, m2, new MatrixBlock(), op);
+				int rl = (int) iter.getRowIndex();
+				ret.copy(rl, rl+tmp.getNumRows()-1, 0, tmp.getNumColumns()-1, tmp, false);
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Out-of-core matrix multiplication A%*%X with in-memory left input A and
+	 * streamed right input X, computed as the sum of A[,i]%*%Xi over all row 
+	 * chunks Xi and the corresponding column ranges of A.
+	 * 
+	 * @param m1 left input matrix
+	 * @param in chunk iterator of the right input matrix
+	 * @param op aggregate binary operator
+	 * @return output matrix block
+	 */
+	public static MatrixBlock matrixMult(MatrixBlock m1, MatrixChunkIterator in, AggregateBinaryOperator op) {
+		BinaryOperator plus = new BinaryOperator(Plus.getPlusFnObject());
+		MatrixBlock ret = null;
+		
+		try( MatrixChunkIterator iter = in.enablePrefetch() ) {
+			while( iter.hasNext() ) {
+				MatrixBlock chunk = iter.next();
+				int rl = (int) iter.getRowIndex();
+				MatrixBlock a = m1.slice(0, m1.getNumRows()-1, rl, rl+chunk.getNumRows()-1, new MatrixBlock());
+				MatrixBlock tmp = a.aggregateBinaryOperations(a, chunk, new MatrixBlock(), op);
+				if( ret == null )
+					ret = tmp;
+				else
+					ret.binaryOperationsInPlace(plus, tmp);
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		ret.examSparsity();
+		return ret;
+	}
+}
@@ -29,9 +29,11 @@ import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileOutputFormat;
 import org.apache.hadoop.mapred.OutputFormat;
 import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.hadoop.mapred.TextOutputFormat;
+import org.apache.parquet.hadoop.mapred.DeprecatedParquetOutputFormat;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.mapred.CSVWriteReducer.RowBlockForTextOutput;
@@ -70,6 +72,14 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	public static final OutputInfo LIBSVMOutputInfo=new OutputInfo(TextOutputFormat.class, 
+			NullWritable.class, Text.class);
+	//note: parquet files are written via dedicated writers (not key/value pairs)
+	public static final OutputInfo ParquetOutputInfo=new OutputInfo(DeprecatedParquetOutputFormat.class, 
+			NullWritable.class, NullWritable.class);
+	//note: local binary files are written via dedicated file channel writers
+	public static final OutputInfo LocalBinaryOutputInfo=new OutputInfo(FileOutputFormat.class, 
+			NullWritable.class, NullWritable.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -88,6 +98,12 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.LIBSVMOutputInfo)
+			return InputInfo.LIBSVMInputInfo;
+		else if ( oi == OutputInfo.ParquetOutputInfo)
+			return InputInfo.ParquetInputInfo;
+		else if ( oi == OutputInfo.LocalBinaryOutputInfo)
+			return InputInfo.LocalBinaryInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -113,6 +129,12 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("libsvm") )
+			return LIBSVMOutputInfo;
+		else if ( str.equalsIgnoreCase("parquet") )
+			return ParquetOutputInfo;
+		else if ( str.equalsIgnoreCase("localbinary") )
+			return LocalBinaryOutputInfo;
 		return null;
 	}
 	
@@ -133,6 +155,12 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == LIBSVMOutputInfo )
+			return "libsvm";
+		else if ( oi == ParquetOutputInfo )
+			return "parquet";
+		else if ( oi == LocalBinaryOutputInfo )
+			return "localbinary";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
@@ -145,6 +173,12 @@ public class OutputInfo implements Serializable
 			return DataExpression.FORMAT_TYPE_VALUE_MATRIXMARKET;
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_CSV;
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_LIBSVM;
+		else if( oinfo == OutputInfo.ParquetOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_PARQUET;
+		else if( oinfo == OutputInfo.LocalBinaryOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY;
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
@@ -54,6 +54,8 @@ public class TfUtils implements Serializable
 	public static final String TXMETHOD_DUMMYCODE = "dummycode";
 	public static final String TXMETHOD_SCALE     = "scale";
 	public static final String TXMETHOD_OMIT      = "omit";
+	public static final String TXMETHOD_HASH      = "hash";
+	public static final String TXMETHOD_HASH_K    = "K";
 		
 	//transform meta data constants (frame-based transform)
 	public static final String TXMTD_MVPREFIX = "#Meta"+Lop.DATATYPE_PREFIX+"MV";
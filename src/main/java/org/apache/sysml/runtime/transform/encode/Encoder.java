@@ -20,12 +20,20 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONArray;
 
@@ -39,6 +47,9 @@ public abstract class Encoder implements Serializable
 	private static final long serialVersionUID = 2299156350718979064L;
 	protected static final Log LOG = LogFactory.getLog(Encoder.class.getName());
 	
+	//min number of input cells for multi-threaded build and apply
+	protected static final long PAR_NUMCELL_THRESHOLD = 64*1024;
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -103,6 +114,46 @@ public abstract class Encoder implements Serializable
 	 * @return output matrix block
 	 */
 	public abstract MatrixBlock encode(FrameBlock in, MatrixBlock out);
+	
+	/**
+	 * Block encode: build and apply (transform encode) into a compressed
+	 * matrix block. By default, the input is encoded into an uncompressed
+	 * block, which is subsequently compressed.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @return output matrix block, compressed if beneficial
+	 */
+	public MatrixBlock encodeCompressed(FrameBlock in, MatrixBlock out) {
+		return encodeCompressed(in, out, 1);
+	}
+	
+	/**
+	 * Block encode: multi-threaded build and apply (transform encode)
+	 * into a compressed matrix block.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block, compressed if beneficial
+	 */
+	public MatrixBlock encodeCompressed(FrameBlock in, MatrixBlock out, int k) {
+		MatrixBlock ret = encode(in, out, k);
+		return new CompressedMatrixBlock(ret).compress(k);
+	}
+	
+	/**
+	 * Block encode: multi-threaded build and apply (transform encode). 
+	 * By default, this falls back to the single-threaded encode.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return encode(in, out);
+	}
 
 	/**
 	 * Build the transform meta data for the given block input. This call modifies
@@ -112,6 +163,17 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract void build(FrameBlock in);
 	
+	/**
+	 * Multi-threaded build of the transform meta data for the given block 
+	 * input. By default, this falls back to the single-threaded build.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
 	/**
 	 * Encode input data blockwise according to existing transform meta
 	 * data (transform apply).
@@ -121,6 +183,78 @@ public abstract class Encoder implements Serializable
 	 * @return output matrix block
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
+	
+	/**
+	 * Multi-threaded encode of input data blockwise according to existing 
+	 * transform meta data (transform apply). By default, this falls back 
+	 * to the single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out);
+	}
+	
+	/**
+	 * Encode the given row range of the input data according to existing 
+	 * transform meta data into a preallocated dense output, which is used 
+	 * for row-partitioned, multi-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 */
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		throw new DMLRuntimeException("Row-partitioned apply not supported by "
+			+ getClass().getSimpleName() + ".");
+	}
+	
+	/**
+	 * Multi-threaded apply over row partitions via {@link #applyRows}, 
+	 * with fallback to single-threaded apply for small or sparse outputs.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	protected MatrixBlock applyRowPartitioned(FrameBlock in, MatrixBlock out, int k) {
+		if( out.isInSparseFormat() || !isParallel(k, in.getNumRows(), _colList.length) )
+			return apply(in, out);
+		
+		//preallocate dense output for thread-safe updates of disjoint rows
+		out.allocateDenseBlock(false);
+		ArrayList<ApplyTask> tasks = new ArrayList<>();
+		ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(in.getNumRows(), k, false);
+		for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+			tasks.add(new ApplyTask(this, in, out, lb, lb+blklens.get(i)));
+		execute(tasks, k);
+		out.recomputeNonZeros();
+		return out;
+	}
+	
+	protected static boolean isParallel(int k, long nrow, long ncol) {
+		return k > 1 && nrow * ncol >= PAR_NUMCELL_THRESHOLD;
+	}
+	
+	protected static <T> List<T> execute(List<? extends Callable<T>> tasks, int k) {
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			List<Future<T>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			List<T> ret = new ArrayList<>();
+			for( Future<T> rtask : rtasks )
+				ret.add(rtask.get());
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
 
 	/**
 	 * Construct a frame block out of the transform meta data.
@@ -149,4 +283,27 @@ public abstract class Encoder implements Serializable
 		//default: do nothing
 		return out;
 	}
+	
+	private static class ApplyTask implements Callable<Object> 
+	{
+		private final Encoder _encoder;
+		private final FrameBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyTask(Encoder encoder, FrameBlock in, MatrixBlock out, int rl, int ru) {
+			_encoder = encoder;
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			_encoder.applyRows(_in, _out, _rl, _ru);
+			return null;
+		}
+	}
 }
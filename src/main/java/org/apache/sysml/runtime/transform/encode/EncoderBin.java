@@ -133,6 +133,10 @@ public class EncoderBin extends Encoder
 		return out;
 	}
 
+	public double[][] getBinMaxs() {
+		return _binMaxs;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		return meta;
@@ -19,12 +19,21 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 
+import org.apache.commons.lang.ArrayUtils;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupUncompressed;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.IntArrayList;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * Simple composite encoder that applies a list of encoders 
@@ -36,6 +45,9 @@ public class EncoderComposite extends Encoder
 {
 	private static final long serialVersionUID = -8473768154646831882L;
 	
+	//max number of distinct values of recoded columns for DDC column groups
+	private static final int MAX_DDC_DISTINCT = 65535;
+	
 	private List<Encoder> _encoders = null;
 	private FrameBlock _meta = null;
 	
@@ -58,21 +70,46 @@ public class EncoderComposite extends Encoder
 	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
 		try {
-			//build meta data first (for all encoders)
-			for( Encoder encoder : _encoders )
-				encoder.build(in);
+			//build and propagate meta data
+			buildMetaData(in, k);
 			
-			//propagate meta data 
-			_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
-			for( Encoder encoder : _encoders )
-				_meta = encoder.getMetaData(_meta);
+			//apply meta data
 			for( Encoder encoder : _encoders )
-				encoder.initMetaData(_meta);
+				out = encoder.apply(in, out, k);
+		}
+		catch(Exception ex) {
+			LOG.error("Failed transform-encode frame with \n" + this);
+			throw ex;
+		}
+		
+		return out;
+	}
+	
+	@Override
+	public MatrixBlock encodeCompressed(FrameBlock in, MatrixBlock out, int k) {
+		//encode and compress if other encoders modify the dummy coded
+		//output (e.g., binning, omit, and missing value imputation)
+		for( Encoder encoder : _encoders )
+			if( !(encoder instanceof EncoderRecode || encoder instanceof EncoderPassThrough
+				|| encoder instanceof EncoderDummycode || encoder instanceof EncoderFeatureHash) )
+				return super.encodeCompressed(in, out, k);
+		
+		try {
+			//build and propagate meta data
+			buildMetaData(in, k);
 			
-			//apply meta data
+			//apply recode and pass-through, but create column groups of
+			//the recoded and dummy coded columns directly from the codes
 			for( Encoder encoder : _encoders )
-				out = encoder.apply(in, out);
+				if( !(encoder instanceof EncoderDummycode) )
+					out = encoder.apply(in, out, k);
+			out = createCompressedBlock(out);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed transform-encode frame with \n" + this);
@@ -81,18 +118,157 @@ public class EncoderComposite extends Encoder
 		
 		return out;
 	}
+	
+	private void buildMetaData(FrameBlock in, int k) {
+		//build meta data first (for all encoders)
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+		
+		//propagate meta data 
+		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+		for( Encoder encoder : _encoders )
+			_meta = encoder.getMetaData(_meta);
+		for( Encoder encoder : _encoders )
+			encoder.initMetaData(_meta);
+	}
+	
+	private CompressedMatrixBlock createCompressedBlock(MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int clen = in.getNumColumns();
+		
+		//obtain recode maps and domain sizes of dummy coded columns
+		HashMap<Integer, HashMap<String,Long>> rcdMaps = new HashMap<>();
+		int[] dcCols = new int[0];
+		int[] domainSizes = null;
+		for( Encoder encoder : _encoders ) {
+			if( encoder instanceof EncoderRecode )
+				rcdMaps = ((EncoderRecode)encoder).getCPRecodeMaps();
+			else if( encoder instanceof EncoderDummycode ) {
+				dcCols = encoder.getColList();
+				domainSizes = ((EncoderDummycode)encoder).getDomainSizes();
+			}
+		}
+		
+		//create column groups per recoded and dummy coded column, and a
+		//single uncompressed group for all remaining columns
+		ArrayList<ColGroup> colGroups = new ArrayList<>();
+		ArrayList<Integer> ucCols = new ArrayList<>();
+		ArrayList<Integer> ucColsOut = new ArrayList<>();
+		int[] codes = new int[m];
+		long nnz = 0;
+		int ncolID = 1;
+		for( int colID=1, idx=0; colID <= clen; colID++ ) {
+			if( idx < dcCols.length && colID==dcCols[idx] ) {
+				nnz += createDummycodeColGroups(in, colID-1, ncolID-1, domainSizes[idx], codes, colGroups);
+				ncolID += domainSizes[idx];
+				idx ++;
+			}
+			else if( rcdMaps.containsKey(colID) && rcdMaps.get(colID).size() < MAX_DDC_DISTINCT ) {
+				nnz += createRecodeColGroup(in, colID-1, ncolID-1, rcdMaps.get(colID).size(), codes, colGroups);
+				ncolID ++;
+			}
+			else {
+				ucCols.add(colID-1);
+				ucColsOut.add(ncolID-1);
+				ncolID ++;
+			}
+		}
+		if( !ucCols.isEmpty() ) {
+			MatrixBlock tmp = new MatrixBlock(m, ucCols.size(), false);
+			for( int i=0; i<m; i++ )
+				for( int j=0; j<ucCols.size(); j++ )
+					tmp.quickSetValue(i, j, in.quickGetValue(i, ucCols.get(j)));
+			tmp.examSparsity();
+			nnz += tmp.getNonZeros();
+			colGroups.add(new ColGroupUncompressed(ArrayUtils.toPrimitive(
+				ucColsOut.toArray(new Integer[0])), m, tmp));
+		}
+		
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m, ncolID-1, false);
+		ret.allocateColGroupList(colGroups, nnz);
+		return ret;
+	}
+	
+	private static long createRecodeColGroup(MatrixBlock in, int col, int ocol, int d, int[] codes, List<ColGroup> colGroups) {
+		//dictionary of recode values 1..d and NaN for unknown tokens
+		double[] values = new double[d+1];
+		for( int k=0; k<d; k++ )
+			values[k] = k+1;
+		values[d] = Double.NaN;
+		for( int i=0; i<in.getNumRows(); i++ ) {
+			double val = in.quickGetValue(i, col);
+			codes[i] = (val >= 1 && val <= d) ? (int)val-1 : d;
+		}
+		colGroups.add(ConverterUtils.createDDCColGroup(new int[]{ocol}, values, codes));
+		return in.getNumRows();
+	}
+	
+	private static long createDummycodeColGroups(MatrixBlock in, int col, int ocol, int d, int[] codes, List<ColGroup> colGroups) {
+		final int m = in.getNumRows();
+		if( d <= 0 )
+			return 0;
+		
+		//compute codes, where d refers to the all-zero tuple of unknown tokens
+		long nnz = 0;
+		for( int i=0; i<m; i++ ) {
+			double val = in.quickGetValue(i, col);
+			codes[i] = (val >= 1 && val <= d) ? (int)val-1 : d;
+			nnz += (codes[i] < d) ? 1 : 0;
+		}
+		
+		//small domains: DDC group over all one-hot columns w/ identity dictionary
+		if( d < 256 ) {
+			double[] values = new double[(d+1)*d];
+			for( int k=0; k<d; k++ )
+				values[k*d+k] = 1;
+			colGroups.add(ConverterUtils.createDDCColGroup(
+				UtilFunctions.getSeqArray(ocol, ocol+d-1, 1), values, codes));
+		}
+		//large domains: OLE group per one-hot column (to avoid a quadratic dictionary)
+		else {
+			IntArrayList[] offsets = new IntArrayList[d];
+			for( int i=0; i<m; i++ ) {
+				if( codes[i] == d ) continue;
+				if( offsets[codes[i]] == null )
+					offsets[codes[i]] = new IntArrayList();
+				offsets[codes[i]].appendValue(i);
+			}
+			ArrayList<Integer> empty = new ArrayList<>();
+			for( int k=0; k<d; k++ ) {
+				if( offsets[k] != null )
+					colGroups.add(ConverterUtils.createOLEColGroup(ocol+k, m, 1, offsets[k]));
+				else
+					empty.add(ocol+k);
+			}
+			if( !empty.isEmpty() ) {
+				colGroups.add(new ColGroupUncompressed(ArrayUtils.toPrimitive(
+					empty.toArray(new Integer[0])), m, new MatrixBlock(m, empty.size(), true)));
+			}
+		}
+		return nnz;
+	}
 
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
 		for( Encoder encoder : _encoders )
-			encoder.build(in);
+			encoder.build(in, k);
 	}
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
 		try {
 			for( Encoder encoder : _encoders )
-				out = encoder.apply(in, out);
+				out = encoder.apply(in, out, k);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed to transform-apply frame with \n" + this);
@@ -19,10 +19,14 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
@@ -47,6 +51,10 @@ public class EncoderDummycode extends Encoder
 		return (int)_dummycodedLength;
 	}
 	
+	public int[] getDomainSizes() {
+		return _domainSizes;
+	}
+	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
 		return apply(in, out);
@@ -59,14 +67,36 @@ public class EncoderDummycode extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
 		//allocate output in dense or sparse representation
 		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(
 			out.getNumRows(), getNumCols(), out.getNonZeros());
 		MatrixBlock ret = new MatrixBlock(out.getNumRows(), getNumCols(), sparse);
 		
 		//append dummy coded or unchanged values to output
+		if( !isParallel(k, out.getNumRows(), out.getNumColumns()) ) {
+			applyRows(out, ret, 0, out.getNumRows());
+		}
+		else {
+			//preallocate output for thread-safe appends to disjoint rows
+			ret.allocateBlock();
+			ArrayList<ApplyRowsTask> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(out.getNumRows(), k, false);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new ApplyRowsTask(this, out, ret, lb, lb+blklens.get(i)));
+			execute(tasks, k);
+			ret.recomputeNonZeros();
+		}
+		return ret;
+	}
+	
+	private void applyRows(MatrixBlock out, MatrixBlock ret, int rl, int ru) {
 		final int clen = out.getNumColumns();
-		for( int i=0; i<out.getNumRows(); i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			for(int colID=1, idx=0, ncolID=1; colID <= clen; colID++) {
 				double val = out.quickGetValue(i, colID-1);
 				if( idx < _colList.length && colID==_colList[idx] ) {
@@ -81,7 +111,6 @@ public class EncoderDummycode extends Encoder
 				}
 			}
 		}
-		return ret;
 	}
 
 	@Override
@@ -120,4 +149,27 @@ public class EncoderDummycode extends Encoder
 		
 		return out;
 	}
+	
+	private static class ApplyRowsTask implements Callable<Object> 
+	{
+		private final EncoderDummycode _encoder;
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyRowsTask(EncoderDummycode encoder, MatrixBlock in, MatrixBlock out, int rl, int ru) {
+			_encoder = encoder;
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			_encoder.applyRows(_in, _out, _rl, _ru);
+			return null;
+		}
+	}
 }
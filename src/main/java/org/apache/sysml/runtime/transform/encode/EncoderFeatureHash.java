@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.transform.encode;
+
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Feature hashing encoder that maps the tokens of categorical columns 
+ * into K buckets (codes 1..K) without any dictionary. Hence, there is 
+ * no build pass, and apply is stateless. The number of buckets K is 
+ * exposed as number of distinct items in the meta data, which allows 
+ * dummy coding hashed columns into K columns.
+ */
+public class EncoderFeatureHash extends Encoder
+{
+	private static final long serialVersionUID = 7435806042138687342L;
+	
+	private long _K = -1;
+	
+	public EncoderFeatureHash(JSONObject parsedSpec, String[] colnames, int clen) 
+		throws JSONException 
+	{
+		super(null, clen);
+		if( parsedSpec.containsKey(TfUtils.TXMETHOD_HASH) ) {
+			_colList = TfMetaUtils.parseJsonIDList(parsedSpec, colnames, TfUtils.TXMETHOD_HASH);
+			_K = getK(parsedSpec);
+		}
+	}
+	
+	public long getK() {
+		return _K;
+	}
+	
+	/**
+	 * Maps the given token to its bucket (1-based) by a hash function that
+	 * is deterministic across JVMs (e.g., the tasks of a distributed encode).
+	 * 
+	 * @param key token
+	 * @param K number of buckets
+	 * @return bucket 1..K, or -1 for null or empty tokens
+	 */
+	public static long getCode(String key, long K) {
+		if( key == null || key.isEmpty() )
+			return -1;
+		return (key.hashCode() & Integer.MAX_VALUE) % K + 1;
+	}
+	
+	public static long getK(JSONObject parsedSpec) throws JSONException {
+		if( !parsedSpec.containsKey(TfUtils.TXMETHOD_HASH_K) )
+			throw new JSONException("Missing number of buckets '"+TfUtils.TXMETHOD_HASH_K
+				+"' for feature hashing.");
+		long K = parsedSpec.getLong(TfUtils.TXMETHOD_HASH_K);
+		if( K <= 0 )
+			throw new JSONException("Invalid number of buckets for feature hashing: "+K);
+		return K;
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return apply(in, out);
+	}
+
+	@Override
+	public void build(FrameBlock in) {
+		//do nothing
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowPartitioned(in, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			for( int i=rl; i<ru; i++ ) {
+				Object okey = in.get(i, colID-1);
+				long code = getCode((okey!=null) ? okey.toString() : null, _K);
+				out.quickSetValue(i, colID-1, (code >= 0) ? code : Double.NaN);
+			}
+		}
+	}
+
+	@Override
+	public FrameBlock getMetaData(FrameBlock meta) {
+		if( !isApplicable() )
+			return meta;
+		meta.ensureAllocatedColumns(0); //if no recode maps
+		for( int j=0; j<_colList.length; j++ )
+			meta.getColumnMetadata(_colList[j]-1).setNumDistinct(_K);
+		return meta;
+	}
+	
+	@Override
+	public void initMetaData(FrameBlock meta) {
+		//domain sizes of hashed columns are given by the spec, which we
+		//propagate to the meta data for subsequent dummy coding
+		getMetaData(meta);
+	}
+}
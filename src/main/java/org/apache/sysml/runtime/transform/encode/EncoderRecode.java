@@ -19,16 +19,21 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
@@ -99,6 +104,39 @@ public class EncoderRecode extends Encoder
 		}
 	}
 
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		if( !isParallel(k, in.getNumRows(), _colList.length) ) {
+			build(in);
+			return;
+		}
+		
+		//per-column build for sufficiently many columns, otherwise
+		//row-partitioned build of partial recode maps (distinct tokens)
+		ArrayList<BuildTask> tasks = new ArrayList<>();
+		ArrayList<Integer> blklens = (_colList.length >= k) ? 
+			UtilFunctions.getBalancedBlockSizesDefault(in.getNumRows(), 1, true) :
+			UtilFunctions.getBalancedBlockSizesDefault(in.getNumRows(), k, false);
+		for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+			for( int j=0; j<_colList.length; j++ )
+				tasks.add(new BuildTask(in, _colList[j], lb, lb+blklens.get(i)));
+		List<LinkedHashSet<String>> parts = execute(tasks, k);
+		
+		//merge partial recode maps in row order, which assigns the same
+		//codes as the sequential build (i.e., in order of first occurrence)
+		for( int i=0; i<tasks.size(); i++ ) {
+			int colID = tasks.get(i)._colID;
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new HashMap<String,Long>());
+			HashMap<String,Long> map = _rcdMaps.get(colID);
+			for( String key : parts.get(i) )
+				if( !map.containsKey(key) )
+					map.put(key, Long.valueOf(map.size()+1));
+		}
+	}
+
 	public void buildPartial(FrameBlock in) {
 		if( !isApplicable() )
 			return;		
@@ -126,10 +164,21 @@ public class EncoderRecode extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowPartitioned(in, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				Object okey = in.get(i, colID-1);
 				String key = (okey!=null) ? okey.toString() : null;
 				long code = lookupRCDMap(colID, key);
@@ -137,8 +186,6 @@ public class EncoderRecode extends Encoder
 					(code >= 0) ? code : Double.NaN);
 			}
 		}
-		
-		return out;
 	}
 
 	@Override
@@ -220,4 +267,32 @@ public class EncoderRecode extends Encoder
 		int pos = value.toString().lastIndexOf(Lop.DATATYPE_PREFIX);
 		return new String[] {value.substring(0, pos), value.substring(pos+1)};
 	}
+	
+	private static class BuildTask implements Callable<LinkedHashSet<String>>
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final int _rl;
+		private final int _ru;
+		
+		protected BuildTask(FrameBlock in, int colID, int rl, int ru) {
+			_in = in;
+			_colID = colID;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public LinkedHashSet<String> call() {
+			//collect distinct tokens in order of first occurrence
+			LinkedHashSet<String> ret = new LinkedHashSet<>();
+			for( int i=_rl; i<_ru; i++ ) {
+				Object okey = _in.get(i, _colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				if( key!=null && !key.isEmpty() )
+					ret.add(key);
+			}
+			return ret;
+		}
+	}
 }
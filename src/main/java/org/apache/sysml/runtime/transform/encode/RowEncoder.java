@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.transform.encode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Pre-compiled, reusable transform apply for individual records, which
+ * is intended for low-latency scoring (e.g., via JMLC). The transform 
+ * specification and meta data are compiled once into flat per-column 
+ * arrays, which allows encoding records directly into rows of a dense 
+ * output block without intermediate frames or allocations per record 
+ * (except for parsing numeric values given as strings). 
+ * 
+ * Supported are recode, feature hashing, dummycode, binning, pass-through, 
+ * omit, and missing value imputation. In contrast to the block encoders, missing
+ * values are imputed before dummy coding and bin/recode codes without 
+ * valid dummy coded position produce all-zero dummy coded columns.
+ * Since encode is side-effect free, a row encoder can be shared across
+ * threads as long as they write to different output blocks.
+ */
+public class RowEncoder 
+{
+	private final int _clen;
+	private final int _ncol;
+	
+	//compiled per-column (0-based) transform meta data
+	private final HashMap<String, Long>[] _rcdMaps; //recode maps or null
+	private final double[][] _binMaxs;              //bin upper bounds or null
+	private final long[] _hashK;                    //feature hashing buckets or 0
+	private final int[] _domainSizes;               //dummycode domains or 0
+	private final int[] _offsets;                   //output column positions
+	private final boolean[] _omit;                  //omit flags
+	private final double[] _mvValues;               //imputed values or NaN
+	private final boolean _anyOmit;
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public RowEncoder(String spec, String[] colnames, ValueType[] schema, FrameBlock meta) {
+		Encoder encoder = EncoderFactory.createEncoder(spec, colnames, schema, meta);
+		_clen = schema.length;
+		_ncol = encoder.getNumCols();
+		_rcdMaps = new HashMap[_clen];
+		_binMaxs = new double[_clen][];
+		_hashK = new long[_clen];
+		_domainSizes = new int[_clen];
+		_offsets = new int[_clen];
+		_omit = new boolean[_clen];
+		_mvValues = new double[_clen];
+		Arrays.fill(_mvValues, Double.NaN);
+		
+		//compile meta data of individual encoders
+		boolean anyOmit = false;
+		for( Encoder enc : ((EncoderComposite)encoder).getEncoders() ) {
+			int[] cols = enc.getColList();
+			if( enc instanceof EncoderRecode ) {
+				HashMap<Integer, HashMap<String,Long>> maps = ((EncoderRecode)enc).getCPRecodeMaps();
+				for( int colID : cols )
+					_rcdMaps[colID-1] = maps.containsKey(colID) ?
+						maps.get(colID) : new HashMap<String,Long>();
+			}
+			else if( enc instanceof EncoderFeatureHash ) {
+				for( int colID : cols )
+					_hashK[colID-1] = ((EncoderFeatureHash)enc).getK();
+			}
+			else if( enc instanceof EncoderBin ) {
+				for( int j=0; j<cols.length; j++ )
+					_binMaxs[cols[j]-1] = ((EncoderBin)enc).getBinMaxs()[j];
+			}
+			else if( enc instanceof EncoderDummycode ) {
+				for( int j=0; j<cols.length; j++ )
+					_domainSizes[cols[j]-1] = ((EncoderDummycode)enc).getDomainSizes()[j];
+			}
+			else if( enc instanceof EncoderOmit && enc.isApplicable() ) {
+				for( int colID : cols )
+					_omit[colID-1] = anyOmit = true;
+			}
+			else if( enc instanceof EncoderMVImpute && enc.isApplicable() ) {
+				for( int j=0; j<cols.length; j++ )
+					_mvValues[cols[j]-1] = Double.parseDouble(
+						((EncoderMVImpute)enc).getReplacements()[j]);
+			}
+		}
+		_anyOmit = anyOmit;
+		
+		//compute output column positions
+		for( int j=0, pos=0; j<_clen; j++ ) {
+			_offsets[j] = pos;
+			pos += Math.max(_domainSizes[j], 1);
+		}
+	}
+	
+	/**
+	 * Obtain the number of output columns, i.e., after dummy coding.
+	 * 
+	 * @return number of output columns
+	 */
+	public int getNumCols() {
+		return _ncol;
+	}
+	
+	/**
+	 * Allocate a dense output block of the given number of rows,
+	 * which can be reused across calls of encode.
+	 * 
+	 * @param rows number of rows
+	 * @return dense output block
+	 */
+	public MatrixBlock allocateOutput(int rows) {
+		return new MatrixBlock(rows, _ncol, false).allocateDenseBlock();
+	}
+	
+	/**
+	 * Encode a single record (e.g., of strings or boxed values) into the 
+	 * given row of a dense output block, overwriting its previous content.
+	 * 
+	 * @param record input record of length number of input columns
+	 * @param out dense output block of number of output columns
+	 * @param row row index in output block
+	 * @return false if the record was omitted (row unchanged), otherwise true
+	 */
+	public boolean encode(Object[] record, MatrixBlock out, int row) {
+		if( record.length != _clen || out.getNumColumns() != _ncol || out.isInSparseFormat() )
+			throw new DMLRuntimeException("Invalid input record or output block for row encoder: "
+				+record.length+" vs "+_clen+" input columns, "+out.getNumColumns()+" vs "+_ncol
+				+" output columns, sparse="+out.isInSparseFormat()+".");
+		
+		//probe omit columns before any output modification
+		if( _anyOmit )
+			for( int j=0; j<_clen; j++ )
+				if( _omit[j] && Double.isNaN(encodeValue(j, record[j])) )
+					return false;
+		
+		//encode columns into output row, and maintain nnz
+		if( out.getDenseBlock() == null )
+			out.allocateDenseBlock();
+		double[] c = out.getDenseBlockValues();
+		int cix = row * _ncol;
+		long nnz = 0;
+		for( int j=0; j<_ncol; j++ )
+			nnz -= (c[cix+j] != 0) ? 1 : 0;
+		for( int j=0; j<_clen; j++ ) {
+			double val = encodeValue(j, record[j]);
+			if( Double.isNaN(val) )
+				val = _mvValues[j];
+			int pos = cix + _offsets[j];
+			if( _domainSizes[j] > 0 ) {
+				for( int k=0; k<_domainSizes[j]; k++ )
+					c[pos+k] = 0;
+				if( val >= 1 && val <= _domainSizes[j] ) {
+					c[pos+(int)val-1] = 1;
+					nnz++;
+				}
+			}
+			else {
+				c[pos] = val;
+				nnz += (val != 0) ? 1 : 0;
+			}
+		}
+		out.setNonZeros(out.getNonZeros() + nnz);
+		return true;
+	}
+	
+	private double encodeValue(int j, Object val) {
+		if( _rcdMaps[j] != null ) {
+			Long code = (val != null) ? _rcdMaps[j].get(val.toString()) : null;
+			return (code != null) ? code : Double.NaN;
+		}
+		if( _hashK[j] > 0 ) {
+			long code = EncoderFeatureHash.getCode((val != null) ? val.toString() : null, _hashK[j]);
+			return (code >= 0) ? code : Double.NaN;
+		}
+		double dval = toDouble(val);
+		if( _binMaxs[j] != null && !Double.isNaN(dval) ) {
+			int ix = Arrays.binarySearch(_binMaxs[j], dval);
+			return ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
+		}
+		return dval;
+	}
+	
+	private static double toDouble(Object val) {
+		if( val instanceof Number )
+			return ((Number)val).doubleValue();
+		if( val instanceof Boolean )
+			return ((Boolean)val) ? 1 : 0;
+		if( val == null || val.toString().isEmpty() )
+			return Double.NaN;
+		return Double.parseDouble(val.toString());
+	}
+}
@@ -33,6 +33,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.io.FileFormatProperties;
+import org.apache.sysml.runtime.io.MatrixChunkIterator;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.io.MatrixReaderFactory;
 import org.apache.sysml.runtime.io.MatrixWriter;
@@ -206,6 +207,47 @@ public class DataConverter
 		return ret;
 	}
 
+
+	/**
+	 * Opens a chunked read of a matrix in textcell, matrixmarket, csv, libsvm, binarycell,
+	 * binaryblock, parquet, or localbinary format, which returns consecutive row chunks
+	 * instead of reading the entire matrix into main memory.
+	 * 
+	 * @param dir file name
+	 * @param inputinfo input info
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param brlen number of rows in a block
+	 * @param bclen number of columns in a block
+	 * @param expectedNnz expected number of non-zeros
+	 * @param formatProperties file format properties
+	 * @param chunkRows maximum number of rows per chunk
+	 * @return chunk iterator
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixChunkIterator readMatrixChunksFromHDFS(String dir, InputInfo inputinfo, long rlen, long clen, 
+		int brlen, int bclen, long expectedNnz, FileFormatProperties formatProperties, int chunkRows) 
+		throws IOException
+	{
+		ReadProperties prop = new ReadProperties();
+		prop.path = dir;
+		prop.inputInfo = inputinfo;
+		prop.rlen = rlen;
+		prop.clen = clen;
+		prop.brlen = brlen;
+		prop.bclen = bclen;
+		prop.expectedNnz = expectedNnz;
+		prop.formatProperties = formatProperties;
+		
+		try {
+			MatrixReader reader = MatrixReaderFactory.createMatrixReader(prop);
+			return reader.readMatrixChunksFromHDFS(prop.path, prop.rlen, prop.clen,
+				prop.brlen, prop.bclen, prop.expectedNnz, chunkRows);
+		}
+		catch(DMLRuntimeException rex) {
+			throw new IOException(rex);
+		}
+	}
 	
 	//////////////
 	// Utils for CREATING and COPYING matrix blocks 
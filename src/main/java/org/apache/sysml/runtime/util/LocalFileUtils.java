@@ -22,19 +22,27 @@ package org.apache.sysml.runtime.util;
 import java.io.BufferedInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.sysml.api.DMLScript;
@@ -42,9 +50,13 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.SpillFormat;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -66,6 +78,12 @@ public class LocalFileUtils
 	public static final String CATEGORY_WORK         = "work";
 	public static final String CATEGORY_CODEGEN      = "codegen";
 	
+	//tags of self-describing spill files
+	private static final byte SPILL_TAG_BINARY     = 0;
+	private static final byte SPILL_TAG_COMPRESSED = 1;
+	private static final byte SPILL_TAG_DENSE      = 2;
+	private static final int  SPILL_DENSE_HEADER   = 24; //8-byte aligned
+	
 	static {
 		_seq = new IDSequence();
 	}
@@ -101,7 +119,8 @@ public class LocalFileUtils
 		return (FrameBlock) readWritableFromLocal(fname, new FrameBlock());
 	}
 	
-	/** Reads a matrix/frame block from local file system.
+	/** Reads a matrix/frame block from local file system, according
+	 * to the spill format tag of the given file.
 	 * 
 	 * @param fname file name to read
 	 * @param matrix if true, read matrix. if false, read frame.
@@ -109,7 +128,87 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static CacheBlock readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
-		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
+		CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+		FileInputStream fis = new FileInputStream(fname);
+		try {
+			int tag = fis.read();
+			switch( tag ) {
+				case SPILL_TAG_BINARY:
+					return (CacheBlock) readWritableFromStream(fis, ret);
+				case SPILL_TAG_COMPRESSED: {
+					Inflater inflater = new Inflater(true);
+					try {
+						return (CacheBlock) readWritableFromStream(
+							new InflaterInputStream(fis, inflater, BUFFER_SIZE), ret);
+					}
+					finally {
+						inflater.end();
+					}
+				}
+				case SPILL_TAG_DENSE:
+					return readDenseMatrixBlockFromLocal(fname);
+				default:
+					throw new IOException("Invalid spill file tag: "+tag);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fis);
+		}
+	}
+	
+	/**
+	 * Reads a dense matrix block in spill format from local file system,
+	 * where the values are read in chunks via the file channel and bulk
+	 * copied into the allocated dense block (without byte-level
+	 * deserialization).
+	 * 
+	 * @param fname file name to read
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	private static MatrixBlock readDenseMatrixBlockFromLocal(String fname) throws IOException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			ByteBuffer header = ByteBuffer.allocate(SPILL_DENSE_HEADER);
+			readFully(channel, header);
+			header.flip();
+			header.get(); //tag
+			int rlen = header.getInt();
+			int clen = header.getInt();
+			long nnz = header.getLong();
+			
+			//allocate output and read value segments per dense block
+			MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+			DenseBlock a = ret.allocateBlock().getDenseBlock();
+			ByteBuffer bbuff = ByteBuffer.allocate(8*BUFFER_SIZE).order(ByteOrder.nativeOrder());
+			DoubleBuffer dbuff = bbuff.asDoubleBuffer();
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				int len = a.size(bi);
+				for( int pos=0; pos<len; pos+=BUFFER_SIZE ) {
+					int blen = Math.min(len-pos, BUFFER_SIZE);
+					bbuff.clear().limit(8*blen);
+					readFully(channel, bbuff);
+					dbuff.clear();
+					dbuff.get(avals, pos, blen);
+				}
+			}
+			if( nnz >= 0 )
+				ret.setNonZeros(nnz);
+			else
+				ret.recomputeNonZeros();
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	private static void readFully(FileChannel channel, ByteBuffer buff) throws IOException {
+		while( buff.hasRemaining() )
+			if( channel.read(buff) < 0 )
+				throw new EOFException("Unexpected end of spill file.");
 	}
 	
 	/**
@@ -209,14 +308,120 @@ public class LocalFileUtils
 		writeWritableToLocal(fname, fb);
 	}
 
-	/** Writes a matrix/frame block to local file system.
+	/** Writes a matrix/frame block to local file system, according
+	 * to the configured spill format of the buffer pool.
 	 * 
 	 * @param fname file name to write
 	 * @param cb cache block (common interface to matrix block and frame block)
 	 * @throws IOException if IOException occurs
 	 */
 	public static void writeCacheBlockToLocal(String fname, CacheBlock cb) throws IOException {
-		writeWritableToLocal(fname, cb);
+		SpillFormat format = CacheableData.CACHING_SPILL_FORMAT;
+		if( format == SpillFormat.DENSE && isDenseSpillBlock(cb) ) {
+			writeDenseMatrixBlockToLocal(fname, (MatrixBlock)cb);
+		}
+		else {
+			FileOutputStream fos = new FileOutputStream(fname);
+			try {
+				boolean compress = (format == SpillFormat.COMPRESSED);
+				fos.write(compress ? SPILL_TAG_COMPRESSED : SPILL_TAG_BINARY);
+				if( compress )
+					writeCompressed(fos, cb, null);
+				else
+					writeWritableToStream(fos, cb);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(fos);
+			}
+		}
+	}
+	
+	/**
+	 * Writes a serialized matrix/frame block to local file system, according
+	 * to the configured spill format of the buffer pool.
+	 * 
+	 * @param fname file name to write
+	 * @param data serialized cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCacheByteArrayToLocal(String fname, byte[] data) throws IOException {
+		SpillFormat format = CacheableData.CACHING_SPILL_FORMAT;
+		if( format != SpillFormat.COMPRESSED ) {
+			byte[] tag = new byte[]{SPILL_TAG_BINARY};
+			writeByteArrayToLocal(fname, new byte[][]{tag, data});
+		}
+		else {
+			FileOutputStream fos = new FileOutputStream(fname);
+			try {
+				fos.write(SPILL_TAG_COMPRESSED);
+				writeCompressed(fos, null, data);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(fos);
+			}
+		}
+	}
+	
+	private static boolean isDenseSpillBlock(CacheBlock cb) {
+		if( !(cb instanceof MatrixBlock) || cb instanceof CompressedMatrixBlock )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null;
+	}
+	
+	private static void writeCompressed(OutputStream os, Writable w, byte[] data) throws IOException {
+		//fast compression (best speed, no zlib header/checksum)
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+		DeflaterOutputStream dos = new DeflaterOutputStream(os, deflater, BUFFER_SIZE);
+		try {
+			if( w != null ) {
+				FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(dos, BUFFER_SIZE);
+				w.write(out);
+				out.flush();
+			}
+			else {
+				dos.write(data);
+			}
+			dos.finish();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+	
+	private static void writeDenseMatrixBlockToLocal(String fname, MatrixBlock mb) throws IOException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			ByteBuffer header = ByteBuffer.allocate(SPILL_DENSE_HEADER);
+			header.put(SPILL_TAG_DENSE);
+			header.putInt(mb.getNumRows());
+			header.putInt(mb.getNumColumns());
+			header.putLong(mb.getNonZeros());
+			header.rewind();
+			channel.write(header);
+			
+			//write values in native byte order via reused buffer
+			DenseBlock a = mb.getDenseBlock();
+			ByteBuffer bbuff = ByteBuffer.allocate(8*BUFFER_SIZE).order(ByteOrder.nativeOrder());
+			DoubleBuffer dbuff = bbuff.asDoubleBuffer();
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				int len = a.size(bi);
+				for( int pos=0; pos<len; pos+=BUFFER_SIZE ) {
+					int blen = Math.min(len-pos, BUFFER_SIZE);
+					dbuff.clear();
+					dbuff.put(avals, pos, blen);
+					bbuff.clear().limit(8*blen);
+					while( bbuff.hasRemaining() )
+						channel.write(bbuff);
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
 	}
 	
 	/**
@@ -241,9 +446,23 @@ public class LocalFileUtils
 			IOUtilFunctions.closeSilently(fos);
 		}	
 	}
+	
+	private static void writeWritableToStream(OutputStream os, Writable mb)
+		throws IOException
+	{
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(os, BUFFER_SIZE);
+		mb.write(out);
+		out.flush();
+	}
 
 	public static void writeByteArrayToLocal( String fname, byte[] data )
 		throws IOException
+	{
+		writeByteArrayToLocal(fname, new byte[][]{data});
+	}
+	
+	private static void writeByteArrayToLocal( String fname, byte[][] data )
+		throws IOException
 	{	
 		//byte array write via java.nio file channel ~10-15% faster than java.io
 		FileChannel channel = null;
@@ -251,7 +470,8 @@ public class LocalFileUtils
 			Path path = Paths.get(fname);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-			channel.write(ByteBuffer.wrap(data));
+			for( byte[] tmp : data )
+				channel.write(ByteBuffer.wrap(tmp));
 		}
 		finally {
 			IOUtilFunctions.closeSilently(channel);
@@ -43,6 +43,8 @@ import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.MRJobInstruction;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.spark.SPInstruction;
+import org.apache.sysml.runtime.lineage.LineageCache;
+import org.apache.sysml.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
 
 /**
@@ -128,6 +130,13 @@ public class Statistics
 	private static final LongAdder psBatchIndexTime = new LongAdder();
 	private static final LongAdder psRpcRequestTime = new LongAdder();
 
+	// Compression stats (time is in milli sec)
+	private static final LongAdder compressCount = new LongAdder();
+	private static final DoubleAdder compressEstimTime = new DoubleAdder();
+	private static final DoubleAdder compressCocodeTime = new DoubleAdder();
+	private static final DoubleAdder compressEncodeTime = new DoubleAdder();
+	private static final DoubleAdder compressCleanupTime = new DoubleAdder();
+
 	//PARFOR optimization stats (low frequency updates)
 	private static long parforOptTime = 0; //in milli sec
 	private static long parforOptCount = 0; //count
@@ -471,7 +480,14 @@ public class Statistics
 		lTotalLixUIP.reset();
 		lTotalUIPVar.reset();
 		
+		compressCount.reset();
+		compressEstimTime.reset();
+		compressCocodeTime.reset();
+		compressEncodeTime.reset();
+		compressCleanupTime.reset();
+		
 		CacheStatistics.reset();
+		LineageCacheStatistics.reset();
 		
 		resetJITCompileTime();
 		resetJVMgcTime();
@@ -574,6 +590,14 @@ public class Statistics
 		psRpcRequestTime.add(t);
 	}
 
+	public static void accCompressionTimes(double estim, double cocode, double encode, double cleanup) {
+		compressCount.increment();
+		compressEstimTime.add(estim);
+		compressCocodeTime.add(cocode);
+		compressEncodeTime.add(encode);
+		compressCleanupTime.add(cleanup);
+	}
+
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
 		String opcode = null;
@@ -975,6 +999,10 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( LineageCache.LINEAGE_REUSE ) {
+				sb.append("Lineage cache hits (full, partial, FS):\t" + LineageCacheStatistics.displayHits() + ".\n");
+				sb.append("Lineage cache writes (Mem, FS):\t" + LineageCacheStatistics.displayWrites() + ".\n");
+			}
 			if (ConfigurationManager.isJMLCMemStatistics())
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -1016,6 +1044,12 @@ public class Statistics
 				sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", psBatchIndexTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", psRpcRequestTime.doubleValue() / 1000));
 			}
+			if( compressCount.longValue() > 0 ) {
+				sb.append(String.format("Compressed blocks:\t\t%d.\n", compressCount.longValue()));
+				sb.append(String.format("Compress times (est,cocode,enc,cln):\t%.3f/%.3f/%.3f/%.3f secs.\n",
+					compressEstimTime.doubleValue() / 1000, compressCocodeTime.doubleValue() / 1000,
+					compressEncodeTime.doubleValue() / 1000, compressCleanupTime.doubleValue() / 1000));
+			}
 			if( parforOptCount>0 ){
 				sb.append("ParFor loops optimized:\t\t" + getParforOptCount() + ".\n");
 				sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getParforOptTime())/1000) + " sec.\n");
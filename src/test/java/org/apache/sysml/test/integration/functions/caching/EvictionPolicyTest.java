@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EvictionPolicyTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "EvictionPolicy";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + EvictionPolicyTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-cost.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private final static int cols = 1000;
+	
+	private boolean _cost = false;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testLoopInvariantFIFO() {
+		runLoopInvariantEvictionTest(RPolicy.FIFO, true);
+	}
+	
+	@Test
+	public void testLoopInvariantCost() {
+		runLoopInvariantEvictionTest(RPolicy.COST, true);
+	}
+	
+	@Test
+	public void testNoReuseHintCost() {
+		runLoopInvariantEvictionTest(RPolicy.COST, false);
+	}
+	
+	@Test
+	public void testForWhileLoopsCostConfig() {
+		try {
+			//run w/ default and cost-based eviction policy
+			HashMap<CellIndex, Double> R1 = runEvictionPolicyScript(false);
+			Assert.assertEquals(RPolicy.FIFO, CacheableData.CACHING_BUFFER_POLICY);
+			HashMap<CellIndex, Double> R2 = runEvictionPolicyScript(true);
+			Assert.assertEquals(RPolicy.COST, CacheableData.CACHING_BUFFER_POLICY);
+			TestUtils.compareMatrices(R1, R2, 1e-8, "Stat-FIFO", "Stat-Cost");
+		}
+		finally {
+			_cost = false;
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.FIFO;
+		}
+	}
+	
+	private void runLoopInvariantEvictionTest(RPolicy policy, boolean hint) {
+		try {
+			CacheableData.CACHING_BUFFER_POLICY = policy;
+			CacheableData.initCaching("tmp_eviction_policy_test");
+			
+			//create loop-invariant X and two temporaries, each of
+			//slightly less than 1/3 of the buffer pool size
+			int rows = (int)(LazyWriteBuffer.getWriteBufferLimit() / (3L * 8 * cols)) - 1;
+			MatrixObject X = createMatrixObject("X", rows, 1);
+			MatrixObject Y1 = createMatrixObject("Y1", rows, 2);
+			MatrixObject Y2 = createMatrixObject("Y2", rows, 3);
+			
+			//mark X as loop-invariant (as done by for/while loops)
+			if( hint )
+				X.setReuseHint(true);
+			
+			//create another temporary, which requires an eviction
+			MatrixObject Y3 = createMatrixObject("Y3", rows, 4);
+			
+			//check loop-invariant X kept in buffer pool only if cost-based
+			boolean keep = (policy == RPolicy.COST && hint);
+			Assert.assertEquals(!keep, isEvicted(X));
+			Assert.assertEquals(keep, isEvicted(Y1));
+			Assert.assertFalse(isEvicted(Y2) || isEvicted(Y3));
+			if( hint )
+				X.setReuseHint(false);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.FIFO;
+			CacheableData.cleanupCacheDir();
+		}
+	}
+	
+	private HashMap<CellIndex, Double> runEvictionPolicyScript(boolean cost) {
+		//note: config file is created on loading the test configuration
+		_cost = cost;
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-args", "1000", "50", output("R")};
+		runTest(true, false, null, -1);
+		return readDMLMatrixFromHDFS("R");
+	}
+	
+	private static MatrixObject createMatrixObject(String name, int rows, double val) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+		MetaDataFormat meta = new MetaDataFormat(mc,
+			OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, name, meta);
+		mo.acquireModify(new MatrixBlock(rows, cols, val));
+		mo.release();
+		return mo;
+	}
+	
+	private static boolean isEvicted(MatrixObject mo) throws Exception {
+		Method fname = CacheableData.class
+			.getDeclaredMethod("getCacheFilePathAndName", new Class[]{});
+		fname.setAccessible(true); //make method public
+		return new File((String)fname.invoke(mo, new Object[]{})).exists();
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		if( !_cost )
+			return super.getConfigTemplateFile();
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyWriteBufferTest 
+{
+	private static final String TEST_DIR = "target/testTemp/functions/caching/LazyWriteBufferTest/";
+	private static final int cols = 1000;
+	
+	private int _threads;
+	private boolean _prefetch;
+	
+	@Before
+	public void setUp() throws IOException {
+		_threads = CacheableData.CACHING_EVICTION_THREADS;
+		_prefetch = CacheableData.CACHING_PREFETCH;
+		FileUtils.forceMkdir(new File(TEST_DIR));
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		LazyWriteBuffer.cleanup();
+		CacheableData.CACHING_EVICTION_THREADS = _threads;
+		CacheableData.CACHING_PREFETCH = _prefetch;
+		FileUtils.deleteQuietly(new File(TEST_DIR));
+	}
+	
+	@Test
+	public void testSyncEviction() throws IOException {
+		runEvictionTest(0);
+	}
+	
+	@Test
+	public void testAsyncEviction() throws IOException {
+		runEvictionTest(2);
+	}
+	
+	@Test
+	public void testPendingEvictionRead() throws IOException {
+		init(2, false);
+		int rows = getRows();
+		for( int i=0; i<3; i++ )
+			LazyWriteBuffer.writeBlock(fname(i), createBlock(rows, i+1));
+		
+		//read victim right after eviction, served from the
+		//pending buffer or local FS depending on progress
+		Assert.assertEquals(1, LazyWriteBuffer.writeBlock(fname(3), createBlock(rows, 4)));
+		checkBlock(LazyWriteBuffer.readBlock(fname(0), true), rows, 1);
+		
+		//delete of pending victim and subsequent rewrite
+		Assert.assertEquals(1, LazyWriteBuffer.writeBlock(fname(4), createBlock(rows, 5)));
+		LazyWriteBuffer.deleteBlock(fname(1));
+		LazyWriteBuffer.writeBlock(fname(1), createBlock(rows, 7));
+		checkBlock(LazyWriteBuffer.readBlock(fname(1), true), rows, 7);
+		Assert.assertTrue(LazyWriteBuffer.getWriteBufferSize() <= LazyWriteBuffer.getWriteBufferLimit());
+	}
+	
+	@Test
+	public void testPrefetch() throws IOException {
+		init(0, true);
+		int rows = getRows();
+		for( int i=0; i<4; i++ )
+			LazyWriteBuffer.writeBlock(fname(i), createBlock(rows, i+1));
+		
+		//prefetch of evicted block consumed by subsequent read
+		Assert.assertTrue(new File(fname(0)).exists());
+		LazyWriteBuffer.prefetchBlock(fname(0), true);
+		checkBlock(LazyWriteBuffer.readBlock(fname(0), true), rows, 1);
+		
+		//prefetch invalidated by subsequent write of the same file,
+		//which is evicted again before the read (no stale prefetch)
+		LazyWriteBuffer.writeBlock(fname(4), createBlock(rows, 5));
+		LazyWriteBuffer.prefetchBlock(fname(1), true);
+		LazyWriteBuffer.writeBlock(fname(1), createBlock(rows, 6));
+		for( int i=5; i<8; i++ )
+			LazyWriteBuffer.writeBlock(fname(i), createBlock(rows, i+1));
+		checkBlock(LazyWriteBuffer.readBlock(fname(1), true), rows, 6);
+	}
+	
+	@Test
+	public void testSyncEvictionError() throws IOException {
+		runEvictionErrorTest(0);
+	}
+	
+	@Test
+	public void testAsyncEvictionError() throws IOException {
+		runEvictionErrorTest(2);
+	}
+	
+	private void runEvictionTest(int threads) throws IOException {
+		init(threads, false);
+		int rows = getRows();
+		
+		//write blocks of 1/3 buffer size, where each subsequent
+		//write requires the eviction of one block (FIFO)
+		int numEvicted = 0;
+		for( int i=0; i<6; i++ ) {
+			numEvicted += LazyWriteBuffer.writeBlock(fname(i), createBlock(rows, i+1));
+			Assert.assertTrue(LazyWriteBuffer.getWriteBufferSize() <= LazyWriteBuffer.getWriteBufferLimit());
+		}
+		Assert.assertEquals(3, numEvicted);
+		
+		//read evicted and buffered blocks
+		for( int i=0; i<6; i++ )
+			checkBlock(LazyWriteBuffer.readBlock(fname(i), true), rows, i+1);
+		for( int i=0; i<6; i++ )
+			LazyWriteBuffer.deleteBlock(fname(i));
+		Assert.assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+	}
+	
+	private void runEvictionErrorTest(int threads) throws IOException {
+		init(threads, false);
+		int rows = getRows();
+		
+		//write blocks to non-existing directory, where the eviction of
+		//the first block fails and is reported to the writer
+		String fname = TEST_DIR + "missing/cache" + CacheableData.CACHING_EVICTION_FILEEXTENSION;
+		LazyWriteBuffer.writeBlock(fname, createBlock(rows, 1));
+		for( int i=1; i<3; i++ )
+			LazyWriteBuffer.writeBlock(fname(i), createBlock(rows, i+1));
+		try {
+			LazyWriteBuffer.writeBlock(fname(3), createBlock(rows, 4));
+			Assert.fail("Failed eviction not reported to writer.");
+		}
+		catch(IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains(fname));
+		}
+		
+		//buffer of failed eviction retained, and reads report the error
+		Assert.assertEquals(3 * LazyWriteBuffer.getCacheBlockSize(createBlock(rows, 1)),
+			LazyWriteBuffer.getWriteBufferSize());
+		try {
+			LazyWriteBuffer.readBlock(fname, true);
+			Assert.fail("Failed eviction not reported to reader.");
+		}
+		catch(IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains(fname));
+		}
+		
+		//delete releases the retained buffer
+		LazyWriteBuffer.deleteBlock(fname);
+		for( int i=1; i<3; i++ )
+			LazyWriteBuffer.deleteBlock(fname(i));
+		Assert.assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+	}
+	
+	private static void init(int threads, boolean prefetch) {
+		CacheableData.CACHING_EVICTION_THREADS = threads;
+		CacheableData.CACHING_PREFETCH = prefetch;
+		LazyWriteBuffer.init();
+	}
+	
+	private static int getRows() {
+		//dense blocks of slightly less than 1/3 of the buffer size
+		return (int)(LazyWriteBuffer.getWriteBufferLimit() / (3L * 8 * cols)) - 1;
+	}
+	
+	private static MatrixBlock createBlock(int rows, double val) {
+		return new MatrixBlock(rows, cols, val);
+	}
+	
+	private static String fname(int i) {
+		return TEST_DIR + "cache" + i + CacheableData.CACHING_EVICTION_FILEEXTENSION;
+	}
+	
+	private static void checkBlock(Object cb, int rows, double val) {
+		MatrixBlock mb = (MatrixBlock) cb;
+		Assert.assertEquals(rows, mb.getNumRows());
+		Assert.assertEquals(cols, mb.getNumColumns());
+		Assert.assertEquals(val, mb.quickGetValue(0, 0), 0);
+		Assert.assertEquals(val, mb.quickGetValue(rows-1, cols-1), 0);
+		Assert.assertEquals(val * rows * cols, mb.sum(), 1e-6 * val * rows * cols);
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.SpillFormat;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpillFormatTest 
+{
+	private static final String TEST_DIR = "target/testTemp/functions/caching/SpillFormatTest/";
+	private static final int rows = 1234;
+	private static final int cols = 67;
+	
+	private SpillFormat _format;
+	
+	@Before
+	public void setUp() throws IOException {
+		_format = CacheableData.CACHING_SPILL_FORMAT;
+		FileUtils.forceMkdir(new File(TEST_DIR));
+	}
+	
+	@After
+	public void tearDown() {
+		CacheableData.CACHING_SPILL_FORMAT = _format;
+		FileUtils.deleteQuietly(new File(TEST_DIR));
+	}
+	
+	@Test
+	public void testBinaryDense() throws IOException {
+		runSpillFormatTest(SpillFormat.BINARY, 0.9);
+	}
+	
+	@Test
+	public void testBinarySparse() throws IOException {
+		runSpillFormatTest(SpillFormat.BINARY, 0.05);
+	}
+	
+	@Test
+	public void testCompressedDense() throws IOException {
+		runSpillFormatTest(SpillFormat.COMPRESSED, 0.9);
+	}
+	
+	@Test
+	public void testCompressedSparse() throws IOException {
+		runSpillFormatTest(SpillFormat.COMPRESSED, 0.05);
+	}
+	
+	@Test
+	public void testDenseDense() throws IOException {
+		runSpillFormatTest(SpillFormat.DENSE, 0.9);
+	}
+	
+	@Test
+	public void testDenseSparse() throws IOException {
+		runSpillFormatTest(SpillFormat.DENSE, 0.05);
+	}
+	
+	private void runSpillFormatTest(SpillFormat format, double sparsity) throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		ValueType[] schema = new ValueType[cols];
+		for( int j=0; j<cols; j++ )
+			schema[j] = (j%2==0) ? ValueType.STRING : ValueType.DOUBLE;
+		FrameBlock fb = DataConverter.convertToFrameBlock(mb, schema);
+		
+		for( SpillFormat rformat : SpillFormat.values() ) {
+			//write cache blocks and serialized cache blocks
+			CacheableData.CACHING_SPILL_FORMAT = format;
+			LocalFileUtils.writeCacheBlockToLocal(TEST_DIR+"m1", mb);
+			LocalFileUtils.writeCacheBlockToLocal(TEST_DIR+"f1", fb);
+			LocalFileUtils.writeCacheByteArrayToLocal(TEST_DIR+"m2", serialize(mb));
+			LocalFileUtils.writeCacheByteArrayToLocal(TEST_DIR+"f2", serialize(fb));
+			
+			//read independent of the current spill format
+			CacheableData.CACHING_SPILL_FORMAT = rformat;
+			for( String fname : new String[]{"m1", "m2"} )
+				compareMatrices(mb, (MatrixBlock)LocalFileUtils
+					.readCacheBlockFromLocal(TEST_DIR+fname, true));
+			for( String fname : new String[]{"f1", "f2"} )
+				compareFrames(fb, (FrameBlock)LocalFileUtils
+					.readCacheBlockFromLocal(TEST_DIR+fname, false));
+		}
+	}
+	
+	private static byte[] serialize(CacheBlock cb) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		cb.write(new DataOutputStream(bos));
+		return bos.toByteArray();
+	}
+	
+	private static void compareMatrices(MatrixBlock mb1, MatrixBlock mb2) {
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb1),
+			DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+	}
+	
+	private static void compareFrames(FrameBlock fb1, FrameBlock fb2) {
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(fb1),
+			DataConverter.convertToStringFrame(fb2), rows, fb1.getNumColumns());
+	}
+}
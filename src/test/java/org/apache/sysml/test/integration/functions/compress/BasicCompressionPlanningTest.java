@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.util.Random;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock.CompressionStatistics;
+import org.apache.sysml.runtime.compress.cocode.ColumnGroupPartitionerBinPacking;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for compression planning with bounded time budget.
+ */
+public class BasicCompressionPlanningTest extends AutomatedTestBase
+{
+	private static final int rows = 2345;
+	private static final int cols = 24;
+	private static final int card = 8;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testUnboundedPlanning() {
+		runCompressionPlanningTest(-1, 1, true);
+	}
+	
+	@Test
+	public void testBoundedPlanning() {
+		runCompressionPlanningTest(60000, 1, true);
+	}
+	
+	@Test
+	public void testBoundedPlanningParallel() {
+		runCompressionPlanningTest(60000, 4, true);
+	}
+	
+	@Test
+	public void testZeroBudgetPlanning() {
+		runCompressionPlanningTest(0, 1, false);
+	}
+	
+	@Test
+	public void testZeroBudgetPlanningParallel() {
+		runCompressionPlanningTest(0, 4, false);
+	}
+	
+	private void runCompressionPlanningTest(double budget, int k, boolean cocode)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		double binCapacity = ColumnGroupPartitionerBinPacking.BIN_CAPACITY;
+		try
+		{
+			//allow co-coding of all columns for small number of rows
+			ColumnGroupPartitionerBinPacking.BIN_CAPACITY = 1;
+			
+			//generate input data of perfectly correlated low-cardinality, non-integer columns
+			Random rand = new Random(7);
+			double[][] input = new double[rows][cols];
+			for( int i=0; i<rows; i++ ) {
+				int val = rand.nextInt(card) + 1;
+				for( int j=0; j<cols; j++ )
+					input[i][j] = val * Math.PI * (j+1);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress(k, budget);
+			
+			//check co-coding decisions and statistics
+			if( cocode )
+				Assert.assertTrue(cmb.getNumColGroups() < cols);
+			else
+				Assert.assertEquals(cols, cmb.getNumColGroups());
+			CompressionStatistics stats = cmb.getCompressionStatistics();
+			Assert.assertTrue(stats.timePhase1 >= 0 && stats.timePhase2 >= 0
+				&& stats.timePhase3 >= 0 && stats.timePhase5 >= 0);
+			
+			//compare decompressed result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(cmb.decompress());
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ColumnGroupPartitionerBinPacking.BIN_CAPACITY = binCapacity;
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Random;
+
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroup.CompressionType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Divide;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for constant, frame-of-reference, and delta encoded column groups.
+ */
+public class BasicIntegerCompressionTest extends AutomatedTestBase
+{
+	private static final int rows = 5321;
+	private static final int cols = 7;
+	
+	public enum ValueType {
+		SORTED_INT, //DELTA
+		RAND_INT, //FOR
+		CONST, //CONST
+		EMPTY, //OLE
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testSortedIntDeltaCompression() {
+		runIntegerCompressionTest(ValueType.SORTED_INT, CompressionType.DELTA, true);
+	}
+	
+	@Test
+	public void testRandIntFORCompression() {
+		runIntegerCompressionTest(ValueType.RAND_INT, CompressionType.FOR, true);
+	}
+	
+	@Test
+	public void testConstCompression() {
+		runIntegerCompressionTest(ValueType.CONST, CompressionType.CONST, true);
+	}
+	
+	@Test
+	public void testEmptyCompression() {
+		runIntegerCompressionTest(ValueType.EMPTY, null, true);
+	}
+	
+	@Test
+	public void testSortedIntNoPackedCompression() {
+		runIntegerCompressionTest(ValueType.SORTED_INT, null, false);
+	}
+	
+	@Test
+	public void testRandIntNoPackedCompression() {
+		runIntegerCompressionTest(ValueType.RAND_INT, null, false);
+	}
+	
+	private void runIntegerCompressionTest(ValueType vtype, CompressionType ctype, boolean packed)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		try
+		{
+			CompressedMatrixBlock.ALLOW_PACKED_ENCODING = packed;
+			
+			//generate input data
+			double[][] input = generateInput(vtype, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			
+			//check for expected column group types
+			if( ctype != null ) {
+				for( ColGroup grp : cmb.getColGroups() )
+					Assert.assertEquals(ctype, grp.getCompType());
+			}
+			else {
+				for( ColGroup grp : cmb.getColGroups() )
+					Assert.assertTrue(grp.getCompType() != CompressionType.FOR
+						&& grp.getCompType() != CompressionType.DELTA);
+			}
+			
+			//decompression
+			compareResults(mb, cmb.decompress());
+			
+			//unary aggregates (compressed and uncompressed)
+			for( String opcode : new String[]{"uak+", "uark+", "uack+", "uasqk+",
+				"uamax", "uamin", "uarmax", "uacmin"} ) {
+				AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+				MatrixBlock ret1 = (MatrixBlock)mb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true);
+				MatrixBlock ret2 = (MatrixBlock)cmb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true);
+				compareResults(ret1, ret2);
+			}
+			
+			//matrix-vector and vector-matrix multiplication
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+			MatrixBlock vector1 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(cols, 1, -1, 1, 1.0, 3));
+			compareResults(mb.aggregateBinaryOperations(mb, vector1, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(cmb, vector1, new MatrixBlock(), abop));
+			MatrixBlock vector2 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(1, rows, -1, 1, 1.0, 3));
+			compareResults(vector2.aggregateBinaryOperations(vector2, mb, new MatrixBlock(), abop),
+				cmb.aggregateBinaryOperations(vector2, cmb, new MatrixBlock(), abop));
+			
+			//scalar operations (affine and non-affine)
+			for( ScalarOperator sop : new ScalarOperator[]{
+				new RightScalarOperator(Plus.getPlusFnObject(), 7),
+				new RightScalarOperator(Multiply.getMultiplyFnObject(), -3),
+				new LeftScalarOperator(Plus.getPlusFnObject(), -11),
+				new RightScalarOperator(Divide.getDivideFnObject(), 0),
+				new RightScalarOperator(Multiply.getMultiplyFnObject(), Double.POSITIVE_INFINITY)} ) {
+				compareResults(mb.scalarOperations(sop, new MatrixBlock()),
+					cmb.scalarOperations(sop, new MatrixBlock()));
+			}
+			
+			//serialization round trip
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			cmb.write(new DataOutputStream(bos));
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+			cmb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			Assert.assertEquals(cmb.getExactSizeOnDisk(), bos.size());
+			compareResults(mb, cmb2.decompress());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_PACKED_ENCODING = true;
+		}
+	}
+	
+	private static double[][] generateInput(ValueType vtype, long seed) {
+		Random rand = new Random(seed);
+		double[][] ret = new double[rows][cols];
+		for( int j=0; j<cols; j++ ) {
+			long base = rand.nextInt(1000) - 500;
+			for( int i=0; i<rows; i++ ) {
+				switch( vtype ) {
+					case SORTED_INT: 
+						base += rand.nextInt(4);
+						ret[i][j] = base; break;
+					case RAND_INT:
+						ret[i][j] = base + rand.nextInt(1 << 12); break;
+					case CONST:
+						ret[i][j] = base; break;
+					case EMPTY:
+						ret[i][j] = 0; break;
+				}
+			}
+		}
+		return ret;
+	}
+	
+	private static void compareResults(MatrixValue ret1, MatrixValue ret2) {
+		MatrixBlock mb1 = (MatrixBlock) ret1;
+		MatrixBlock mb2 = (ret2 instanceof CompressedMatrixBlock) ?
+			((CompressedMatrixBlock)ret2).decompress() : (MatrixBlock) ret2;
+		double[][] d1 = DataConverter.convertToDoubleMatrix(mb1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(mb2);
+		TestUtils.compareMatrices(d1, d2, mb1.getNumRows(), mb1.getNumColumns(), 0.0000001);
+	}
+}
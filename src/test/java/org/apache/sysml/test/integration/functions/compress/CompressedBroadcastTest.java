@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OperationsOnMatrixValues;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for compressed partitioned blocks as used for Spark broadcasts and
+ * shuffle, including the block matrix multiplications of mapmm/cpmm/zipmm.
+ */
+public class CompressedBroadcastTest extends AutomatedTestBase
+{
+	private static final int rows = 2345;
+	private static final int cols = 20;
+	private static final int blksz = 1000;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+	
+	public enum ValueType {
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testDenseRoundRandDataDDCBroadcast() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, true);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLEBroadcast() {
+		runCompressedBroadcastTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, true);
+	}
+	
+	@Test
+	public void testDenseConstDataBroadcast() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.CONST, true);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataDDCShuffle() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, false);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLEShuffle() {
+		runCompressedBroadcastTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, false);
+	}
+	
+	@Test
+	public void testDenseConstDataShuffle() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.CONST, false);
+	}
+	
+	private void runCompressedBroadcastTest(SparsityType sptype, ValueType vtype, boolean broadcast)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		try
+		{
+			//generate input data
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.round(
+				TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7));
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype!=ValueType.RAND_ROUND_OLE);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock vect = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(3, blksz, -1, 1, 1.0, 3));
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			
+			//obtain serialized and deserialized compressed blocks
+			MatrixBlock[] blocks = new MatrixBlock[(int)Math.ceil((double)rows/blksz)];
+			if( broadcast ) {
+				PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<>(cmb, blksz, blksz);
+				PartitionedBlock<MatrixBlock> pmb2 = serializeAndDeserialize(pmb);
+				for( int i=0; i<blocks.length; i++ )
+					blocks[i] = pmb2.getBlock(i+1, 1);
+			}
+			else {
+				for( int i=0; i<blocks.length; i++ ) {
+					MatrixBlock tmp = mb.slice(i*blksz, Math.min((i+1)*blksz, rows)-1);
+					CompressedMatrixBlock ctmp = new CompressedMatrixBlock(tmp);
+					ctmp.compress();
+					blocks[i] = serializeAndDeserialize(ctmp);
+				}
+			}
+			
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+			for( int i=0; i<blocks.length; i++ ) {
+				//check for compressed blocks
+				Assert.assertTrue(blocks[i] instanceof CompressedMatrixBlock);
+				Assert.assertTrue(((CompressedMatrixBlock)blocks[i]).isCompressed());
+				
+				//block matrix multiplication uncompressed
+				int brows = blocks[i].getNumRows();
+				MatrixBlock tmp = mb.slice(i*blksz, i*blksz+brows-1);
+				MatrixBlock lvect = vect.slice(0, 2, 0, brows-1, new MatrixBlock());
+				MatrixBlock ret1 = lvect.aggregateBinaryOperations(lvect, tmp, new MatrixBlock(), abop);
+				
+				//block matrix multiplication compressed
+				MatrixBlock ret2 = OperationsOnMatrixValues.matMult(lvect, blocks[i], new MatrixBlock(), abop);
+				
+				//compare results
+				double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+				TestUtils.compareMatrices(d1, d2, 3, cols, 0.0000001);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T serializeAndDeserialize(T obj) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(obj);
+		oos.close();
+		ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+		ObjectInputStream ois = new ObjectInputStream(bis);
+		T ret = (T) ois.readObject();
+		ois.close();
+		return ret;
+	}
+}
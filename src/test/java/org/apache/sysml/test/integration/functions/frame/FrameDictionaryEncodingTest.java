@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReader;
+import org.apache.sysml.runtime.io.FrameReaderFactory;
+import org.apache.sysml.runtime.io.FrameWriter;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.transform.encode.EncoderRecode;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameDictionaryEncodingTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/frame/io/";
+	
+	private final static int rows = 2791;
+	private final static int distinct = 17;
+	private final static ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.DOUBLE, ValueType.STRING, ValueType.STRING};
+	
+	private enum TestType {
+		COMPACT,
+		WRITABLE_SER,
+		BINARY_BLOCK_IO,
+		SLICE_COPY,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDictionaryCompact() {
+		runDictionaryEncodingTest(TestType.COMPACT);
+	}
+	
+	@Test
+	public void testDictionaryWritable() {
+		runDictionaryEncodingTest(TestType.WRITABLE_SER);
+	}
+	
+	@Test
+	public void testDictionaryBinaryBlockIO() {
+		runDictionaryEncodingTest(TestType.BINARY_BLOCK_IO);
+	}
+	
+	@Test
+	public void testDictionarySliceCopy() {
+		runDictionaryEncodingTest(TestType.SLICE_COPY);
+	}
+	
+	private void runDictionaryEncodingTest(TestType type)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		try
+		{
+			//data generation: two categorical columns (w/ nulls) and a unique string column
+			double[][] A = getRandomMatrix(rows, schema.length, 0, distinct-1, 0.9, 7213);
+			String[][] expected = new String[rows][schema.length];
+			FrameBlock frame = new FrameBlock(schema);
+			Object[] row = new Object[schema.length];
+			for( int i=0; i<rows; i++ ) {
+				row[0] = (A[i][0]!=0) ? "cat"+(int)A[i][0] : null;
+				row[1] = A[i][1];
+				row[2] = "val"+(int)A[i][2];
+				row[3] = "id"+i;
+				for( int j=0; j<schema.length; j++ )
+					expected[i][j] = (row[j]!=null) ? row[j].toString() : null;
+				frame.appendRow(row);
+			}
+			long size = frame.getInMemorySize();
+			
+			FrameBlock ret = null;
+			switch( type ) {
+				case COMPACT:
+					frame.compactStringColumns();
+					ret = frame;
+					Assert.assertTrue(ret.getInMemorySize() < size);
+					break;
+				case WRITABLE_SER: {
+					frame.compactStringColumns();
+					frame.getColumnNames(); //materialize default names
+					long ssize = frame.getExactSerializedSize();
+					ByteArrayOutputStream bos = new ByteArrayOutputStream();
+					frame.write(new DataOutputStream(bos));
+					Assert.assertEquals(ssize, bos.size());
+					ret = new FrameBlock();
+					ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+					break;
+				}
+				case BINARY_BLOCK_IO: {
+					//write and read multiple blocks w/o prior compaction
+					String fname = SCRIPT_DIR + TEST_DIR + "/frameDict";
+					FrameWriter writer = FrameWriterFactory.createFrameWriter(OutputInfo.BinaryBlockOutputInfo);
+					FrameReader reader = FrameReaderFactory.createFrameReader(InputInfo.BinaryBlockInputInfo);
+					writer.writeFrameToHDFS(frame, fname, rows, schema.length);
+					ret = reader.readFrameFromHDFS(fname, schema, rows, schema.length);
+					MapReduceTool.deleteFileIfExistOnHDFS(fname);
+					break;
+				}
+				case SLICE_COPY: {
+					//slice, copy, and update mixed plain and dictionary-encoded columns
+					FrameBlock plain = new FrameBlock(frame);
+					frame.compactStringColumns();
+					FrameBlock tmp = frame.slice(7, rows-11, 0, schema.length-1, new FrameBlock());
+					plain.copy(7, rows-11, 0, schema.length-1, tmp);
+					frame.copy(7, rows-11, 0, schema.length-1, plain.slice(7, rows-11, 0, schema.length-1, new FrameBlock()));
+					frame.set(3, 0, "newcat");
+					expected[3][0] = "newcat";
+					ret = frame;
+					break;
+				}
+			}
+			
+			//check dictionary encoding of low-cardinality columns
+			Assert.assertTrue(ret.isDictionaryEncoded(0));
+			Assert.assertTrue(ret.isDictionaryEncoded(2));
+			Assert.assertFalse(ret.isDictionaryEncoded(3));
+			
+			//check correct values
+			if( ret.getNumRows() != rows )
+				Assert.fail("Wrong number of rows: "+ret.getNumRows()+", expected: "+rows);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<schema.length; j++ ) {
+					Object tmp = ret.get(i, j);
+					Assert.assertEquals("Wrong value for cell ("+i+","+j+")", 
+						expected[i][j], (tmp!=null) ? tmp.toString() : null);
+				}
+			
+			//check recode map construction over dictionary
+			if( type == TestType.COMPACT ) {
+				FrameBlock meta = new FrameBlock(new ValueType[]{ValueType.STRING});
+				for( int i=0; i<rows; i++ )
+					meta.appendRow(new Object[]{(i<distinct) ?
+						EncoderRecode.constructRecodeMapEntry("cat"+i, (long)(i+1)) : null});
+				meta.compactStringColumns();
+				Assert.assertTrue(meta.isDictionaryEncoded(0));
+				Assert.assertEquals(distinct, meta.getRecodeMap(0).size());
+				Assert.assertEquals(Long.valueOf(4), meta.getRecodeMap(0).get("cat3"));
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
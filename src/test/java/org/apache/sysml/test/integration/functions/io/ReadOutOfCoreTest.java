@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixChunkIterator;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixCell;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ReadOutOfCoreTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadOutOfCoreTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadOutOfCoreTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-outofcore.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	//note: chunk size chosen to obtain multiple, unaligned chunks 
+	private final static int rows = 2500;
+	private final static int cols = 100;
+	private final static int chunkRows = 700;
+	private final static int blen = 100; //block size of multi-part files
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, 
+			new String[] { "R1", "R2", "R3", "R4", "R5", "R6", "R7", "R8", "R9", "R10", "R11", "R12" }) );
+	}
+	
+	@Test
+	public void testCSVDenseCP() {
+		runReadOutOfCoreTest(OutputInfo.CSVOutputInfo, true, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testCSVSparseCP() {
+		runReadOutOfCoreTest(OutputInfo.CSVOutputInfo, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testTextCellDenseCP() {
+		runReadOutOfCoreTest(OutputInfo.TextCellOutputInfo, true, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testTextCellSparseCP() {
+		runReadOutOfCoreTest(OutputInfo.TextCellOutputInfo, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testLIBSVMSparseCP() {
+		runReadOutOfCoreTest(OutputInfo.LIBSVMOutputInfo, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testBinaryBlockDenseCP() {
+		runReadOutOfCoreTest(OutputInfo.BinaryBlockOutputInfo, true, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testBinaryBlockSparseCP() {
+		runReadOutOfCoreTest(OutputInfo.BinaryBlockOutputInfo, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testBinaryCellSparseCP() {
+		runReadOutOfCoreTest(OutputInfo.BinaryCellOutputInfo, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testLocalBinaryDenseCP() {
+		runReadOutOfCoreTest(OutputInfo.LocalBinaryOutputInfo, true, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testTextCellMultiPartChunks() {
+		runMultiPartChunkTest(InputInfo.TextCellInputInfo);
+	}
+	
+	@Test
+	public void testBinaryBlockMultiPartChunks() {
+		runMultiPartChunkTest(InputInfo.BinaryBlockInputInfo);
+	}
+	
+	@Test
+	public void testBinaryCellMultiPartChunks() {
+		runMultiPartChunkTest(InputInfo.BinaryCellInputInfo);
+	}
+	
+	@Test
+	public void testCSVDenseHybrid() {
+		runReadOutOfCoreTest(OutputInfo.CSVOutputInfo, true, RUNTIME_PLATFORM.HYBRID_SPARK);
+	}
+	
+	@Test
+	public void testBinaryBlockSparseHybrid() {
+		runReadOutOfCoreTest(OutputInfo.BinaryBlockOutputInfo, false, RUNTIME_PLATFORM.HYBRID_SPARK);
+	}
+	
+	private void runReadOutOfCoreTest(OutputInfo oinfo, boolean dense, RUNTIME_PLATFORM platform) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = platform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.HYBRID_SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			//stream inputs in chunks although they fit in memory
+			LibMatrixStream.FORCE_OUT_OF_CORE = true;
+			LibMatrixStream.FORCE_CHUNK_ROWS = chunkRows;
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "-args", input("X"), input("v"), 
+				output("R1"), output("R2"), output("R3"), output("R4"), output("R5"), output("R6"), output("R7"), output("R8"), output("R9"), output("R10"), 
+				output("R11"), output("R12")};
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			double[][] v = getRandomMatrix(cols, 1, -1, 1, 1.0, 3);
+			writeMatrix(X, input("X"), oinfo);
+			writeMatrix(v, input("v"), OutputInfo.BinaryBlockOutputInfo);
+			
+			runTest(true, false, null, -1);
+			
+			//compare with in-memory computation
+			double[][] R3 = rowSums(X);
+			TestUtils.compareMatrices(new double[][]{{sum(R3)}}, readMatrix("R1", 1, 1), 1, 1, eps);
+			TestUtils.compareMatrices(transpose(rowSums(transpose(X))), readMatrix("R2", 1, cols), 1, cols, eps);
+			TestUtils.compareMatrices(R3, readMatrix("R3", rows, 1), rows, 1, eps);
+			TestUtils.compareMatrices(matMult(transpose(X), X), readMatrix("R4", cols, cols), cols, cols, eps);
+			TestUtils.compareMatrices(matMult(X, v), readMatrix("R5", rows, 1), rows, 1, eps);
+			TestUtils.compareMatrices(matMult(transpose(R3), X), readMatrix("R6", 1, cols), 1, cols, eps);
+			
+			//compare mean, variance, min/max, and row index max
+			double n = (double)rows * cols;
+			double mean = sum(R3) / n;
+			double[][] colMeans = transpose(rowSums(transpose(X)));
+			double var = 0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					var += (X[i][j]-mean) * (X[i][j]-mean) / (n-1);
+					min = Math.min(min, X[i][j]);
+					max = Math.max(max, X[i][j]);
+				}
+			for( int j=0; j<cols; j++ )
+				colMeans[0][j] /= rows;
+			TestUtils.compareMatrices(new double[][]{{mean}}, readMatrix("R7", 1, 1), 1, 1, eps);
+			TestUtils.compareMatrices(colMeans, readMatrix("R8", 1, cols), 1, cols, eps);
+			TestUtils.compareMatrices(new double[][]{{var}}, readMatrix("R9", 1, 1), 1, 1, eps);
+			TestUtils.compareMatrices(new double[][]{{min}}, readMatrix("R10", 1, 1), 1, 1, eps);
+			TestUtils.compareMatrices(new double[][]{{max}}, readMatrix("R11", 1, 1), 1, 1, eps);
+			double[][] R12 = readMatrix("R12", rows, 1);
+			for( int i=0; i<rows; i++ ) {
+				//compare values at max index (robust against ties)
+				double rmax = Double.NEGATIVE_INFINITY;
+				for( int j=0; j<cols; j++ )
+					rmax = Math.max(rmax, X[i][j]);
+				Assert.assertEquals(rmax, X[i][(int)R12[i][0]-1], 0);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			LibMatrixStream.FORCE_OUT_OF_CORE = false;
+			LibMatrixStream.FORCE_CHUNK_ROWS = -1;
+		}
+	}
+	
+	private void runMultiPartChunkTest(InputInfo iinfo) 
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//write unordered multi-part file, where the part files cover
+			//disjoint row ranges in reverse order (and reverse order of blocks)
+			MatrixBlock X = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity1, 7));
+			String fname = input("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			Path path = new Path(fname);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			fs.mkdirs(path);
+			int rowsPerPart = 9 * blen;
+			for( int i=0; i*rowsPerPart<rows; i++ ) {
+				Path part = new Path(path, "part-0000"+i);
+				int ru = rows - i*rowsPerPart;
+				writePart(fs, job, part, X, Math.max(ru-rowsPerPart, 0), ru, iinfo);
+			}
+			
+			//read matrix in chunks and compare with input
+			MatrixBlock R = new MatrixBlock(rows, cols, false);
+			try( MatrixChunkIterator iter = DataConverter.readMatrixChunksFromHDFS(fname, 
+				iinfo, rows, cols, blen, blen, X.getNonZeros(), null, chunkRows) ) {
+				int numChunks = 0;
+				while( iter.hasNext() ) {
+					MatrixBlock chunk = iter.next();
+					int rl = (int)iter.getRowIndex();
+					R.copy(rl, rl+chunk.getNumRows()-1, 0, cols-1, chunk, false);
+					numChunks++;
+				}
+				Assert.assertTrue(numChunks > 1);
+			}
+			R.recomputeNonZeros();
+			Assert.assertEquals(X.getNonZeros(), R.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(X),
+				DataConverter.convertToDoubleMatrix(R), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void writePart(FileSystem fs, JobConf job, Path path, MatrixBlock X, int rl, int ru, InputInfo iinfo) 
+		throws IOException
+	{
+		if( iinfo == InputInfo.TextCellInputInfo ) {
+			try( BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(fs.create(path, true))) ) {
+				for( int i=ru-1; i>=rl; i-- )
+					for( int j=0; j<cols; j++ )
+						if( X.quickGetValue(i, j) != 0 )
+							bw.write((i+1)+" "+(j+1)+" "+X.quickGetValue(i, j)+"\n");
+			}
+		}
+		else if( iinfo == InputInfo.BinaryCellInputInfo ) {
+			SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixCell.class);
+			try {
+				for( int i=ru-1; i>=rl; i-- )
+					for( int j=0; j<cols; j++ )
+						if( X.quickGetValue(i, j) != 0 )
+							writer.append(new MatrixIndexes(i+1, j+1), new MatrixCell(X.quickGetValue(i, j)));
+			}
+			finally {
+				IOUtilFunctions.closeSilently(writer);
+			}
+		}
+		else { //binary block
+			SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+			try {
+				for( int bi=(ru-1)/blen; bi>=rl/blen; bi-- )
+					for( int bj=0; bj*blen<cols; bj++ ) {
+						MatrixBlock block = X.slice(bi*blen, Math.min((bi+1)*blen, rows)-1,
+							bj*blen, Math.min((bj+1)*blen, cols)-1, new MatrixBlock());
+						writer.append(new MatrixIndexes(bi+1, bj+1), block);
+					}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(writer);
+			}
+		}
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to 
+	 * enable out-of-core operations.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+	
+	private static void writeMatrix(double[][] A, String fname, OutputInfo oinfo) throws Exception {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		MatrixCharacteristics mc = new MatrixCharacteristics(A.length, A[0].length, 1000, 1000, mb.getNonZeros());
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		DataConverter.writeMatrixToHDFS(mb, fname, oinfo, mc);
+		MapReduceTool.writeMetaDataFile(fname+".mtd", ValueType.DOUBLE, mc, oinfo);
+	}
+	
+	private double[][] readMatrix(String name, int rlen, int clen) throws Exception {
+		MatrixBlock mb = DataConverter.readMatrixFromHDFS(output(name),
+			InputInfo.TextCellInputInfo, rlen, clen, -1, -1);
+		return DataConverter.convertToDoubleMatrix(mb);
+	}
+	
+	private static double[][] matMult(double[][] A, double[][] B) {
+		double[][] C = new double[A.length][B[0].length];
+		for( int i=0; i<A.length; i++ )
+			for( int k=0; k<B.length; k++ )
+				for( int j=0; j<B[0].length; j++ )
+					C[i][j] += A[i][k] * B[k][j];
+		return C;
+	}
+	
+	private static double[][] transpose(double[][] A) {
+		double[][] C = new double[A[0].length][A.length];
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[0].length; j++ )
+				C[j][i] = A[i][j];
+		return C;
+	}
+	
+	private static double[][] rowSums(double[][] A) {
+		double[][] C = new double[A.length][1];
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[0].length; j++ )
+				C[i][0] += A[i][j];
+		return C;
+	}
+	
+	private static double sum(double[][] A) {
+		double ret = 0;
+		for( double[] row : A )
+			for( double val : row )
+				ret += val;
+		return ret;
+	}
+}
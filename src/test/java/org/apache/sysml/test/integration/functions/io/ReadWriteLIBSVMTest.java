@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ReadWriteLIBSVMTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadWriteLIBSVMTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteLIBSVMTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1321;
+	private final static int cols = 137; //incl label
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.03;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "B" }) ); 
+	}
+	
+	@Test
+	public void testParseLIBSVMRow() throws Exception {
+		int[] ix = new int[8];
+		double[] vals = new double[8];
+		int lnnz = IOUtilFunctions.parseLIBSVMRow("-1 2:0.5  4:0.0\t7:3 # comment", ix, vals, 1, 9);
+		Assert.assertEquals(3, lnnz);
+		Assert.assertEquals(3, IOUtilFunctions.countNnzLIBSVM("-1 2:0.5  4:0.0\t7:3 # comment"));
+		Assert.assertArrayEquals(new int[]{1, 6, 8}, new int[]{ix[1], ix[2], ix[3]});
+		Assert.assertArrayEquals(new double[]{0.5, 3, -1}, new double[]{vals[1], vals[2], vals[3]}, eps);
+		Assert.assertEquals(0, IOUtilFunctions.countNnzLIBSVM("0.0 3:-0e5"));
+	}
+	
+	@Test
+	public void testReadWriteSparseSeqCP() {
+		runReadWriteLIBSVMTest(ExecType.CP, false, false);
+	}
+	
+	@Test
+	public void testReadWriteDenseSeqCP() {
+		runReadWriteLIBSVMTest(ExecType.CP, false, true);
+	}
+	
+	@Test
+	public void testReadWriteSparseParCP() {
+		runReadWriteLIBSVMTest(ExecType.CP, true, false);
+	}
+	
+	@Test
+	public void testReadWriteDenseParCP() {
+		runReadWriteLIBSVMTest(ExecType.CP, true, true);
+	}
+	
+	@Test
+	public void testReadWriteSparseSP() {
+		runReadWriteLIBSVMTest(ExecType.SPARK, true, false);
+	}
+	
+	@Test
+	public void testReadWriteDenseSP() {
+		runReadWriteLIBSVMTest(ExecType.SPARK, true, true);
+	}
+	
+	private void runReadWriteLIBSVMTest(ExecType et, boolean parallel, boolean dense) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = (et==ExecType.SPARK) ? RUNTIME_PLATFORM.SPARK : RUNTIME_PLATFORM.HYBRID;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_TEXT;
+		
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = parallel;
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "-args", input("A"), output("B")};
+			
+			//generate and write libsvm input (label in last column)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, -1);
+			MapReduceTool.deleteFileWithMTDIfExistOnHDFS(input("A"));
+			DataConverter.writeMatrixToHDFS(DataConverter.convertToMatrixBlock(A), 
+				input("A"), OutputInfo.LIBSVMOutputInfo, mc);
+			MapReduceTool.writeMetaDataFile(input("A")+".mtd", ValueType.DOUBLE, mc, OutputInfo.LIBSVMOutputInfo);
+			
+			runTest(true, false, null, -1);
+			
+			//read libsvm output and compare with scaled input
+			MatrixBlock B = DataConverter.readMatrixFromHDFS(output("B"),
+				InputInfo.LIBSVMInputInfo, rows, cols, 1000, 1000);
+			double[][] C = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					C[i][j] = A[i][j] * 7;
+			TestUtils.compareMatrices(C, DataConverter.convertToDoubleMatrix(B), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = oldpar;
+		}
+	}
+}
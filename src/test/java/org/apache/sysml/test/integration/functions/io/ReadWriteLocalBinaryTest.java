@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ReadWriteLocalBinaryTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadWriteLocalBinaryTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteLocalBinaryTest.class.getSimpleName() + "/";
+	
+	//note: sizes chosen to obtain multiple row blocks for dense and sparse
+	private final static int rows = 2500;
+	private final static int cols = 1000;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.3;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "B" }) );
+	}
+	
+	@Test
+	public void testReadWriteDenseSeqCP() {
+		runReadWriteLocalBinaryTest(ExecType.CP, false, true);
+	}
+	
+	@Test
+	public void testReadWriteSparseSeqCP() {
+		runReadWriteLocalBinaryTest(ExecType.CP, false, false);
+	}
+	
+	@Test
+	public void testReadWriteDenseParCP() {
+		runReadWriteLocalBinaryTest(ExecType.CP, true, true);
+	}
+	
+	@Test
+	public void testReadWriteSparseParCP() {
+		runReadWriteLocalBinaryTest(ExecType.CP, true, false);
+	}
+	
+	@Test
+	public void testReadWriteSparseSP() {
+		runReadWriteLocalBinaryTest(ExecType.SPARK, true, false);
+	}
+	
+	@Test
+	public void testReadDenseJMLC() {
+		runReadLocalBinaryJMLCTest(true);
+	}
+	
+	@Test
+	public void testReadSparseJMLC() {
+		runReadLocalBinaryJMLCTest(false);
+	}
+	
+	private void runReadWriteLocalBinaryTest(ExecType et, boolean parallel, boolean dense) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = (et==ExecType.SPARK) ? RUNTIME_PLATFORM.SPARK : RUNTIME_PLATFORM.HYBRID;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_BINARY;
+		
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = parallel;
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "-args", input("A"), output("B")};
+			
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			writeLocalBinaryMatrix(A, input("A"));
+			
+			runTest(true, false, null, -1);
+			
+			MatrixBlock B = DataConverter.readMatrixFromHDFS(output("B"),
+				InputInfo.LocalBinaryInputInfo, rows, cols, -1, -1);
+			TestUtils.compareMatrices(scale(A), DataConverter.convertToDoubleMatrix(B), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = oldpar;
+		}
+	}
+	
+	private void runReadLocalBinaryJMLCTest(boolean dense) 
+	{
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 3);
+			writeLocalBinaryMatrix(A, input("A"));
+			
+			//read via meta data file, i.e., w/o compiled program
+			Connection conn = new Connection();
+			double[][] B = conn.readDoubleMatrix(input("A"));
+			conn.close();
+			TestUtils.compareMatrices(A, B, rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void writeLocalBinaryMatrix(double[][] A, String fname) throws Exception {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, mb.getNonZeros());
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.LocalBinaryOutputInfo, mc);
+		MapReduceTool.writeMetaDataFile(fname+".mtd", ValueType.DOUBLE, mc, OutputInfo.LocalBinaryOutputInfo);
+	}
+	
+	private static double[][] scale(double[][] A) {
+		double[][] C = new double[A.length][A[0].length];
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[i].length; j++ )
+				C[i][j] = A[i][j] * 7;
+		return C;
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReaderFactory;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ReadWriteParquetTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "ReadWriteParquetTest";  //matrix
+	private final static String TEST_NAME2 = "ReadWriteParquetTest2"; //projection
+	private final static String TEST_NAME3 = "ReadWriteParquetTest3"; //frame
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteParquetTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1321;
+	private final static int cols = 37;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.03;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "B" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "B" }) );
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "B" }) );
+	}
+	
+	@Test
+	public void testReadWriteDenseSeqCP() {
+		runReadWriteParquetTest(TEST_NAME1, ExecType.CP, false, true);
+	}
+	
+	@Test
+	public void testReadWriteSparseSeqCP() {
+		runReadWriteParquetTest(TEST_NAME1, ExecType.CP, false, false);
+	}
+	
+	@Test
+	public void testReadWriteDenseParCP() {
+		runReadWriteParquetTest(TEST_NAME1, ExecType.CP, true, true);
+	}
+	
+	@Test
+	public void testReadWriteSparseParCP() {
+		runReadWriteParquetTest(TEST_NAME1, ExecType.CP, true, false);
+	}
+	
+	@Test
+	public void testReadWriteDenseSP() {
+		runReadWriteParquetTest(TEST_NAME1, ExecType.SPARK, true, true);
+	}
+	
+	@Test
+	public void testReadProjectionSeqCP() {
+		runReadWriteParquetTest(TEST_NAME2, ExecType.CP, false, true);
+	}
+	
+	@Test
+	public void testReadProjectionParCP() {
+		runReadWriteParquetTest(TEST_NAME2, ExecType.CP, true, true);
+	}
+	
+	@Test
+	public void testReadProjectionSP() {
+		runReadWriteParquetTest(TEST_NAME2, ExecType.SPARK, true, true);
+	}
+	
+	@Test
+	public void testReadWriteFrameSeqCP() {
+		runReadWriteParquetTest(TEST_NAME3, ExecType.CP, false, true);
+	}
+	
+	@Test
+	public void testReadWriteFrameParCP() {
+		runReadWriteParquetTest(TEST_NAME3, ExecType.CP, true, true);
+	}
+	
+	@Test
+	public void testReadWriteFrameSP() {
+		runReadWriteParquetTest(TEST_NAME3, ExecType.SPARK, true, true);
+	}
+	
+	private void runReadWriteParquetTest(String testname, ExecType et, boolean parallel, boolean dense) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = (et==ExecType.SPARK) ? RUNTIME_PLATFORM.SPARK : RUNTIME_PLATFORM.HYBRID;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_BINARY;
+		
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = parallel;
+			
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-explain", "-args", input("A"), output("B")};
+			
+			//generate input matrix (w/o meta data file because dimensions
+			//and schema are obtained from the parquet footers)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			MapReduceTool.deleteFileIfExistOnHDFS(input("A"));
+			
+			if( testname.equals(TEST_NAME1) ) {
+				//write two part files in order to test row order and multiple row groups
+				MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+				writeMatrixPart(mb.slice(0, rows/2-1), input("A")+"/0-m-00000");
+				writeMatrixPart(mb.slice(rows/2, rows-1), input("A")+"/0-m-00001");
+				
+				runTest(true, false, null, -1);
+				
+				MatrixBlock B = DataConverter.readMatrixFromHDFS(output("B"),
+					InputInfo.ParquetInputInfo, rows, cols, 1000, 1000);
+				TestUtils.compareMatrices(scale(A, 0, cols), DataConverter.convertToDoubleMatrix(B), rows, cols, eps);
+			}
+			else if( testname.equals(TEST_NAME2) ) {
+				//write frame w/ non-numeric first column, which can only be read
+				//as a matrix if the column projection is pushed into the read
+				FrameBlock fb = createFrame(A, true);
+				FrameWriterFactory.createFrameWriter(OutputInfo.ParquetOutputInfo)
+					.writeFrameToHDFS(fb, input("A"), rows, cols);
+				
+				runTest(true, false, null, -1);
+				
+				MatrixBlock B = DataConverter.readMatrixFromHDFS(output("B"),
+					InputInfo.ParquetInputInfo, rows, 3, 1000, 1000);
+				TestUtils.compareMatrices(scale(A, 1, 4), DataConverter.convertToDoubleMatrix(B), rows, 3, eps);
+			}
+			else { //TEST_NAME3
+				FrameBlock fb = createFrame(A, false);
+				FrameWriterFactory.createFrameWriter(OutputInfo.ParquetOutputInfo)
+					.writeFrameToHDFS(fb, input("A"), rows, cols);
+				
+				runTest(true, false, null, -1);
+				
+				FrameBlock fb2 = FrameReaderFactory.createFrameReader(InputInfo.ParquetInputInfo)
+					.readFrameFromHDFS(output("B"), rows, cols);
+				Assert.assertArrayEquals(fb.getSchema(), fb2.getSchema());
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						Assert.assertEquals("("+i+","+j+")", fb.get(i, j), fb2.get(i, j));
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = oldpar;
+		}
+	}
+	
+	private static void writeMatrixPart(MatrixBlock mb, String fname) throws Exception {
+		MatrixCharacteristics mc = new MatrixCharacteristics(mb.getNumRows(), mb.getNumColumns(), 1000, 1000, -1);
+		DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.ParquetOutputInfo, mc);
+	}
+	
+	private static double[][] scale(double[][] A, int cl, int cu) {
+		double[][] C = new double[A.length][cu-cl];
+		for( int i=0; i<A.length; i++ )
+			for( int j=cl; j<cu; j++ )
+				C[i][j-cl] = A[i][j] * 7;
+		return C;
+	}
+	
+	private static FrameBlock createFrame(double[][] A, boolean stringFirst) {
+		//mixed schema of string, double, int and boolean columns (w/ null values)
+		ValueType[] schema = new ValueType[cols];
+		for( int j=0; j<cols; j++ )
+			schema[j] = (j==0 && stringFirst) ? ValueType.STRING : stringFirst ? ValueType.DOUBLE :
+				new ValueType[]{ValueType.STRING, ValueType.DOUBLE, ValueType.INT, ValueType.BOOLEAN}[j%4];
+		FrameBlock fb = new FrameBlock(schema);
+		fb.ensureAllocatedColumns(rows);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				if( A[i][j] == 0 && schema[j] != ValueType.DOUBLE )
+					continue; //null value
+				switch( schema[j] ) {
+					case STRING:  fb.set(i, j, "s"+A[i][j]); break;
+					case DOUBLE:  fb.set(i, j, A[i][j]); break;
+					case INT:     fb.set(i, j, (long)(A[i][j]*100)); break;
+					case BOOLEAN: fb.set(i, j, A[i][j] > 0); break;
+					default:
+				}
+			}
+		return fb;
+	}
+}
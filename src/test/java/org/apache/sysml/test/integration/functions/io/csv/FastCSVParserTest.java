@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import org.apache.sysml.runtime.io.FastCSVParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastCSVParserTest 
+{
+	private static final String[] DOUBLES = new String[] {
+		"0", "-0", "+1", "1.", ".5", "-.5", "0.1", "0.3", "1e10", "1E-10", "-2.5e+3",
+		"123456789012345", "1234567890123456789", "0.000000000000000000000001",
+		"3.141592653589793", "2.2250738585072014E-308", "1.7976931348623157E308",
+		"4.9e-324", "1e400", "NaN", "-Infinity", "1.5d", "007.25", "1e22", "1e23" };
+	
+	@Test
+	public void testParseDoubleEdgeCases() {
+		for( String str : DOUBLES )
+			checkParseDouble(str);
+	}
+	
+	@Test
+	public void testParseDoubleRandom() {
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			double val = (rand.nextDouble() - 0.5) * Math.pow(10, rand.nextInt(40) - 20);
+			checkParseDouble(String.valueOf(val));
+			checkParseDouble(String.format(Locale.US, "%.6f", val));
+		}
+	}
+	
+	@Test
+	public void testParseDoubleInvalid() {
+		for( String str : new String[] {".", "-", "1e", "1.2.3", "abc"} ) {
+			try {
+				parseDouble(str);
+				Assert.fail("Expected number format exception for: "+str);
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+		}
+	}
+	
+	@Test
+	public void testParseDoubleRow() {
+		FastCSVParser parser = new FastCSVParser(",", true, 7);
+		double[] c = new double[5];
+		byte[] line = " 1, -2.5 ,,3e2, 0 \r".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(5, parser.parseDoubleRow(line, line.length, c, 0, 5));
+		Assert.assertArrayEquals(new double[]{1, -2.5, 7, 300, 0}, c, 0);
+		Assert.assertTrue(parser.isEmptyFound());
+	}
+	
+	@Test
+	public void testParseDoubleRowMultiCharDelim() {
+		FastCSVParser parser = new FastCSVParser("::", false, 0);
+		double[] c = new double[4];
+		byte[] line = "1::2::3".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(3, parser.parseDoubleRow(line, line.length, c, 1, 3));
+		Assert.assertArrayEquals(new double[]{0, 1, 2, 3}, c, 0);
+		Assert.assertFalse(parser.isEmptyFound());
+	}
+	
+	@Test
+	public void testParseDoubleRowNumColumns() {
+		FastCSVParser parser = new FastCSVParser(",", false, 0);
+		double[] c = new double[2];
+		byte[] line = "1,2,3,".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(4, parser.parseDoubleRow(line, line.length, c, 0, 2));
+		Assert.assertArrayEquals(new double[]{1, 2}, c, 0);
+		Assert.assertTrue(parser.isEmptyFound());
+		Assert.assertEquals(0, parser.parseDoubleRow(line, 0, c, 0, 2));
+	}
+	
+	@Test
+	public void testParseLongAndBoolean() {
+		for( String str : new String[] {"0", "-17", "+42", "9223372036854775807", "-9223372036854775808"} )
+			Assert.assertEquals(Long.parseLong(str), FastCSVParser.parseLong(bytes(str), 0, str.length()));
+		for( String str : new String[] {"true", "TRUE", "True", "false", "t", "1", "truee"} )
+			Assert.assertEquals(Boolean.parseBoolean(str), FastCSVParser.parseBoolean(bytes(str), 0, str.length()));
+	}
+	
+	private static void checkParseDouble(String str) {
+		double expected = Double.parseDouble(str);
+		double actual = parseDouble(str);
+		Assert.assertEquals("Wrong result for "+str, 
+			Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+	}
+	
+	private static double parseDouble(String str) {
+		return FastCSVParser.parseDouble(bytes(str), 0, str.length());
+	}
+	
+	private static byte[] bytes(String str) {
+		return str.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.transform.encode.RowEncoder;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class FrameTransformRowEncodeTest extends AutomatedTestBase 
+{
+	private final static int rows = 531;
+	private final static int cols = 4;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testRowEncodeRecode() throws IOException {
+		runRowEncodeTest("{ids:true, recode:[1,2,3]}", false);
+	}
+	
+	@Test
+	public void testRowEncodeDummycode() throws IOException {
+		runRowEncodeTest("{ids:true, recode:[1,3], dummycode:[2]}", false);
+	}
+	
+	@Test
+	public void testRowEncodeDummycodeOmit() throws IOException {
+		runRowEncodeTest("{ids:true, recode:[1,3], dummycode:[2], omit:[1]}", true);
+	}
+	
+	private void runRowEncodeTest(String spec, boolean omit) throws IOException {
+		if(shouldSkipTest())
+			return;
+		
+		//generate string input data w/ numeric pass-through column
+		ValueType[] schema = UtilFunctions.nCopies(cols, ValueType.STRING);
+		double[][] A = getRandomMatrix(rows, cols, 0, 1, 1, 7);
+		FrameBlock data = new FrameBlock(schema);
+		for( int i=0; i<rows; i++ ) {
+			data.appendRow(new String[]{(omit && A[i][0] < 0.1) ? null : "a"+(int)(A[i][0]*7),
+				"b"+(int)(A[i][1]*30), "c"+(int)(A[i][2]*300), String.valueOf(A[i][3])});
+		}
+		
+		//build meta data and apply via block transform apply
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, null);
+		encoder1.build(data);
+		FrameBlock meta = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		meta.setColumnNames(data.getColumnNames());
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, meta);
+		MatrixBlock out1 = encoder2.apply(data, new MatrixBlock(rows, cols, false));
+		
+		//apply pre-compiled row encoder per record into a reused single row
+		Connection conn = new Connection();
+		try {
+			RowEncoder encoder3 = conn.prepareTransformApply(spec, meta);
+			assertEquals(out1.getNumColumns(), encoder3.getNumCols());
+			MatrixBlock row = encoder3.allocateOutput(1);
+			String[] record = new String[cols];
+			for( int i=0, pos=0; i<rows; i++ ) {
+				for( int j=0; j<cols; j++ )
+					record[j] = (String) data.get(i, j);
+				if( !encoder3.encode(record, row, 0) ) {
+					Assert.assertTrue(omit && record[0] == null);
+					continue;
+				}
+				long nnz = 0;
+				for( int j=0; j<out1.getNumColumns(); j++ ) {
+					double v1 = out1.quickGetValue(pos, j);
+					double v2 = row.quickGetValue(0, j);
+					Assert.assertEquals("Wrong value for cell ("+i+","+j+")", v1, v2, 1e-10);
+					nnz += (v1 != 0) ? 1 : 0;
+				}
+				assertEquals(nnz, row.getNonZeros());
+				pos++;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+}
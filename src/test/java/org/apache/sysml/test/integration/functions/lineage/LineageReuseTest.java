@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.lineage;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.runtime.lineage.LineageCache;
+import org.apache.sysml.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class LineageReuseTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "LineageReuse1"; //full reuse
+	private final static String TEST_NAME2 = "LineageReuse2"; //partial reuse
+	private final static String TEST_DIR = "functions/lineage/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LineageReuseTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-lineage.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private final static int rows = 1000;
+	private final static int cols = 50;
+	private final static double eps = 1e-8;
+	
+	private boolean _reuse = false;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testFullReuseLoop() {
+		runLineageReuseTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testPartialReuseCbind() {
+		runLineageReuseTest(TEST_NAME2, true);
+	}
+	
+	private void runLineageReuseTest(String testname, boolean partial) {
+		try {
+			//run w/o lineage-based reuse
+			HashMap<CellIndex, Double> R1 = runLineageTest(testname, false);
+			
+			//run w/ lineage-based reuse
+			LineageCache.resetCache();
+			HashMap<CellIndex, Double> R2 = runLineageTest(testname, true);
+			
+			//compare results and check for reuse
+			TestUtils.compareMatrices(R1, R2, eps, "Stat-Base", "Stat-Reuse");
+			if( partial )
+				assertTrue(LineageCacheStatistics.getPartialHits() > 0);
+			else
+				assertTrue(LineageCacheStatistics.getFullHits() > 0);
+		}
+		finally {
+			_reuse = false;
+			LineageCache.LINEAGE_REUSE = false;
+			LineageCache.resetCache();
+		}
+	}
+	
+	private HashMap<CellIndex, Double> runLineageTest(String testname, boolean reuse) {
+		//note: config file is created on loading the test configuration
+		_reuse = reuse;
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testname + ".dml";
+		programArgs = new String[]{"-stats", "-args",
+			String.valueOf(rows), String.valueOf(cols), output("R")};
+		runTest(true, false, null, -1);
+		return readDMLMatrixFromHDFS("R");
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		if( !_reuse )
+			return super.getConfigTemplateFile();
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.BatchPrefetcher;
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchPrefetcherTest {
+
+	private static final int ROWS = 1000;
+	private static final int BATCH_SIZE = 64;
+
+	@Test
+	public void testSequentialBatches() {
+		runPrefetcherTest(false);
+	}
+
+	@Test
+	public void testOutOfOrderBatches() {
+		runPrefetcherTest(true);
+	}
+
+	private static void runPrefetcherTest(boolean outOfOrder) {
+		MatrixObject features = ParamservUtils.newMatrixObject(
+			MatrixBlock.randOperations(ROWS, 10, 1.0, 0, 1, "uniform", 7), false);
+		MatrixObject labels = ParamservUtils.newMatrixObject(
+			MatrixBlock.randOperations(ROWS, 1, 1.0, 0, 1, "uniform", 3), false);
+		int batchIter = (int) Math.ceil((double) ROWS / BATCH_SIZE);
+
+		try (BatchPrefetcher prefetcher = new BatchPrefetcher(features, labels, BATCH_SIZE, "test worker")) {
+			for (int epoch = 0; epoch < 2; epoch++) {
+				for (int j = 0; j < batchIter; j++) {
+					//request every other batch in reverse order to bypass the prefetched batch
+					int ix = (outOfOrder && j % 2 == 1) ? batchIter - j : j;
+					MatrixObject[] batch = prefetcher.getBatch(ix, (ix + 1) % batchIter);
+					long begin = ix * BATCH_SIZE + 1;
+					long end = Math.min((ix + 1) * BATCH_SIZE, ROWS);
+					compare(ParamservUtils.sliceMatrix(features, begin, end), batch[0]);
+					compare(ParamservUtils.sliceMatrix(labels, begin, end), batch[1]);
+				}
+			}
+		}
+	}
+
+	private static void compare(MatrixObject expected, MatrixObject actual) {
+		MatrixBlock mb1 = expected.acquireReadAndRelease();
+		MatrixBlock mb2 = actual.acquireReadAndRelease();
+		Assert.assertEquals(mb1.getNumRows(), mb2.getNumRows());
+		Assert.assertArrayEquals(DataConverter.convertToDoubleVector(mb1),
+			DataConverter.convertToDoubleVector(mb2), 0);
+	}
+}
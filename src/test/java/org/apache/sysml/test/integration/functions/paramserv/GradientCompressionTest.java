@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.sysml.parser.Statement.PSCompression;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.paramserv.GradientCompressor;
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcCall;
+import org.apache.sysml.runtime.controlprogram.paramserv.rpc.PSRpcObject;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GradientCompressionTest {
+
+	private static final int ROWS = 100;
+	private static final int COLS = 50;
+
+	private static ListObject generateGradients(long seed) {
+		MatrixBlock mb = MatrixBlock.randOperations(ROWS, COLS, 1.0, -1, 1, "uniform", seed);
+		return new ListObject(Arrays.asList(ParamservUtils.newMatrixObject(mb)));
+	}
+
+	private static MatrixBlock getBlock(ListObject lo) {
+		return ((MatrixObject) lo.slice(0)).acquireReadAndRelease();
+	}
+
+	@Test
+	public void testTopKSparsification() {
+		GradientCompressor gc = new GradientCompressor(PSCompression.TOPK, 0.1);
+		MatrixBlock in = new MatrixBlock(getBlock(generateGradients(7)));
+		MatrixBlock out = getBlock(gc.compress(generateGradients(7)));
+		Assert.assertEquals(ROWS * COLS / 10, out.getNonZeros());
+		Assert.assertTrue(out.isInSparseFormat());
+
+		//all kept values are at least as large as all dropped values
+		double minKept = Double.MAX_VALUE, maxDropped = 0;
+		for (int i = 0; i < ROWS; i++)
+			for (int j = 0; j < COLS; j++) {
+				double v = Math.abs(in.quickGetValue(i, j));
+				if (out.quickGetValue(i, j) != 0)
+					minKept = Math.min(minKept, v);
+				else
+					maxDropped = Math.max(maxDropped, v);
+			}
+		Assert.assertTrue(minKept >= maxDropped);
+	}
+
+	@Test
+	public void testTopKErrorFeedback() {
+		//with error feedback, the sum of pushed gradients converges to the sum of gradients
+		GradientCompressor gc = new GradientCompressor(PSCompression.TOPK, 0.1);
+		double[] sumIn = new double[ROWS * COLS];
+		double[] sumOut = new double[ROWS * COLS];
+		for (int r = 0; r < 20; r++) {
+			add(sumIn, getBlock(generateGradients(r)));
+			add(sumOut, getBlock(gc.compress(generateGradients(r))));
+		}
+		//the remaining difference is given by the last residual
+		double diffIn = 0, diff = 0;
+		for (int i = 0; i < sumIn.length; i++) {
+			diffIn += Math.abs(sumIn[i]);
+			diff += Math.abs(sumIn[i] - sumOut[i]);
+		}
+		Assert.assertTrue(diff < diffIn);
+	}
+
+	@Test
+	public void testQuantizedRpcCall() throws IOException {
+		MatrixBlock expected = new MatrixBlock(getBlock(quantize(generateGradients(3))));
+		int plainLen = new PSRpcCall(PSRpcObject.PUSH, 1, quantize(generateGradients(3))).serialize().array().length;
+		byte[] buff = new PSRpcCall(PSRpcObject.PUSH, 1, quantize(generateGradients(3)), true).serialize().array();
+		Assert.assertTrue(buff.length * 4 < plainLen);
+
+		//the pushed values are already quantized, so the encoding is lossless up to rounding
+		PSRpcCall actual = new PSRpcCall(ByteBuffer.wrap(buff));
+		Assert.assertArrayEquals(DataConverter.convertToDoubleVector(expected),
+			DataConverter.convertToDoubleVector(getBlock(actual.getData())), 1e-3);
+	}
+
+	private static ListObject quantize(ListObject gradients) {
+		return new GradientCompressor(PSCompression.QUANT8, 1).compress(gradients);
+	}
+
+	private static void add(double[] acc, MatrixBlock mb) {
+		double[] a = DataConverter.convertToDoubleVector(mb);
+		for (int i = 0; i < acc.length; i++)
+			acc[i] += a[i];
+	}
+}
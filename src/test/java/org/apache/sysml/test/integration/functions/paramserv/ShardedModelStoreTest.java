@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysml.runtime.controlprogram.paramserv.ShardedModelStore;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardedModelStoreTest {
+
+	private static final int NUM_THREADS = 16;
+	private static final int NUM_UPDATES = 200;
+
+	@Test
+	public void testConcurrentUpdates() {
+		ListObject model = new ListObject(Arrays.asList(
+			ParamservUtils.newMatrixObject(new MatrixBlock(10, 10, 0d)),
+			ParamservUtils.newMatrixObject(new MatrixBlock(1, 10, 0d))));
+		ShardedModelStore store = new ShardedModelStore(model);
+
+		//every update increments all values of all shards by one
+		IntStream.range(0, NUM_THREADS).parallel().forEach(t -> {
+			for (int i = 0; i < NUM_UPDATES; i++) {
+				MatrixBlock[] snapshot = store.getSnapshot();
+				for (int j = 0; j < snapshot.length; j++) {
+					MatrixBlock mb = snapshot[j];
+					store.update(j, mb, new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), mb.getValue(0, 0) + 1));
+				}
+			}
+		});
+
+		//no update must be lost
+		MatrixBlock[] result = store.getSnapshot();
+		for (int j = 0; j < result.length; j++) {
+			Assert.assertEquals(NUM_THREADS * NUM_UPDATES, store.getVersion(j));
+			Assert.assertEquals(NUM_THREADS * NUM_UPDATES * result[j].getLength(), result[j].sum(), 1e-8);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class TransformCompressedEncodeTest extends AutomatedTestBase 
+{
+	private static final int rows = 2317;
+	private static final ValueType[] schema = new ValueType[]{
+		ValueType.STRING, ValueType.STRING, ValueType.STRING, ValueType.DOUBLE};
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCompressedEncodeRecode() {
+		runCompressedEncodeTest("{ids:true, recode:[1,2,3]}", true);
+	}
+	
+	@Test
+	public void testCompressedEncodeDummycode() {
+		runCompressedEncodeTest("{ids:true, recode:[3], dummycode:[1,2]}", true);
+	}
+	
+	@Test
+	public void testCompressedEncodeDummycodeOmit() {
+		runCompressedEncodeTest("{ids:true, recode:[3], dummycode:[1,2], omit:[3]}", false);
+	}
+	
+	private void runCompressedEncodeTest(String spec, boolean direct) {
+		if(shouldSkipTest())
+			return;
+		
+		//generate input data: small and large domains, and a recoded column w/ nulls
+		double[][] A = getRandomMatrix(rows, schema.length, 0, 1, 1, 7);
+		FrameBlock data = new FrameBlock(schema);
+		for( int i=0; i<rows; i++ ) {
+			data.appendRow(new Object[]{"a"+(int)(A[i][0]*7), "b"+(int)(A[i][1]*300),
+				(A[i][2] < 0.1) ? null : "c"+(int)(A[i][2]*40), A[i][3]});
+		}
+		
+		//execute transform encode w/ and w/o compression
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, null);
+		MatrixBlock out1 = encoder1.encode(data, new MatrixBlock(rows, schema.length, false));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, null);
+		MatrixBlock out2 = encoder2.encodeCompressed(data, new MatrixBlock(rows, schema.length, false));
+		
+		//check compressed output and results
+		if( direct )
+			assertTrue(out2 instanceof CompressedMatrixBlock);
+		MatrixBlock mv2 = null;
+		if( out2 instanceof CompressedMatrixBlock ) {
+			assertTrue(((CompressedMatrixBlock)out2).isCompressed());
+			mv2 = out2.aggregateBinaryOperations(out2, createVector(out2.getNumColumns()),
+				new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+			out2 = ((CompressedMatrixBlock)out2).decompress();
+		}
+		assertEquals(out1.getNumRows(), out2.getNumRows());
+		assertEquals(out1.getNumColumns(), out2.getNumColumns());
+		assertEquals(out1.getNonZeros(), out2.getNonZeros());
+		compareResults(out1, out2);
+		if( mv2 != null ) {
+			compareResults(out1.aggregateBinaryOperations(out1, createVector(out1.getNumColumns()),
+				new MatrixBlock(), InstructionUtils.getMatMultOperator(1)), mv2);
+		}
+	}
+	
+	private static MatrixBlock createVector(int n) {
+		MatrixBlock ret = new MatrixBlock(n, 1, false);
+		for( int i=0; i<n; i++ )
+			ret.quickSetValue(i, 0, (i % 13) + 1);
+		return ret;
+	}
+	
+	private static void compareResults(MatrixBlock out1, MatrixBlock out2) {
+		for( int i=0; i<out1.getNumRows(); i++ )
+			for( int j=0; j<out1.getNumColumns(); j++ ) {
+				double v1 = out1.quickGetValue(i, j);
+				double v2 = out2.quickGetValue(i, j);
+				if( !(Double.isNaN(v1) && Double.isNaN(v2)) )
+					Assert.assertEquals("Wrong value for cell ("+i+","+j+")", v1, v2, 1e-10);
+			}
+	}
+}
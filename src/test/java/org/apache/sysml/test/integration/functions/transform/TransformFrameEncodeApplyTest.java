@@ -46,6 +46,8 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 	private final static String SPEC3b   = "homes3/homes.tfspec_bin2.json"; //incl recode
 	private final static String SPEC6    = "homes3/homes.tfspec_recode_dummy.json"; 
 	private final static String SPEC6b   = "homes3/homes.tfspec_recode_dummy2.json"; 
+	private final static String SPEC7    = "homes3/homes.tfspec_hash.json";
+	private final static String SPEC8    = "homes3/homes.tfspec_hash_dummy.json";
 	
 	//dataset and transform tasks with missing values
 	private final static String DATASET2 = "homes/homes.csv";
@@ -61,6 +63,8 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		BIN,
 		IMPUTE,
 		OMIT,
+		HASH,
+		HASH_DUMMY,
 	}
 	
 	@Override
@@ -249,6 +253,36 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		runTransformTest(RUNTIME_PLATFORM.HYBRID_SPARK, "csv", TransformType.IMPUTE, true);
 	}
 	
+	@Test
+	public void testHomesHashIDsSingleNodeCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.HASH, false);
+	}
+	
+	@Test
+	public void testHomesHashIDsSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.HASH, false);
+	}
+	
+	@Test
+	public void testHomesHashIDsHybridCSV() {
+		runTransformTest(RUNTIME_PLATFORM.HYBRID_SPARK, "csv", TransformType.HASH, false);
+	}
+	
+	@Test
+	public void testHomesHashDummycodeIDsSingleNodeCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.HASH_DUMMY, false);
+	}
+	
+	@Test
+	public void testHomesHashDummycodeIDsSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.HASH_DUMMY, false);
+	}
+	
+	@Test
+	public void testHomesHashDummycodeIDsHybridCSV() {
+		runTransformTest(RUNTIME_PLATFORM.HYBRID_SPARK, "csv", TransformType.HASH_DUMMY, false);
+	}
+	
 	private void runTransformTest( RUNTIME_PLATFORM rt, String ofmt, TransformType type, boolean colnames )
 	{
 		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
@@ -265,6 +299,8 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 			case IMPUTE: SPEC = colnames?SPEC4b:SPEC4; DATASET = DATASET2; break;
 			case OMIT:   SPEC = colnames?SPEC5b:SPEC5; DATASET = DATASET2; break;
 			case RECODE_DUMMY: SPEC = colnames?SPEC6b:SPEC6; DATASET = DATASET1; break;
+			case HASH:       SPEC = SPEC7; DATASET = DATASET1; break;
+			case HASH_DUMMY: SPEC = SPEC8; DATASET = DATASET1; break;
 		}
 
 		if( !ofmt.equals("csv") )
@@ -294,6 +330,16 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 				.readMatrixFromHDFS(output("tfout2"), -1L, -1L, 1000, 1000, -1));
 			TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);		
 			
+			//check hashed columns w/ codes in 1..K (w/ K=10)
+			if( type == TransformType.HASH ) {
+				for( int i=0; i<R1.length; i++ )
+					for( int j : new int[]{0, 1, 6} )
+						assertTrue(R1[i][j] >= 1 && R1[i][j] <= 10);
+			}
+			//check dummy coded output columns (3 + 16 + distinct districts + 16 - 3)
+			if( type == TransformType.HASH_DUMMY )
+				assertTrue(R1[0].length > 9 + 2*16 - 3);
+			
 			if( rt == RUNTIME_PLATFORM.HYBRID_SPARK ) {
 				assertEquals("Wrong number of executed Spark instructions: " + 
 					Statistics.getNoOfExecutedSPInst(), new Long(2), new Long(Statistics.getNoOfExecutedSPInst()));
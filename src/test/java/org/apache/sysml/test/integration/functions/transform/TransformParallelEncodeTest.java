@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class TransformParallelEncodeTest extends AutomatedTestBase 
+{
+	private static final int rows = 23171;
+	private static final ValueType[] schema = new ValueType[]{
+		ValueType.STRING, ValueType.STRING, ValueType.STRING, ValueType.DOUBLE};
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testParallelEncodeRecodeRowPartitions() {
+		runParallelEncodeTest("{ids:true, recode:[1,2,3]}", 4);
+	}
+	
+	@Test
+	public void testParallelEncodeRecodeColPartitions() {
+		runParallelEncodeTest("{ids:true, recode:[1,2,3]}", 2);
+	}
+	
+	@Test
+	public void testParallelEncodeDummycode() {
+		runParallelEncodeTest("{ids:true, recode:[3], dummycode:[1,2]}", 4);
+	}
+	
+	@Test
+	public void testParallelEncodeDummycodeOmit() {
+		runParallelEncodeTest("{ids:true, recode:[3], dummycode:[1,2], omit:[3]}", 4);
+	}
+	
+	private void runParallelEncodeTest(String spec, int threads) {
+		if(shouldSkipTest())
+			return;
+		
+		//generate input data: small and large domains, and a recoded column w/ nulls
+		double[][] A = getRandomMatrix(rows, schema.length, 0, 1, 1, 7);
+		FrameBlock data = new FrameBlock(schema);
+		for( int i=0; i<rows; i++ ) {
+			data.appendRow(new Object[]{"a"+(int)(A[i][0]*7), "b"+(int)(A[i][1]*3000),
+				(A[i][2] < 0.1) ? null : "c"+(int)(A[i][2]*40), A[i][3]});
+		}
+		
+		//execute single- and multi-threaded transform encode
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, null);
+		MatrixBlock out1 = encoder1.encode(data, new MatrixBlock(rows, schema.length, false));
+		FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, null);
+		MatrixBlock out2 = encoder2.encode(data, new MatrixBlock(rows, schema.length, false), threads);
+		FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+		
+		//check identical outputs and meta data (incl order of recode maps)
+		assertEquals(out1.getNumRows(), out2.getNumRows());
+		assertEquals(out1.getNumColumns(), out2.getNumColumns());
+		assertEquals(out1.getNonZeros(), out2.getNonZeros());
+		for( int i=0; i<out1.getNumRows(); i++ )
+			for( int j=0; j<out1.getNumColumns(); j++ ) {
+				double v1 = out1.quickGetValue(i, j);
+				double v2 = out2.quickGetValue(i, j);
+				if( !(Double.isNaN(v1) && Double.isNaN(v2)) )
+					Assert.assertEquals("Wrong value for cell ("+i+","+j+")", v1, v2, 1e-10);
+			}
+		assertEquals(meta1.getNumRows(), meta2.getNumRows());
+		for( int i=0; i<meta1.getNumRows(); i++ )
+			for( int j=0; j<meta1.getNumColumns(); j++ )
+				assertEquals(String.valueOf(meta1.get(i, j)), String.valueOf(meta2.get(i, j)));
+	}
+}
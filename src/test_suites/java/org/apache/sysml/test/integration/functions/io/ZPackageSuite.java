@@ -32,6 +32,7 @@ import org.junit.runners.Suite;
 	IOTest3.class,
 	IOTest4.class,
 	IOTest5.class,
+	ReadWriteLIBSVMTest.class,
 	ScalarIOTest.class,
 	SeqParReadTest.class
 })